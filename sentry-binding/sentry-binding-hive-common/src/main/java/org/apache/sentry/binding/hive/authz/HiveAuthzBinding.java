@@ -17,6 +17,10 @@
 package org.apache.sentry.binding.hive.authz;
 
 import java.lang.reflect.Constructor;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
@@ -37,11 +41,14 @@ import org.apache.sentry.core.common.ActiveRoleSet;
 import org.apache.sentry.core.common.Model;
 import org.apache.sentry.core.common.Subject;
 import org.apache.sentry.core.model.db.AccessConstants;
+import org.apache.sentry.core.model.db.Column;
 import org.apache.sentry.core.model.db.DBModelAction;
 import org.apache.sentry.core.model.db.DBModelAuthorizable;
 import org.apache.sentry.core.model.db.DBModelAuthorizable.AuthorizableType;
+import org.apache.sentry.core.model.db.Database;
 import org.apache.sentry.core.model.db.HivePrivilegeModel;
 import org.apache.sentry.core.model.db.Server;
+import org.apache.sentry.core.model.db.Table;
 import org.apache.sentry.policy.common.PolicyEngine;
 import org.apache.sentry.provider.cache.PrivilegeCache;
 import org.apache.sentry.provider.cache.SimpleCacheProviderBackend;
@@ -63,6 +70,9 @@ public class HiveAuthzBinding {
       .omitEmptyStrings();
   public static final String HIVE_BINDING_TAG = "hive.authz.bindings.tag";
   public static final String HIVE_POLICY_ENGINE_OLD = "org.apache.sentry.policy.db.SimpleDBPolicyEngine";
+  // Any of these on a table, or on some columns of it, makes the table visible
+  private static final EnumSet<DBModelAction> TABLE_METADATA_ACTIONS =
+      EnumSet.of(DBModelAction.SELECT, DBModelAction.INSERT);
 
   private final HiveConf hiveConf;
   private final Server authServer;
@@ -381,6 +391,42 @@ public class HiveAuthzBinding {
 
   }
 
+  /**
+   * Get the tables of the given database visible to the subject, i.e. the tables on
+   * which the subject holds SELECT or INSERT, possibly on some columns only. The
+   * privileges of the subject are fetched once for the whole database.
+   * @param subject
+   * @param dbName
+   * @param tableNames
+   * @return the visible tables, in the order of tableNames
+   */
+  public List<String> filterTables(Subject subject, String dbName, final List<String> tableNames) {
+    if (!open) {
+      throw new IllegalStateException("Binding has been closed");
+    }
+    final Database database = new Database(dbName);
+    List<DBModelAuthorizable> scope = Arrays.asList(authServer, database, Table.ALL, Column.ALL);
+    List<List<DBModelAuthorizable>> tableHierarchies = new AbstractList<List<DBModelAuthorizable>>() {
+      @Override
+      public List<DBModelAuthorizable> get(int index) {
+        return Arrays.asList(authServer, database, new Table(tableNames.get(index)), Column.ALL);
+      }
+
+      @Override
+      public int size() {
+        return tableNames.size();
+      }
+    };
+
+    BitSet visible = authProvider.hasAccess(subject, scope, tableHierarchies,
+        TABLE_METADATA_ACTIONS, activeRoleSet);
+    List<String> filteredResult = new ArrayList<String>(visible.cardinality());
+    for (int i = visible.nextSetBit(0); i >= 0; i = visible.nextSetBit(i + 1)) {
+      filteredResult.add(tableNames.get(i));
+    }
+    return filteredResult;
+  }
+
   public void setActiveRoleSet(String activeRoleSet,
       Set<TSentryRole> allowedRoles) throws SentryUserException {
     this.activeRoleSet = parseActiveRoleSet(activeRoleSet, allowedRoles);
@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.binding.hive.authz;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sentry.binding.hive.conf.HiveAuthzConf;
+import org.apache.sentry.binding.hive.conf.HiveAuthzConf.AuthzConfVars;
+import org.apache.sentry.core.common.ActiveRoleSet;
+import org.apache.sentry.core.common.exception.SentryGroupNotFoundException;
+import org.apache.sentry.provider.cache.PrivilegeCache;
+import org.apache.sentry.provider.cache.SimplePrivilegeCache;
+import org.apache.sentry.provider.common.AuthorizationProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Objects;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+/**
+ * Builds the {@link HiveAuthzBinding}s backed by a {@link SimplePrivilegeCache} used to
+ * filter metadata (SHOW TABLES, SHOW DATABASES, SHOW COLUMNS ...) and to authorize
+ * statements.
+ * <p>
+ * Building one fetches all the privileges of the user from the policy engine, so when
+ * {@link AuthzConfVars#AUTHZ_PRIVILEGE_CACHE_TTL_MS} is set the bindings filtering
+ * metadata are shared by the sessions of a user, keyed by (server, user, groups, active
+ * role set, policy version), and evicted least recently used first. The privilege caches
+ * are immutable, so sharing them is safe. The TTL bounds how stale they can get when the
+ * policy engine can't tell that the privileges changed, as the Sentry DB backend does.
+ * The bindings dropped from the cache are not closed, other threads may still be using
+ * them, and are left to the garbage collector: they only hold a privilege snapshot.
+ * Statements are always authorized against the current privileges.
+ */
+public final class HiveAuthzBindingCache {
+  private static final Logger LOG = LoggerFactory.getLogger(HiveAuthzBindingCache.class);
+
+  // One cache per (TTL, size), so that each caller gets the configuration it asked for
+  private static final ConcurrentMap<Map.Entry<Long, Long>, Cache<Key, HiveAuthzBinding>>
+      bindings = new ConcurrentHashMap<>();
+
+  private HiveAuthzBindingCache() {
+    // Make constructor private to avoid instantiation
+  }
+
+  /**
+   * Get a binding filtering metadata for the given user against a snapshot of the user's
+   * privileges, possibly shared and up to the TTL old. It must not be closed by the caller.
+   */
+  public static HiveAuthzBinding getBindingWithPrivilegeCache(
+      final HiveAuthzBinding hiveAuthzBinding, final String userName) throws Exception {
+    final AuthorizationProvider authProvider = hiveAuthzBinding.getCurrentAuthProvider();
+    Set<String> groups = getGroups(authProvider, userName);
+
+    HiveAuthzConf authzConf = hiveAuthzBinding.getAuthzConf();
+    long ttlMs = authzConf.getLong(AuthzConfVars.AUTHZ_PRIVILEGE_CACHE_TTL_MS.getVar(),
+        Long.parseLong(AuthzConfVars.AUTHZ_PRIVILEGE_CACHE_TTL_MS.getDefault()));
+    if (ttlMs <= 0) {
+      return newBinding(hiveAuthzBinding, authProvider, userName, groups);
+    }
+
+    // Read the version before fetching the privileges, so that a snapshot is never
+    // keyed by a version newer than its content
+    Key key = new Key(hiveAuthzBinding.getAuthServer().getName(), userName, groups,
+        hiveAuthzBinding.getActiveRoleSet(), authProvider.getPolicyEngine().getPolicyVersion());
+    final Set<String> userGroups = groups;
+    try {
+      return getBindings(authzConf, ttlMs).get(key, new Callable<HiveAuthzBinding>() {
+        @Override
+        public HiveAuthzBinding call() throws Exception {
+          return newBinding(hiveAuthzBinding, authProvider, userName, userGroups);
+        }
+      });
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof Exception) {
+        throw (Exception) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Get a new binding evaluating the access checks of a statement of the given user against
+   * the current privileges of the user. It is never shared, the caller closes it.
+   */
+  public static HiveAuthzBinding newBindingWithPrivilegeCache(HiveAuthzBinding hiveAuthzBinding,
+      String userName) throws Exception {
+    AuthorizationProvider authProvider = hiveAuthzBinding.getCurrentAuthProvider();
+    return newBinding(hiveAuthzBinding, authProvider, userName,
+        getGroups(authProvider, userName));
+  }
+
+  // get the user's groups from the AuthorizationProvider of the original HiveAuthzBinding
+  private static Set<String> getGroups(AuthorizationProvider authProvider, String userName) {
+    try {
+      return authProvider.getGroupMapping().getGroups(userName);
+    } catch (SentryGroupNotFoundException e) {
+      LOG.debug("Could not find groups for user: " + userName);
+      return Collections.emptySet();
+    }
+  }
+
+  private static HiveAuthzBinding newBinding(HiveAuthzBinding hiveAuthzBinding,
+      AuthorizationProvider authProvider, String userName, Set<String> groups) throws Exception {
+    Set<String> userPrivileges =
+        authProvider.getPolicyEngine().getPrivileges(groups, Sets.newHashSet(userName),
+            hiveAuthzBinding.getActiveRoleSet(), hiveAuthzBinding.getAuthServer());
+
+    // create PrivilegeCache using user's privileges
+    PrivilegeCache privilegeCache = new SimplePrivilegeCache(userPrivileges);
+    // create new instance of HiveAuthzBinding whose backend provider should be SimpleCacheProviderBackend
+    return new HiveAuthzBinding(HiveAuthzBinding.HiveHook.HiveServer2, hiveAuthzBinding.getHiveConf(),
+        hiveAuthzBinding.getAuthzConf(), privilegeCache);
+  }
+
+  private static Cache<Key, HiveAuthzBinding> getBindings(HiveAuthzConf authzConf, long ttlMs) {
+    long size = authzConf.getLong(AuthzConfVars.AUTHZ_PRIVILEGE_CACHE_SIZE.getVar(),
+        Long.parseLong(AuthzConfVars.AUTHZ_PRIVILEGE_CACHE_SIZE.getDefault()));
+    Map.Entry<Long, Long> spec = Maps.immutableEntry(ttlMs, size);
+    Cache<Key, HiveAuthzBinding> cache = bindings.get(spec);
+    if (cache == null) {
+      cache = CacheBuilder.newBuilder()
+          .maximumSize(size)
+          .expireAfterWrite(ttlMs, TimeUnit.MILLISECONDS)
+          .build();
+      Cache<Key, HiveAuthzBinding> existing = bindings.putIfAbsent(spec, cache);
+      if (existing != null) {
+        cache = existing;
+      }
+    }
+    return cache;
+  }
+
+  private static final class Key {
+    private final String server;
+    private final String userName;
+    private final ImmutableSet<String> groups;
+    private final boolean allRoles;
+    private final Set<String> roles;
+    private final long policyVersion;
+
+    private Key(String server, String userName, Set<String> groups, ActiveRoleSet roleSet,
+        long policyVersion) {
+      this.server = server;
+      this.userName = userName;
+      this.groups = ImmutableSet.copyOf(groups);
+      this.allRoles = roleSet.isAll();
+      this.roles = roleSet.getRoles();
+      this.policyVersion = policyVersion;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) o;
+      return allRoles == other.allRoles
+          && policyVersion == other.policyVersion
+          && Objects.equal(server, other.server)
+          && Objects.equal(userName, other.userName)
+          && groups.equals(other.groups)
+          && roles.equals(other.roles);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hashCode(server, userName, groups, allRoles, roles, policyVersion);
+    }
+  }
+}
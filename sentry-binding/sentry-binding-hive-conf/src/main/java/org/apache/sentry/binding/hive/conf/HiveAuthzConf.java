@@ -109,6 +109,10 @@ public class HiveAuthzConf extends Configuration {
         AUTHZ_SYNC_ALTER_WITH_POLICY_STORE("sentry.hive.sync.alter", "true"),
         AUTHZ_SYNC_CREATE_WITH_POLICY_STORE("sentry.hive.sync.create", "false"),
         AUTHZ_SYNC_DROP_WITH_POLICY_STORE("sentry.hive.sync.drop", "true"),
+        // Number of per-user privilege caches shared by the metadata filters (SHOW TABLES ...),
+        // and how long they are kept. 0 disables sharing, each command fetches privileges.
+        AUTHZ_PRIVILEGE_CACHE_SIZE("sentry.hive.privilege.cache.size", "1000"),
+        AUTHZ_PRIVILEGE_CACHE_TTL_MS("sentry.hive.privilege.cache.ttl.ms", "0"),
 
         AUTHZ_PROVIDER_DEPRECATED("hive.sentry.provider",
                 "org.apache.sentry.provider.file.ResourceAuthorizationProvider"),
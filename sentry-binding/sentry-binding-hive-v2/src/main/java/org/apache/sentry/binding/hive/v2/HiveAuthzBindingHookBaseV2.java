@@ -55,6 +55,7 @@ import org.apache.hadoop.hive.ql.plan.HiveOperation;
 import org.apache.hadoop.hive.ql.plan.PlanUtils;
 import org.apache.hadoop.hive.ql.session.SessionState;
 import org.apache.sentry.binding.hive.authz.HiveAuthzBinding;
+import org.apache.sentry.binding.hive.authz.HiveAuthzBindingCache;
 import org.apache.sentry.binding.hive.authz.HiveAuthzPrivileges;
 import org.apache.sentry.binding.hive.authz.HiveAuthzPrivileges.HiveOperationScope;
 import org.apache.sentry.binding.hive.authz.HiveAuthzPrivileges.HiveOperationType;
@@ -68,9 +69,6 @@ import org.apache.sentry.core.model.db.DBModelAuthorizable;
 import org.apache.sentry.core.model.db.DBModelAuthorizable.AuthorizableType;
 import org.apache.sentry.core.model.db.Database;
 import org.apache.sentry.core.model.db.Table;
-import org.apache.sentry.provider.cache.PrivilegeCache;
-import org.apache.sentry.provider.cache.SimplePrivilegeCache;
-import org.apache.sentry.provider.common.AuthorizationProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -78,7 +76,6 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Sets;
 
 public abstract class HiveAuthzBindingHookBaseV2 extends AbstractSemanticAnalyzerHook {
   private static final Logger LOG = LoggerFactory
@@ -474,14 +471,20 @@ public abstract class HiveAuthzBindingHookBaseV2 extends AbstractSemanticAnalyze
 
     HiveAuthzBinding binding = null;
     try {
-      binding = getHiveBindingWithPrivilegeCache(hiveAuthzBinding, context.getUserName());
+      binding = newHiveBindingWithPrivilegeCache(hiveAuthzBinding, context.getUserName());
     } catch (SemanticException e) {
       // Will use the original hiveAuthzBinding
       binding = hiveAuthzBinding;
     }
-    // validate permission
-    binding.authorize(stmtOperation, stmtAuthObject, getCurrentSubject(context), inputHierarchy,
-        outputHierarchy);
+    try {
+      // validate permission
+      binding.authorize(stmtOperation, stmtAuthObject, getCurrentSubject(context), inputHierarchy,
+          outputHierarchy);
+    } finally {
+      if (binding != hiveAuthzBinding) {
+        binding.close();
+      }
+    }
   }
 
   // Build the hierarchy of authorizable object for the given entity type.
@@ -608,43 +611,10 @@ public abstract class HiveAuthzBindingHookBaseV2 extends AbstractSemanticAnalyze
       HiveAuthzBinding hiveAuthzBinding, List<String> queryResult,
       HiveOperation operation, String userName, String dbName)
           throws SemanticException {
-    List<String> filteredResult = new ArrayList<String>();
-    Subject subject = new Subject(userName);
-    HiveAuthzPrivileges tableMetaDataPrivilege = new HiveAuthzPrivileges.AuthzPrivilegeBuilder().
-        addInputObjectPriviledge(AuthorizableType.Column, EnumSet.of(DBModelAction.SELECT, DBModelAction.INSERT)).
-        setOperationScope(HiveOperationScope.TABLE).
-        setOperationType(HiveOperationType.INFO).
-        build();
-
     HiveAuthzBinding hiveBindingWithPrivilegeCache = getHiveBindingWithPrivilegeCache(hiveAuthzBinding, userName);
-
-    for (String tableName : queryResult) {
-      // if user has privileges on table, add to filtered list, else discard
-      Table table = new Table(tableName);
-      Database database;
-      database = new Database(dbName);
-
-      List<List<DBModelAuthorizable>> inputHierarchy = new ArrayList<List<DBModelAuthorizable>>();
-      List<List<DBModelAuthorizable>> outputHierarchy = new ArrayList<List<DBModelAuthorizable>>();
-      List<DBModelAuthorizable> externalAuthorizableHierarchy = new ArrayList<DBModelAuthorizable>();
-      externalAuthorizableHierarchy.add(hiveAuthzBinding.getAuthServer());
-      externalAuthorizableHierarchy.add(database);
-      externalAuthorizableHierarchy.add(table);
-      externalAuthorizableHierarchy.add(Column.ALL);
-      inputHierarchy.add(externalAuthorizableHierarchy);
-
-      try {
-        // do the authorization by new HiveAuthzBinding with PrivilegeCache
-        hiveBindingWithPrivilegeCache.authorize(operation, tableMetaDataPrivilege, subject,
-            inputHierarchy, outputHierarchy);
-        filteredResult.add(table.getName());
-      } catch (AuthorizationException e) {
-        // squash the exception, user doesn't have privileges, so the table is
-        // not added to
-        // filtered list.
-      }
-    }
-    return filteredResult;
+    // keep the tables on which the user has privileges, checked in one pass
+    // by the new HiveAuthzBinding with PrivilegeCache
+    return hiveBindingWithPrivilegeCache.filterTables(new Subject(userName), dbName, queryResult);
   }
 
   public static List<FieldSchema> filterShowColumns(
@@ -795,22 +765,22 @@ public abstract class HiveAuthzBindingHookBaseV2 extends AbstractSemanticAnalyze
     return entity.isDummy();
   }
 
-  // create hiveBinding with PrivilegeCache
+  // create hiveBinding with PrivilegeCache, not shared, to authorize a statement
+  private static HiveAuthzBinding newHiveBindingWithPrivilegeCache(
+      HiveAuthzBinding hiveAuthzBinding, String userName) throws SemanticException {
+    try {
+      return HiveAuthzBindingCache.newBindingWithPrivilegeCache(hiveAuthzBinding, userName);
+    } catch (Exception e) {
+      LOG.error("Can not create HiveAuthzBinding with privilege cache.");
+      throw new SemanticException(e);
+    }
+  }
+
+  // get hiveBinding with PrivilegeCache, possibly shared, to filter metadata
   private static HiveAuthzBinding getHiveBindingWithPrivilegeCache(HiveAuthzBinding hiveAuthzBinding,
       String userName) throws SemanticException {
-    // get the original HiveAuthzBinding, and get the user's privileges by AuthorizationProvider
-    AuthorizationProvider authProvider = hiveAuthzBinding.getCurrentAuthProvider();
-    Set<String> userPrivileges =
-        authProvider.getPolicyEngine().getPrivileges(
-            authProvider.getGroupMapping().getGroups(userName), Sets.newHashSet(userName),
-            hiveAuthzBinding.getActiveRoleSet(), hiveAuthzBinding.getAuthServer());
-
-    // create PrivilegeCache using user's privileges
-    PrivilegeCache privilegeCache = new SimplePrivilegeCache(userPrivileges);
     try {
-      // create new instance of HiveAuthzBinding whose backend provider should be SimpleCacheProviderBackend
-      return new HiveAuthzBinding(HiveAuthzBinding.HiveHook.HiveServer2, hiveAuthzBinding.getHiveConf(),
-              hiveAuthzBinding.getAuthzConf(), privilegeCache);
+      return HiveAuthzBindingCache.getBindingWithPrivilegeCache(hiveAuthzBinding, userName);
     } catch (Exception e) {
       LOG.error("Can not create HiveAuthzBinding with privilege cache.");
       throw new SemanticException(e);
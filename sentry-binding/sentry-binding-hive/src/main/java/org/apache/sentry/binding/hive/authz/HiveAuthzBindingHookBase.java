@@ -21,7 +21,6 @@ import com.google.common.base.Preconditions;
 import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Sets;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.hive.common.JavaUtils;
@@ -53,7 +52,6 @@ import org.apache.sentry.binding.hive.authz.HiveAuthzPrivileges.HiveOperationSco
 import org.apache.sentry.binding.hive.authz.HiveAuthzPrivileges.HiveOperationType;
 import org.apache.sentry.binding.hive.conf.HiveAuthzConf;
 import org.apache.sentry.core.common.Subject;
-import org.apache.sentry.core.common.exception.SentryGroupNotFoundException;
 import org.apache.sentry.core.common.utils.PathUtils;
 import org.apache.sentry.core.model.db.AccessURI;
 import org.apache.sentry.core.model.db.Column;
@@ -62,9 +60,6 @@ import org.apache.sentry.core.model.db.DBModelAuthorizable;
 import org.apache.sentry.core.model.db.DBModelAuthorizable.AuthorizableType;
 import org.apache.sentry.core.model.db.Database;
 import org.apache.sentry.core.model.db.Table;
-import org.apache.sentry.provider.cache.PrivilegeCache;
-import org.apache.sentry.provider.cache.SimplePrivilegeCache;
-import org.apache.sentry.provider.common.AuthorizationProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -75,7 +70,6 @@ import java.net.URL;
 import java.security.CodeSource;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Set;
@@ -499,14 +493,20 @@ public abstract class HiveAuthzBindingHookBase extends AbstractSemanticAnalyzerH
 
     HiveAuthzBinding binding = null;
     try {
-      binding = getHiveBindingWithPrivilegeCache(hiveAuthzBinding, context.getUserName());
+      binding = newHiveBindingWithPrivilegeCache(hiveAuthzBinding, context.getUserName());
     } catch (SemanticException e) {
       // Will use the original hiveAuthzBinding
       binding = hiveAuthzBinding;
     }
-    // validate permission
-    binding.authorize(stmtOperation, stmtAuthObject, getCurrentSubject(context), inputHierarchy,
-        outputHierarchy);
+    try {
+      // validate permission
+      binding.authorize(stmtOperation, stmtAuthObject, getCurrentSubject(context), inputHierarchy,
+          outputHierarchy);
+    } finally {
+      if (binding != hiveAuthzBinding) {
+        binding.close();
+      }
+    }
   }
 
   // Build the hierarchy of authorizable object for the given entity type.
@@ -633,43 +633,10 @@ public abstract class HiveAuthzBindingHookBase extends AbstractSemanticAnalyzerH
       HiveAuthzBinding hiveAuthzBinding, List<String> queryResult,
       HiveOperation operation, String userName, String dbName)
           throws SemanticException {
-    List<String> filteredResult = new ArrayList<String>();
-    Subject subject = new Subject(userName);
-    HiveAuthzPrivileges tableMetaDataPrivilege = new HiveAuthzPrivileges.AuthzPrivilegeBuilder().
-        addInputObjectPriviledge(AuthorizableType.Column, EnumSet.of(DBModelAction.SELECT, DBModelAction.INSERT)).
-        setOperationScope(HiveOperationScope.TABLE).
-        setOperationType(HiveOperationType.INFO).
-        build();
-
     HiveAuthzBinding hiveBindingWithPrivilegeCache = getHiveBindingWithPrivilegeCache(hiveAuthzBinding, userName);
-
-    for (String tableName : queryResult) {
-      // if user has privileges on table, add to filtered list, else discard
-      Table table = new Table(tableName);
-      Database database;
-      database = new Database(dbName);
-
-      List<List<DBModelAuthorizable>> inputHierarchy = new ArrayList<List<DBModelAuthorizable>>();
-      List<List<DBModelAuthorizable>> outputHierarchy = new ArrayList<List<DBModelAuthorizable>>();
-      List<DBModelAuthorizable> externalAuthorizableHierarchy = new ArrayList<DBModelAuthorizable>();
-      externalAuthorizableHierarchy.add(hiveAuthzBinding.getAuthServer());
-      externalAuthorizableHierarchy.add(database);
-      externalAuthorizableHierarchy.add(table);
-      externalAuthorizableHierarchy.add(Column.ALL);
-      inputHierarchy.add(externalAuthorizableHierarchy);
-
-      try {
-        // do the authorization by new HiveAuthzBinding with PrivilegeCache
-        hiveBindingWithPrivilegeCache.authorize(operation, tableMetaDataPrivilege, subject,
-            inputHierarchy, outputHierarchy);
-        filteredResult.add(table.getName());
-      } catch (AuthorizationException e) {
-        // squash the exception, user doesn't have privileges, so the table is
-        // not added to
-        // filtered list.
-      }
-    }
-    return filteredResult;
+    // keep the tables on which the user has privileges, checked in one pass
+    // by the new HiveAuthzBinding with PrivilegeCache
+    return hiveBindingWithPrivilegeCache.filterTables(new Subject(userName), dbName, queryResult);
   }
 
   public static List<FieldSchema> filterShowColumns(
@@ -820,28 +787,22 @@ public abstract class HiveAuthzBindingHookBase extends AbstractSemanticAnalyzerH
     return entity.isDummy();
   }
 
-  // create hiveBinding with PrivilegeCache
+  // create hiveBinding with PrivilegeCache, not shared, to authorize a statement
+  private static HiveAuthzBinding newHiveBindingWithPrivilegeCache(
+      HiveAuthzBinding hiveAuthzBinding, String userName) throws SemanticException {
+    try {
+      return HiveAuthzBindingCache.newBindingWithPrivilegeCache(hiveAuthzBinding, userName);
+    } catch (Exception e) {
+      LOG.error("Can not create HiveAuthzBinding with privilege cache.");
+      throw new SemanticException(e);
+    }
+  }
+
+  // get hiveBinding with PrivilegeCache, possibly shared, to filter metadata
   private static HiveAuthzBinding getHiveBindingWithPrivilegeCache(HiveAuthzBinding hiveAuthzBinding,
       String userName) throws SemanticException {
-    // get the original HiveAuthzBinding, and get the user's privileges by AuthorizationProvider
-    AuthorizationProvider authProvider = hiveAuthzBinding.getCurrentAuthProvider();
     try {
-      Set<String> groups;
-      try {
-        groups = authProvider.getGroupMapping().getGroups(userName);
-      } catch (SentryGroupNotFoundException e) {
-        groups = Collections.emptySet();
-        LOG.debug("Could not find groups for user: " + userName);
-      }
-      Set<String> userPrivileges =
-          authProvider.getPolicyEngine().getPrivileges(groups, Sets.newHashSet(userName),
-              hiveAuthzBinding.getActiveRoleSet(), hiveAuthzBinding.getAuthServer());
-
-      // create PrivilegeCache using user's privileges
-      PrivilegeCache privilegeCache = new SimplePrivilegeCache(userPrivileges);
-      // create new instance of HiveAuthzBinding whose backend provider should be SimpleCacheProviderBackend
-      return new HiveAuthzBinding(HiveAuthzBinding.HiveHook.HiveServer2, hiveAuthzBinding.getHiveConf(),
-              hiveAuthzBinding.getAuthzConf(), privilegeCache);
+      return HiveAuthzBindingCache.getBindingWithPrivilegeCache(hiveAuthzBinding, userName);
     } catch (Exception e) {
       LOG.error("Can not create HiveAuthzBinding with privilege cache.");
       throw new SemanticException(e);
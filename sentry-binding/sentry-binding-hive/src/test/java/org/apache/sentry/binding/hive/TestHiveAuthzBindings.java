@@ -29,6 +29,7 @@ import org.apache.hadoop.hive.conf.HiveConf.ConfVars;
 import org.apache.hadoop.hive.ql.metadata.AuthorizationException;
 import org.apache.hadoop.hive.ql.plan.HiveOperation;
 import org.apache.sentry.binding.hive.authz.HiveAuthzBinding;
+import org.apache.sentry.binding.hive.authz.HiveAuthzBindingCache;
 import org.apache.sentry.binding.hive.authz.HiveAuthzPrivileges;
 import org.apache.sentry.binding.hive.authz.HiveAuthzPrivilegesMap;
 import org.apache.sentry.binding.hive.conf.HiveAuthzConf;
@@ -126,6 +127,44 @@ public class TestHiveAuthzBindings {
     }
   }
 
+  /**
+   * validate the bindings with privilege cache are only shared to filter metadata, per
+   * cache configuration
+   */
+  @Test
+  public void testBindingWithPrivilegeCacheSharing() throws Exception {
+    authzConf.set(AuthzConfVars.AUTHZ_PRIVILEGE_CACHE_TTL_MS.getVar(), "600000");
+    HiveAuthzBinding cachingAuth = new HiveAuthzBinding(hiveConf, authzConf);
+    HiveAuthzBinding filterAuth =
+        HiveAuthzBindingCache.getBindingWithPrivilegeCache(cachingAuth, "admin1");
+    Assert.assertSame(filterAuth,
+        HiveAuthzBindingCache.getBindingWithPrivilegeCache(cachingAuth, "admin1"));
+    Assert.assertNotSame(filterAuth,
+        HiveAuthzBindingCache.getBindingWithPrivilegeCache(cachingAuth, "manager1"));
+
+    // statements are authorized against the current privileges
+    HiveAuthzBinding statementAuth =
+        HiveAuthzBindingCache.newBindingWithPrivilegeCache(cachingAuth, "admin1");
+    Assert.assertNotSame(filterAuth, statementAuth);
+    inputTabHierarcyList.add(buildObjectHierarchy(SERVER1, CUSTOMER_DB, PURCHASES_TAB));
+    statementAuth.authorize(HiveOperation.QUERY, queryPrivileges, ADMIN_SUBJECT,
+        inputTabHierarcyList, outputTabHierarcyList);
+    statementAuth.close();
+
+    // a caller configured differently doesn't get the bindings of another cache
+    authzConf.set(AuthzConfVars.AUTHZ_PRIVILEGE_CACHE_SIZE.getVar(), "10");
+    HiveAuthzBinding smallCacheAuth = new HiveAuthzBinding(hiveConf, authzConf);
+    Assert.assertNotSame(filterAuth,
+        HiveAuthzBindingCache.getBindingWithPrivilegeCache(smallCacheAuth, "admin1"));
+
+    // without a TTL the bindings are not shared
+    authzConf.set(AuthzConfVars.AUTHZ_PRIVILEGE_CACHE_TTL_MS.getVar(), "0");
+    HiveAuthzBinding uncachedAuth = new HiveAuthzBinding(hiveConf, authzConf);
+    Assert.assertNotSame(
+        HiveAuthzBindingCache.getBindingWithPrivilegeCache(uncachedAuth, "admin1"),
+        HiveAuthzBindingCache.getBindingWithPrivilegeCache(uncachedAuth, "admin1"));
+  }
+
   /**
    * validate read permission for admin on customer:purchase
    */
@@ -156,6 +195,29 @@ public class TestHiveAuthzBindings {
         inputTabHierarcyList, outputTabHierarcyList);
   }
 
+  /**
+   * validate the tables visible to each user in a single bulk check
+   */
+  @Test
+  public void testFilterTables() throws Exception {
+    List<String> customerTables = Arrays.asList("purchases", "other", "PURCHASES");
+    Assert.assertEquals(customerTables, testAuth.filterTables(ADMIN_SUBJECT, CUSTOMER_DB, customerTables));
+    Assert.assertEquals(Arrays.asList("purchases", "PURCHASES"),
+        testAuth.filterTables(ANALYST_SUBJECT, CUSTOMER_DB, customerTables));
+    Assert.assertEquals(new ArrayList<String>(),
+        testAuth.filterTables(JUNIOR_ANALYST_SUBJECT, CUSTOMER_DB, customerTables));
+    Assert.assertEquals(new ArrayList<String>(),
+        testAuth.filterTables(NO_SUCH_SUBJECT, CUSTOMER_DB, customerTables));
+
+    List<String> sandboxTables = Arrays.asList("t1", "t2");
+    Assert.assertEquals(sandboxTables,
+        testAuth.filterTables(ANALYST_SUBJECT, JUNIOR_ANALYST_DB, sandboxTables));
+    Assert.assertEquals(sandboxTables,
+        testAuth.filterTables(JUNIOR_ANALYST_SUBJECT, JUNIOR_ANALYST_DB, sandboxTables));
+    Assert.assertEquals(new ArrayList<String>(),
+        testAuth.filterTables(JUNIOR_ANALYST_SUBJECT, ANALYST_DB, sandboxTables));
+  }
+
   /**
    * validate create table permissions for admin in customer db
    */
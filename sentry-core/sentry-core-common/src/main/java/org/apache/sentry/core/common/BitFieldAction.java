@@ -21,8 +21,8 @@ package org.apache.sentry.core.common;
  * The a bit set for UPDATE is 0x0001, QUERY is 0x0002, ALL is 0x0001|0x0002=0x0003
  */
 public class BitFieldAction implements Action {
-  private String name;
-  private int code;
+  private final String name;
+  private final int code;
 
   public BitFieldAction(String name, int code) {
     this.name = name;
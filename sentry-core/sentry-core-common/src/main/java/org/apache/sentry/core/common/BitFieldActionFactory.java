@@ -19,9 +19,20 @@ package org.apache.sentry.core.common;
 
 import org.apache.sentry.core.common.exception.SentryUserException;
 
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
+
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 public abstract class BitFieldActionFactory {
+  /**
+   * Code returned by {@link #getActionCode(String)} for a name the factory doesn't know.
+   * No action implies it or is implied by it.
+   */
+  public static final int UNKNOWN_ACTION_CODE = 0;
+
   /**
    * Get BitFieldAction list by the given action code.
    * Take the Solr for example, the ALL action code is 0x0003, two bits are set.
@@ -36,4 +47,74 @@ public abstract class BitFieldActionFactory {
    * @return
    */
   public abstract BitFieldAction getActionByName(String name) throws SentryUserException;
+
+  /**
+   * Get the code of the action with the given name. Meant to be resolved once, when a
+   * privilege is compiled, and then compared with {@link #impliesActionCode(int, int)}.
+   * @param name
+   * @return The action code, or {@link #UNKNOWN_ACTION_CODE} if the name isn't an action
+   */
+  public int getActionCode(String name) {
+    try {
+      BitFieldAction action = getActionByName(name);
+      return action == null ? UNKNOWN_ACTION_CODE : action.getActionCode();
+    } catch (SentryUserException e) {
+      return UNKNOWN_ACTION_CODE;
+    }
+  }
+
+  /**
+   * Same as {@link BitFieldAction#implies(BitFieldAction)} for action codes returned by
+   * {@link #getActionCode(String)}.
+   */
+  public static boolean impliesActionCode(int code, int thatCode) {
+    if (code == UNKNOWN_ACTION_CODE || thatCode == UNKNOWN_ACTION_CODE) {
+      return false;
+    }
+    return (code & thatCode) == thatCode;
+  }
+
+  /**
+   * Immutable, case insensitive table of the actions of a factory by name. The actions
+   * are built once, lookups return the same instances.
+   */
+  public static final class ActionTable<A extends BitFieldAction> {
+    private final Map<String, A> actions;
+
+    private ActionTable(Map<String, A> actions) {
+      this.actions = actions;
+    }
+
+    /**
+     * @return The action with the given name, ignoring case, or null if there is none
+     */
+    public A get(String name) {
+      if (name == null) {
+        return null;
+      }
+      A action = actions.get(name);
+      return action != null ? action : actions.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    public static <A extends BitFieldAction> Builder<A> builder() {
+      return new Builder<A>();
+    }
+
+    public static final class Builder<A extends BitFieldAction> {
+      private final ImmutableMap.Builder<String, A> actions = ImmutableMap.builder();
+
+      private Builder() {
+      }
+
+      public Builder<A> put(String name, A action) {
+        Preconditions.checkNotNull(action);
+        actions.put(name.toLowerCase(Locale.ROOT), action);
+        return this;
+      }
+
+      public ActionTable<A> build() {
+        return new ActionTable<A>(actions.build());
+      }
+    }
+  }
 }
@@ -18,32 +18,35 @@
  */
 package org.apache.sentry.core.common.utils;
 
-import java.util.List;
-
-import com.google.common.collect.Lists;
+import com.google.common.base.CharMatcher;
 
 public class KeyValue {
   private final String key;
   private final String value;
+  private final int hashCode;
 
   public KeyValue(String keyValue) {
-    List<String> kvList = Lists.newArrayList(SentryConstants.KV_SPLITTER.trimResults().limit(2).split(keyValue));
-    if (kvList.size() != 2) {
-      throw new IllegalArgumentException("Invalid key value: " + keyValue + " " + kvList);
+    // Same as KV_SPLITTER.trimResults().limit(2), without the intermediate list
+    int separator = keyValue.indexOf(SentryConstants.KV_SEPARATOR);
+    if (separator < 0) {
+      throw new IllegalArgumentException("Invalid key value: " + keyValue);
     }
-    key = kvList.get(0);
-    value = kvList.get(1);
+    key = CharMatcher.WHITESPACE.trimFrom(keyValue.substring(0, separator));
+    value = CharMatcher.WHITESPACE.trimFrom(
+        keyValue.substring(separator + SentryConstants.KV_SEPARATOR.length()));
     if (key.isEmpty()) {
       throw new IllegalArgumentException("Key cannot be empty");
     } else if (value.isEmpty()) {
       throw new IllegalArgumentException("Value cannot be empty");
     }
+    hashCode = computeHashCode(key, value);
   }
 
   public KeyValue(String key, String value) {
     super();
     this.key = key;
     this.value = value;
+    this.hashCode = computeHashCode(key, value);
   }
 
   public String getKey() {
@@ -56,11 +59,15 @@ public class KeyValue {
 
   @Override
   public String toString() {
-    return SentryConstants.KV_JOINER.join(key, value);
+    return key + SentryConstants.KV_SEPARATOR + value;
   }
 
   @Override
   public int hashCode() {
+    return hashCode;
+  }
+
+  private static int computeHashCode(String key, String value) {
     final int prime = 31;
     int result = 1;
     result = prime * result + ((key == null) ? 0 : key.hashCode());
@@ -80,6 +87,9 @@ public class KeyValue {
       return false;
     }
     KeyValue other = (KeyValue) obj;
+    if (hashCode != other.hashCode) {
+      return false;
+    }
     if (key == null) {
       if (other.key != null) {
         return false;
@@ -79,15 +79,25 @@ public class PathUtils {
       return false;
     }
 
+    return impliesQualifiedURI(privilegeURI, requestURI);
+  }
+
+  /**
+   * Same as {@link #impliesURI(String, String)}, but for URIs which have already been
+   * parsed by {@link #parsePrivilegeURI(String)} and {@link #parseRequestURI(String)}.
+   * This allows callers that compare the same privilege many times to pay the parsing
+   * cost only once.
+   */
+  public static boolean impliesQualifiedURI(URI privilegeURI, URI requestURI) {
     // scheme and path must be present in privilege URI
     if (privilegeURI.getScheme() == null || privilegeURI.getPath() == null) {
-      LOGGER.warn("Privilege URI " + request + " is not valid. Missing scheme or path.");
+      LOGGER.warn("Privilege URI " + privilegeURI + " is not valid. Missing scheme or path.");
       return false;
     }
 
     // scheme and path must be present in request URI
     if (requestURI.getScheme() == null || requestURI.getPath() == null) {
-      LOGGER.warn("Request URI " + request + " is not valid. Missing scheme or path.");
+      LOGGER.warn("Request URI " + requestURI + " is not valid. Missing scheme or path.");
       return false;
     }
 
@@ -110,6 +120,35 @@ public class PathUtils {
     return false;
   }
 
+  /**
+   * Parse the URI of a granted privilege the same way {@link #impliesURI(String, String)}
+   * does: system properties are substituted and the default scheme and/or authority
+   * are added if missing.
+   *
+   * @return the fully qualified URI, or null if the URI cannot be used for comparison
+   */
+  public static URI parsePrivilegeURI(String privilege) {
+    return parseQualifiedURI(new StrSubstitutor(System.getProperties()).replace(privilege));
+  }
+
+  /**
+   * Parse the URI of an access request the same way {@link #impliesURI(String, String)}
+   * does.
+   *
+   * @return the fully qualified URI, or null if the URI cannot be used for comparison
+   */
+  public static URI parseRequestURI(String request) {
+    return parseQualifiedURI(request);
+  }
+
+  private static URI parseQualifiedURI(String uriName) {
+    try {
+      return makeFullQualifiedURI(uriName);
+    } catch (IOException | IllegalArgumentException e) {
+      return null;
+    }
+  }
+
   /**
    * Make fully qualified URI if Scheme and/or Authority is missing,
    * based on the default file system Scheme and Authority.
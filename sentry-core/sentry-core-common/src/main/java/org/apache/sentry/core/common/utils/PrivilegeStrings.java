@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sentry.core.common.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.apache.sentry.core.common.Authorizable;
+
+import com.google.common.base.CharMatcher;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+/**
+ * Parses and builds privilege strings, e.g. "server=server1->db=db1->action=select".
+ * <p>
+ * Gives the same results as the {@link SentryConstants} splitters and joiners, but
+ * goes straight from the string to the {@link KeyValue}s and back, without the
+ * intermediate iterables, lists and strings. Meant for the code paths running on
+ * every access check.
+ */
+public final class PrivilegeStrings {
+
+  // Canonical lower-cased authorizable type names. Type names come from clients too, the
+  // ones no longer referenced are garbage collected.
+  private static final Interner<String> TYPE_NAMES = Interners.newWeakInterner();
+
+  private PrivilegeStrings() {
+    // Make constructor private to avoid instantiation
+  }
+
+  /**
+   * Split a privilege string into its trimmed key/value parts, like
+   * {@code AUTHORIZABLE_SPLITTER.trimResults()} followed by {@link KeyValue#KeyValue(String)}.
+   *
+   * @throws IllegalArgumentException if a part is empty or is not a key/value pair
+   */
+  public static List<KeyValue> parse(String privilege) {
+    List<KeyValue> parts = new ArrayList<KeyValue>(6);
+    int start = 0;
+    while (true) {
+      int end = privilege.indexOf(SentryConstants.AUTHORIZABLE_SEPARATOR, start);
+      String part = CharMatcher.WHITESPACE.trimFrom(
+          end < 0 ? privilege.substring(start) : privilege.substring(start, end));
+      if (part.isEmpty()) {
+        throw new IllegalArgumentException("Privilege '" + privilege + "' has an empty section");
+      }
+      parts.add(new KeyValue(part));
+      if (end < 0) {
+        return parts;
+      }
+      start = end + SentryConstants.AUTHORIZABLE_SEPARATOR.length();
+    }
+  }
+
+  /**
+   * Same as {@code AUTHORIZABLE_JOINER.join(parts)}.
+   */
+  public static String join(List<KeyValue> parts) {
+    Builder builder = new Builder();
+    for (KeyValue part : parts) {
+      builder.add(part.getKey(), part.getValue());
+    }
+    return builder.toString();
+  }
+
+  /**
+   * @return the privilege string requesting the action on the authorizable hierarchy
+   */
+  public static String toPrivilegeString(List<? extends Authorizable> authorizables,
+      String action) {
+    Builder builder = new Builder();
+    for (Authorizable authorizable : authorizables) {
+      builder.add(authorizable.getTypeName(), authorizable.getName());
+    }
+    return builder.add(SentryConstants.PRIVILEGE_NAME, action).toString();
+  }
+
+  /**
+   * @return the lower-cased type name, the same instance for equal names so that
+   *         interned types can be compared with ==
+   */
+  public static String internType(String type) {
+    return TYPE_NAMES.intern(type.toLowerCase(Locale.ROOT));
+  }
+
+  /**
+   * Appends key/value parts to a single buffer.
+   */
+  public static final class Builder {
+    private final StringBuilder buffer = new StringBuilder(64);
+
+    public Builder add(String key, String value) {
+      if (buffer.length() > 0) {
+        buffer.append(SentryConstants.AUTHORIZABLE_SEPARATOR);
+      }
+      buffer.append(key).append(SentryConstants.KV_SEPARATOR).append(value);
+      return this;
+    }
+
+    public boolean isEmpty() {
+      return buffer.length() == 0;
+    }
+
+    @Override
+    public String toString() {
+      return buffer.toString();
+    }
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sentry.core.common.utils;
+
+import static org.apache.sentry.core.common.utils.SentryConstants.AUTHORIZABLE_JOINER;
+import static org.apache.sentry.core.common.utils.SentryConstants.AUTHORIZABLE_SPLITTER;
+
+import java.util.List;
+
+import junit.framework.Assert;
+
+import org.apache.sentry.core.common.Authorizable;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+public class TestPrivilegeStrings {
+
+  @Test
+  public void testParseAndJoin() throws Exception {
+    String privilege = "server=server1->db=db1->table=t1->action=select";
+    List<KeyValue> parts = PrivilegeStrings.parse(privilege);
+    Assert.assertEquals(ImmutableList.of(new KeyValue("server", "server1"),
+        new KeyValue("db", "db1"), new KeyValue("table", "t1"),
+        new KeyValue("action", "select")), parts);
+    Assert.assertEquals(privilege, PrivilegeStrings.join(parts));
+    Assert.assertEquals(AUTHORIZABLE_JOINER.join(parts), PrivilegeStrings.join(parts));
+  }
+
+  @Test
+  public void testSameAsSplitter() throws Exception {
+    for (String privilege : new String[] { "server=s1", " server = s1 -> uri = hdfs://nn/a=b ",
+        "server=s1->db=db1->action=*" }) {
+      List<KeyValue> expected = Lists.newArrayList();
+      for (String part : AUTHORIZABLE_SPLITTER.trimResults().split(privilege)) {
+        expected.add(new KeyValue(part));
+      }
+      Assert.assertEquals(expected, PrivilegeStrings.parse(privilege));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testEmptySection() throws Exception {
+    PrivilegeStrings.parse("server=server1->->action=select");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNotKeyValue() throws Exception {
+    PrivilegeStrings.parse("server=server1->db1");
+  }
+
+  @Test
+  public void testToPrivilegeString() throws Exception {
+    List<Authorizable> hierarchy = ImmutableList.of(authorizable("Server", "server1"),
+        authorizable("Db", "db1"));
+    Assert.assertEquals("Server=server1->Db=db1->action=insert",
+        PrivilegeStrings.toPrivilegeString(hierarchy, "insert"));
+    Assert.assertEquals("action=insert",
+        PrivilegeStrings.toPrivilegeString(ImmutableList.<Authorizable>of(), "insert"));
+  }
+
+  @Test
+  public void testInternType() throws Exception {
+    String type = PrivilegeStrings.internType("Table");
+    Assert.assertEquals("table", type);
+    Assert.assertSame(type, PrivilegeStrings.internType(new String("TABLE")));
+  }
+
+  private static Authorizable authorizable(final String type, final String name) {
+    return new Authorizable() {
+      @Override
+      public String getName() {
+        return name;
+      }
+
+      @Override
+      public String getTypeName() {
+        return type;
+      }
+    };
+  }
+}
@@ -57,17 +57,22 @@ public class HiveActionFactory extends BitFieldActionFactory {
     }
   }
 
+  private static final ActionTable<BitFieldAction> ACTIONS;
+
+  static {
+    ActionTable.Builder<BitFieldAction> actions = ActionTable.builder();
+    for (ActionType action : ActionType.values()) {
+      actions.put(action.getName(), new BitFieldAction(action.getName(), action.getCode()));
+    }
+    ACTIONS = actions.build();
+  }
+
   public List<? extends BitFieldAction> getActionsByCode(int actionCode) {
     return null;
   }
 
   public BitFieldAction getActionByName(String name) {
-    for (ActionType action : ActionType.values()) {
-      if (action.name.equalsIgnoreCase(name)) {
-        return new BitFieldAction(action.getName(), action.getCode());
-      }
-    }
-    return null;
+    return ACTIONS.get(name);
   }
 
 }
\ No newline at end of file
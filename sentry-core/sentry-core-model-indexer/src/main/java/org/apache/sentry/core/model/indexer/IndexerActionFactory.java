@@ -50,7 +50,16 @@ public class IndexerActionFactory extends BitFieldActionFactory {
     }
   }
 
-  private final static IndexerAction[] AllActions = IndexerAction.values();
+  private final static ActionTable<IndexerBitFieldAction> AllActions;
+
+  static {
+    ActionTable.Builder<IndexerBitFieldAction> actions = ActionTable.builder();
+    for (IndexerAction action : IndexerAction.values()) {
+      actions.put(action.getName(), new IndexerBitFieldAction(action));
+    }
+    AllActions = actions.build();
+  }
+
   /**
    * One bit set action array
    */
@@ -61,7 +70,7 @@ public class IndexerActionFactory extends BitFieldActionFactory {
     List<IndexerBitFieldAction> actions = Lists.newArrayList();
     for (IndexerAction action : OneBitActions) {
       if ((action.code & actionCode) == action.code) {
-        actions.add(new IndexerBitFieldAction(action));
+        actions.add(AllActions.get(action.getName()));
       }
     }
     return actions;
@@ -69,12 +78,6 @@ public class IndexerActionFactory extends BitFieldActionFactory {
 
   @Override
   public BitFieldAction getActionByName(String name) {
-    IndexerBitFieldAction val = null;
-    for (IndexerAction action : AllActions) {
-      if (action.name.equalsIgnoreCase(name)) {
-        return new IndexerBitFieldAction(action);
-      }
-    }
-    return val;
+    return AllActions.get(name);
   }
 }
@@ -162,6 +162,23 @@ public class KafkaActionFactory extends BitFieldActionFactory {
     }
   }
 
+  /**
+   * Kafka actions by name, "*" being ALL.
+   */
+  private static final ActionTable<KafkaAction> ACTIONS;
+
+  static {
+    ActionTable.Builder<KafkaAction> actions = ActionTable.builder();
+    for (KafkaActionType action : KafkaActionType.values()) {
+      KafkaAction kafkaAction = new KafkaAction(action);
+      actions.put(action.getName(), kafkaAction);
+      if (action == KafkaActionType.ALL) {
+        actions.put("*", kafkaAction);
+      }
+    }
+    ACTIONS = actions.build();
+  }
+
   /**
    * Get Kafka actions represented by provided action code.
    *
@@ -172,7 +189,7 @@ public class KafkaActionFactory extends BitFieldActionFactory {
   public List<KafkaAction> getActionsByCode(int actionCode) {
     List<KafkaAction> actions = Lists.newArrayList();
     for (KafkaActionType action : KafkaActionType.getActionByCode(actionCode)) {
-      actions.add(new KafkaAction(action));
+      actions.add(ACTIONS.get(action.getName()));
     }
     return actions;
   }
@@ -185,9 +202,6 @@ public class KafkaActionFactory extends BitFieldActionFactory {
    */
   @Override
   public KafkaAction getActionByName(String name) {
-    if (name.equalsIgnoreCase("*")) {
-      return new KafkaAction("ALL");
-    }
-    return KafkaActionType.hasActionType(name) ? new KafkaAction(name) : null;
+    return ACTIONS.get(name);
   }
 }
@@ -18,6 +18,7 @@ import static junit.framework.Assert.assertEquals;
 import static junit.framework.Assert.assertFalse;
 import static junit.framework.Assert.assertTrue;
 
+import org.apache.sentry.core.common.BitFieldActionFactory;
 import org.apache.sentry.core.model.kafka.KafkaActionFactory.KafkaAction;
 import org.junit.Test;
 
@@ -176,4 +177,25 @@ public class TestKafkaAction {
   public void testGetActionForInvalidCode() {
     assertEquals("Failed to NOT create Kafka actions for invalid code.", 0, factory.getActionsByCode(0).size());
   }
+
+  @Test
+  public void testGetActionByNameIgnoresCase() {
+    KafkaAction readAction = factory.getActionByName(KafkaActionConstant.READ);
+    assertTrue(readAction == factory.getActionByName("READ"));
+    assertTrue(readAction == factory.getActionByName("Read"));
+    assertTrue(factory.getActionByName("*") == factory.getActionByName(KafkaActionConstant.ALL));
+    assertEquals(null, factory.getActionByName(null));
+  }
+
+  @Test
+  public void testGetActionCode() {
+    int readCode = factory.getActionCode("READ");
+    int allCode = factory.getActionCode("*");
+    assertEquals(factory.getActionByName(KafkaActionConstant.READ).getActionCode(), readCode);
+    assertEquals(BitFieldActionFactory.UNKNOWN_ACTION_CODE, factory.getActionCode("INVALID"));
+    assertTrue(BitFieldActionFactory.impliesActionCode(allCode, readCode));
+    assertFalse(BitFieldActionFactory.impliesActionCode(readCode, allCode));
+    assertFalse(BitFieldActionFactory.impliesActionCode(allCode,
+        BitFieldActionFactory.UNKNOWN_ACTION_CODE));
+  }
 }
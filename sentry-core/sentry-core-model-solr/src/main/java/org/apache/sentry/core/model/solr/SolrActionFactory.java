@@ -50,7 +50,16 @@ public class SolrActionFactory extends BitFieldActionFactory {
     }
   }
 
-  private final static SolrAction[] AllActions = SolrAction.values();
+  private final static ActionTable<SolrBitFieldAction> AllActions;
+
+  static {
+    ActionTable.Builder<SolrBitFieldAction> actions = ActionTable.builder();
+    for (SolrAction action : SolrAction.values()) {
+      actions.put(action.getName(), new SolrBitFieldAction(action));
+    }
+    AllActions = actions.build();
+  }
+
   /**
    * One bit set action array, includes UPDATE and QUERY
    */
@@ -61,7 +70,7 @@ public class SolrActionFactory extends BitFieldActionFactory {
     List<SolrBitFieldAction> actions = Lists.newArrayList();
     for (SolrAction action : OneBitActions) {
       if ((action.code & actionCode) == action.code) {
-        actions.add(new SolrBitFieldAction(action));
+        actions.add(AllActions.get(action.getName()));
       }
     }
     return actions;
@@ -69,12 +78,6 @@ public class SolrActionFactory extends BitFieldActionFactory {
 
   @Override
   public BitFieldAction getActionByName(String name) {
-    SolrBitFieldAction val = null;
-    for (SolrAction action : AllActions) {
-      if (action.name.equalsIgnoreCase(name)) {
-        return new SolrBitFieldAction(action);
-      }
-    }
-    return val;
+    return AllActions.get(name);
   }
 }
@@ -78,20 +78,37 @@ public class SqoopActionFactory extends BitFieldActionFactory {
     }
   }
 
+  /**
+   * Sqoop actions by name, "ALL" being the same as "*".
+   */
+  private static final ActionTable<SqoopAction> ACTIONS;
+
+  static {
+    ActionTable.Builder<SqoopAction> actions = ActionTable.builder();
+    for (SqoopActionType action : SqoopActionType.values()) {
+      SqoopAction sqoopAction = new SqoopAction(action);
+      actions.put(action.getName(), sqoopAction);
+      if (action == SqoopActionType.ALL) {
+        actions.put(SqoopActionConstant.ALL_NAME, sqoopAction);
+      }
+    }
+    ACTIONS = actions.build();
+  }
+
   @Override
   public BitFieldAction getActionByName(String name) throws SentryUserException {
-    //Check the name is All
-    if (SqoopActionConstant.ALL_NAME.equalsIgnoreCase(name)) {
-      return new SqoopAction(SqoopActionType.ALL);
+    SqoopAction action = ACTIONS.get(name);
+    if (action == null) {
+      throw new SentryUserException("can't get sqoopActionType by name:" + name);
     }
-    return new SqoopAction(name);
+    return action;
   }
 
   @Override
   public List<? extends BitFieldAction> getActionsByCode(int code) throws SentryUserException {
     List<SqoopAction> actions = Lists.newArrayList();
     for (SqoopActionType action : SqoopActionType.getActionByCode(code)) {
-      actions.add(new SqoopAction(action));
+      actions.add(ACTIONS.get(action.getName()));
     }
     return actions;
   }
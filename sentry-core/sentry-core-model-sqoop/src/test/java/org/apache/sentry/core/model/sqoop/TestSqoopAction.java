@@ -20,6 +20,8 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import org.apache.sentry.core.common.BitFieldAction;
+import org.apache.sentry.core.common.BitFieldActionFactory;
 import org.apache.sentry.core.common.exception.SentryUserException;
 import org.apache.sentry.core.model.sqoop.SqoopActionFactory.SqoopAction;
 import org.junit.Test;
@@ -76,4 +78,18 @@ public class TestSqoopAction {
     assertEquals(Lists.newArrayList(readAction), factory.getActionsByCode(readAction.getActionCode()));
     assertEquals(Lists.newArrayList(writeAction), factory.getActionsByCode(writeAction.getActionCode()));
   }
+
+  @Test
+  public void testGetActionByNameIgnoresCase() throws Exception {
+    BitFieldAction allAction = factory.getActionByName(SqoopActionConstant.ALL);
+    assertTrue(allAction == factory.getActionByName("all"));
+    assertTrue(factory.getActionByName("READ") == factory.getActionByName(SqoopActionConstant.READ));
+    assertEquals(BitFieldActionFactory.UNKNOWN_ACTION_CODE, factory.getActionCode("invalid"));
+    assertEquals(allAction.getActionCode(), factory.getActionCode("All"));
+  }
+
+  @Test(expected = SentryUserException.class)
+  public void testGetActionForInvalidName() throws Exception {
+    factory.getActionByName("invalid");
+  }
 }
@@ -34,7 +34,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 @SuppressWarnings({"cast", "rawtypes", "serial", "unchecked"})
-@Generated(value = "Autogenerated by Thrift Compiler (0.9.3)", date = "2017-06-12")
+@Generated(value = "Autogenerated by Thrift Compiler (0.9.3)", date = "2026-10-17")
 public class SentryHDFSService {
 
   public interface Iface {
@@ -4430,25 +4430,25 @@ public class SentryHDFSService {
             case 0: // SUCCESS
               if (schemeField.type == org.apache.thrift.protocol.TType.MAP) {
                 {
-                  org.apache.thrift.protocol.TMap _map138 = iprot.readMapBegin();
-                  struct.success = new HashMap<String,List<String>>(2*_map138.size);
-                  String _key139;
-                  List<String> _val140;
-                  for (int _i141 = 0; _i141 < _map138.size; ++_i141)
+                  org.apache.thrift.protocol.TMap _map146 = iprot.readMapBegin();
+                  struct.success = new HashMap<String,List<String>>(2*_map146.size);
+                  String _key147;
+                  List<String> _val148;
+                  for (int _i149 = 0; _i149 < _map146.size; ++_i149)
                   {
-                    _key139 = iprot.readString();
+                    _key147 = iprot.readString();
                     {
-                      org.apache.thrift.protocol.TList _list142 = iprot.readListBegin();
-                      _val140 = new ArrayList<String>(_list142.size);
-                      String _elem143;
-                      for (int _i144 = 0; _i144 < _list142.size; ++_i144)
+                      org.apache.thrift.protocol.TList _list150 = iprot.readListBegin();
+                      _val148 = new ArrayList<String>(_list150.size);
+                      String _elem151;
+                      for (int _i152 = 0; _i152 < _list150.size; ++_i152)
                       {
-                        _elem143 = iprot.readString();
-                        _val140.add(_elem143);
+                        _elem151 = iprot.readString();
+                        _val148.add(_elem151);
                       }
                       iprot.readListEnd();
                     }
-                    struct.success.put(_key139, _val140);
+                    struct.success.put(_key147, _val148);
                   }
                   iprot.readMapEnd();
                 }
@@ -4474,14 +4474,14 @@ public class SentryHDFSService {
           oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
           {
             oprot.writeMapBegin(new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.STRING, org.apache.thrift.protocol.TType.LIST, struct.success.size()));
-            for (Map.Entry<String, List<String>> _iter145 : struct.success.entrySet())
+            for (Map.Entry<String, List<String>> _iter153 : struct.success.entrySet())
             {
-              oprot.writeString(_iter145.getKey());
+              oprot.writeString(_iter153.getKey());
               {
-                oprot.writeListBegin(new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRING, _iter145.getValue().size()));
-                for (String _iter146 : _iter145.getValue())
+                oprot.writeListBegin(new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRING, _iter153.getValue().size()));
+                for (String _iter154 : _iter153.getValue())
                 {
-                  oprot.writeString(_iter146);
+                  oprot.writeString(_iter154);
                 }
                 oprot.writeListEnd();
               }
@@ -4515,14 +4515,14 @@ public class SentryHDFSService {
         if (struct.isSetSuccess()) {
           {
             oprot.writeI32(struct.success.size());
-            for (Map.Entry<String, List<String>> _iter147 : struct.success.entrySet())
+            for (Map.Entry<String, List<String>> _iter155 : struct.success.entrySet())
             {
-              oprot.writeString(_iter147.getKey());
+              oprot.writeString(_iter155.getKey());
               {
-                oprot.writeI32(_iter147.getValue().size());
-                for (String _iter148 : _iter147.getValue())
+                oprot.writeI32(_iter155.getValue().size());
+                for (String _iter156 : _iter155.getValue())
                 {
-                  oprot.writeString(_iter148);
+                  oprot.writeString(_iter156);
                 }
               }
             }
@@ -4536,24 +4536,24 @@ public class SentryHDFSService {
         BitSet incoming = iprot.readBitSet(1);
         if (incoming.get(0)) {
           {
-            org.apache.thrift.protocol.TMap _map149 = new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.STRING, org.apache.thrift.protocol.TType.LIST, iprot.readI32());
-            struct.success = new HashMap<String,List<String>>(2*_map149.size);
-            String _key150;
-            List<String> _val151;
-            for (int _i152 = 0; _i152 < _map149.size; ++_i152)
+            org.apache.thrift.protocol.TMap _map157 = new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.STRING, org.apache.thrift.protocol.TType.LIST, iprot.readI32());
+            struct.success = new HashMap<String,List<String>>(2*_map157.size);
+            String _key158;
+            List<String> _val159;
+            for (int _i160 = 0; _i160 < _map157.size; ++_i160)
             {
-              _key150 = iprot.readString();
+              _key158 = iprot.readString();
               {
-                org.apache.thrift.protocol.TList _list153 = new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRING, iprot.readI32());
-                _val151 = new ArrayList<String>(_list153.size);
-                String _elem154;
-                for (int _i155 = 0; _i155 < _list153.size; ++_i155)
+                org.apache.thrift.protocol.TList _list161 = new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRING, iprot.readI32());
+                _val159 = new ArrayList<String>(_list161.size);
+                String _elem162;
+                for (int _i163 = 0; _i163 < _list161.size; ++_i163)
                 {
-                  _elem154 = iprot.readString();
-                  _val151.add(_elem154);
+                  _elem162 = iprot.readString();
+                  _val159.add(_elem162);
                 }
               }
-              struct.success.put(_key150, _val151);
+              struct.success.put(_key158, _val159);
             }
           }
           struct.setSuccessIsSet(true);
@@ -34,13 +34,18 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 @SuppressWarnings({"cast", "rawtypes", "serial", "unchecked"})
-@Generated(value = "Autogenerated by Thrift Compiler (0.9.3)", date = "2017-06-12")
+@Generated(value = "Autogenerated by Thrift Compiler (0.9.3)", date = "2026-10-17")
 public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdateRequest, TAuthzUpdateRequest._Fields>, java.io.Serializable, Cloneable, Comparable<TAuthzUpdateRequest> {
   private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("TAuthzUpdateRequest");
 
   private static final org.apache.thrift.protocol.TField PERM_SEQ_NUM_FIELD_DESC = new org.apache.thrift.protocol.TField("permSeqNum", org.apache.thrift.protocol.TType.I64, (short)1);
   private static final org.apache.thrift.protocol.TField PATH_SEQ_NUM_FIELD_DESC = new org.apache.thrift.protocol.TField("pathSeqNum", org.apache.thrift.protocol.TType.I64, (short)2);
   private static final org.apache.thrift.protocol.TField PATH_IMG_NUM_FIELD_DESC = new org.apache.thrift.protocol.TField("pathImgNum", org.apache.thrift.protocol.TType.I64, (short)3);
+  private static final org.apache.thrift.protocol.TField PATHS_CHUNK_SIZE_FIELD_DESC = new org.apache.thrift.protocol.TField("pathsChunkSize", org.apache.thrift.protocol.TType.I32, (short)4);
+  private static final org.apache.thrift.protocol.TField PATHS_CHUNK_SEQ_NUM_FIELD_DESC = new org.apache.thrift.protocol.TField("pathsChunkSeqNum", org.apache.thrift.protocol.TType.I64, (short)5);
+  private static final org.apache.thrift.protocol.TField PATHS_CHUNK_IMG_NUM_FIELD_DESC = new org.apache.thrift.protocol.TField("pathsChunkImgNum", org.apache.thrift.protocol.TType.I64, (short)6);
+  private static final org.apache.thrift.protocol.TField PATHS_CHUNK_OFFSET_FIELD_DESC = new org.apache.thrift.protocol.TField("pathsChunkOffset", org.apache.thrift.protocol.TType.I64, (short)7);
+  private static final org.apache.thrift.protocol.TField UPDATES_WAIT_MILLIS_FIELD_DESC = new org.apache.thrift.protocol.TField("updatesWaitMillis", org.apache.thrift.protocol.TType.I32, (short)8);
 
   private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
   static {
@@ -51,12 +56,22 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
   private long permSeqNum; // required
   private long pathSeqNum; // required
   private long pathImgNum; // required
+  private int pathsChunkSize; // optional
+  private long pathsChunkSeqNum; // optional
+  private long pathsChunkImgNum; // optional
+  private long pathsChunkOffset; // optional
+  private int updatesWaitMillis; // optional
 
   /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
   public enum _Fields implements org.apache.thrift.TFieldIdEnum {
     PERM_SEQ_NUM((short)1, "permSeqNum"),
     PATH_SEQ_NUM((short)2, "pathSeqNum"),
-    PATH_IMG_NUM((short)3, "pathImgNum");
+    PATH_IMG_NUM((short)3, "pathImgNum"),
+    PATHS_CHUNK_SIZE((short)4, "pathsChunkSize"),
+    PATHS_CHUNK_SEQ_NUM((short)5, "pathsChunkSeqNum"),
+    PATHS_CHUNK_IMG_NUM((short)6, "pathsChunkImgNum"),
+    PATHS_CHUNK_OFFSET((short)7, "pathsChunkOffset"),
+    UPDATES_WAIT_MILLIS((short)8, "updatesWaitMillis");
 
     private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
 
@@ -77,6 +92,16 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
           return PATH_SEQ_NUM;
         case 3: // PATH_IMG_NUM
           return PATH_IMG_NUM;
+        case 4: // PATHS_CHUNK_SIZE
+          return PATHS_CHUNK_SIZE;
+        case 5: // PATHS_CHUNK_SEQ_NUM
+          return PATHS_CHUNK_SEQ_NUM;
+        case 6: // PATHS_CHUNK_IMG_NUM
+          return PATHS_CHUNK_IMG_NUM;
+        case 7: // PATHS_CHUNK_OFFSET
+          return PATHS_CHUNK_OFFSET;
+        case 8: // UPDATES_WAIT_MILLIS
+          return UPDATES_WAIT_MILLIS;
         default:
           return null;
       }
@@ -120,7 +145,13 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
   private static final int __PERMSEQNUM_ISSET_ID = 0;
   private static final int __PATHSEQNUM_ISSET_ID = 1;
   private static final int __PATHIMGNUM_ISSET_ID = 2;
+  private static final int __PATHSCHUNKSIZE_ISSET_ID = 3;
+  private static final int __PATHSCHUNKSEQNUM_ISSET_ID = 4;
+  private static final int __PATHSCHUNKIMGNUM_ISSET_ID = 5;
+  private static final int __PATHSCHUNKOFFSET_ISSET_ID = 6;
+  private static final int __UPDATESWAITMILLIS_ISSET_ID = 7;
   private byte __isset_bitfield = 0;
+  private static final _Fields optionals[] = {_Fields.PATHS_CHUNK_SIZE,_Fields.PATHS_CHUNK_SEQ_NUM,_Fields.PATHS_CHUNK_IMG_NUM,_Fields.PATHS_CHUNK_OFFSET,_Fields.UPDATES_WAIT_MILLIS};
   public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
   static {
     Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
@@ -130,6 +161,16 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
         new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
     tmpMap.put(_Fields.PATH_IMG_NUM, new org.apache.thrift.meta_data.FieldMetaData("pathImgNum", org.apache.thrift.TFieldRequirementType.REQUIRED, 
         new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
+    tmpMap.put(_Fields.PATHS_CHUNK_SIZE, new org.apache.thrift.meta_data.FieldMetaData("pathsChunkSize", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I32)));
+    tmpMap.put(_Fields.PATHS_CHUNK_SEQ_NUM, new org.apache.thrift.meta_data.FieldMetaData("pathsChunkSeqNum", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
+    tmpMap.put(_Fields.PATHS_CHUNK_IMG_NUM, new org.apache.thrift.meta_data.FieldMetaData("pathsChunkImgNum", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
+    tmpMap.put(_Fields.PATHS_CHUNK_OFFSET, new org.apache.thrift.meta_data.FieldMetaData("pathsChunkOffset", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
+    tmpMap.put(_Fields.UPDATES_WAIT_MILLIS, new org.apache.thrift.meta_data.FieldMetaData("updatesWaitMillis", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I32)));
     metaDataMap = Collections.unmodifiableMap(tmpMap);
     org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(TAuthzUpdateRequest.class, metaDataMap);
   }
@@ -159,6 +200,11 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
     this.permSeqNum = other.permSeqNum;
     this.pathSeqNum = other.pathSeqNum;
     this.pathImgNum = other.pathImgNum;
+    this.pathsChunkSize = other.pathsChunkSize;
+    this.pathsChunkSeqNum = other.pathsChunkSeqNum;
+    this.pathsChunkImgNum = other.pathsChunkImgNum;
+    this.pathsChunkOffset = other.pathsChunkOffset;
+    this.updatesWaitMillis = other.updatesWaitMillis;
   }
 
   public TAuthzUpdateRequest deepCopy() {
@@ -173,6 +219,16 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
     this.pathSeqNum = 0;
     setPathImgNumIsSet(false);
     this.pathImgNum = 0;
+    setPathsChunkSizeIsSet(false);
+    this.pathsChunkSize = 0;
+    setPathsChunkSeqNumIsSet(false);
+    this.pathsChunkSeqNum = 0;
+    setPathsChunkImgNumIsSet(false);
+    this.pathsChunkImgNum = 0;
+    setPathsChunkOffsetIsSet(false);
+    this.pathsChunkOffset = 0;
+    setUpdatesWaitMillisIsSet(false);
+    this.updatesWaitMillis = 0;
   }
 
   public long getPermSeqNum() {
@@ -241,6 +297,116 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
     __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __PATHIMGNUM_ISSET_ID, value);
   }
 
+  public int getPathsChunkSize() {
+    return this.pathsChunkSize;
+  }
+
+  public void setPathsChunkSize(int pathsChunkSize) {
+    this.pathsChunkSize = pathsChunkSize;
+    setPathsChunkSizeIsSet(true);
+  }
+
+  public void unsetPathsChunkSize() {
+    __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __PATHSCHUNKSIZE_ISSET_ID);
+  }
+
+  /** Returns true if field pathsChunkSize is set (has been assigned a value) and false otherwise */
+  public boolean isSetPathsChunkSize() {
+    return EncodingUtils.testBit(__isset_bitfield, __PATHSCHUNKSIZE_ISSET_ID);
+  }
+
+  public void setPathsChunkSizeIsSet(boolean value) {
+    __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __PATHSCHUNKSIZE_ISSET_ID, value);
+  }
+
+  public long getPathsChunkSeqNum() {
+    return this.pathsChunkSeqNum;
+  }
+
+  public void setPathsChunkSeqNum(long pathsChunkSeqNum) {
+    this.pathsChunkSeqNum = pathsChunkSeqNum;
+    setPathsChunkSeqNumIsSet(true);
+  }
+
+  public void unsetPathsChunkSeqNum() {
+    __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __PATHSCHUNKSEQNUM_ISSET_ID);
+  }
+
+  /** Returns true if field pathsChunkSeqNum is set (has been assigned a value) and false otherwise */
+  public boolean isSetPathsChunkSeqNum() {
+    return EncodingUtils.testBit(__isset_bitfield, __PATHSCHUNKSEQNUM_ISSET_ID);
+  }
+
+  public void setPathsChunkSeqNumIsSet(boolean value) {
+    __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __PATHSCHUNKSEQNUM_ISSET_ID, value);
+  }
+
+  public long getPathsChunkImgNum() {
+    return this.pathsChunkImgNum;
+  }
+
+  public void setPathsChunkImgNum(long pathsChunkImgNum) {
+    this.pathsChunkImgNum = pathsChunkImgNum;
+    setPathsChunkImgNumIsSet(true);
+  }
+
+  public void unsetPathsChunkImgNum() {
+    __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __PATHSCHUNKIMGNUM_ISSET_ID);
+  }
+
+  /** Returns true if field pathsChunkImgNum is set (has been assigned a value) and false otherwise */
+  public boolean isSetPathsChunkImgNum() {
+    return EncodingUtils.testBit(__isset_bitfield, __PATHSCHUNKIMGNUM_ISSET_ID);
+  }
+
+  public void setPathsChunkImgNumIsSet(boolean value) {
+    __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __PATHSCHUNKIMGNUM_ISSET_ID, value);
+  }
+
+  public long getPathsChunkOffset() {
+    return this.pathsChunkOffset;
+  }
+
+  public void setPathsChunkOffset(long pathsChunkOffset) {
+    this.pathsChunkOffset = pathsChunkOffset;
+    setPathsChunkOffsetIsSet(true);
+  }
+
+  public void unsetPathsChunkOffset() {
+    __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __PATHSCHUNKOFFSET_ISSET_ID);
+  }
+
+  /** Returns true if field pathsChunkOffset is set (has been assigned a value) and false otherwise */
+  public boolean isSetPathsChunkOffset() {
+    return EncodingUtils.testBit(__isset_bitfield, __PATHSCHUNKOFFSET_ISSET_ID);
+  }
+
+  public void setPathsChunkOffsetIsSet(boolean value) {
+    __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __PATHSCHUNKOFFSET_ISSET_ID, value);
+  }
+
+  public int getUpdatesWaitMillis() {
+    return this.updatesWaitMillis;
+  }
+
+  public void setUpdatesWaitMillis(int updatesWaitMillis) {
+    this.updatesWaitMillis = updatesWaitMillis;
+    setUpdatesWaitMillisIsSet(true);
+  }
+
+  public void unsetUpdatesWaitMillis() {
+    __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __UPDATESWAITMILLIS_ISSET_ID);
+  }
+
+  /** Returns true if field updatesWaitMillis is set (has been assigned a value) and false otherwise */
+  public boolean isSetUpdatesWaitMillis() {
+    return EncodingUtils.testBit(__isset_bitfield, __UPDATESWAITMILLIS_ISSET_ID);
+  }
+
+  public void setUpdatesWaitMillisIsSet(boolean value) {
+    __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __UPDATESWAITMILLIS_ISSET_ID, value);
+  }
+
   public void setFieldValue(_Fields field, Object value) {
     switch (field) {
     case PERM_SEQ_NUM:
@@ -267,6 +433,46 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
       }
       break;
 
+    case PATHS_CHUNK_SIZE:
+      if (value == null) {
+        unsetPathsChunkSize();
+      } else {
+        setPathsChunkSize((Integer)value);
+      }
+      break;
+
+    case PATHS_CHUNK_SEQ_NUM:
+      if (value == null) {
+        unsetPathsChunkSeqNum();
+      } else {
+        setPathsChunkSeqNum((Long)value);
+      }
+      break;
+
+    case PATHS_CHUNK_IMG_NUM:
+      if (value == null) {
+        unsetPathsChunkImgNum();
+      } else {
+        setPathsChunkImgNum((Long)value);
+      }
+      break;
+
+    case PATHS_CHUNK_OFFSET:
+      if (value == null) {
+        unsetPathsChunkOffset();
+      } else {
+        setPathsChunkOffset((Long)value);
+      }
+      break;
+
+    case UPDATES_WAIT_MILLIS:
+      if (value == null) {
+        unsetUpdatesWaitMillis();
+      } else {
+        setUpdatesWaitMillis((Integer)value);
+      }
+      break;
+
     }
   }
 
@@ -281,6 +487,21 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
     case PATH_IMG_NUM:
       return getPathImgNum();
 
+    case PATHS_CHUNK_SIZE:
+      return getPathsChunkSize();
+
+    case PATHS_CHUNK_SEQ_NUM:
+      return getPathsChunkSeqNum();
+
+    case PATHS_CHUNK_IMG_NUM:
+      return getPathsChunkImgNum();
+
+    case PATHS_CHUNK_OFFSET:
+      return getPathsChunkOffset();
+
+    case UPDATES_WAIT_MILLIS:
+      return getUpdatesWaitMillis();
+
     }
     throw new IllegalStateException();
   }
@@ -298,6 +519,16 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
       return isSetPathSeqNum();
     case PATH_IMG_NUM:
       return isSetPathImgNum();
+    case PATHS_CHUNK_SIZE:
+      return isSetPathsChunkSize();
+    case PATHS_CHUNK_SEQ_NUM:
+      return isSetPathsChunkSeqNum();
+    case PATHS_CHUNK_IMG_NUM:
+      return isSetPathsChunkImgNum();
+    case PATHS_CHUNK_OFFSET:
+      return isSetPathsChunkOffset();
+    case UPDATES_WAIT_MILLIS:
+      return isSetUpdatesWaitMillis();
     }
     throw new IllegalStateException();
   }
@@ -342,6 +573,51 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
         return false;
     }
 
+    boolean this_present_pathsChunkSize = true && this.isSetPathsChunkSize();
+    boolean that_present_pathsChunkSize = true && that.isSetPathsChunkSize();
+    if (this_present_pathsChunkSize || that_present_pathsChunkSize) {
+      if (!(this_present_pathsChunkSize && that_present_pathsChunkSize))
+        return false;
+      if (this.pathsChunkSize != that.pathsChunkSize)
+        return false;
+    }
+
+    boolean this_present_pathsChunkSeqNum = true && this.isSetPathsChunkSeqNum();
+    boolean that_present_pathsChunkSeqNum = true && that.isSetPathsChunkSeqNum();
+    if (this_present_pathsChunkSeqNum || that_present_pathsChunkSeqNum) {
+      if (!(this_present_pathsChunkSeqNum && that_present_pathsChunkSeqNum))
+        return false;
+      if (this.pathsChunkSeqNum != that.pathsChunkSeqNum)
+        return false;
+    }
+
+    boolean this_present_pathsChunkImgNum = true && this.isSetPathsChunkImgNum();
+    boolean that_present_pathsChunkImgNum = true && that.isSetPathsChunkImgNum();
+    if (this_present_pathsChunkImgNum || that_present_pathsChunkImgNum) {
+      if (!(this_present_pathsChunkImgNum && that_present_pathsChunkImgNum))
+        return false;
+      if (this.pathsChunkImgNum != that.pathsChunkImgNum)
+        return false;
+    }
+
+    boolean this_present_pathsChunkOffset = true && this.isSetPathsChunkOffset();
+    boolean that_present_pathsChunkOffset = true && that.isSetPathsChunkOffset();
+    if (this_present_pathsChunkOffset || that_present_pathsChunkOffset) {
+      if (!(this_present_pathsChunkOffset && that_present_pathsChunkOffset))
+        return false;
+      if (this.pathsChunkOffset != that.pathsChunkOffset)
+        return false;
+    }
+
+    boolean this_present_updatesWaitMillis = true && this.isSetUpdatesWaitMillis();
+    boolean that_present_updatesWaitMillis = true && that.isSetUpdatesWaitMillis();
+    if (this_present_updatesWaitMillis || that_present_updatesWaitMillis) {
+      if (!(this_present_updatesWaitMillis && that_present_updatesWaitMillis))
+        return false;
+      if (this.updatesWaitMillis != that.updatesWaitMillis)
+        return false;
+    }
+
     return true;
   }
 
@@ -364,6 +640,31 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
     if (present_pathImgNum)
       list.add(pathImgNum);
 
+    boolean present_pathsChunkSize = true && (isSetPathsChunkSize());
+    list.add(present_pathsChunkSize);
+    if (present_pathsChunkSize)
+      list.add(pathsChunkSize);
+
+    boolean present_pathsChunkSeqNum = true && (isSetPathsChunkSeqNum());
+    list.add(present_pathsChunkSeqNum);
+    if (present_pathsChunkSeqNum)
+      list.add(pathsChunkSeqNum);
+
+    boolean present_pathsChunkImgNum = true && (isSetPathsChunkImgNum());
+    list.add(present_pathsChunkImgNum);
+    if (present_pathsChunkImgNum)
+      list.add(pathsChunkImgNum);
+
+    boolean present_pathsChunkOffset = true && (isSetPathsChunkOffset());
+    list.add(present_pathsChunkOffset);
+    if (present_pathsChunkOffset)
+      list.add(pathsChunkOffset);
+
+    boolean present_updatesWaitMillis = true && (isSetUpdatesWaitMillis());
+    list.add(present_updatesWaitMillis);
+    if (present_updatesWaitMillis)
+      list.add(updatesWaitMillis);
+
     return list.hashCode();
   }
 
@@ -405,6 +706,56 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
         return lastComparison;
       }
     }
+    lastComparison = Boolean.valueOf(isSetPathsChunkSize()).compareTo(other.isSetPathsChunkSize());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetPathsChunkSize()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.pathsChunkSize, other.pathsChunkSize);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = Boolean.valueOf(isSetPathsChunkSeqNum()).compareTo(other.isSetPathsChunkSeqNum());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetPathsChunkSeqNum()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.pathsChunkSeqNum, other.pathsChunkSeqNum);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = Boolean.valueOf(isSetPathsChunkImgNum()).compareTo(other.isSetPathsChunkImgNum());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetPathsChunkImgNum()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.pathsChunkImgNum, other.pathsChunkImgNum);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = Boolean.valueOf(isSetPathsChunkOffset()).compareTo(other.isSetPathsChunkOffset());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetPathsChunkOffset()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.pathsChunkOffset, other.pathsChunkOffset);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = Boolean.valueOf(isSetUpdatesWaitMillis()).compareTo(other.isSetUpdatesWaitMillis());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetUpdatesWaitMillis()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.updatesWaitMillis, other.updatesWaitMillis);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
     return 0;
   }
 
@@ -436,6 +787,36 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
     sb.append("pathImgNum:");
     sb.append(this.pathImgNum);
     first = false;
+    if (isSetPathsChunkSize()) {
+      if (!first) sb.append(", ");
+      sb.append("pathsChunkSize:");
+      sb.append(this.pathsChunkSize);
+      first = false;
+    }
+    if (isSetPathsChunkSeqNum()) {
+      if (!first) sb.append(", ");
+      sb.append("pathsChunkSeqNum:");
+      sb.append(this.pathsChunkSeqNum);
+      first = false;
+    }
+    if (isSetPathsChunkImgNum()) {
+      if (!first) sb.append(", ");
+      sb.append("pathsChunkImgNum:");
+      sb.append(this.pathsChunkImgNum);
+      first = false;
+    }
+    if (isSetPathsChunkOffset()) {
+      if (!first) sb.append(", ");
+      sb.append("pathsChunkOffset:");
+      sb.append(this.pathsChunkOffset);
+      first = false;
+    }
+    if (isSetUpdatesWaitMillis()) {
+      if (!first) sb.append(", ");
+      sb.append("updatesWaitMillis:");
+      sb.append(this.updatesWaitMillis);
+      first = false;
+    }
     sb.append(")");
     return sb.toString();
   }
@@ -517,6 +898,46 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
             break;
+          case 4: // PATHS_CHUNK_SIZE
+            if (schemeField.type == org.apache.thrift.protocol.TType.I32) {
+              struct.pathsChunkSize = iprot.readI32();
+              struct.setPathsChunkSizeIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 5: // PATHS_CHUNK_SEQ_NUM
+            if (schemeField.type == org.apache.thrift.protocol.TType.I64) {
+              struct.pathsChunkSeqNum = iprot.readI64();
+              struct.setPathsChunkSeqNumIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 6: // PATHS_CHUNK_IMG_NUM
+            if (schemeField.type == org.apache.thrift.protocol.TType.I64) {
+              struct.pathsChunkImgNum = iprot.readI64();
+              struct.setPathsChunkImgNumIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 7: // PATHS_CHUNK_OFFSET
+            if (schemeField.type == org.apache.thrift.protocol.TType.I64) {
+              struct.pathsChunkOffset = iprot.readI64();
+              struct.setPathsChunkOffsetIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 8: // UPDATES_WAIT_MILLIS
+            if (schemeField.type == org.apache.thrift.protocol.TType.I32) {
+              struct.updatesWaitMillis = iprot.readI32();
+              struct.setUpdatesWaitMillisIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
           default:
             org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
         }
@@ -539,6 +960,31 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
       oprot.writeFieldBegin(PATH_IMG_NUM_FIELD_DESC);
       oprot.writeI64(struct.pathImgNum);
       oprot.writeFieldEnd();
+      if (struct.isSetPathsChunkSize()) {
+        oprot.writeFieldBegin(PATHS_CHUNK_SIZE_FIELD_DESC);
+        oprot.writeI32(struct.pathsChunkSize);
+        oprot.writeFieldEnd();
+      }
+      if (struct.isSetPathsChunkSeqNum()) {
+        oprot.writeFieldBegin(PATHS_CHUNK_SEQ_NUM_FIELD_DESC);
+        oprot.writeI64(struct.pathsChunkSeqNum);
+        oprot.writeFieldEnd();
+      }
+      if (struct.isSetPathsChunkImgNum()) {
+        oprot.writeFieldBegin(PATHS_CHUNK_IMG_NUM_FIELD_DESC);
+        oprot.writeI64(struct.pathsChunkImgNum);
+        oprot.writeFieldEnd();
+      }
+      if (struct.isSetPathsChunkOffset()) {
+        oprot.writeFieldBegin(PATHS_CHUNK_OFFSET_FIELD_DESC);
+        oprot.writeI64(struct.pathsChunkOffset);
+        oprot.writeFieldEnd();
+      }
+      if (struct.isSetUpdatesWaitMillis()) {
+        oprot.writeFieldBegin(UPDATES_WAIT_MILLIS_FIELD_DESC);
+        oprot.writeI32(struct.updatesWaitMillis);
+        oprot.writeFieldEnd();
+      }
       oprot.writeFieldStop();
       oprot.writeStructEnd();
     }
@@ -559,6 +1005,38 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
       oprot.writeI64(struct.permSeqNum);
       oprot.writeI64(struct.pathSeqNum);
       oprot.writeI64(struct.pathImgNum);
+      BitSet optionals = new BitSet();
+      if (struct.isSetPathsChunkSize()) {
+        optionals.set(0);
+      }
+      if (struct.isSetPathsChunkSeqNum()) {
+        optionals.set(1);
+      }
+      if (struct.isSetPathsChunkImgNum()) {
+        optionals.set(2);
+      }
+      if (struct.isSetPathsChunkOffset()) {
+        optionals.set(3);
+      }
+      if (struct.isSetUpdatesWaitMillis()) {
+        optionals.set(4);
+      }
+      oprot.writeBitSet(optionals, 5);
+      if (struct.isSetPathsChunkSize()) {
+        oprot.writeI32(struct.pathsChunkSize);
+      }
+      if (struct.isSetPathsChunkSeqNum()) {
+        oprot.writeI64(struct.pathsChunkSeqNum);
+      }
+      if (struct.isSetPathsChunkImgNum()) {
+        oprot.writeI64(struct.pathsChunkImgNum);
+      }
+      if (struct.isSetPathsChunkOffset()) {
+        oprot.writeI64(struct.pathsChunkOffset);
+      }
+      if (struct.isSetUpdatesWaitMillis()) {
+        oprot.writeI32(struct.updatesWaitMillis);
+      }
     }
 
     @Override
@@ -570,6 +1048,27 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
       struct.setPathSeqNumIsSet(true);
       struct.pathImgNum = iprot.readI64();
       struct.setPathImgNumIsSet(true);
+      BitSet incoming = iprot.readBitSet(5);
+      if (incoming.get(0)) {
+        struct.pathsChunkSize = iprot.readI32();
+        struct.setPathsChunkSizeIsSet(true);
+      }
+      if (incoming.get(1)) {
+        struct.pathsChunkSeqNum = iprot.readI64();
+        struct.setPathsChunkSeqNumIsSet(true);
+      }
+      if (incoming.get(2)) {
+        struct.pathsChunkImgNum = iprot.readI64();
+        struct.setPathsChunkImgNumIsSet(true);
+      }
+      if (incoming.get(3)) {
+        struct.pathsChunkOffset = iprot.readI64();
+        struct.setPathsChunkOffsetIsSet(true);
+      }
+      if (incoming.get(4)) {
+        struct.updatesWaitMillis = iprot.readI32();
+        struct.setUpdatesWaitMillisIsSet(true);
+      }
     }
   }
 
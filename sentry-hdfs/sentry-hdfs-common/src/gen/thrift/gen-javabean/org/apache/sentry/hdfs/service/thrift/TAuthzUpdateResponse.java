@@ -34,7 +34,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 @SuppressWarnings({"cast", "rawtypes", "serial", "unchecked"})
-@Generated(value = "Autogenerated by Thrift Compiler (0.9.3)", date = "2017-04-26")
+@Generated(value = "Autogenerated by Thrift Compiler (0.9.3)", date = "2026-10-17")
 public class TAuthzUpdateResponse implements org.apache.thrift.TBase<TAuthzUpdateResponse, TAuthzUpdateResponse._Fields>, java.io.Serializable, Cloneable, Comparable<TAuthzUpdateResponse> {
   private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("TAuthzUpdateResponse");
 
@@ -447,14 +447,14 @@ public class TAuthzUpdateResponse implements org.apache.thrift.TBase<TAuthzUpdat
           case 1: // AUTHZ_PATH_UPDATE
             if (schemeField.type == org.apache.thrift.protocol.TType.LIST) {
               {
-                org.apache.thrift.protocol.TList _list122 = iprot.readListBegin();
-                struct.authzPathUpdate = new ArrayList<TPathsUpdate>(_list122.size);
-                TPathsUpdate _elem123;
-                for (int _i124 = 0; _i124 < _list122.size; ++_i124)
+                org.apache.thrift.protocol.TList _list130 = iprot.readListBegin();
+                struct.authzPathUpdate = new ArrayList<TPathsUpdate>(_list130.size);
+                TPathsUpdate _elem131;
+                for (int _i132 = 0; _i132 < _list130.size; ++_i132)
                 {
-                  _elem123 = new TPathsUpdate();
-                  _elem123.read(iprot);
-                  struct.authzPathUpdate.add(_elem123);
+                  _elem131 = new TPathsUpdate();
+                  _elem131.read(iprot);
+                  struct.authzPathUpdate.add(_elem131);
                 }
                 iprot.readListEnd();
               }
@@ -466,14 +466,14 @@ public class TAuthzUpdateResponse implements org.apache.thrift.TBase<TAuthzUpdat
           case 2: // AUTHZ_PERM_UPDATE
             if (schemeField.type == org.apache.thrift.protocol.TType.LIST) {
               {
-                org.apache.thrift.protocol.TList _list125 = iprot.readListBegin();
-                struct.authzPermUpdate = new ArrayList<TPermissionsUpdate>(_list125.size);
-                TPermissionsUpdate _elem126;
-                for (int _i127 = 0; _i127 < _list125.size; ++_i127)
+                org.apache.thrift.protocol.TList _list133 = iprot.readListBegin();
+                struct.authzPermUpdate = new ArrayList<TPermissionsUpdate>(_list133.size);
+                TPermissionsUpdate _elem134;
+                for (int _i135 = 0; _i135 < _list133.size; ++_i135)
                 {
-                  _elem126 = new TPermissionsUpdate();
-                  _elem126.read(iprot);
-                  struct.authzPermUpdate.add(_elem126);
+                  _elem134 = new TPermissionsUpdate();
+                  _elem134.read(iprot);
+                  struct.authzPermUpdate.add(_elem134);
                 }
                 iprot.readListEnd();
               }
@@ -500,9 +500,9 @@ public class TAuthzUpdateResponse implements org.apache.thrift.TBase<TAuthzUpdat
           oprot.writeFieldBegin(AUTHZ_PATH_UPDATE_FIELD_DESC);
           {
             oprot.writeListBegin(new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, struct.authzPathUpdate.size()));
-            for (TPathsUpdate _iter128 : struct.authzPathUpdate)
+            for (TPathsUpdate _iter136 : struct.authzPathUpdate)
             {
-              _iter128.write(oprot);
+              _iter136.write(oprot);
             }
             oprot.writeListEnd();
           }
@@ -514,9 +514,9 @@ public class TAuthzUpdateResponse implements org.apache.thrift.TBase<TAuthzUpdat
           oprot.writeFieldBegin(AUTHZ_PERM_UPDATE_FIELD_DESC);
           {
             oprot.writeListBegin(new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, struct.authzPermUpdate.size()));
-            for (TPermissionsUpdate _iter129 : struct.authzPermUpdate)
+            for (TPermissionsUpdate _iter137 : struct.authzPermUpdate)
             {
-              _iter129.write(oprot);
+              _iter137.write(oprot);
             }
             oprot.writeListEnd();
           }
@@ -551,18 +551,18 @@ public class TAuthzUpdateResponse implements org.apache.thrift.TBase<TAuthzUpdat
       if (struct.isSetAuthzPathUpdate()) {
         {
           oprot.writeI32(struct.authzPathUpdate.size());
-          for (TPathsUpdate _iter130 : struct.authzPathUpdate)
+          for (TPathsUpdate _iter138 : struct.authzPathUpdate)
           {
-            _iter130.write(oprot);
+            _iter138.write(oprot);
           }
         }
       }
       if (struct.isSetAuthzPermUpdate()) {
         {
           oprot.writeI32(struct.authzPermUpdate.size());
-          for (TPermissionsUpdate _iter131 : struct.authzPermUpdate)
+          for (TPermissionsUpdate _iter139 : struct.authzPermUpdate)
           {
-            _iter131.write(oprot);
+            _iter139.write(oprot);
           }
         }
       }
@@ -574,28 +574,28 @@ public class TAuthzUpdateResponse implements org.apache.thrift.TBase<TAuthzUpdat
       BitSet incoming = iprot.readBitSet(2);
       if (incoming.get(0)) {
         {
-          org.apache.thrift.protocol.TList _list132 = new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, iprot.readI32());
-          struct.authzPathUpdate = new ArrayList<TPathsUpdate>(_list132.size);
-          TPathsUpdate _elem133;
-          for (int _i134 = 0; _i134 < _list132.size; ++_i134)
+          org.apache.thrift.protocol.TList _list140 = new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, iprot.readI32());
+          struct.authzPathUpdate = new ArrayList<TPathsUpdate>(_list140.size);
+          TPathsUpdate _elem141;
+          for (int _i142 = 0; _i142 < _list140.size; ++_i142)
           {
-            _elem133 = new TPathsUpdate();
-            _elem133.read(iprot);
-            struct.authzPathUpdate.add(_elem133);
+            _elem141 = new TPathsUpdate();
+            _elem141.read(iprot);
+            struct.authzPathUpdate.add(_elem141);
           }
         }
         struct.setAuthzPathUpdateIsSet(true);
       }
       if (incoming.get(1)) {
         {
-          org.apache.thrift.protocol.TList _list135 = new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, iprot.readI32());
-          struct.authzPermUpdate = new ArrayList<TPermissionsUpdate>(_list135.size);
-          TPermissionsUpdate _elem136;
-          for (int _i137 = 0; _i137 < _list135.size; ++_i137)
+          org.apache.thrift.protocol.TList _list143 = new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, iprot.readI32());
+          struct.authzPermUpdate = new ArrayList<TPermissionsUpdate>(_list143.size);
+          TPermissionsUpdate _elem144;
+          for (int _i145 = 0; _i145 < _list143.size; ++_i145)
           {
-            _elem136 = new TPermissionsUpdate();
-            _elem136.read(iprot);
-            struct.authzPermUpdate.add(_elem136);
+            _elem144 = new TPermissionsUpdate();
+            _elem144.read(iprot);
+            struct.authzPermUpdate.add(_elem144);
           }
         }
         struct.setAuthzPermUpdateIsSet(true);
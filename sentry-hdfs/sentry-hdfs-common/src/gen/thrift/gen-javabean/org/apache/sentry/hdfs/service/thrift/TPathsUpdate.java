@@ -34,7 +34,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 @SuppressWarnings({"cast", "rawtypes", "serial", "unchecked"})
-@Generated(value = "Autogenerated by Thrift Compiler (0.9.3)", date = "2017-06-12")
+@Generated(value = "Autogenerated by Thrift Compiler (0.9.3)", date = "2026-10-17")
 public class TPathsUpdate implements org.apache.thrift.TBase<TPathsUpdate, TPathsUpdate._Fields>, java.io.Serializable, Cloneable, Comparable<TPathsUpdate> {
   private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("TPathsUpdate");
 
@@ -43,6 +43,8 @@ public class TPathsUpdate implements org.apache.thrift.TBase<TPathsUpdate, TPath
   private static final org.apache.thrift.protocol.TField SEQ_NUM_FIELD_DESC = new org.apache.thrift.protocol.TField("seqNum", org.apache.thrift.protocol.TType.I64, (short)3);
   private static final org.apache.thrift.protocol.TField PATH_CHANGES_FIELD_DESC = new org.apache.thrift.protocol.TField("pathChanges", org.apache.thrift.protocol.TType.LIST, (short)4);
   private static final org.apache.thrift.protocol.TField IMG_NUM_FIELD_DESC = new org.apache.thrift.protocol.TField("imgNum", org.apache.thrift.protocol.TType.I64, (short)5);
+  private static final org.apache.thrift.protocol.TField CHUNK_OFFSET_FIELD_DESC = new org.apache.thrift.protocol.TField("chunkOffset", org.apache.thrift.protocol.TType.I64, (short)6);
+  private static final org.apache.thrift.protocol.TField CHUNK_TOTAL_FIELD_DESC = new org.apache.thrift.protocol.TField("chunkTotal", org.apache.thrift.protocol.TType.I64, (short)7);
 
   private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
   static {
@@ -55,6 +57,8 @@ public class TPathsUpdate implements org.apache.thrift.TBase<TPathsUpdate, TPath
   private long seqNum; // required
   private List<TPathChanges> pathChanges; // required
   private long imgNum; // optional
+  private long chunkOffset; // optional
+  private long chunkTotal; // optional
 
   /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
   public enum _Fields implements org.apache.thrift.TFieldIdEnum {
@@ -62,7 +66,9 @@ public class TPathsUpdate implements org.apache.thrift.TBase<TPathsUpdate, TPath
     PATHS_DUMP((short)2, "pathsDump"),
     SEQ_NUM((short)3, "seqNum"),
     PATH_CHANGES((short)4, "pathChanges"),
-    IMG_NUM((short)5, "imgNum");
+    IMG_NUM((short)5, "imgNum"),
+    CHUNK_OFFSET((short)6, "chunkOffset"),
+    CHUNK_TOTAL((short)7, "chunkTotal");
 
     private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
 
@@ -87,6 +93,10 @@ public class TPathsUpdate implements org.apache.thrift.TBase<TPathsUpdate, TPath
           return PATH_CHANGES;
         case 5: // IMG_NUM
           return IMG_NUM;
+        case 6: // CHUNK_OFFSET
+          return CHUNK_OFFSET;
+        case 7: // CHUNK_TOTAL
+          return CHUNK_TOTAL;
         default:
           return null;
       }
@@ -130,8 +140,10 @@ public class TPathsUpdate implements org.apache.thrift.TBase<TPathsUpdate, TPath
   private static final int __HASFULLIMAGE_ISSET_ID = 0;
   private static final int __SEQNUM_ISSET_ID = 1;
   private static final int __IMGNUM_ISSET_ID = 2;
+  private static final int __CHUNKOFFSET_ISSET_ID = 3;
+  private static final int __CHUNKTOTAL_ISSET_ID = 4;
   private byte __isset_bitfield = 0;
-  private static final _Fields optionals[] = {_Fields.PATHS_DUMP,_Fields.IMG_NUM};
+  private static final _Fields optionals[] = {_Fields.PATHS_DUMP,_Fields.IMG_NUM,_Fields.CHUNK_OFFSET,_Fields.CHUNK_TOTAL};
   public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
   static {
     Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
@@ -146,6 +158,10 @@ public class TPathsUpdate implements org.apache.thrift.TBase<TPathsUpdate, TPath
             new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TPathChanges.class))));
     tmpMap.put(_Fields.IMG_NUM, new org.apache.thrift.meta_data.FieldMetaData("imgNum", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
         new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
+    tmpMap.put(_Fields.CHUNK_OFFSET, new org.apache.thrift.meta_data.FieldMetaData("chunkOffset", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
+    tmpMap.put(_Fields.CHUNK_TOTAL, new org.apache.thrift.meta_data.FieldMetaData("chunkTotal", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
     metaDataMap = Collections.unmodifiableMap(tmpMap);
     org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(TPathsUpdate.class, metaDataMap);
   }
@@ -186,6 +202,8 @@ public class TPathsUpdate implements org.apache.thrift.TBase<TPathsUpdate, TPath
       this.pathChanges = __this__pathChanges;
     }
     this.imgNum = other.imgNum;
+    this.chunkOffset = other.chunkOffset;
+    this.chunkTotal = other.chunkTotal;
   }
 
   public TPathsUpdate deepCopy() {
@@ -202,6 +220,10 @@ public class TPathsUpdate implements org.apache.thrift.TBase<TPathsUpdate, TPath
     this.pathChanges = null;
     this.imgNum = -1L;
 
+    setChunkOffsetIsSet(false);
+    this.chunkOffset = 0;
+    setChunkTotalIsSet(false);
+    this.chunkTotal = 0;
   }
 
   public boolean isHasFullImage() {
@@ -331,6 +353,50 @@ public class TPathsUpdate implements org.apache.thrift.TBase<TPathsUpdate, TPath
     __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __IMGNUM_ISSET_ID, value);
   }
 
+  public long getChunkOffset() {
+    return this.chunkOffset;
+  }
+
+  public void setChunkOffset(long chunkOffset) {
+    this.chunkOffset = chunkOffset;
+    setChunkOffsetIsSet(true);
+  }
+
+  public void unsetChunkOffset() {
+    __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __CHUNKOFFSET_ISSET_ID);
+  }
+
+  /** Returns true if field chunkOffset is set (has been assigned a value) and false otherwise */
+  public boolean isSetChunkOffset() {
+    return EncodingUtils.testBit(__isset_bitfield, __CHUNKOFFSET_ISSET_ID);
+  }
+
+  public void setChunkOffsetIsSet(boolean value) {
+    __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __CHUNKOFFSET_ISSET_ID, value);
+  }
+
+  public long getChunkTotal() {
+    return this.chunkTotal;
+  }
+
+  public void setChunkTotal(long chunkTotal) {
+    this.chunkTotal = chunkTotal;
+    setChunkTotalIsSet(true);
+  }
+
+  public void unsetChunkTotal() {
+    __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __CHUNKTOTAL_ISSET_ID);
+  }
+
+  /** Returns true if field chunkTotal is set (has been assigned a value) and false otherwise */
+  public boolean isSetChunkTotal() {
+    return EncodingUtils.testBit(__isset_bitfield, __CHUNKTOTAL_ISSET_ID);
+  }
+
+  public void setChunkTotalIsSet(boolean value) {
+    __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __CHUNKTOTAL_ISSET_ID, value);
+  }
+
   public void setFieldValue(_Fields field, Object value) {
     switch (field) {
     case HAS_FULL_IMAGE:
@@ -373,6 +439,22 @@ public class TPathsUpdate implements org.apache.thrift.TBase<TPathsUpdate, TPath
       }
       break;
 
+    case CHUNK_OFFSET:
+      if (value == null) {
+        unsetChunkOffset();
+      } else {
+        setChunkOffset((Long)value);
+      }
+      break;
+
+    case CHUNK_TOTAL:
+      if (value == null) {
+        unsetChunkTotal();
+      } else {
+        setChunkTotal((Long)value);
+      }
+      break;
+
     }
   }
 
@@ -393,6 +475,12 @@ public class TPathsUpdate implements org.apache.thrift.TBase<TPathsUpdate, TPath
     case IMG_NUM:
       return getImgNum();
 
+    case CHUNK_OFFSET:
+      return getChunkOffset();
+
+    case CHUNK_TOTAL:
+      return getChunkTotal();
+
     }
     throw new IllegalStateException();
   }
@@ -414,6 +502,10 @@ public class TPathsUpdate implements org.apache.thrift.TBase<TPathsUpdate, TPath
       return isSetPathChanges();
     case IMG_NUM:
       return isSetImgNum();
+    case CHUNK_OFFSET:
+      return isSetChunkOffset();
+    case CHUNK_TOTAL:
+      return isSetChunkTotal();
     }
     throw new IllegalStateException();
   }
@@ -476,6 +568,24 @@ public class TPathsUpdate implements org.apache.thrift.TBase<TPathsUpdate, TPath
         return false;
     }
 
+    boolean this_present_chunkOffset = true && this.isSetChunkOffset();
+    boolean that_present_chunkOffset = true && that.isSetChunkOffset();
+    if (this_present_chunkOffset || that_present_chunkOffset) {
+      if (!(this_present_chunkOffset && that_present_chunkOffset))
+        return false;
+      if (this.chunkOffset != that.chunkOffset)
+        return false;
+    }
+
+    boolean this_present_chunkTotal = true && this.isSetChunkTotal();
+    boolean that_present_chunkTotal = true && that.isSetChunkTotal();
+    if (this_present_chunkTotal || that_present_chunkTotal) {
+      if (!(this_present_chunkTotal && that_present_chunkTotal))
+        return false;
+      if (this.chunkTotal != that.chunkTotal)
+        return false;
+    }
+
     return true;
   }
 
@@ -508,6 +618,16 @@ public class TPathsUpdate implements org.apache.thrift.TBase<TPathsUpdate, TPath
     if (present_imgNum)
       list.add(imgNum);
 
+    boolean present_chunkOffset = true && (isSetChunkOffset());
+    list.add(present_chunkOffset);
+    if (present_chunkOffset)
+      list.add(chunkOffset);
+
+    boolean present_chunkTotal = true && (isSetChunkTotal());
+    list.add(present_chunkTotal);
+    if (present_chunkTotal)
+      list.add(chunkTotal);
+
     return list.hashCode();
   }
 
@@ -569,6 +689,26 @@ public class TPathsUpdate implements org.apache.thrift.TBase<TPathsUpdate, TPath
         return lastComparison;
       }
     }
+    lastComparison = Boolean.valueOf(isSetChunkOffset()).compareTo(other.isSetChunkOffset());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetChunkOffset()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.chunkOffset, other.chunkOffset);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = Boolean.valueOf(isSetChunkTotal()).compareTo(other.isSetChunkTotal());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetChunkTotal()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.chunkTotal, other.chunkTotal);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
     return 0;
   }
 
@@ -620,6 +760,18 @@ public class TPathsUpdate implements org.apache.thrift.TBase<TPathsUpdate, TPath
       sb.append(this.imgNum);
       first = false;
     }
+    if (isSetChunkOffset()) {
+      if (!first) sb.append(", ");
+      sb.append("chunkOffset:");
+      sb.append(this.chunkOffset);
+      first = false;
+    }
+    if (isSetChunkTotal()) {
+      if (!first) sb.append(", ");
+      sb.append("chunkTotal:");
+      sb.append(this.chunkTotal);
+      first = false;
+    }
     sb.append(")");
     return sb.toString();
   }
@@ -708,14 +860,14 @@ public class TPathsUpdate implements org.apache.thrift.TBase<TPathsUpdate, TPath
           case 4: // PATH_CHANGES
             if (schemeField.type == org.apache.thrift.protocol.TType.LIST) {
               {
-                org.apache.thrift.protocol.TList _list58 = iprot.readListBegin();
-                struct.pathChanges = new ArrayList<TPathChanges>(_list58.size);
-                TPathChanges _elem59;
-                for (int _i60 = 0; _i60 < _list58.size; ++_i60)
+                org.apache.thrift.protocol.TList _list66 = iprot.readListBegin();
+                struct.pathChanges = new ArrayList<TPathChanges>(_list66.size);
+                TPathChanges _elem67;
+                for (int _i68 = 0; _i68 < _list66.size; ++_i68)
                 {
-                  _elem59 = new TPathChanges();
-                  _elem59.read(iprot);
-                  struct.pathChanges.add(_elem59);
+                  _elem67 = new TPathChanges();
+                  _elem67.read(iprot);
+                  struct.pathChanges.add(_elem67);
                 }
                 iprot.readListEnd();
               }
@@ -732,6 +884,22 @@ public class TPathsUpdate implements org.apache.thrift.TBase<TPathsUpdate, TPath
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
             break;
+          case 6: // CHUNK_OFFSET
+            if (schemeField.type == org.apache.thrift.protocol.TType.I64) {
+              struct.chunkOffset = iprot.readI64();
+              struct.setChunkOffsetIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 7: // CHUNK_TOTAL
+            if (schemeField.type == org.apache.thrift.protocol.TType.I64) {
+              struct.chunkTotal = iprot.readI64();
+              struct.setChunkTotalIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
           default:
             org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
         }
@@ -762,9 +930,9 @@ public class TPathsUpdate implements org.apache.thrift.TBase<TPathsUpdate, TPath
         oprot.writeFieldBegin(PATH_CHANGES_FIELD_DESC);
         {
           oprot.writeListBegin(new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, struct.pathChanges.size()));
-          for (TPathChanges _iter61 : struct.pathChanges)
+          for (TPathChanges _iter69 : struct.pathChanges)
           {
-            _iter61.write(oprot);
+            _iter69.write(oprot);
           }
           oprot.writeListEnd();
         }
@@ -775,6 +943,16 @@ public class TPathsUpdate implements org.apache.thrift.TBase<TPathsUpdate, TPath
         oprot.writeI64(struct.imgNum);
         oprot.writeFieldEnd();
       }
+      if (struct.isSetChunkOffset()) {
+        oprot.writeFieldBegin(CHUNK_OFFSET_FIELD_DESC);
+        oprot.writeI64(struct.chunkOffset);
+        oprot.writeFieldEnd();
+      }
+      if (struct.isSetChunkTotal()) {
+        oprot.writeFieldBegin(CHUNK_TOTAL_FIELD_DESC);
+        oprot.writeI64(struct.chunkTotal);
+        oprot.writeFieldEnd();
+      }
       oprot.writeFieldStop();
       oprot.writeStructEnd();
     }
@@ -796,9 +974,9 @@ public class TPathsUpdate implements org.apache.thrift.TBase<TPathsUpdate, TPath
       oprot.writeI64(struct.seqNum);
       {
         oprot.writeI32(struct.pathChanges.size());
-        for (TPathChanges _iter62 : struct.pathChanges)
+        for (TPathChanges _iter70 : struct.pathChanges)
         {
-          _iter62.write(oprot);
+          _iter70.write(oprot);
         }
       }
       BitSet optionals = new BitSet();
@@ -808,13 +986,25 @@ public class TPathsUpdate implements org.apache.thrift.TBase<TPathsUpdate, TPath
       if (struct.isSetImgNum()) {
         optionals.set(1);
       }
-      oprot.writeBitSet(optionals, 2);
+      if (struct.isSetChunkOffset()) {
+        optionals.set(2);
+      }
+      if (struct.isSetChunkTotal()) {
+        optionals.set(3);
+      }
+      oprot.writeBitSet(optionals, 4);
       if (struct.isSetPathsDump()) {
         struct.pathsDump.write(oprot);
       }
       if (struct.isSetImgNum()) {
         oprot.writeI64(struct.imgNum);
       }
+      if (struct.isSetChunkOffset()) {
+        oprot.writeI64(struct.chunkOffset);
+      }
+      if (struct.isSetChunkTotal()) {
+        oprot.writeI64(struct.chunkTotal);
+      }
     }
 
     @Override
@@ -825,18 +1015,18 @@ public class TPathsUpdate implements org.apache.thrift.TBase<TPathsUpdate, TPath
       struct.seqNum = iprot.readI64();
       struct.setSeqNumIsSet(true);
       {
-        org.apache.thrift.protocol.TList _list63 = new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, iprot.readI32());
-        struct.pathChanges = new ArrayList<TPathChanges>(_list63.size);
-        TPathChanges _elem64;
-        for (int _i65 = 0; _i65 < _list63.size; ++_i65)
+        org.apache.thrift.protocol.TList _list71 = new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, iprot.readI32());
+        struct.pathChanges = new ArrayList<TPathChanges>(_list71.size);
+        TPathChanges _elem72;
+        for (int _i73 = 0; _i73 < _list71.size; ++_i73)
         {
-          _elem64 = new TPathChanges();
-          _elem64.read(iprot);
-          struct.pathChanges.add(_elem64);
+          _elem72 = new TPathChanges();
+          _elem72.read(iprot);
+          struct.pathChanges.add(_elem72);
         }
       }
       struct.setPathChangesIsSet(true);
-      BitSet incoming = iprot.readBitSet(2);
+      BitSet incoming = iprot.readBitSet(4);
       if (incoming.get(0)) {
         struct.pathsDump = new TPathsDump();
         struct.pathsDump.read(iprot);
@@ -846,6 +1036,14 @@ public class TPathsUpdate implements org.apache.thrift.TBase<TPathsUpdate, TPath
         struct.imgNum = iprot.readI64();
         struct.setImgNumIsSet(true);
       }
+      if (incoming.get(2)) {
+        struct.chunkOffset = iprot.readI64();
+        struct.setChunkOffsetIsSet(true);
+      }
+      if (incoming.get(3)) {
+        struct.chunkTotal = iprot.readI64();
+        struct.setChunkTotalIsSet(true);
+      }
     }
   }
 
@@ -34,7 +34,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 @SuppressWarnings({"cast", "rawtypes", "serial", "unchecked"})
-@Generated(value = "Autogenerated by Thrift Compiler (0.9.3)", date = "2017-04-26")
+@Generated(value = "Autogenerated by Thrift Compiler (0.9.3)", date = "2026-10-17")
 public class TPermissionsUpdate implements org.apache.thrift.TBase<TPermissionsUpdate, TPermissionsUpdate._Fields>, java.io.Serializable, Cloneable, Comparable<TPermissionsUpdate> {
   private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("TPermissionsUpdate");
 
@@ -651,16 +651,16 @@ public class TPermissionsUpdate implements org.apache.thrift.TBase<TPermissionsU
           case 3: // PRIVILEGE_CHANGES
             if (schemeField.type == org.apache.thrift.protocol.TType.MAP) {
               {
-                org.apache.thrift.protocol.TMap _map102 = iprot.readMapBegin();
-                struct.privilegeChanges = new HashMap<String,TPrivilegeChanges>(2*_map102.size);
-                String _key103;
-                TPrivilegeChanges _val104;
-                for (int _i105 = 0; _i105 < _map102.size; ++_i105)
+                org.apache.thrift.protocol.TMap _map110 = iprot.readMapBegin();
+                struct.privilegeChanges = new HashMap<String,TPrivilegeChanges>(2*_map110.size);
+                String _key111;
+                TPrivilegeChanges _val112;
+                for (int _i113 = 0; _i113 < _map110.size; ++_i113)
                 {
-                  _key103 = iprot.readString();
-                  _val104 = new TPrivilegeChanges();
-                  _val104.read(iprot);
-                  struct.privilegeChanges.put(_key103, _val104);
+                  _key111 = iprot.readString();
+                  _val112 = new TPrivilegeChanges();
+                  _val112.read(iprot);
+                  struct.privilegeChanges.put(_key111, _val112);
                 }
                 iprot.readMapEnd();
               }
@@ -672,16 +672,16 @@ public class TPermissionsUpdate implements org.apache.thrift.TBase<TPermissionsU
           case 4: // ROLE_CHANGES
             if (schemeField.type == org.apache.thrift.protocol.TType.MAP) {
               {
-                org.apache.thrift.protocol.TMap _map106 = iprot.readMapBegin();
-                struct.roleChanges = new HashMap<String,TRoleChanges>(2*_map106.size);
-                String _key107;
-                TRoleChanges _val108;
-                for (int _i109 = 0; _i109 < _map106.size; ++_i109)
+                org.apache.thrift.protocol.TMap _map114 = iprot.readMapBegin();
+                struct.roleChanges = new HashMap<String,TRoleChanges>(2*_map114.size);
+                String _key115;
+                TRoleChanges _val116;
+                for (int _i117 = 0; _i117 < _map114.size; ++_i117)
                 {
-                  _key107 = iprot.readString();
-                  _val108 = new TRoleChanges();
-                  _val108.read(iprot);
-                  struct.roleChanges.put(_key107, _val108);
+                  _key115 = iprot.readString();
+                  _val116 = new TRoleChanges();
+                  _val116.read(iprot);
+                  struct.roleChanges.put(_key115, _val116);
                 }
                 iprot.readMapEnd();
               }
@@ -713,10 +713,10 @@ public class TPermissionsUpdate implements org.apache.thrift.TBase<TPermissionsU
         oprot.writeFieldBegin(PRIVILEGE_CHANGES_FIELD_DESC);
         {
           oprot.writeMapBegin(new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.STRING, org.apache.thrift.protocol.TType.STRUCT, struct.privilegeChanges.size()));
-          for (Map.Entry<String, TPrivilegeChanges> _iter110 : struct.privilegeChanges.entrySet())
+          for (Map.Entry<String, TPrivilegeChanges> _iter118 : struct.privilegeChanges.entrySet())
           {
-            oprot.writeString(_iter110.getKey());
-            _iter110.getValue().write(oprot);
+            oprot.writeString(_iter118.getKey());
+            _iter118.getValue().write(oprot);
           }
           oprot.writeMapEnd();
         }
@@ -726,10 +726,10 @@ public class TPermissionsUpdate implements org.apache.thrift.TBase<TPermissionsU
         oprot.writeFieldBegin(ROLE_CHANGES_FIELD_DESC);
         {
           oprot.writeMapBegin(new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.STRING, org.apache.thrift.protocol.TType.STRUCT, struct.roleChanges.size()));
-          for (Map.Entry<String, TRoleChanges> _iter111 : struct.roleChanges.entrySet())
+          for (Map.Entry<String, TRoleChanges> _iter119 : struct.roleChanges.entrySet())
           {
-            oprot.writeString(_iter111.getKey());
-            _iter111.getValue().write(oprot);
+            oprot.writeString(_iter119.getKey());
+            _iter119.getValue().write(oprot);
           }
           oprot.writeMapEnd();
         }
@@ -756,18 +756,18 @@ public class TPermissionsUpdate implements org.apache.thrift.TBase<TPermissionsU
       oprot.writeI64(struct.seqNum);
       {
         oprot.writeI32(struct.privilegeChanges.size());
-        for (Map.Entry<String, TPrivilegeChanges> _iter112 : struct.privilegeChanges.entrySet())
+        for (Map.Entry<String, TPrivilegeChanges> _iter120 : struct.privilegeChanges.entrySet())
         {
-          oprot.writeString(_iter112.getKey());
-          _iter112.getValue().write(oprot);
+          oprot.writeString(_iter120.getKey());
+          _iter120.getValue().write(oprot);
         }
       }
       {
         oprot.writeI32(struct.roleChanges.size());
-        for (Map.Entry<String, TRoleChanges> _iter113 : struct.roleChanges.entrySet())
+        for (Map.Entry<String, TRoleChanges> _iter121 : struct.roleChanges.entrySet())
         {
-          oprot.writeString(_iter113.getKey());
-          _iter113.getValue().write(oprot);
+          oprot.writeString(_iter121.getKey());
+          _iter121.getValue().write(oprot);
         }
       }
     }
@@ -780,30 +780,30 @@ public class TPermissionsUpdate implements org.apache.thrift.TBase<TPermissionsU
       struct.seqNum = iprot.readI64();
       struct.setSeqNumIsSet(true);
       {
-        org.apache.thrift.protocol.TMap _map114 = new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.STRING, org.apache.thrift.protocol.TType.STRUCT, iprot.readI32());
-        struct.privilegeChanges = new HashMap<String,TPrivilegeChanges>(2*_map114.size);
-        String _key115;
-        TPrivilegeChanges _val116;
-        for (int _i117 = 0; _i117 < _map114.size; ++_i117)
+        org.apache.thrift.protocol.TMap _map122 = new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.STRING, org.apache.thrift.protocol.TType.STRUCT, iprot.readI32());
+        struct.privilegeChanges = new HashMap<String,TPrivilegeChanges>(2*_map122.size);
+        String _key123;
+        TPrivilegeChanges _val124;
+        for (int _i125 = 0; _i125 < _map122.size; ++_i125)
         {
-          _key115 = iprot.readString();
-          _val116 = new TPrivilegeChanges();
-          _val116.read(iprot);
-          struct.privilegeChanges.put(_key115, _val116);
+          _key123 = iprot.readString();
+          _val124 = new TPrivilegeChanges();
+          _val124.read(iprot);
+          struct.privilegeChanges.put(_key123, _val124);
         }
       }
       struct.setPrivilegeChangesIsSet(true);
       {
-        org.apache.thrift.protocol.TMap _map118 = new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.STRING, org.apache.thrift.protocol.TType.STRUCT, iprot.readI32());
-        struct.roleChanges = new HashMap<String,TRoleChanges>(2*_map118.size);
-        String _key119;
-        TRoleChanges _val120;
-        for (int _i121 = 0; _i121 < _map118.size; ++_i121)
+        org.apache.thrift.protocol.TMap _map126 = new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.STRING, org.apache.thrift.protocol.TType.STRUCT, iprot.readI32());
+        struct.roleChanges = new HashMap<String,TRoleChanges>(2*_map126.size);
+        String _key127;
+        TRoleChanges _val128;
+        for (int _i129 = 0; _i129 < _map126.size; ++_i129)
         {
-          _key119 = iprot.readString();
-          _val120 = new TRoleChanges();
-          _val120.read(iprot);
-          struct.roleChanges.put(_key119, _val120);
+          _key127 = iprot.readString();
+          _val128 = new TRoleChanges();
+          _val128.read(iprot);
+          struct.roleChanges.put(_key127, _val128);
         }
       }
       struct.setRoleChangesIsSet(true);
@@ -34,7 +34,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 @SuppressWarnings({"cast", "rawtypes", "serial", "unchecked"})
-@Generated(value = "Autogenerated by Thrift Compiler (0.9.3)", date = "2017-04-26")
+@Generated(value = "Autogenerated by Thrift Compiler (0.9.3)", date = "2026-10-17")
 public class TPrivilegeChanges implements org.apache.thrift.TBase<TPrivilegeChanges, TPrivilegeChanges._Fields>, java.io.Serializable, Cloneable, Comparable<TPrivilegeChanges> {
   private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("TPrivilegeChanges");
 
@@ -540,15 +540,15 @@ public class TPrivilegeChanges implements org.apache.thrift.TBase<TPrivilegeChan
           case 2: // ADD_PRIVILEGES
             if (schemeField.type == org.apache.thrift.protocol.TType.MAP) {
               {
-                org.apache.thrift.protocol.TMap _map66 = iprot.readMapBegin();
-                struct.addPrivileges = new HashMap<String,String>(2*_map66.size);
-                String _key67;
-                String _val68;
-                for (int _i69 = 0; _i69 < _map66.size; ++_i69)
+                org.apache.thrift.protocol.TMap _map74 = iprot.readMapBegin();
+                struct.addPrivileges = new HashMap<String,String>(2*_map74.size);
+                String _key75;
+                String _val76;
+                for (int _i77 = 0; _i77 < _map74.size; ++_i77)
                 {
-                  _key67 = iprot.readString();
-                  _val68 = iprot.readString();
-                  struct.addPrivileges.put(_key67, _val68);
+                  _key75 = iprot.readString();
+                  _val76 = iprot.readString();
+                  struct.addPrivileges.put(_key75, _val76);
                 }
                 iprot.readMapEnd();
               }
@@ -560,15 +560,15 @@ public class TPrivilegeChanges implements org.apache.thrift.TBase<TPrivilegeChan
           case 3: // DEL_PRIVILEGES
             if (schemeField.type == org.apache.thrift.protocol.TType.MAP) {
               {
-                org.apache.thrift.protocol.TMap _map70 = iprot.readMapBegin();
-                struct.delPrivileges = new HashMap<String,String>(2*_map70.size);
-                String _key71;
-                String _val72;
-                for (int _i73 = 0; _i73 < _map70.size; ++_i73)
+                org.apache.thrift.protocol.TMap _map78 = iprot.readMapBegin();
+                struct.delPrivileges = new HashMap<String,String>(2*_map78.size);
+                String _key79;
+                String _val80;
+                for (int _i81 = 0; _i81 < _map78.size; ++_i81)
                 {
-                  _key71 = iprot.readString();
-                  _val72 = iprot.readString();
-                  struct.delPrivileges.put(_key71, _val72);
+                  _key79 = iprot.readString();
+                  _val80 = iprot.readString();
+                  struct.delPrivileges.put(_key79, _val80);
                 }
                 iprot.readMapEnd();
               }
@@ -599,10 +599,10 @@ public class TPrivilegeChanges implements org.apache.thrift.TBase<TPrivilegeChan
         oprot.writeFieldBegin(ADD_PRIVILEGES_FIELD_DESC);
         {
           oprot.writeMapBegin(new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.STRING, org.apache.thrift.protocol.TType.STRING, struct.addPrivileges.size()));
-          for (Map.Entry<String, String> _iter74 : struct.addPrivileges.entrySet())
+          for (Map.Entry<String, String> _iter82 : struct.addPrivileges.entrySet())
           {
-            oprot.writeString(_iter74.getKey());
-            oprot.writeString(_iter74.getValue());
+            oprot.writeString(_iter82.getKey());
+            oprot.writeString(_iter82.getValue());
           }
           oprot.writeMapEnd();
         }
@@ -612,10 +612,10 @@ public class TPrivilegeChanges implements org.apache.thrift.TBase<TPrivilegeChan
         oprot.writeFieldBegin(DEL_PRIVILEGES_FIELD_DESC);
         {
           oprot.writeMapBegin(new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.STRING, org.apache.thrift.protocol.TType.STRING, struct.delPrivileges.size()));
-          for (Map.Entry<String, String> _iter75 : struct.delPrivileges.entrySet())
+          for (Map.Entry<String, String> _iter83 : struct.delPrivileges.entrySet())
           {
-            oprot.writeString(_iter75.getKey());
-            oprot.writeString(_iter75.getValue());
+            oprot.writeString(_iter83.getKey());
+            oprot.writeString(_iter83.getValue());
           }
           oprot.writeMapEnd();
         }
@@ -641,18 +641,18 @@ public class TPrivilegeChanges implements org.apache.thrift.TBase<TPrivilegeChan
       oprot.writeString(struct.authzObj);
       {
         oprot.writeI32(struct.addPrivileges.size());
-        for (Map.Entry<String, String> _iter76 : struct.addPrivileges.entrySet())
+        for (Map.Entry<String, String> _iter84 : struct.addPrivileges.entrySet())
         {
-          oprot.writeString(_iter76.getKey());
-          oprot.writeString(_iter76.getValue());
+          oprot.writeString(_iter84.getKey());
+          oprot.writeString(_iter84.getValue());
         }
       }
       {
         oprot.writeI32(struct.delPrivileges.size());
-        for (Map.Entry<String, String> _iter77 : struct.delPrivileges.entrySet())
+        for (Map.Entry<String, String> _iter85 : struct.delPrivileges.entrySet())
         {
-          oprot.writeString(_iter77.getKey());
-          oprot.writeString(_iter77.getValue());
+          oprot.writeString(_iter85.getKey());
+          oprot.writeString(_iter85.getValue());
         }
       }
     }
@@ -663,28 +663,28 @@ public class TPrivilegeChanges implements org.apache.thrift.TBase<TPrivilegeChan
       struct.authzObj = iprot.readString();
       struct.setAuthzObjIsSet(true);
       {
-        org.apache.thrift.protocol.TMap _map78 = new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.STRING, org.apache.thrift.protocol.TType.STRING, iprot.readI32());
-        struct.addPrivileges = new HashMap<String,String>(2*_map78.size);
-        String _key79;
-        String _val80;
-        for (int _i81 = 0; _i81 < _map78.size; ++_i81)
+        org.apache.thrift.protocol.TMap _map86 = new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.STRING, org.apache.thrift.protocol.TType.STRING, iprot.readI32());
+        struct.addPrivileges = new HashMap<String,String>(2*_map86.size);
+        String _key87;
+        String _val88;
+        for (int _i89 = 0; _i89 < _map86.size; ++_i89)
         {
-          _key79 = iprot.readString();
-          _val80 = iprot.readString();
-          struct.addPrivileges.put(_key79, _val80);
+          _key87 = iprot.readString();
+          _val88 = iprot.readString();
+          struct.addPrivileges.put(_key87, _val88);
         }
       }
       struct.setAddPrivilegesIsSet(true);
       {
-        org.apache.thrift.protocol.TMap _map82 = new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.STRING, org.apache.thrift.protocol.TType.STRING, iprot.readI32());
-        struct.delPrivileges = new HashMap<String,String>(2*_map82.size);
-        String _key83;
-        String _val84;
-        for (int _i85 = 0; _i85 < _map82.size; ++_i85)
+        org.apache.thrift.protocol.TMap _map90 = new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.STRING, org.apache.thrift.protocol.TType.STRING, iprot.readI32());
+        struct.delPrivileges = new HashMap<String,String>(2*_map90.size);
+        String _key91;
+        String _val92;
+        for (int _i93 = 0; _i93 < _map90.size; ++_i93)
         {
-          _key83 = iprot.readString();
-          _val84 = iprot.readString();
-          struct.delPrivileges.put(_key83, _val84);
+          _key91 = iprot.readString();
+          _val92 = iprot.readString();
+          struct.delPrivileges.put(_key91, _val92);
         }
       }
       struct.setDelPrivilegesIsSet(true);
@@ -34,7 +34,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 @SuppressWarnings({"cast", "rawtypes", "serial", "unchecked"})
-@Generated(value = "Autogenerated by Thrift Compiler (0.9.3)", date = "2017-04-26")
+@Generated(value = "Autogenerated by Thrift Compiler (0.9.3)", date = "2026-10-17")
 public class TRoleChanges implements org.apache.thrift.TBase<TRoleChanges, TRoleChanges._Fields>, java.io.Serializable, Cloneable, Comparable<TRoleChanges> {
   private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("TRoleChanges");
 
@@ -546,13 +546,13 @@ public class TRoleChanges implements org.apache.thrift.TBase<TRoleChanges, TRole
           case 2: // ADD_GROUPS
             if (schemeField.type == org.apache.thrift.protocol.TType.LIST) {
               {
-                org.apache.thrift.protocol.TList _list86 = iprot.readListBegin();
-                struct.addGroups = new ArrayList<String>(_list86.size);
-                String _elem87;
-                for (int _i88 = 0; _i88 < _list86.size; ++_i88)
+                org.apache.thrift.protocol.TList _list94 = iprot.readListBegin();
+                struct.addGroups = new ArrayList<String>(_list94.size);
+                String _elem95;
+                for (int _i96 = 0; _i96 < _list94.size; ++_i96)
                 {
-                  _elem87 = iprot.readString();
-                  struct.addGroups.add(_elem87);
+                  _elem95 = iprot.readString();
+                  struct.addGroups.add(_elem95);
                 }
                 iprot.readListEnd();
               }
@@ -564,13 +564,13 @@ public class TRoleChanges implements org.apache.thrift.TBase<TRoleChanges, TRole
           case 3: // DEL_GROUPS
             if (schemeField.type == org.apache.thrift.protocol.TType.LIST) {
               {
-                org.apache.thrift.protocol.TList _list89 = iprot.readListBegin();
-                struct.delGroups = new ArrayList<String>(_list89.size);
-                String _elem90;
-                for (int _i91 = 0; _i91 < _list89.size; ++_i91)
+                org.apache.thrift.protocol.TList _list97 = iprot.readListBegin();
+                struct.delGroups = new ArrayList<String>(_list97.size);
+                String _elem98;
+                for (int _i99 = 0; _i99 < _list97.size; ++_i99)
                 {
-                  _elem90 = iprot.readString();
-                  struct.delGroups.add(_elem90);
+                  _elem98 = iprot.readString();
+                  struct.delGroups.add(_elem98);
                 }
                 iprot.readListEnd();
               }
@@ -601,9 +601,9 @@ public class TRoleChanges implements org.apache.thrift.TBase<TRoleChanges, TRole
         oprot.writeFieldBegin(ADD_GROUPS_FIELD_DESC);
         {
           oprot.writeListBegin(new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRING, struct.addGroups.size()));
-          for (String _iter92 : struct.addGroups)
+          for (String _iter100 : struct.addGroups)
           {
-            oprot.writeString(_iter92);
+            oprot.writeString(_iter100);
           }
           oprot.writeListEnd();
         }
@@ -613,9 +613,9 @@ public class TRoleChanges implements org.apache.thrift.TBase<TRoleChanges, TRole
         oprot.writeFieldBegin(DEL_GROUPS_FIELD_DESC);
         {
           oprot.writeListBegin(new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRING, struct.delGroups.size()));
-          for (String _iter93 : struct.delGroups)
+          for (String _iter101 : struct.delGroups)
           {
-            oprot.writeString(_iter93);
+            oprot.writeString(_iter101);
           }
           oprot.writeListEnd();
         }
@@ -641,16 +641,16 @@ public class TRoleChanges implements org.apache.thrift.TBase<TRoleChanges, TRole
       oprot.writeString(struct.role);
       {
         oprot.writeI32(struct.addGroups.size());
-        for (String _iter94 : struct.addGroups)
+        for (String _iter102 : struct.addGroups)
         {
-          oprot.writeString(_iter94);
+          oprot.writeString(_iter102);
         }
       }
       {
         oprot.writeI32(struct.delGroups.size());
-        for (String _iter95 : struct.delGroups)
+        for (String _iter103 : struct.delGroups)
         {
-          oprot.writeString(_iter95);
+          oprot.writeString(_iter103);
         }
       }
     }
@@ -661,24 +661,24 @@ public class TRoleChanges implements org.apache.thrift.TBase<TRoleChanges, TRole
       struct.role = iprot.readString();
       struct.setRoleIsSet(true);
       {
-        org.apache.thrift.protocol.TList _list96 = new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRING, iprot.readI32());
-        struct.addGroups = new ArrayList<String>(_list96.size);
-        String _elem97;
-        for (int _i98 = 0; _i98 < _list96.size; ++_i98)
+        org.apache.thrift.protocol.TList _list104 = new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRING, iprot.readI32());
+        struct.addGroups = new ArrayList<String>(_list104.size);
+        String _elem105;
+        for (int _i106 = 0; _i106 < _list104.size; ++_i106)
         {
-          _elem97 = iprot.readString();
-          struct.addGroups.add(_elem97);
+          _elem105 = iprot.readString();
+          struct.addGroups.add(_elem105);
         }
       }
       struct.setAddGroupsIsSet(true);
       {
-        org.apache.thrift.protocol.TList _list99 = new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRING, iprot.readI32());
-        struct.delGroups = new ArrayList<String>(_list99.size);
-        String _elem100;
-        for (int _i101 = 0; _i101 < _list99.size; ++_i101)
+        org.apache.thrift.protocol.TList _list107 = new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRING, iprot.readI32());
+        struct.delGroups = new ArrayList<String>(_list107.size);
+        String _elem108;
+        for (int _i109 = 0; _i109 < _list107.size; ++_i109)
         {
-          _elem100 = iprot.readString();
-          struct.delGroups.add(_elem100);
+          _elem108 = iprot.readString();
+          struct.delGroups.add(_elem108);
         }
       }
       struct.setDelGroupsIsSet(true);
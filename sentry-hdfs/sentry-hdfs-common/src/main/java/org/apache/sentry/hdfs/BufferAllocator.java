@@ -0,0 +1,322 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.hdfs;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.MapMaker;
+
+/**
+ * Allocates the zeroed buffers {@link CompactHMSPaths} keeps its per path entry data in:
+ * on the heap, in direct memory, or in memory mapped files. Out of the heap, the data of
+ * tens of millions of entries doesn't go through the garbage collector.
+ * <p>
+ * Out of the heap, the buffers superseded when growing and the buffers of the paths no
+ * longer used are released right away by {@link #release(Buffer)}, rather than when the
+ * garbage collector, which doesn't see their size, finds them unreachable.
+ */
+abstract class BufferAllocator {
+
+  private static final Logger LOG = LoggerFactory.getLogger(BufferAllocator.class);
+
+  // Null if the JVM doesn't let us release buffers, they are then left to the GC
+  private static volatile BufferCleaner cleaner = newCleaner();
+
+  // Owner of the byte buffers owning their memory, which must not be referenced from the
+  // values of the weak keyed owners map
+  private static final ByteBuffer SELF = ByteBuffer.allocate(0);
+
+  // The byte buffers owning the memory of the buffers out of the heap not released yet,
+  // by buffer identity. The int and char views are backed by a byte buffer.
+  private final ConcurrentMap<Buffer, ByteBuffer> owners =
+      new MapMaker().weakKeys().makeMap();
+  private final AtomicLong allocatedBytes = new AtomicLong();
+
+  static final BufferAllocator HEAP = new BufferAllocator() {
+    @Override
+    ByteBuffer allocateBuffer(int bytes) {
+      return ByteBuffer.allocate(bytes);
+    }
+
+    // Nothing to release on the heap, the buffers are not tracked
+    @Override
+    ByteBuffer allocate(int bytes) {
+      return ByteBuffer.allocate(bytes);
+    }
+
+    @Override
+    IntBuffer allocateInts(int capacity) {
+      return IntBuffer.allocate(capacity);
+    }
+
+    @Override
+    CharBuffer allocateChars(int capacity) {
+      return CharBuffer.allocate(capacity);
+    }
+
+    @Override
+    boolean isOnHeap() {
+      return true;
+    }
+
+    @Override
+    public String toString() {
+      return "heap";
+    }
+  };
+
+  static final BufferAllocator DIRECT = new BufferAllocator() {
+    @Override
+    ByteBuffer allocateBuffer(int bytes) {
+      return ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+    }
+
+    @Override
+    public String toString() {
+      return "offheap";
+    }
+  };
+
+  /**
+   * @return an allocator mapping files of the directory in memory. The files are
+   *         deleted as soon as mapped, their space is reclaimed once the buffers are
+   *         released or garbage collected.
+   */
+  static BufferAllocator mapped(final File dir) {
+    Preconditions.checkArgument(dir.isDirectory() || dir.mkdirs(),
+        "Cannot create directory %s", dir);
+    return new BufferAllocator() {
+      @Override
+      ByteBuffer allocateBuffer(int bytes) {
+        try {
+          File file = File.createTempFile("sentry-paths-", ".buf", dir);
+          try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(bytes);
+            return raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, bytes)
+                .order(ByteOrder.nativeOrder());
+          } finally {
+            if (!file.delete()) {
+              file.deleteOnExit();
+            }
+          }
+        } catch (IOException e) {
+          throw new IllegalStateException("Cannot map a buffer of " + bytes + " bytes in " +
+              dir, e);
+        }
+      }
+
+      @Override
+      public String toString() {
+        return "mapped:" + dir;
+      }
+    };
+  }
+
+  /**
+   * @param storage heap, offheap or mapped
+   * @param dir the directory of the files, for mapped
+   */
+  static BufferAllocator forStorage(String storage, String dir) {
+    if ("heap".equalsIgnoreCase(storage)) {
+      return HEAP;
+    }
+    if (cleaner == null) {
+      LOG.warn("The JVM doesn't let the paths release their buffers, they are left to " +
+          "the garbage collector");
+    }
+    if ("offheap".equalsIgnoreCase(storage)) {
+      return DIRECT;
+    } else if ("mapped".equalsIgnoreCase(storage)) {
+      return mapped(new File(dir));
+    }
+    throw new IllegalArgumentException("Unknown paths storage [" + storage +
+        "], expected heap, offheap or mapped");
+  }
+
+  /**
+   * @return a new byte buffer owning its memory
+   */
+  abstract ByteBuffer allocateBuffer(int bytes);
+
+  ByteBuffer allocate(int bytes) {
+    ByteBuffer buffer = allocateBuffer(bytes);
+    return track(buffer, SELF, bytes);
+  }
+
+  IntBuffer allocateInts(int capacity) {
+    ByteBuffer buffer = allocateBuffer(toBytes(capacity, 4));
+    return track(buffer.asIntBuffer(), buffer, buffer.capacity());
+  }
+
+  CharBuffer allocateChars(int capacity) {
+    ByteBuffer buffer = allocateBuffer(toBytes(capacity, 2));
+    return track(buffer.asCharBuffer(), buffer, buffer.capacity());
+  }
+
+  private <B extends Buffer> B track(B buffer, ByteBuffer owner, int bytes) {
+    owners.put(buffer, owner);
+    allocatedBytes.addAndGet(bytes);
+    return buffer;
+  }
+
+  boolean isOnHeap() {
+    return false;
+  }
+
+  /**
+   * @return the bytes of the buffers out of the heap allocated and not released yet
+   */
+  @VisibleForTesting
+  long getAllocatedBytes() {
+    return allocatedBytes.get();
+  }
+
+  /**
+   * Releases the memory or the file of a buffer of this allocator now, instead of when
+   * it is garbage collected. Neither the buffer nor its views may be used afterwards.
+   * Nothing to do on the heap, nor for a buffer already released.
+   */
+  void release(Buffer buffer) {
+    ByteBuffer owner = buffer == null ? null : owners.remove(buffer);
+    if (owner == null) {
+      return;
+    }
+    if (owner == SELF) {
+      owner = (ByteBuffer) buffer;
+    }
+    allocatedBytes.addAndGet(-owner.capacity());
+    BufferCleaner bufferCleaner = cleaner;
+    if (bufferCleaner == null) {
+      return;
+    }
+    try {
+      bufferCleaner.free(owner);
+    } catch (Exception e) {
+      cleaner = null;
+      LOG.warn("Cannot release buffers, they are left to the garbage collector", e);
+    }
+  }
+
+  /**
+   * @return a copy of the buffer with the given capacity, the buffer being released
+   */
+  IntBuffer grow(IntBuffer buffer, int capacity) {
+    IntBuffer newBuffer = allocateInts(capacity);
+    buffer.clear();
+    newBuffer.put(buffer);
+    newBuffer.clear();
+    release(buffer);
+    return newBuffer;
+  }
+
+  /**
+   * @return a copy of the buffer with the given capacity, the buffer being released
+   */
+  CharBuffer grow(CharBuffer buffer, int capacity) {
+    CharBuffer newBuffer = allocateChars(capacity);
+    buffer.clear();
+    newBuffer.put(buffer);
+    newBuffer.clear();
+    release(buffer);
+    return newBuffer;
+  }
+
+  /**
+   * @return a copy of the buffer with the given capacity, the buffer being released
+   */
+  ByteBuffer grow(ByteBuffer buffer, int capacity) {
+    ByteBuffer newBuffer = allocate(capacity);
+    buffer.clear();
+    newBuffer.put(buffer);
+    newBuffer.clear();
+    release(buffer);
+    return newBuffer;
+  }
+
+  /**
+   * Frees the memory of a direct or mapped byte buffer.
+   */
+  private interface BufferCleaner {
+    void free(ByteBuffer buffer) throws Exception;
+  }
+
+  /**
+   * @return the cleaner of the running JVM, resolved by reflection like Hadoop's
+   *         CleanerUtil: Unsafe.invokeCleaner() from Java 9, the cleaner of the
+   *         DirectByteBuffer before. Null if neither is accessible.
+   */
+  private static BufferCleaner newCleaner() {
+    try {
+      try {
+        Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+        final Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+        theUnsafe.setAccessible(true);
+        final Object unsafe = theUnsafe.get(null);
+        return new BufferCleaner() {
+          @Override
+          public void free(ByteBuffer buffer) throws Exception {
+            invokeCleaner.invoke(unsafe, buffer);
+          }
+        };
+      } catch (NoSuchMethodException e) {
+        // Before Java 9
+        final Method cleanerMethod =
+            Class.forName("java.nio.DirectByteBuffer").getMethod("cleaner");
+        cleanerMethod.setAccessible(true);
+        final Method cleanMethod = cleanerMethod.getReturnType().getMethod("clean");
+        return new BufferCleaner() {
+          @Override
+          public void free(ByteBuffer buffer) throws Exception {
+            Object bufferCleaner = cleanerMethod.invoke(buffer);
+            if (bufferCleaner != null) {
+              cleanMethod.invoke(bufferCleaner);
+            }
+          }
+        };
+      }
+    } catch (Exception e) {
+      LOG.debug("Cannot release buffers, they are left to the garbage collector", e);
+      return null;
+    }
+  }
+
+  private static int toBytes(int capacity, int elementSize) {
+    long bytes = (long) capacity * elementSize;
+    Preconditions.checkState(bytes <= Integer.MAX_VALUE,
+        "Cannot allocate a buffer of %s bytes", bytes);
+    return (int) bytes;
+  }
+}
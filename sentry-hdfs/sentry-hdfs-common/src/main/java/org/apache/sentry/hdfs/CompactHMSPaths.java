@@ -0,0 +1,1408 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.hdfs;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.sentry.hdfs.HMSPaths.EntryType;
+import org.apache.sentry.hdfs.service.thrift.TPathEntry;
+import org.apache.sentry.hdfs.service.thrift.TPathsDump;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Joiner;
+import com.google.common.base.Preconditions;
+
+/**
+ * A non thread-safe implementation of {@link AuthzPaths} behaving as {@link HMSPaths},
+ * but laid out for warehouses with tens of millions of partitions.
+ * <p>
+ * {@link HMSPaths} keeps an object per path entry, with a map of its children, plus a
+ * set of entries per authorizable object, which adds up to more than a hundred bytes per
+ * partition. Here the path elements and the authorizable objects are interned in
+ * dictionaries and referred to by int ids, and the entries are slots in parallel arrays:
+ * parent slot, path element id, type and authorizable object id. Children and the
+ * entries of an authorizable object are int sets of slots, scanned when small and open
+ * addressing tables when large, and leaves have none. A partition takes around 30 bytes,
+ * plus its path element when it isn't shared with other partitions.
+ * <p>
+ * The parallel arrays and the path element dictionary are buffers of a
+ * {@link BufferAllocator}, which can keep them out of the heap, in direct memory or in
+ * memory mapped files, leaving only the children sets of the directories, the entries
+ * of the authorizable objects and their names on the heap.
+ * <p>
+ * The full image format is the same, a {@link TPathsDump} created by one implementation
+ * can be loaded by the other.
+ */
+public class CompactHMSPaths implements MutableAuthzPaths {
+
+  private static final Logger LOG = LoggerFactory.getLogger(CompactHMSPaths.class);
+
+  static final int NONE = -1;
+  // authzObjs value of the entries with several authorizable objects, in multiAuthzObjs
+  private static final int MULTIPLE = -2;
+  // types value of the free slots, chained through parents
+  private static final byte FREE = -1;
+  private static final EntryType[] ENTRY_TYPES = EntryType.values();
+  private static final int INITIAL_CAPACITY = 64;
+
+  // Same duplicate path elements encoding as HMSPathsDumper
+  private static final char REPLACEMENT_STRING_PREFIX = ':';
+  private static final int AVG_ID_LENGTH = 4;
+  private static final int MIN_NUM_DUPLICATES = 2;
+
+  private final String[] prefixes;
+  private final BufferAllocator allocator;
+  private final StringDictionary pathElements;
+  // Authorizable objects are case insensitive
+  private final StringDictionary authzObjNames =
+      new StringDictionary(true, BufferAllocator.HEAP);
+
+  // The entries, indexed by slot. Their data is in buffers, possibly out of the heap.
+  private IntBuffer parents;
+  private IntBuffer elements;
+  private ByteBuffer types;
+  private IntBuffer authzObjs;
+  // Index in childSets of the children of an entry, NONE for the leaves
+  private IntBuffer childSetIds;
+  private int slotCount;
+  private int freeSlot = NONE;
+  private int entryCount;
+  private final Map<Integer, int[]> multiAuthzObjs = new HashMap<Integer, int[]>();
+  private final int root;
+  private boolean closed;
+
+  // The children of the entries which have some, a free index is NONE
+  private Children[] childSets = new Children[INITIAL_CAPACITY];
+  private int[] freeChildSetIds = new int[INITIAL_CAPACITY];
+  private int freeChildSetIdCount;
+  private int childSetCount;
+
+  // The entries of each authorizable object, indexed by authorizable object id
+  private SlotSet[] authzObjEntries = new SlotSet[INITIAL_CAPACITY];
+
+  public CompactHMSPaths(String[] pathPrefixes) {
+    this(pathPrefixes, BufferAllocator.HEAP);
+  }
+
+  CompactHMSPaths(String[] pathPrefixes, BufferAllocator allocator) {
+    this.allocator = allocator;
+    pathElements = new StringDictionary(false, allocator);
+    parents = allocator.allocateInts(INITIAL_CAPACITY);
+    elements = allocator.allocateInts(INITIAL_CAPACITY);
+    types = allocator.allocate(INITIAL_CAPACITY);
+    authzObjs = allocator.allocateInts(INITIAL_CAPACITY);
+    childSetIds = allocator.allocateInts(INITIAL_CAPACITY);
+    boolean rootPrefix = false;
+    // Copy the array to avoid external modification
+    this.prefixes = Arrays.copyOf(pathPrefixes, pathPrefixes.length);
+    for (String pathPrefix : pathPrefixes) {
+      rootPrefix = rootPrefix || pathPrefix.equals(Path.SEPARATOR);
+    }
+    if (rootPrefix && pathPrefixes.length > 1) {
+      throw new IllegalArgumentException(
+          "Root is a path prefix, there cannot be other path prefixes");
+    }
+    root = newEntry(NONE, Path.SEPARATOR, rootPrefix ? EntryType.PREFIX : EntryType.DIR);
+    if (!rootPrefix) {
+      for (String pathPrefix : pathPrefixes) {
+        createPrefix(HMSPaths.getPathElements(pathPrefix));
+      }
+    }
+    LOG.info(toString() + " Initialized, storage [" + allocator + "]");
+  }
+
+  /**
+   * Releases the buffers of the paths out of the heap now rather than when garbage
+   * collected. Reading or updating the paths afterwards throws an
+   * {@link IllegalStateException}.
+   */
+  void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    allocator.release(parents);
+    allocator.release(elements);
+    allocator.release(types);
+    allocator.release(authzObjs);
+    allocator.release(childSetIds);
+    parents = null;
+    elements = null;
+    types = null;
+    authzObjs = null;
+    childSetIds = null;
+    pathElements.close();
+  }
+
+  // Fail on a use after close() rather than access released memory
+  private void checkNotClosed() {
+    if (closed) {
+      throw new IllegalStateException(this + " is closed");
+    }
+  }
+
+  /* ---------------- authorizable objects ---------------- */
+
+  public void addAuthzObject(String authzObj, List<List<String>> authzObjPathElements) {
+    checkNotClosed();
+    if (LOG.isDebugEnabled()) {
+      LOG.debug(String.format("%s addAuthzObject(%s, %s)",
+          this, authzObj, HMSPaths.assemblePaths(authzObjPathElements)));
+    }
+    int id = authzObjNames.acquire(authzObj);
+    SlotSet previousEntries = getEntries(id);
+    SlotSet newEntries = new SlotSet(authzObjPathElements.size());
+    for (List<String> pathElements : authzObjPathElements) {
+      int slot = createAuthzObjPath(pathElements, id);
+      if (slot != NONE) {
+        newEntries.add(slot);
+      } else {
+        LOG.warn(String.format("%s addAuthzObject(%s, %s): Ignoring path %s, no prefix",
+            this, authzObj, HMSPaths.assemblePaths(authzObjPathElements), pathElements));
+      }
+    }
+    putEntries(id, newEntries);
+    if (previousEntries != null) {
+      for (int slot : previousEntries.toArray()) {
+        if (!newEntries.contains(slot)) {
+          deleteAuthzObject(slot, id);
+        }
+      }
+    }
+    authzObjNames.release(id);
+  }
+
+  @Override
+  public void addPathsToAuthzObject(String authzObj,
+      List<List<String>> authzObjPathElements, boolean createNew) {
+    checkNotClosed();
+    if (LOG.isDebugEnabled()) {
+      LOG.debug(String.format("%s addPathsToAuthzObject(%s, %s, %b)",
+          this, authzObj, HMSPaths.assemblePaths(authzObjPathElements), createNew));
+    }
+    int id = authzObjNames.lookup(authzObj);
+    SlotSet entries = getEntries(id);
+    if (entries != null) {
+      for (List<String> pathElements : authzObjPathElements) {
+        int slot = createAuthzObjPath(pathElements, id);
+        if (slot != NONE) {
+          entries.add(slot);
+        } else if (LOG.isDebugEnabled()) {
+          LOG.debug(String.format("%s addPathsToAuthzObject(%s, %s, %b):" +
+              " Cannot create authz obj for path %s because it is outside of prefix",
+              this, authzObj, HMSPaths.assemblePaths(authzObjPathElements), createNew,
+              pathElements));
+        }
+      }
+    } else if (createNew) {
+      addAuthzObject(authzObj, authzObjPathElements);
+    } else {
+      LOG.warn(String.format("%s addPathsToAuthzObject(%s, %s, %b):" +
+          " Path was not added to AuthzObject, could not find key in authzObjToPath",
+          this, authzObj, HMSPaths.assemblePaths(authzObjPathElements), createNew));
+    }
+  }
+
+  public void addPathsToAuthzObject(String authzObj, List<List<String>> authzObjPaths) {
+    addPathsToAuthzObject(authzObj, authzObjPaths, false);
+  }
+
+  @Override
+  public void deletePathsFromAuthzObject(String authzObj,
+      List<List<String>> authzObjPathElements) {
+    checkNotClosed();
+    if (LOG.isDebugEnabled()) {
+      LOG.debug(String.format("%s deletePathsFromAuthzObject(%s, %s)",
+          this, authzObj, HMSPaths.assemblePaths(authzObjPathElements)));
+    }
+    int id = authzObjNames.lookup(authzObj);
+    SlotSet entries = getEntries(id);
+    if (entries == null) {
+      LOG.warn(String.format("%s deletePathsFromAuthzObject(%s, %s):" +
+          " Path was not deleted from AuthzObject, could not find key in authzObjToPath",
+          this, authzObj, HMSPaths.assemblePaths(authzObjPathElements)));
+      return;
+    }
+    for (List<String> pathElements : authzObjPathElements) {
+      int slot = find(pathElements.toArray(new String[pathElements.size()]), false);
+      if (slot != NONE) {
+        deleteAuthzObject(slot, id);
+        entries.remove(slot);
+      } else {
+        LOG.warn(String.format("%s deletePathsFromAuthzObject(%s, %s):" +
+            " Path %s was not deleted from AuthzObject, path not registered." +
+            " This is possible for implicit partition locations",
+            this, authzObj, HMSPaths.assemblePaths(authzObjPathElements), pathElements));
+      }
+    }
+  }
+
+  @Override
+  public void deleteAuthzObject(String authzObj) {
+    checkNotClosed();
+    if (LOG.isDebugEnabled()) {
+      LOG.debug(String.format("%s deleteAuthzObject(%s)", this, authzObj));
+    }
+    int id = authzObjNames.lookup(authzObj);
+    if (getEntries(id) != null) {
+      authzObjNames.retain(id);
+      for (int slot : removeEntries(id).toArray()) {
+        deleteAuthzObject(slot, id);
+      }
+      authzObjNames.release(id);
+    }
+  }
+
+  /*
+  Same as HMSPaths.renameAuthzObject(), oldName != newName
+  If oldPath == newPath, Example: rename external table (only HMS meta data is updated)
+    => new_table.add(new_path), new_table.add(old_table_partition_paths), old_table.dropAllPaths.
+  If oldPath != newPath, Example: rename managed table (HMS metadata is updated as well as physical files are moved to new location)
+    => new_table.add(new_path), old_table.dropAllPaths.
+  */
+  @Override
+  public void renameAuthzObject(String oldName, List<List<String>> oldPathElems,
+      String newName, List<List<String>> newPathElems) {
+    checkNotClosed();
+    if (LOG.isDebugEnabled()) {
+      LOG.debug(String.format("%s renameAuthzObject({%s, %s} -> {%s, %s})",
+          this, oldName, HMSPaths.assemblePaths(oldPathElems),
+          newName, HMSPaths.assemblePaths(newPathElems)));
+    }
+    if (oldPathElems == null || oldPathElems.isEmpty() ||
+        newPathElems == null || newPathElems.isEmpty() ||
+        newName == null || newName.equalsIgnoreCase(oldName)) {
+      LOG.warn(String.format("%s renameAuthzObject({%s, %s} -> {%s, %s})" +
+          ": invalid inputs, skipping",
+          this, oldName, HMSPaths.assemblePaths(oldPathElems),
+          newName, HMSPaths.assemblePaths(newPathElems)));
+      return;
+    }
+
+    List<String> oldPathElements = oldPathElems.get(0);
+    List<String> newPathElements = newPathElems.get(0);
+    if (!oldPathElements.equals(newPathElements)) {
+      int oldSlot = find(oldPathElements.toArray(new String[0]), false);
+      if (oldSlot != NONE) {
+        moveTo(oldSlot, createParent(newPathElements),
+            newPathElements.get(newPathElements.size() - 1));
+      } else {
+        LOG.warn(String.format("%s renameAuthzObject({%s, %s} -> {%s, %s}):" +
+            " cannot find path %s", this, oldName, HMSPaths.assemblePaths(oldPathElems),
+            newName, HMSPaths.assemblePaths(newPathElems), oldPathElements));
+      }
+    }
+
+    // Re-write authObj from oldName to newName.
+    int oldId = authzObjNames.lookup(oldName);
+    SlotSet entries = getEntries(oldId);
+    if (entries == null) {
+      LOG.warn(String.format("%s renameAuthzObject({%s, %s} -> {%s, %s}):" +
+          " cannot find oldName %s in authzObjToPath",
+          this, oldName, HMSPaths.assemblePaths(oldPathElems),
+          newName, HMSPaths.assemblePaths(newPathElems), oldName));
+      return;
+    }
+    authzObjNames.retain(oldId);
+    removeEntries(oldId);
+    int newId = authzObjNames.acquire(newName);
+    putEntries(newId, entries);
+    int[] slots = entries.toArray();
+    for (int slot : slots) {
+      addAuthzObj(slot, newId);
+      if (hasAuthzObj(slot, oldId)) {
+        removeAuthzObj(slot, oldId);
+      } else {
+        LOG.warn(String.format("%s renameAuthzObject({%s, %s} -> {%s, %s}):" +
+            " Unexpected state: authzObjToPath has an " +
+            "entry %s where one of the authz objects does not have oldName",
+            this, oldName, HMSPaths.assemblePaths(oldPathElems),
+            newName, HMSPaths.assemblePaths(newPathElems), entryToString(slot)));
+      }
+    }
+    // old_table.dropAllPaths, over the entries which are now newName's
+    for (int slot : slots) {
+      deleteAuthzObject(slot, oldId);
+    }
+    authzObjNames.release(newId);
+    authzObjNames.release(oldId);
+  }
+
+  /* ---------------- lookups ---------------- */
+
+  @Override
+  public boolean isUnderPrefix(String[] pathElements) {
+    checkNotClosed();
+    return findPrefixEntry(Arrays.asList(pathElements)) != NONE;
+  }
+
+  @Override
+  public Set<String> findAuthzObject(String[] pathElements) {
+    return findAuthzObject(pathElements, true);
+  }
+
+  @Override
+  public Set<String> findAuthzObjectExactMatches(String[] pathElements) {
+    return findAuthzObject(pathElements, false);
+  }
+
+  /**
+   * Same as {@link HMSPaths#findAuthzObject(String[], boolean)}.
+   */
+  public Set<String> findAuthzObject(String[] pathElements, boolean isPartialOk) {
+    checkNotClosed();
+    // Handle '/'
+    if (pathElements == null || pathElements.length == 0) {
+      return null;
+    }
+    int slot = find(pathElements, isPartialOk);
+    if (slot == NONE) {
+      if (LOG.isDebugEnabled()) {
+        LOG.debug(String.format("%s findAuthzObject(%s, %b) - no authzObject found",
+            this, Arrays.toString(pathElements), isPartialOk));
+      }
+      return null;
+    }
+    return getAuthzObjs(slot);
+  }
+
+  /**
+   * @return the number of path entries
+   */
+  public int size() {
+    return entryCount;
+  }
+
+  /* ---------------- entries ---------------- */
+
+  private int newEntry(int parent, String pathElement, EntryType type) {
+    int slot;
+    if (freeSlot != NONE) {
+      slot = freeSlot;
+      freeSlot = parents.get(slot);
+    } else {
+      if (slotCount == parents.capacity()) {
+        int capacity = slotCount + (slotCount >> 1);
+        parents = allocator.grow(parents, capacity);
+        elements = allocator.grow(elements, capacity);
+        types = allocator.grow(types, capacity);
+        authzObjs = allocator.grow(authzObjs, capacity);
+        childSetIds = allocator.grow(childSetIds, capacity);
+      }
+      slot = slotCount++;
+    }
+    parents.put(slot, parent);
+    elements.put(slot, pathElements.acquire(pathElement));
+    types.put(slot, (byte) type.ordinal());
+    authzObjs.put(slot, NONE);
+    childSetIds.put(slot, NONE);
+    entryCount++;
+    return slot;
+  }
+
+  // Only leaves are freed, once detached from their parent
+  private void freeEntry(int slot) {
+    for (int id : getAuthzObjIds(slot)) {
+      removeAuthzObj(slot, id);
+    }
+    pathElements.release(elements.get(slot));
+    types.put(slot, FREE);
+    parents.put(slot, freeSlot);
+    freeSlot = slot;
+    entryCount--;
+  }
+
+  private EntryType getType(int slot) {
+    return ENTRY_TYPES[types.get(slot)];
+  }
+
+  private void setType(int slot, EntryType type) {
+    types.put(slot, (byte) type.ordinal());
+  }
+
+  private int getChild(int slot, String pathElement) {
+    int childSetId = childSetIds.get(slot);
+    if (childSetId == NONE) {
+      return NONE;
+    }
+    int element = pathElements.lookup(pathElement);
+    return element == NONE ? NONE : childSets[childSetId].get(element);
+  }
+
+  private void putChild(int parent, int child) {
+    int childSetId = childSetIds.get(parent);
+    if (childSetId == NONE) {
+      if (freeChildSetIdCount > 0) {
+        childSetId = freeChildSetIds[--freeChildSetIdCount];
+      } else {
+        if (childSetCount == childSets.length) {
+          childSets = Arrays.copyOf(childSets, childSetCount + (childSetCount >> 1));
+        }
+        childSetId = childSetCount++;
+      }
+      childSets[childSetId] = new Children();
+      childSetIds.put(parent, childSetId);
+    }
+    childSets[childSetId].add(child);
+  }
+
+  private void removeChild(int parent, int child) {
+    int childSetId = childSetIds.get(parent);
+    if (childSetId != NONE) {
+      Children parentChildren = childSets[childSetId];
+      parentChildren.remove(elements.get(child));
+      if (parentChildren.size() == 0) {
+        childSets[childSetId] = null;
+        if (freeChildSetIdCount == freeChildSetIds.length) {
+          freeChildSetIds = Arrays.copyOf(freeChildSetIds, freeChildSetIdCount * 2);
+        }
+        freeChildSetIds[freeChildSetIdCount++] = childSetId;
+        childSetIds.put(parent, NONE);
+      }
+    }
+  }
+
+  private boolean hasChildren(int slot) {
+    return childSetIds.get(slot) != NONE;
+  }
+
+  private int[] getChildren(int slot) {
+    int childSetId = childSetIds.get(slot);
+    return childSetId == NONE ? SlotSet.EMPTY : childSets[childSetId].toArray();
+  }
+
+  private int createParent(List<String> pathElements) {
+    int parent = root;
+    // The loop is resilient to 0 or 1 element list.
+    for (int i = 0; i < pathElements.size() - 1; i++) {
+      String elem = pathElements.get(i);
+      int child = getChild(parent, elem);
+      if (child == NONE) {
+        child = newEntry(parent, elem, EntryType.DIR);
+        putChild(parent, child);
+      }
+      parent = child;
+    }
+    return parent;
+  }
+
+  private int createChild(List<String> pathElements, EntryType type, int authzObj) {
+    // Create all the parent entries on the path if they do not exist.
+    int parent = createParent(pathElements);
+    String lastPathElement = pathElements.get(pathElements.size() - 1);
+    int child = getChild(parent, lastPathElement);
+
+    // Same as HMSPaths: create the child entry if not found, if found as a prefix or
+    // authzObj only add the authzObj, if found as a dir make it an authzObj.
+    if (child == NONE) {
+      child = newEntry(parent, lastPathElement, type);
+      if (authzObj != NONE) {
+        addAuthzObj(child, authzObj);
+      }
+      putChild(parent, child);
+    } else if (type == EntryType.AUTHZ_OBJECT) {
+      EntryType childType = getType(child);
+      if (childType == EntryType.PREFIX || childType == EntryType.AUTHZ_OBJECT) {
+        addAuthzObj(child, authzObj);
+      } else if (childType == EntryType.DIR) {
+        addAuthzObj(child, authzObj);
+        setType(child, EntryType.AUTHZ_OBJECT);
+      }
+    }
+    return child;
+  }
+
+  private int createPrefix(List<String> pathElements) {
+    int prefix = findPrefixEntry(pathElements);
+    if (prefix != NONE) {
+      throw new IllegalArgumentException(String.format(
+          "%s: createPrefix(%s): cannot add prefix under an existing prefix '%s'",
+          this, pathElements, getFullPath(prefix)));
+    }
+    return createChild(pathElements, EntryType.PREFIX, NONE);
+  }
+
+  private int createAuthzObjPath(List<String> pathElements, int authzObj) {
+    // we only create the entry if is under a prefix, else we ignore it
+    if (findPrefixEntry(pathElements) != NONE) {
+      return createChild(pathElements, EntryType.AUTHZ_OBJECT, authzObj);
+    }
+    if (LOG.isDebugEnabled()) {
+      LOG.debug(String.format("%s: createAuthzObjPath(%s, %s): outside of prefix, skipping",
+          this, authzObjNames.get(authzObj), pathElements));
+    }
+    return NONE;
+  }
+
+  private void deleteFromParent(int slot) {
+    int parent = parents.get(slot);
+    if (parent != NONE) {
+      removeChild(parent, slot);
+      parents.put(slot, NONE);
+      deleteIfDangling(parent);
+    }
+  }
+
+  private void deleteAuthzObject(int slot, int authzObj) {
+    if (types.get(slot) == FREE || parents.get(slot) == NONE) {
+      return;
+    }
+    if (!hasChildren(slot)) {
+      // Remove the authzObj on the path entry. If the path entry no longer maps
+      // to any authzObj, removes the entry recursively.
+      removeAuthzObj(slot, authzObj);
+      if (authzObjs.get(slot) == NONE) {
+        deleteFromParent(slot);
+        freeEntry(slot);
+      }
+    } else if (getType(slot) == EntryType.AUTHZ_OBJECT) {
+      // if the entry was for an authz object and has children, we change it
+      // to be a dir entry. And remove the authzObj on the path entry.
+      setType(slot, EntryType.DIR);
+      removeAuthzObj(slot, authzObj);
+    }
+  }
+
+  private void delete(int slot) {
+    if (parents.get(slot) != NONE) {
+      if (!hasChildren(slot)) {
+        deleteFromParent(slot);
+        freeEntry(slot);
+      } else if (getType(slot) == EntryType.AUTHZ_OBJECT) {
+        // if the entry was for an authz object and has children, we
+        // change it to be a dir entry.
+        setType(slot, EntryType.DIR);
+        for (int id : getAuthzObjIds(slot)) {
+          removeAuthzObj(slot, id);
+        }
+      }
+    }
+  }
+
+  private void deleteIfDangling(int slot) {
+    if (!hasChildren(slot) && getType(slot).isRemoveIfDangling()) {
+      delete(slot);
+    }
+  }
+
+  private void moveTo(int slot, int newParent, String pathElem) {
+    Preconditions.checkArgument(!pathElem.isEmpty());
+    if (getChild(newParent, pathElem) != NONE) {
+      LOG.warn(String.format(
+          "Attempt to move %s to %s: entry with the same name %s already exists",
+          entryToString(slot), entryToString(newParent), pathElem));
+      return;
+    }
+    // Unlike HMSPaths, the old parent is only deleted once the entry is attached to
+    // its new parent, so that it can't take the new parent along when left dangling.
+    int oldParent = parents.get(slot);
+    if (oldParent != NONE) {
+      removeChild(oldParent, slot);
+    }
+    int element = pathElements.acquire(pathElem);
+    pathElements.release(elements.get(slot));
+    elements.put(slot, element);
+    parents.put(slot, newParent);
+    putChild(newParent, slot);
+    if (oldParent != NONE) {
+      deleteIfDangling(oldParent);
+    }
+  }
+
+  private int findPrefixEntry(List<String> pathElements) {
+    Preconditions.checkArgument(pathElements != null, "pathElements cannot be NULL");
+    if (getType(root) == EntryType.PREFIX) {
+      return root;
+    }
+    int slot = root;
+    for (String pathElement : pathElements) {
+      slot = getChild(slot, pathElement);
+      if (slot == NONE || getType(slot) == EntryType.PREFIX) {
+        return slot;
+      }
+    }
+    return NONE;
+  }
+
+  /**
+   * Same as HMSPaths.Entry.find(): the entry of the path, or of its closest ancestor
+   * having authorizable objects when the path has none, or isPartialMatchOk and only
+   * a part of the path is known.
+   */
+  private int find(String[] pathElements, boolean isPartialMatchOk) {
+    Preconditions.checkArgument(pathElements != null && pathElements.length > 0,
+        "pathElements cannot be NULL or empty");
+    int slot = root;
+    int lastAuthzObj = NONE;
+    for (String pathElement : pathElements) {
+      slot = getChild(slot, pathElement);
+      if (slot == NONE) {
+        return isPartialMatchOk ? lastAuthzObj : NONE;
+      }
+      if (authzObjs.get(slot) != NONE) {
+        lastAuthzObj = slot;
+      }
+    }
+    return lastAuthzObj;
+  }
+
+  private String getFullPath(int slot) {
+    if (parents.get(slot) == NONE) {
+      return Path.SEPARATOR;
+    }
+    List<String> path = new ArrayList<String>();
+    for (int s = slot; parents.get(s) != NONE; s = parents.get(s)) {
+      path.add(pathElements.get(elements.get(s)));
+    }
+    StringBuilder sb = new StringBuilder();
+    for (int i = path.size() - 1; i >= 0; i--) {
+      sb.append(Path.SEPARATOR).append(path.get(i));
+    }
+    return sb.toString();
+  }
+
+  private String entryToString(int slot) {
+    return String.format("Entry[%s:%s -> authObj: %s]",
+        getType(slot), getFullPath(slot), Joiner.on(",").join(getAuthzObjs(slot)));
+  }
+
+  /* ---------------- authorizable objects of the entries ---------------- */
+
+  private boolean hasAuthzObj(int slot, int id) {
+    int authzObj = authzObjs.get(slot);
+    if (authzObj == MULTIPLE) {
+      for (int multiId : multiAuthzObjs.get(slot)) {
+        if (multiId == id) {
+          return true;
+        }
+      }
+      return false;
+    }
+    return authzObj == id;
+  }
+
+  private void addAuthzObj(int slot, int id) {
+    if (hasAuthzObj(slot, id)) {
+      return;
+    }
+    int authzObj = authzObjs.get(slot);
+    if (authzObj == NONE) {
+      authzObjs.put(slot, id);
+    } else if (authzObj == MULTIPLE) {
+      int[] ids = multiAuthzObjs.get(slot);
+      ids = Arrays.copyOf(ids, ids.length + 1);
+      ids[ids.length - 1] = id;
+      multiAuthzObjs.put(slot, ids);
+    } else {
+      authzObjs.put(slot, MULTIPLE);
+      multiAuthzObjs.put(slot, new int[] {authzObj, id});
+    }
+    authzObjNames.retain(id);
+  }
+
+  private void addAuthzObjs(int slot, Collection<String> names) {
+    if (names != null) {
+      for (String name : names) {
+        int id = authzObjNames.acquire(name);
+        addAuthzObj(slot, id);
+        authzObjNames.release(id);
+      }
+    }
+  }
+
+  // The entry is also removed from the entries of the authorizable object, so that
+  // these never refer to a freed slot
+  private void removeAuthzObj(int slot, int id) {
+    int authzObj = authzObjs.get(slot);
+    if (authzObj == id) {
+      authzObjs.put(slot, NONE);
+    } else if (authzObj == MULTIPLE && hasAuthzObj(slot, id)) {
+      int[] ids = multiAuthzObjs.get(slot);
+      if (ids.length == 2) {
+        multiAuthzObjs.remove(slot);
+        authzObjs.put(slot, ids[0] == id ? ids[1] : ids[0]);
+      } else {
+        int[] newIds = new int[ids.length - 1];
+        int i = 0;
+        for (int multiId : ids) {
+          if (multiId != id) {
+            newIds[i++] = multiId;
+          }
+        }
+        multiAuthzObjs.put(slot, newIds);
+      }
+    } else {
+      return;
+    }
+    SlotSet entries = getEntries(id);
+    if (entries != null) {
+      entries.remove(slot);
+    }
+    authzObjNames.release(id);
+  }
+
+  private int[] getAuthzObjIds(int slot) {
+    int authzObj = authzObjs.get(slot);
+    if (authzObj == NONE) {
+      return SlotSet.EMPTY;
+    }
+    return authzObj == MULTIPLE ? multiAuthzObjs.get(slot).clone() : new int[] {authzObj};
+  }
+
+  private Set<String> getAuthzObjs(int slot) {
+    Set<String> result = new TreeSet<String>(String.CASE_INSENSITIVE_ORDER);
+    for (int id : getAuthzObjIds(slot)) {
+      result.add(authzObjNames.get(id));
+    }
+    return result;
+  }
+
+  private SlotSet getEntries(int id) {
+    return id == NONE || id >= authzObjEntries.length ? null : authzObjEntries[id];
+  }
+
+  private void putEntries(int id, SlotSet entries) {
+    if (id >= authzObjEntries.length) {
+      authzObjEntries = Arrays.copyOf(authzObjEntries,
+          Math.max(id + 1, authzObjEntries.length + (authzObjEntries.length >> 1)));
+    }
+    if (authzObjEntries[id] == null) {
+      authzObjNames.retain(id);
+    }
+    authzObjEntries[id] = entries;
+  }
+
+  private SlotSet removeEntries(int id) {
+    SlotSet entries = authzObjEntries[id];
+    authzObjEntries[id] = null;
+    authzObjNames.release(id);
+    return entries;
+  }
+
+  /* ---------------- full image ---------------- */
+
+  TPathsDump createPathsDump(boolean minimizeSize) {
+    checkNotClosed();
+    int[] dupIndexes = null;
+    List<String> dupStringValues = null;
+    if (minimizeSize) {
+      // The dictionary knows how many entries share each path element
+      dupIndexes = new int[pathElements.capacity()];
+      dupStringValues = new ArrayList<String>();
+      for (int id = 0; id < dupIndexes.length; id++) {
+        String pathElement = pathElements.get(id);
+        if (pathElement != null && pathElement.length() > AVG_ID_LENGTH &&
+            pathElements.getRefCount(id) >= MIN_NUM_DUPLICATES) {
+          dupIndexes[id] = dupStringValues.size();
+          dupStringValues.add(pathElement);
+        } else {
+          dupIndexes[id] = NONE;
+        }
+      }
+    }
+    Map<Integer, TPathEntry> idMap = new HashMap<Integer, TPathEntry>(entryCount * 4 / 3 + 1);
+    int rootId = addToDump(root, new AtomicInteger(0), idMap, dupIndexes);
+    TPathsDump dump = new TPathsDump(rootId, idMap);
+    String stringDupMsg = "";
+    if (minimizeSize) {
+      dump.setDupStringValues(dupStringValues);
+      stringDupMsg = String.format(" %d total path strings, compacted to %d unique strings.",
+          entryCount, dupStringValues.size());
+    }
+    LOG.info("Paths Dump created." + stringDupMsg);
+    return dump;
+  }
+
+  private int addToDump(int slot, AtomicInteger idCounter, Map<Integer, TPathEntry> idMap,
+      int[] dupIndexes) {
+    int myId = idCounter.incrementAndGet();
+    int[] childSlots = getChildren(slot);
+    List<Integer> childIds = childSlots.length > 0 ?
+        new ArrayList<Integer>(childSlots.length) : Collections.<Integer>emptyList();
+    int element = elements.get(slot);
+    String pathElement = dupIndexes != null && dupIndexes[element] != NONE ?
+        REPLACEMENT_STRING_PREFIX + Integer.toHexString(dupIndexes[element]) :
+        pathElements.get(element);
+    TPathEntry tEntry = new TPathEntry(getType(slot).getByte(), pathElement, childIds);
+    if (authzObjs.get(slot) != NONE) {
+      tEntry.setAuthzObjs(new ArrayList<String>(getAuthzObjs(slot)));
+    }
+    idMap.put(myId, tEntry);
+    for (int child : childSlots) {
+      childIds.add(addToDump(child, idCounter, idMap, dupIndexes));
+    }
+    return myId;
+  }
+
+  CompactHMSPaths initializeFromDump(TPathsDump pathDump) {
+    CompactHMSPaths newPaths = new CompactHMSPaths(prefixes, allocator);
+    TPathEntry tRootEntry = pathDump.getNodeMap().get(pathDump.getRootId());
+    newPaths.cloneToEntry(tRootEntry, newPaths.root, pathDump.getNodeMap(),
+        pathDump.getDupStringValues(), newPaths.getType(newPaths.root) == EntryType.PREFIX);
+    return newPaths;
+  }
+
+  // Same as HMSPathsDumper.cloneToEntry()
+  private void cloneToEntry(TPathEntry tParent, int parent, Map<Integer, TPathEntry> idMap,
+      List<String> dupStringValues, boolean hasCrossedPrefix) {
+    for (Integer id : tParent.getChildren()) {
+      TPathEntry tChild = idMap.get(id);
+
+      String tChildPathElement = tChild.getPathElement();
+      if (!tChildPathElement.isEmpty() &&
+          tChildPathElement.charAt(0) == REPLACEMENT_STRING_PREFIX) {
+        int dupStrIdx = Integer.parseInt(tChildPathElement.substring(1), 16);
+        tChildPathElement = dupStringValues.get(dupStrIdx);
+      }
+
+      int child = NONE;
+      boolean isChildPrefix = hasCrossedPrefix;
+      if (!hasCrossedPrefix) {
+        child = getChild(parent, tChildPathElement);
+        // If we haven't reached a prefix entry yet, then child should
+        // already exists.. else it is not part of the prefix
+        if (child == NONE) {
+          continue;
+        }
+        isChildPrefix = getType(child) == EntryType.PREFIX;
+        // Handle case when prefix entry has an authzObject
+        // For Eg (default table mapped to /user/hive/warehouse)
+        if (isChildPrefix) {
+          addAuthzObjs(child, tChild.getAuthzObjs());
+        }
+      }
+      if (child == NONE) {
+        child = newEntry(parent, tChildPathElement, EntryType.fromByte(tChild.getType()));
+        addAuthzObjs(child, tChild.getAuthzObjs());
+        putChild(parent, child);
+      }
+      for (int authzObj : getAuthzObjIds(child)) {
+        SlotSet entries = getEntries(authzObj);
+        if (entries == null) {
+          entries = new SlotSet(1);
+          putEntries(authzObj, entries);
+        }
+        entries.add(child);
+      }
+      cloneToEntry(tChild, child, idMap, dupStringValues, isChildPrefix);
+    }
+  }
+
+  @Override
+  public CompactHMSPathsDumper getPathsDump() {
+    return new CompactHMSPathsDumper(this);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s:%s", getClass().getSimpleName(), Arrays.toString(prefixes));
+  }
+
+  @Override
+  public String dumpContent() {
+    return toString() + ": " + getAllEntries();
+  }
+
+  /**
+   * For logging: the same descriptions of the path entries as HMSPaths.getAllEntries().
+   */
+  @VisibleForTesting
+  List<String> getAllEntries() {
+    checkNotClosed();
+    List<String> entries = new ArrayList<String>(entryCount);
+    int[] stack = new int[16];
+    int depth = 0;
+    stack[depth++] = root;
+    while (depth > 0) {
+      int slot = stack[--depth];
+      entries.add(entryToString(slot));
+      for (int child : getChildren(slot)) {
+        if (depth == stack.length) {
+          stack = Arrays.copyOf(stack, depth * 2);
+        }
+        stack[depth++] = child;
+      }
+    }
+    return entries;
+  }
+
+  private static int mix(int hash) {
+    int h = hash * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+
+  private static int tableSize(int size) {
+    // At most half full
+    return Integer.highestOneBit(Math.max(size, 2) * 2 - 1) * 2;
+  }
+
+  /**
+   * A set of slots keyed by {@link #key(int)}. Up to {@link #MAX_SCANNED} slots are
+   * packed at the start of the array and scanned, beyond the array is a linear probing
+   * table, at most half full, with {@link CompactHMSPaths#NONE} for the empty cells.
+   */
+  static class SlotSet {
+    static final int[] EMPTY = new int[0];
+    static final int MAX_SCANNED = 8;
+
+    private int[] slots;
+    private int size;
+
+    SlotSet(int expectedSize) {
+      slots = expectedSize <= MAX_SCANNED ? new int[Math.max(expectedSize, 1)] :
+          newTable(tableSize(expectedSize));
+    }
+
+    int key(int slot) {
+      return slot;
+    }
+
+    int size() {
+      return size;
+    }
+
+    /**
+     * @return the slot with the key, or NONE
+     */
+    int get(int key) {
+      int[] array = slots;
+      if (array.length <= MAX_SCANNED) {
+        for (int i = 0; i < size; i++) {
+          if (key(array[i]) == key) {
+            return array[i];
+          }
+        }
+        return NONE;
+      }
+      int mask = array.length - 1;
+      for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+        int slot = array[i];
+        if (slot == NONE || key(slot) == key) {
+          return slot;
+        }
+      }
+    }
+
+    boolean contains(int slot) {
+      return get(key(slot)) != NONE;
+    }
+
+    boolean add(int slot) {
+      if (get(key(slot)) != NONE) {
+        return false;
+      }
+      if (slots.length <= MAX_SCANNED) {
+        if (size < slots.length) {
+          slots[size++] = slot;
+          return true;
+        }
+        if (size < MAX_SCANNED) {
+          slots = Arrays.copyOf(slots, Math.min(size * 2, MAX_SCANNED));
+          slots[size++] = slot;
+          return true;
+        }
+        rehash(tableSize(size + 1));
+      } else if ((size + 1) * 2 > slots.length) {
+        rehash(slots.length * 2);
+      }
+      insert(slots, slot);
+      size++;
+      return true;
+    }
+
+    boolean remove(int key) {
+      int[] array = slots;
+      if (array.length <= MAX_SCANNED) {
+        for (int i = 0; i < size; i++) {
+          if (key(array[i]) == key) {
+            array[i] = array[--size];
+            return true;
+          }
+        }
+        return false;
+      }
+      int mask = array.length - 1;
+      int hole = mix(key) & mask;
+      while (array[hole] != NONE && key(array[hole]) != key) {
+        hole = (hole + 1) & mask;
+      }
+      if (array[hole] == NONE) {
+        return false;
+      }
+      // Shift back the following slots of the cluster which can't be reached past the hole
+      for (int i = (hole + 1) & mask; array[i] != NONE; i = (i + 1) & mask) {
+        int home = mix(key(array[i])) & mask;
+        if (((i - home) & mask) >= ((i - hole) & mask)) {
+          array[hole] = array[i];
+          hole = i;
+        }
+      }
+      array[hole] = NONE;
+      size--;
+      if (size <= MAX_SCANNED / 2) {
+        slots = toArray(MAX_SCANNED);
+      } else if (size * 8 < array.length) {
+        rehash(array.length / 2);
+      }
+      return true;
+    }
+
+    int[] toArray() {
+      return toArray(size);
+    }
+
+    private int[] toArray(int length) {
+      int[] array = slots;
+      if (array.length <= MAX_SCANNED) {
+        return Arrays.copyOf(array, length);
+      }
+      int[] result = new int[length];
+      int n = 0;
+      for (int slot : array) {
+        if (slot != NONE) {
+          result[n++] = slot;
+        }
+      }
+      return result;
+    }
+
+    private void rehash(int length) {
+      int[] table = newTable(length);
+      for (int slot : toArray()) {
+        insert(table, slot);
+      }
+      slots = table;
+    }
+
+    private void insert(int[] table, int slot) {
+      int mask = table.length - 1;
+      int i = mix(key(slot)) & mask;
+      while (table[i] != NONE) {
+        i = (i + 1) & mask;
+      }
+      table[i] = slot;
+    }
+
+    private static int[] newTable(int length) {
+      int[] table = new int[length];
+      Arrays.fill(table, NONE);
+      return table;
+    }
+  }
+
+  /**
+   * The children of an entry, keyed by path element id.
+   */
+  private final class Children extends SlotSet {
+    Children() {
+      super(1);
+    }
+
+    @Override
+    int key(int slot) {
+      return elements.get(slot);
+    }
+  }
+
+  /**
+   * Strings interned as ids, with a reference count per id. The ids of the strings no
+   * longer referenced are reused.
+   */
+  static final class StringDictionary {
+    private final boolean ignoreCase;
+    private final BufferAllocator allocator;
+    // The strings, on the heap...
+    private String[] strings;
+    // ...or out of it, in an arena of chars
+    private CharBuffer chars;
+    private IntBuffer offsets;
+    private IntBuffer lengths;
+    private int charCount;
+    private int releasedCharCount;
+    private IntBuffer hashes;
+    private IntBuffer refCounts;
+    // Linear probing table of id + 1, at most half full, 0 for the empty cells
+    private IntBuffer table;
+    private int[] freeIds = new int[16];
+    private int freeIdCount;
+    private int idCount;
+    private int size;
+
+    StringDictionary(boolean ignoreCase, BufferAllocator allocator) {
+      this.ignoreCase = ignoreCase;
+      this.allocator = allocator;
+      if (allocator.isOnHeap()) {
+        strings = new String[INITIAL_CAPACITY];
+      } else {
+        chars = allocator.allocateChars(INITIAL_CAPACITY * 8);
+        offsets = allocator.allocateInts(INITIAL_CAPACITY);
+        lengths = allocator.allocateInts(INITIAL_CAPACITY);
+      }
+      hashes = allocator.allocateInts(INITIAL_CAPACITY);
+      refCounts = allocator.allocateInts(INITIAL_CAPACITY);
+      table = allocator.allocateInts(INITIAL_CAPACITY * 2);
+    }
+
+    /**
+     * @return the id of the string, or NONE if not in the dictionary
+     */
+    int lookup(String s) {
+      int hash = hash(s);
+      int mask = table.capacity() - 1;
+      for (int i = hash & mask; ; i = (i + 1) & mask) {
+        int id = table.get(i) - 1;
+        if (id == NONE || (hashes.get(id) == hash && matches(id, s))) {
+          return id;
+        }
+      }
+    }
+
+    /**
+     * @return the id of the string, added to the dictionary if needed, with one more
+     *         reference
+     */
+    int acquire(String s) {
+      int id = lookup(s);
+      if (id != NONE) {
+        retain(id);
+        return id;
+      }
+      if (freeIdCount > 0) {
+        id = freeIds[--freeIdCount];
+      } else {
+        if (idCount == hashes.capacity()) {
+          int capacity = idCount + (idCount >> 1);
+          if (strings != null) {
+            strings = Arrays.copyOf(strings, capacity);
+          } else {
+            offsets = allocator.grow(offsets, capacity);
+            lengths = allocator.grow(lengths, capacity);
+          }
+          hashes = allocator.grow(hashes, capacity);
+          refCounts = allocator.grow(refCounts, capacity);
+        }
+        id = idCount++;
+      }
+      if (strings != null) {
+        strings[id] = s;
+      } else {
+        store(id, s);
+      }
+      hashes.put(id, hash(s));
+      refCounts.put(id, 1);
+      if (++size * 2 > table.capacity()) {
+        IntBuffer oldTable = table;
+        table = allocator.allocateInts(table.capacity() * 2);
+        for (int i = 0; i < oldTable.capacity(); i++) {
+          int oldId = oldTable.get(i);
+          if (oldId != 0) {
+            insert(oldId - 1);
+          }
+        }
+        allocator.release(oldTable);
+      }
+      insert(id);
+      return id;
+    }
+
+    void retain(int id) {
+      refCounts.put(id, refCounts.get(id) + 1);
+    }
+
+    void release(int id) {
+      int refCount = refCounts.get(id) - 1;
+      refCounts.put(id, refCount);
+      if (refCount > 0) {
+        return;
+      }
+      int mask = table.capacity() - 1;
+      int hole = hashes.get(id) & mask;
+      while (table.get(hole) != id + 1) {
+        hole = (hole + 1) & mask;
+      }
+      // Shift back the following ids of the cluster which can't be reached past the hole
+      for (int i = (hole + 1) & mask; table.get(i) != 0; i = (i + 1) & mask) {
+        int home = hashes.get(table.get(i) - 1) & mask;
+        if (((i - home) & mask) >= ((i - hole) & mask)) {
+          table.put(hole, table.get(i));
+          hole = i;
+        }
+      }
+      table.put(hole, 0);
+      if (strings != null) {
+        strings[id] = null;
+      } else {
+        releasedCharCount += lengths.get(id);
+      }
+      if (freeIdCount == freeIds.length) {
+        freeIds = Arrays.copyOf(freeIds, freeIdCount * 2);
+      }
+      freeIds[freeIdCount++] = id;
+      size--;
+    }
+
+    String get(int id) {
+      if (strings != null) {
+        return strings[id];
+      }
+      int offset = offsets.get(id);
+      int length = lengths.get(id);
+      char[] value = new char[length];
+      for (int i = 0; i < length; i++) {
+        value[i] = chars.get(offset + i);
+      }
+      return new String(value);
+    }
+
+    int getRefCount(int id) {
+      return refCounts.get(id);
+    }
+
+    int size() {
+      return size;
+    }
+
+    /**
+     * @return an upper bound of the ids
+     */
+    int capacity() {
+      return idCount;
+    }
+
+    private void insert(int id) {
+      int mask = table.capacity() - 1;
+      int i = hashes.get(id) & mask;
+      while (table.get(i) != 0) {
+        i = (i + 1) & mask;
+      }
+      table.put(i, id + 1);
+    }
+
+    /**
+     * Appends the string to the arena, first compacting the arena or growing it if
+     * full.
+     */
+    private void store(int id, String s) {
+      if (charCount + s.length() > chars.capacity()) {
+        if (releasedCharCount * 2 > charCount) {
+          compact();
+        }
+        if (charCount + s.length() > chars.capacity()) {
+          int capacity = Math.max(charCount + s.length(),
+              chars.capacity() + (chars.capacity() >> 1));
+          chars = allocator.grow(chars, capacity);
+        }
+      }
+      offsets.put(id, charCount);
+      lengths.put(id, s.length());
+      for (int i = 0; i < s.length(); i++) {
+        chars.put(charCount++, s.charAt(i));
+      }
+    }
+
+    /**
+     * Copies the strings still referenced to a new arena, dropping the released ones.
+     */
+    private void compact() {
+      CharBuffer newChars = allocator.allocateChars(chars.capacity());
+      int newCharCount = 0;
+      for (int id = 0; id < idCount; id++) {
+        if (refCounts.get(id) > 0) {
+          int offset = offsets.get(id);
+          int length = lengths.get(id);
+          offsets.put(id, newCharCount);
+          for (int i = 0; i < length; i++) {
+            newChars.put(newCharCount++, chars.get(offset + i));
+          }
+        }
+      }
+      allocator.release(chars);
+      chars = newChars;
+      charCount = newCharCount;
+      releasedCharCount = 0;
+    }
+
+    /**
+     * Releases the buffers of the dictionary, which must no longer be used.
+     */
+    void close() {
+      allocator.release(chars);
+      allocator.release(offsets);
+      allocator.release(lengths);
+      allocator.release(hashes);
+      allocator.release(refCounts);
+      allocator.release(table);
+      chars = null;
+      offsets = null;
+      lengths = null;
+      hashes = null;
+      refCounts = null;
+      table = null;
+    }
+
+    private boolean matches(int id, String s) {
+      if (strings != null) {
+        return ignoreCase ? strings[id].equalsIgnoreCase(s) : strings[id].equals(s);
+      }
+      int length = lengths.get(id);
+      if (length != s.length()) {
+        return false;
+      }
+      int offset = offsets.get(id);
+      for (int i = 0; i < length; i++) {
+        char c = chars.get(offset + i);
+        char d = s.charAt(i);
+        if (c != d && (!ignoreCase || fold(c) != fold(d))) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private int hash(String s) {
+      if (!ignoreCase) {
+        return mix(s.hashCode());
+      }
+      // Consistent with equalsIgnoreCase()
+      int h = 0;
+      for (int i = 0; i < s.length(); i++) {
+        h = 31 * h + fold(s.charAt(i));
+      }
+      return mix(h);
+    }
+
+    private static char fold(char c) {
+      return Character.toLowerCase(Character.toUpperCase(c));
+    }
+  }
+}
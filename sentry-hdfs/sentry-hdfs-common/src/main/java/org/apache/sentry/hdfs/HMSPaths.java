@@ -34,7 +34,7 @@ import org.slf4j.LoggerFactory;
  * the {@link AuthzPaths} paths. All updates to this class is handled by the
  * thread safe {@link UpdateableAuthzPaths} class
  */
-public class HMSPaths implements AuthzPaths {
+public class HMSPaths implements MutableAuthzPaths {
 
   private static final Logger LOG = LoggerFactory.getLogger(HMSPaths.class);
 
@@ -719,7 +719,8 @@ public class HMSPaths implements AuthzPaths {
     }
   }
 
-  void addPathsToAuthzObject(String authzObj,
+  @Override
+  public void addPathsToAuthzObject(String authzObj,
       List<List<String>> authzObjPathElements, boolean createNew) {
     if (LOG.isDebugEnabled()) {
       LOG.debug(String.format("%s addPathsToAuthzObject(%s, %s, %b)",
@@ -765,7 +766,8 @@ public class HMSPaths implements AuthzPaths {
   ( which also deletes the entry if no more authObjs to that path and does it recursively upwards)
   2. Removes it from value of authzObjToPath Map for this authzObj key, does not reset entries to null even if entries is empty
    */
-  void deletePathsFromAuthzObject(String authzObj,
+  @Override
+  public void deletePathsFromAuthzObject(String authzObj,
       List<List<String>> authzObjPathElements) {
     if (LOG.isDebugEnabled()) {
       LOG.debug(String.format("%s deletePathsFromAuthzObject(%s, %s)",
@@ -795,7 +797,8 @@ public class HMSPaths implements AuthzPaths {
     }
   }
 
-  void deleteAuthzObject(String authzObj) {
+  @Override
+  public void deleteAuthzObject(String authzObj) {
     if (LOG.isDebugEnabled()) {
       LOG.debug(String.format("%s deleteAuthzObject(%s)", this, authzObj));
     }
@@ -856,7 +859,8 @@ public class HMSPaths implements AuthzPaths {
   If oldPath != newPath, Example: rename managed table (HMS metadata is updated as well as physical files are moved to new location)
     => new_table.add(new_path), old_table.dropAllPaths.
   */
-  void renameAuthzObject(String oldName, List<List<String>> oldPathElems,
+  @Override
+  public void renameAuthzObject(String oldName, List<List<String>> oldPathElems,
       String newName, List<List<String>> newPathElems) {
     if (LOG.isDebugEnabled()) {
       LOG.debug(String.format("%s renameAuthzObject({%s, %s} -> {%s, %s})",
@@ -961,6 +965,7 @@ public class HMSPaths implements AuthzPaths {
     return String.format("%s:%s", getClass().getSimpleName(), Arrays.toString(prefixes));
   }
 
+  @Override
   public String dumpContent() {
     return toString() + ": " + getAllEntries();
   }
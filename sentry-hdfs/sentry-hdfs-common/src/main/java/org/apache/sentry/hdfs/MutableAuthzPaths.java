@@ -0,0 +1,49 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.hdfs;
+
+import java.util.List;
+
+/**
+ * The {@link AuthzPaths} data structures {@link UpdateableAuthzPaths} applies the
+ * path changes to. Implementations are not thread-safe.
+ */
+interface MutableAuthzPaths extends AuthzPaths {
+
+  /**
+   * Associate the paths with the authorizable object. If the object has no path yet,
+   * its paths are only added when createNew is true.
+   */
+  void addPathsToAuthzObject(String authzObj, List<List<String>> authzObjPathElements,
+      boolean createNew);
+
+  void deletePathsFromAuthzObject(String authzObj, List<List<String>> authzObjPathElements);
+
+  void deleteAuthzObject(String authzObj);
+
+  void renameAuthzObject(String oldName, List<List<String>> oldPathElems,
+      String newName, List<List<String>> newPathElems);
+
+  @Override
+  AuthzPathsDumper<? extends MutableAuthzPaths> getPathsDump();
+
+  /**
+   * For logging: the paths and their authorizable objects.
+   */
+  String dumpContent();
+}
@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.hdfs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.sentry.hdfs.service.thrift.TPathEntry;
+import org.apache.sentry.hdfs.service.thrift.TPathsDump;
+import org.apache.sentry.hdfs.service.thrift.TPathsUpdate;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Loads a full paths image sent in chunks by the Sentry server into
+ * {@link UpdateableAuthzPaths}, one chunk at a time, so that the whole {@link TPathsDump}
+ * is never held in memory.
+ * <p>
+ * The entries of a chunked image are numbered in depth first order, each one after its
+ * parent, and the pathsDump of a chunk holds the entries from its chunkOffset. The first
+ * chunk also holds the duplicate path elements of the whole image. The authorizable
+ * objects of each entry are added to the paths as they come, the same way the Sentry
+ * server built the image.
+ * <p>
+ * Not thread-safe.
+ */
+public class PathsImageLoader {
+
+  private static final char REPLACEMENT_STRING_PREFIX = ':';
+
+  private final long seqNum;
+  private final long imgNum;
+  private final long total;
+  private final List<UpdateableAuthzPaths> paths;
+  private final List<String> dupStringValues;
+  // The path elements of the parents of the entries still to come
+  private final Map<Integer, List<String>> parentPathElements =
+      new HashMap<Integer, List<String>>();
+  private long offset;
+
+  /**
+   * @param firstChunk the chunk at offset 0
+   * @param paths the empty paths to load the image into
+   */
+  public PathsImageLoader(PathsUpdate firstChunk, UpdateableAuthzPaths... paths) {
+    TPathsUpdate tFirstChunk = firstChunk.toThrift();
+    Preconditions.checkArgument(firstChunk.isChunk() && tFirstChunk.getChunkOffset() == 0,
+        "Not the first chunk of a full image: %s", tFirstChunk);
+    seqNum = firstChunk.getSeqNum();
+    imgNum = firstChunk.getImgNum();
+    total = tFirstChunk.getChunkTotal();
+    this.paths = Arrays.asList(paths);
+    List<String> dups = tFirstChunk.getPathsDump().getDupStringValues();
+    dupStringValues = dups != null ? dups : Collections.<String>emptyList();
+    load(firstChunk);
+  }
+
+  /**
+   * @return whether the chunk is the one to load next
+   */
+  public boolean isNext(PathsUpdate chunk) {
+    return chunk.isChunk() && chunk.getSeqNum() == seqNum && chunk.getImgNum() == imgNum &&
+        chunk.toThrift().getChunkOffset() == offset;
+  }
+
+  /**
+   * Adds the entries of the next chunk to the paths.
+   */
+  public void load(PathsUpdate chunk) {
+    Preconditions.checkArgument(isNext(chunk), "Expected the chunk of image [%s, %s] at " +
+        "offset %s, got %s", seqNum, imgNum, offset, chunk.toThrift());
+    Map<Integer, TPathEntry> nodeMap = chunk.toThrift().getPathsDump().getNodeMap();
+    long end = offset + nodeMap.size();
+    Preconditions.checkArgument(end <= total, "Chunk past the %s entries of the image",
+        total);
+    for (int id = (int) offset; id < end; id++) {
+      TPathEntry entry = nodeMap.get(id);
+      Preconditions.checkArgument(entry != null, "Entry %s missing from its chunk", id);
+      List<String> pathElements;
+      if (id == 0) {
+        pathElements = Collections.emptyList();
+      } else {
+        List<String> parentElements = parentPathElements.remove(id);
+        Preconditions.checkState(parentElements != null, "Entry %s before its parent", id);
+        pathElements = new ArrayList<String>(parentElements.size() + 1);
+        pathElements.addAll(parentElements);
+        pathElements.add(getPathElement(entry));
+      }
+      if (entry.getAuthzObjsSize() > 0) {
+        List<List<String>> authzObjPaths = Collections.singletonList(pathElements);
+        for (String authzObj : entry.getAuthzObjs()) {
+          for (UpdateableAuthzPaths authzPaths : paths) {
+            authzPaths.applyAddChanges(authzObj, authzObjPaths);
+          }
+        }
+      }
+      for (int child : entry.getChildren()) {
+        parentPathElements.put(child, pathElements);
+      }
+    }
+    offset = end;
+    if (isLoaded()) {
+      Preconditions.checkState(parentPathElements.isEmpty(),
+          "%s entries of the image missing", parentPathElements.size());
+      for (UpdateableAuthzPaths authzPaths : paths) {
+        authzPaths.setLastUpdated(seqNum, imgNum);
+      }
+    }
+  }
+
+  /**
+   * @return whether all the chunks were loaded
+   */
+  public boolean isLoaded() {
+    return offset == total;
+  }
+
+  public long getSeqNum() {
+    return seqNum;
+  }
+
+  public long getImgNum() {
+    return imgNum;
+  }
+
+  /**
+   * @return the offset of the next chunk
+   */
+  public long getOffset() {
+    return offset;
+  }
+
+  public long getTotal() {
+    return total;
+  }
+
+  public List<UpdateableAuthzPaths> getPaths() {
+    return paths;
+  }
+
+  private String getPathElement(TPathEntry entry) {
+    String pathElement = entry.getPathElement();
+    if (!pathElement.isEmpty() && pathElement.charAt(0) == REPLACEMENT_STRING_PREFIX) {
+      return dupStringValues.get(Integer.parseInt(pathElement.substring(1), 16));
+    }
+    return pathElement;
+  }
+}
@@ -73,6 +73,14 @@ public class PathsUpdate implements Updateable.Update {
     return tPathsUpdate.isHasFullImage();
   }
 
+  /**
+   * @return whether this is a chunk of a full image sent in chunks, see
+   *         {@link PathsImageLoader}
+   */
+  public boolean isChunk() {
+    return tPathsUpdate.isSetChunkOffset();
+  }
+
   public TPathChanges newPathChange(String authzObject) {
 
     TPathChanges pathChanges = new TPathChanges(authzObject,
@@ -105,7 +105,7 @@ public class PermissionsUpdate implements Updateable.Update {
     return tPermUpdate.getPrivilegeChanges().values();
   }
 
-  TPermissionsUpdate toThrift() {
+  public TPermissionsUpdate toThrift() {
     return tPermUpdate;
   }
 
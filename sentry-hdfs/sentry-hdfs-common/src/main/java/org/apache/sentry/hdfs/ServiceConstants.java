@@ -43,9 +43,34 @@ public class ServiceConstants {
     public static final int SENTRY_HDFS_SYNC_METASTORE_CACHE_MAX_PART_PER_RPC_DEFAULT = 100;
     public static final String SENTRY_HDFS_SYNC_METASTORE_CACHE_MAX_TABLES_PER_RPC = "sentry.hdfs.sync.metastore.cache.max-tables-per-rpc";
     public static final int SENTRY_HDFS_SYNC_METASTORE_CACHE_MAX_TABLES_PER_RPC_DEFAULT = 100;
+    // Most HMS fetches of a full snapshot scheduled or done and not merged yet, it bounds
+    // the memory used by the fetched objects
+    public static final String SENTRY_HDFS_SYNC_METASTORE_CACHE_QUEUE_DEPTH = "sentry.hdfs.sync.metastore.cache.queue-depth";
+    public static final int SENTRY_HDFS_SYNC_METASTORE_CACHE_QUEUE_DEPTH_DEFAULT = 100;
     static final String SENTRY_SERVICE_FULL_UPDATE_SIGNAL = "sentry.hdfs.sync.full-update-signal";
     public static final String SENTRY_SERVICE_FULL_UPDATE_PUBSUB = "sentry.hdfs.sync.full-update-pubsub";
 
+    // Merge the deltas sent to the NameNodes into fewer updates
+    public static final String SENTRY_HDFS_SYNC_COMPACT_DELTAS = "sentry.hdfs.sync.compact-deltas";
+    public static final boolean SENTRY_HDFS_SYNC_COMPACT_DELTAS_DEFAULT = true;
+    // Past this many deltas once compacted, a full image is sent to the NameNodes instead,
+    // 0 for no limit
+    public static final String SENTRY_HDFS_SYNC_MAX_DELTA_UPDATES = "sentry.hdfs.sync.max-delta-updates";
+    public static final int SENTRY_HDFS_SYNC_MAX_DELTA_UPDATES_DEFAULT = 0;
+
+    // Longest time a request of the NameNodes for updates is held until there are new ones,
+    // whatever the wait they ask for. Half the default cache stale threshold of the NameNodes,
+    // which treat their permissions as stale when they have not been updated for that long.
+    public static final String SENTRY_HDFS_SYNC_MAX_UPDATES_WAIT_MS = "sentry.hdfs.sync.max-updates-wait-ms";
+    public static final long SENTRY_HDFS_SYNC_MAX_UPDATES_WAIT_MS_DEFAULT = 30000;
+    // Most requests held at the same time, each one keeps a thread of the Thrift server.
+    // The others are answered right away.
+    public static final String SENTRY_HDFS_SYNC_MAX_WAITING_REQUESTS = "sentry.hdfs.sync.max-waiting-requests";
+    public static final int SENTRY_HDFS_SYNC_MAX_WAITING_REQUESTS_DEFAULT = 20;
+    // How often the last change ids are read while requests are held
+    public static final String SENTRY_HDFS_SYNC_CHANGES_CHECK_MS = "sentry.hdfs.sync.changes-check-ms";
+    public static final long SENTRY_HDFS_SYNC_CHANGES_CHECK_MS_DEFAULT = 200;
+
     public static final String SENTRY_HDFS_INTEGRATION_PATH_PREFIXES = "sentry.hdfs.integration.path.prefixes";
     public static final String[] SENTRY_HDFS_INTEGRATION_PATH_PREFIXES_DEFAULT =
             new String[]{"/user/hive/warehouse"};
@@ -68,5 +93,15 @@ public class ServiceConstants {
     // max message size for thrift messages
     static final String SENTRY_HDFS_THRIFT_MAX_MESSAGE_SIZE = "sentry.hdfs.thrift.max.message.size";
     static final long SENTRY_HDFS_THRIFT_MAX_MESSAGE_SIZE_DEFAULT = 100 * 1024 * 1024;
+
+    // max number of path entries per chunk of a full paths image, 0 to receive it whole
+    public static final String SENTRY_HDFS_PATHS_CHUNK_SIZE = "sentry.hdfs.service.client.paths-chunk-size";
+    public static final int SENTRY_HDFS_PATHS_CHUNK_SIZE_DEFAULT = 0;
+
+    // Time the Sentry server may wait for new updates before answering a request for them
+    // without any, 0 to be answered right away. It has to be less than the rpc timeout. The
+    // NameNode plugin asks for at most half its cache stale threshold.
+    public static final String SENTRY_HDFS_UPDATES_WAIT_MS = "sentry.hdfs.service.client.updates-wait-ms";
+    public static final int SENTRY_HDFS_UPDATES_WAIT_MS_DEFAULT = 0;
   }
 }
@@ -35,15 +35,23 @@ public class UpdateableAuthzPaths implements AuthzPaths, Updateable<PathsUpdate>
   private static final int MAX_UPDATES_PER_LOCK_USE = 99;
   private static final String UPDATABLE_TYPE_NAME = "path_update";
   private static final Logger LOG = LoggerFactory.getLogger(UpdateableAuthzPaths.class);
-  private volatile HMSPaths paths;
+  private volatile MutableAuthzPaths paths;
   private final AtomicLong seqNum = new AtomicLong(SEQUENCE_NUMBER_UPDATE_UNINITIALIZED);
   private final AtomicLong imgNum = new AtomicLong(IMAGE_NUMBER_UPDATE_UNINITIALIZED);
 
   public UpdateableAuthzPaths(String[] pathPrefixes) {
-    this.paths = new HMSPaths(pathPrefixes);
+    this(pathPrefixes, false);
   }
 
-  UpdateableAuthzPaths(HMSPaths paths) {
+  /**
+   * @param compact whether to keep the paths in a {@link CompactHMSPaths}, smaller than
+   *        {@link HMSPaths} for large warehouses
+   */
+  public UpdateableAuthzPaths(String[] pathPrefixes, boolean compact) {
+    this.paths = compact ? new CompactHMSPaths(pathPrefixes) : new HMSPaths(pathPrefixes);
+  }
+
+  UpdateableAuthzPaths(MutableAuthzPaths paths) {
     this.paths = paths;
   }
 
@@ -71,6 +79,25 @@ public class UpdateableAuthzPaths implements AuthzPaths, Updateable<PathsUpdate>
     return other;
   }
 
+  /**
+   * Releases the storage of the paths when it is out of the heap, instead of leaving it
+   * to the garbage collector. The paths must no longer be read nor updated.
+   */
+  public void close() {
+    if (paths instanceof CompactHMSPaths) {
+      ((CompactHMSPaths) paths).close();
+    }
+  }
+
+  /**
+   * Sets the numbers of the full image the paths were loaded from by a
+   * {@link PathsImageLoader}.
+   */
+  void setLastUpdated(long seqNum, long imgNum) {
+    this.seqNum.set(seqNum);
+    this.imgNum.set(imgNum);
+  }
+
   @Override
   public void updatePartial(Iterable<PathsUpdate> updates, ReadWriteLock lock) {
     lock.writeLock().lock();
@@ -70,6 +70,11 @@ struct TPathsUpdate {
 3: required i64 seqNum;
 4: required list<TPathChanges> pathChanges;
 5: optional i64 imgNum = UNUSED_PATH_UPDATE_IMG_NUM;
+
+# For a full image sent in chunks: the position of the first entry of pathsDump
+# in the image, and the number of entries of the image
+6: optional i64 chunkOffset;
+7: optional i64 chunkTotal;
 }
 
 struct TPrivilegeChanges {
@@ -114,6 +119,20 @@ struct TAuthzUpdateRequest {
 1: required i64 permSeqNum;
 2: required i64 pathSeqNum;
 3: required i64 pathImgNum;
+
+# Maximum number of path entries of a full image chunk, full images are sent
+# whole when unset
+4: optional i32 pathsChunkSize;
+
+# To get the next chunk of the full image being received: its sequence number,
+# its image number and the number of entries received so far
+5: optional i64 pathsChunkSeqNum;
+6: optional i64 pathsChunkImgNum;
+7: optional i64 pathsChunkOffset;
+
+# Longest time the server may wait for updates newer than the sequence numbers
+# before answering without any
+8: optional i32 updatesWaitMillis;
 }
 
 service SentryHDFSService
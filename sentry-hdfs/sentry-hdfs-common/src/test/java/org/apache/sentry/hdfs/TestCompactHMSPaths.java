@@ -0,0 +1,258 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.hdfs;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.sentry.hdfs.service.thrift.TPathsDump;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+
+public class TestCompactHMSPaths {
+
+  private static final String[] PREFIXES = {"/user/hive/warehouse", "/user/hive/w2"};
+
+  @Test
+  public void testFind() {
+    CompactHMSPaths paths = newPaths(PREFIXES);
+    addAuthzObject(paths, "default", "/user/hive/warehouse");
+    addAuthzObject(paths, "db1", "/user/hive/warehouse/db1");
+    addAuthzObject(paths, "db1.tbl1", "/user/hive/warehouse/db1/tbl1");
+    addPaths(paths, "db1.tbl1", "/user/hive/warehouse/db1/tbl1/p1=1/p2=x");
+    addAuthzObject(paths, "outside", "/tmp/outside");
+
+    Assert.assertTrue(paths.isUnderPrefix(new String[]{"user", "hive", "warehouse", "x"}));
+    Assert.assertFalse(paths.isUnderPrefix(new String[]{"user", "hive"}));
+    Assert.assertEquals(ImmutableSet.of("default"),
+        paths.findAuthzObjectExactMatches(new String[]{"user", "hive", "warehouse"}));
+    Assert.assertEquals(ImmutableSet.of("db1.tbl1"), paths.findAuthzObjectExactMatches(
+        new String[]{"user", "hive", "warehouse", "db1", "tbl1", "p1=1", "p2=x"}));
+    // The closest ancestor with authz objects
+    Assert.assertEquals(ImmutableSet.of("db1.tbl1"), paths.findAuthzObjectExactMatches(
+        new String[]{"user", "hive", "warehouse", "db1", "tbl1", "p1=1"}));
+    Assert.assertEquals(ImmutableSet.of("db1"), paths.findAuthzObject(
+        new String[]{"user", "hive", "warehouse", "db1", "unknown", "file"}));
+    Assert.assertNull(paths.findAuthzObjectExactMatches(
+        new String[]{"user", "hive", "warehouse", "db1", "unknown", "file"}));
+    Assert.assertNull(paths.findAuthzObject(new String[]{"tmp", "outside"}));
+
+    // Authz objects are case insensitive
+    paths.deleteAuthzObject("DB1.TBL1");
+    Assert.assertEquals(ImmutableSet.of("db1"),
+        paths.findAuthzObject(new String[]{"user", "hive", "warehouse", "db1", "tbl1"}));
+  }
+
+  @Test
+  public void testManyChildren() {
+    CompactHMSPaths paths = newPaths(PREFIXES);
+    addAuthzObject(paths, "db1.tbl1", "/user/hive/warehouse/db1/tbl1");
+    for (int i = 0; i < 1000; i++) {
+      addPaths(paths, "db1.tbl1", "/user/hive/warehouse/db1/tbl1/part" + i);
+    }
+    for (int i = 0; i < 1000; i += 2) {
+      paths.deletePathsFromAuthzObject("db1.tbl1", HMSPaths.getPathsElements(
+          Lists.newArrayList("/user/hive/warehouse/db1/tbl1/part" + i)));
+    }
+    for (int i = 0; i < 1000; i++) {
+      Assert.assertEquals("part" + i, i % 2 == 0 ? null : ImmutableSet.of("db1.tbl1"),
+          paths.findAuthzObjectExactMatches(
+              new String[]{"user", "hive", "warehouse", "db1", "tbl1", "part" + i}));
+    }
+
+    // Nothing left once the table is dropped
+    int prefixEntries = newPaths(PREFIXES).size();
+    paths.deleteAuthzObject("db1.tbl1");
+    Assert.assertEquals(prefixEntries, paths.size());
+    Assert.assertEquals(prefixEntries, paths.getAllEntries().size());
+  }
+
+  /**
+   * Same changes as UpdateableAuthzPaths applies: authz objects are only created when
+   * they have no path yet.
+   */
+  @Test
+  public void testSameAsHMSPaths() {
+    Random random = new Random(42);
+    HMSPaths hmsPaths = new HMSPaths(PREFIXES);
+    CompactHMSPaths compactPaths = newPaths(PREFIXES);
+    for (int i = 0; i < 5000; i++) {
+      int db = random.nextInt(3);
+      String dbName = "db" + db;
+      String tblName = dbName + ".tbl" + random.nextInt(10);
+      String tblPath = "/user/hive/warehouse/" + dbName + "/tbl" + tblName.charAt(7);
+      String partPath = tblPath + "/ds=" + random.nextInt(20) + "/hr=" + random.nextInt(3);
+      List<List<String>> pathElements;
+      switch (random.nextInt(8)) {
+      case 0:
+        pathElements = HMSPaths.getPathsElements(Lists.newArrayList(
+            "/user/hive/warehouse/" + dbName));
+        hmsPaths.addPathsToAuthzObject(dbName, pathElements, true);
+        compactPaths.addPathsToAuthzObject(dbName, pathElements, true);
+        break;
+      case 1:
+        pathElements = HMSPaths.getPathsElements(Lists.newArrayList(tblPath));
+        hmsPaths.addPathsToAuthzObject(tblName, pathElements, true);
+        compactPaths.addPathsToAuthzObject(tblName, pathElements, true);
+        break;
+      case 2:
+      case 3:
+        pathElements = HMSPaths.getPathsElements(Lists.newArrayList(partPath));
+        boolean createNew = random.nextBoolean();
+        hmsPaths.addPathsToAuthzObject(tblName, pathElements, createNew);
+        compactPaths.addPathsToAuthzObject(tblName, pathElements, createNew);
+        break;
+      case 4:
+        pathElements = HMSPaths.getPathsElements(Lists.newArrayList(partPath));
+        hmsPaths.deletePathsFromAuthzObject(tblName, pathElements);
+        compactPaths.deletePathsFromAuthzObject(tblName, pathElements);
+        break;
+      case 5:
+        hmsPaths.deleteAuthzObject(tblName);
+        compactPaths.deleteAuthzObject(tblName);
+        break;
+      case 6:
+        if (random.nextInt(4) == 0) {
+          hmsPaths.deleteAuthzObject(dbName);
+          compactPaths.deleteAuthzObject(dbName);
+        }
+        break;
+      default:
+        // Rename to a table of another database, possibly moving its path
+        String newDbName = "db" + ((db + 1) % 3);
+        String newTblName = newDbName + ".tbl" + (10 + random.nextInt(10));
+        List<List<String>> oldPath = HMSPaths.getPathsElements(Lists.newArrayList(tblPath));
+        List<List<String>> newPath = random.nextBoolean() ? oldPath :
+            HMSPaths.getPathsElements(Lists.newArrayList("/user/hive/warehouse/" +
+                newDbName + "/" + newTblName.substring(4)));
+        if (hmsPaths.findAuthzObjectExactMatches(oldPath.get(0).toArray(new String[0])) != null
+            && hmsPaths.findAuthzObjectExactMatches(newPath.get(0).toArray(new String[0])) == null) {
+          hmsPaths.renameAuthzObject(tblName, oldPath, newTblName, newPath);
+          compactPaths.renameAuthzObject(tblName, oldPath, newTblName, newPath);
+        }
+        break;
+      }
+      Assert.assertEquals("After operation " + i, getAllEntries(hmsPaths),
+          new HashSet<String>(compactPaths.getAllEntries()));
+    }
+    Assert.assertEquals(hmsPaths.getAllEntries().size(), compactPaths.size());
+  }
+
+  @Test
+  public void testDumpCompatibility() {
+    HMSPaths hmsPaths = new HMSPaths(PREFIXES);
+    CompactHMSPaths compactPaths = newPaths(PREFIXES);
+    for (AuthzPaths paths : new AuthzPaths[] {hmsPaths, compactPaths}) {
+      addAuthzObject(paths, "default", "/user/hive/warehouse");
+      addAuthzObject(paths, "db1", "/user/hive/warehouse/db1");
+      addAuthzObject(paths, "db1.tbl11", "/user/hive/warehouse/db1/tbl11");
+      addPaths(paths, "db1.tbl11", "/user/hive/warehouse/db1/tbl11/part_duplicate1",
+          "/user/hive/warehouse/db1/tbl11/part_duplicate1/part_duplicate2",
+          "/user/hive/warehouse/db1/tbl11/part_duplicate2",
+          "/user/hive/warehouse/db1/tbl11/part_duplicate2/part_duplicate1");
+      addAuthzObject(paths, "db2.tbl21", "/user/hive/w2/db2/tbl21");
+    }
+
+    for (boolean minimizeSize : new boolean[] {true, false}) {
+      TPathsDump compactDump = compactPaths.getPathsDump().createPathsDump(minimizeSize);
+      TPathsDump hmsDump = hmsPaths.getPathsDump().createPathsDump(minimizeSize);
+      Assert.assertEquals(minimizeSize, compactDump.isSetDupStringValues());
+      if (minimizeSize) {
+        Assert.assertEquals(new HashSet<String>(hmsDump.getDupStringValues()),
+            new HashSet<String>(compactDump.getDupStringValues()));
+      }
+
+      // Loaded with only the first prefix
+      String[] prefix = {PREFIXES[0]};
+      HMSPaths fromCompact = new HMSPaths(prefix).getPathsDump().initializeFromDump(compactDump);
+      CompactHMSPaths fromHms =
+          newPaths(prefix).getPathsDump().initializeFromDump(hmsDump);
+      Assert.assertEquals(getAllEntries(fromCompact), new HashSet<String>(fromHms.getAllEntries()));
+      Assert.assertEquals(ImmutableSet.of("db1.tbl11"), fromHms.findAuthzObjectExactMatches(
+          new String[]{"user", "hive", "warehouse", "db1", "tbl11", "part_duplicate2",
+              "part_duplicate1"}));
+      Assert.assertNull(fromHms.findAuthzObject(new String[]{"user", "hive", "w2", "db2", "tbl21"}));
+    }
+  }
+
+  /**
+   * The buffers superseded when growing are released right away, and the others once
+   * the paths are closed.
+   */
+  @Test
+  public void testClose() {
+    BufferAllocator allocator = getAllocator();
+    long allocatedBefore = allocator.getAllocatedBytes();
+    CompactHMSPaths paths = new CompactHMSPaths(PREFIXES, allocator);
+    for (int i = 0; i < 10000; i++) {
+      addAuthzObject(paths, "db1.tbl" + i, "/user/hive/warehouse/db1/tbl" + i);
+    }
+    Assert.assertEquals(ImmutableSet.of("db1.tbl9999"), paths.findAuthzObjectExactMatches(
+        new String[]{"user", "hive", "warehouse", "db1", "tbl9999"}));
+    Assert.assertEquals(allocator.isOnHeap(), allocator.getAllocatedBytes() == allocatedBefore);
+
+    paths.close();
+    Assert.assertEquals(allocatedBefore, allocator.getAllocatedBytes());
+    paths.close();
+    try {
+      paths.findAuthzObject(new String[]{"user", "hive", "warehouse", "db1", "tbl1"});
+      Assert.fail("Closed paths should not be readable");
+    } catch (IllegalStateException e) {
+      // expected
+    }
+    try {
+      addAuthzObject(paths, "db1.tbl1", "/user/hive/warehouse/db1/tbl1");
+      Assert.fail("Closed paths should not be updatable");
+    } catch (IllegalStateException e) {
+      // expected
+    }
+  }
+
+  /**
+   * @return the allocator of the paths under test, overridden to test the other storages
+   */
+  protected BufferAllocator getAllocator() {
+    return BufferAllocator.HEAP;
+  }
+
+  private CompactHMSPaths newPaths(String[] prefixes) {
+    return new CompactHMSPaths(prefixes, getAllocator());
+  }
+
+  private static HashSet<String> getAllEntries(HMSPaths paths) {
+    HashSet<String> entries = new HashSet<String>();
+    for (HMSPaths.Entry entry : paths.getAllEntries()) {
+      entries.add(entry.toString());
+    }
+    return entries;
+  }
+
+  private static void addAuthzObject(AuthzPaths paths, String authzObj, String path) {
+    ((MutableAuthzPaths) paths).addPathsToAuthzObject(authzObj,
+        HMSPaths.getPathsElements(Lists.newArrayList(path)), true);
+  }
+
+  private static void addPaths(AuthzPaths paths, String authzObj, String... path) {
+    ((MutableAuthzPaths) paths).addPathsToAuthzObject(authzObj,
+        HMSPaths.getPathsElements(Lists.newArrayList(path)), false);
+  }
+}
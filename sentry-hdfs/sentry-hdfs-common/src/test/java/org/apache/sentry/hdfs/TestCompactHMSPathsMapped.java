@@ -0,0 +1,44 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.hdfs;
+
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Rule;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Runs the {@link CompactHMSPaths} tests with the data in memory mapped files.
+ */
+public class TestCompactHMSPathsMapped extends TestCompactHMSPaths {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Override
+  protected BufferAllocator getAllocator() {
+    try {
+      File dir = folder.newFolder();
+      return BufferAllocator.mapped(dir);
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,91 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.hdfs;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Heap taken by {@link HMSPaths} and {@link CompactHMSPaths} for the same warehouse.
+ * It forces garbage collections and its measures depend on the JVM, so it is not run
+ * with the build: remove the @Ignore to run it, with e.g.
+ * -Dsentry.hdfs.paths.partitions=10000000 for a larger warehouse.
+ */
+@Ignore("Benchmark, run manually")
+public class TestCompactHMSPathsMemoryFootprint {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(TestCompactHMSPathsMemoryFootprint.class);
+
+  @Test
+  public void testMemoryFootprint() throws Exception {
+    int numPartitions = Integer.getInteger("sentry.hdfs.paths.partitions", 200000);
+    int numTables = Math.max(numPartitions / 200, 1);
+    long before = usedHeap();
+    HMSPaths hmsPaths = new HMSPaths(new String[] {"/user/hive/warehouse"});
+    populate(hmsPaths, numTables, numPartitions);
+    long hmsPathsBytes = usedHeap() - before;
+    Assert.assertNotNull(hmsPaths.findAuthzObject(new String[]{"user", "hive", "warehouse",
+        "db0", "tbl0", "ds=0"}));
+    hmsPaths = null;
+
+    before = usedHeap();
+    CompactHMSPaths compactPaths =
+        new CompactHMSPaths(new String[] {"/user/hive/warehouse"}, BufferAllocator.HEAP);
+    populate(compactPaths, numTables, numPartitions);
+    long compactPathsBytes = usedHeap() - before;
+    Assert.assertNotNull(compactPaths.findAuthzObject(new String[]{"user", "hive", "warehouse",
+        "db0", "tbl0", "ds=0"}));
+
+    LOG.info("{} partitions: HMSPaths {} bytes, CompactHMSPaths {} bytes", numPartitions,
+        hmsPathsBytes, compactPathsBytes);
+    Assert.assertTrue(compactPathsBytes < hmsPathsBytes / 2);
+  }
+
+  private static void populate(MutableAuthzPaths paths, int numTables, int numPartitions) {
+    String prefix = "/user/hive/warehouse/";
+    int partitionsPerTable = numPartitions / numTables;
+    for (int tblNum = 0; tblNum < numTables; tblNum++) {
+      String dbName = "db" + (tblNum % 10);
+      String tblName = "tbl" + tblNum;
+      String tblPath = prefix + dbName + "/" + tblName;
+      List<String> partPaths = new ArrayList<String>(partitionsPerTable + 1);
+      partPaths.add(tblPath);
+      for (int partNum = 0; partNum < partitionsPerTable; partNum++) {
+        partPaths.add(tblPath + "/ds=" + partNum);
+      }
+      paths.addPathsToAuthzObject(dbName + "." + tblName,
+          HMSPaths.getPathsElements(partPaths), true);
+    }
+  }
+
+  private static long usedHeap() throws InterruptedException {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 4; i++) {
+      System.gc();
+      Thread.sleep(50);
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
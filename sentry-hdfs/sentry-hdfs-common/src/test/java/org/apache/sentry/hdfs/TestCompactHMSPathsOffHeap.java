@@ -0,0 +1,73 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.hdfs;
+
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Runs the {@link CompactHMSPaths} tests with the data in direct memory.
+ */
+public class TestCompactHMSPathsOffHeap extends TestCompactHMSPaths {
+
+  @Override
+  protected BufferAllocator getAllocator() {
+    return BufferAllocator.DIRECT;
+  }
+
+  @Test
+  public void testStringDictionaryArena() {
+    CompactHMSPaths.StringDictionary dictionary =
+        new CompactHMSPaths.StringDictionary(false, getAllocator());
+    int numStrings = 10000;
+    int[] ids = new int[numStrings];
+    for (int i = 0; i < numStrings; i++) {
+      ids[i] = dictionary.acquire("element" + i);
+    }
+    // Release most of the strings so that the arena gets compacted when refilled
+    for (int i = 0; i < numStrings; i++) {
+      if (i % 10 != 0) {
+        dictionary.release(ids[i]);
+      }
+    }
+    for (int i = 0; i < numStrings; i++) {
+      if (i % 10 != 0) {
+        ids[i] = dictionary.acquire("other" + i);
+      }
+    }
+    Assert.assertEquals(numStrings, dictionary.size());
+    for (int i = 0; i < numStrings; i++) {
+      String s = (i % 10 == 0 ? "element" : "other") + i;
+      Assert.assertEquals(s, dictionary.get(ids[i]));
+      Assert.assertEquals(ids[i], dictionary.lookup(s));
+    }
+    Assert.assertEquals(CompactHMSPaths.NONE, dictionary.lookup("element1"));
+  }
+
+  @Test
+  public void testIgnoreCase() {
+    CompactHMSPaths.StringDictionary dictionary =
+        new CompactHMSPaths.StringDictionary(true, getAllocator());
+    int id = dictionary.acquire("Db1.Tbl1");
+    Assert.assertEquals(id, dictionary.lookup("db1.tbl1"));
+    Assert.assertEquals(id, dictionary.acquire("DB1.TBL1"));
+    Assert.assertEquals(2, dictionary.getRefCount(id));
+    Assert.assertEquals("Db1.Tbl1", dictionary.get(id));
+  }
+}
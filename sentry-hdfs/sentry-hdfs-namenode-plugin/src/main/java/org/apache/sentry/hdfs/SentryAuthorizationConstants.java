@@ -53,6 +53,20 @@ public final class SentryAuthorizationConstants {
       "include-hdfs-authz-as-acl";
   public static final boolean INCLUDE_HDFS_AUTHZ_AS_ACL_DEFAULT = false;
 
+  public static final String ACL_FEATURE_CACHE_SIZE_KEY = CONFIG_PREFIX +
+      "acl-feature-cache-size";
+  public static final int ACL_FEATURE_CACHE_SIZE_DEFAULT = 10000;
+
+  public static final String COMPACT_PATHS_KEY = CONFIG_PREFIX + "compact-paths";
+  public static final boolean COMPACT_PATHS_DEFAULT = false;
+
+  // heap, offheap or mapped, other than heap implies compact paths
+  public static final String PATHS_STORAGE_KEY = CONFIG_PREFIX + "paths-storage";
+  public static final String PATHS_STORAGE_DEFAULT = "heap";
+
+  public static final String PATHS_STORAGE_DIR_KEY = CONFIG_PREFIX + "paths-storage-dir";
+  public static final String PATHS_STORAGE_DIR_DEFAULT = System.getProperty("java.io.tmpdir");
+
   private SentryAuthorizationConstants() {
     // Make constructor private to avoid instantiation
   }
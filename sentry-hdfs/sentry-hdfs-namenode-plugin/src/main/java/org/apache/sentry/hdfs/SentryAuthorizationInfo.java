@@ -23,6 +23,8 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
@@ -31,12 +33,14 @@ import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.fs.permission.AclEntry;
 import org.apache.hadoop.util.StringUtils;
+import org.apache.sentry.hdfs.ServiceConstants.ClientConfig;
 import org.apache.sentry.hdfs.Updateable.Update;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
 
 public class SentryAuthorizationInfo implements Runnable {
   private static final Logger LOG =
@@ -44,9 +48,17 @@ public class SentryAuthorizationInfo implements Runnable {
 
   private static final String SENTRY_AUTHORIZATION_INFO_THREAD_NAME = "sentry-auth-info-refresher";
 
+  // Apparently setFAcl throws error if 'group::---' is not present
+  private static final AclEntry NO_GROUP = AclEntry.parseAclEntry("group::---", true);
+
   private SentryUpdater updater;
-  private volatile UpdateableAuthzPaths authzPaths;
-  private volatile UpdateableAuthzPermissions authzPermissions;
+  // The paths and permissions are kept twice. The NameNode handlers read the current
+  // copy without locking, while the updater thread applies the updates to the other
+  // copy, publishes it, waits for the handlers still reading the previous copy, and
+  // applies the same updates to it.
+  private volatile AuthzSnapshot current;
+  // Only used by the updater thread
+  private AuthzSnapshot standby;
 
   private int refreshIntervalMillisec;
   private int staleThresholdMillisec;
@@ -55,12 +67,17 @@ public class SentryAuthorizationInfo implements Runnable {
   private volatile long lastUpdate;
   private volatile long waitUntil;
   private volatile long lastStaleReport;
-  // We don't need a re-entrant lock.. but we do need a ReadWriteLock
-  // Unfortunately, the ReentrantReadWriteLick is the only available
-  // concrete implementation of a ReadWriteLock.
-  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  // Required by Updateable.updatePartial(). The copies being updated have no readers,
+  // only the updater thread takes it.
+  private final ReadWriteLock updateLock = new ReentrantReadWriteLock();
 
   private String[][] pathPrefixes;
+  // To create the paths a chunked full image is loaded into
+  private String[] authzPathPrefixes;
+  private boolean compactPaths;
+  private BufferAllocator allocator;
+  // The full paths image being fetched in chunks, only used by the updater thread
+  private PathsImageLoader pathsImageLoader;
 
   // For use only for testing !!
   @VisibleForTesting
@@ -91,16 +108,58 @@ public class SentryAuthorizationInfo implements Runnable {
             StringUtils.arrayToString(newPathPrefixes));
 
       setPrefixPaths(newPathPrefixes);
+      authzPathPrefixes = newPathPrefixes;
       LOG.info("Refresh interval [{}]ms, retry wait [{}]",
           refreshIntervalMillisec, retryWaitMillisec);
       LOG.info("stale threshold [{}]ms", staleThresholdMillisec);
 
-      authzPaths = new UpdateableAuthzPaths(newPathPrefixes);
-      authzPermissions = new UpdateableAuthzPermissions();
+      allocator = BufferAllocator.forStorage(
+          conf.getTrimmed(SentryAuthorizationConstants.PATHS_STORAGE_KEY,
+              SentryAuthorizationConstants.PATHS_STORAGE_DEFAULT),
+          conf.getTrimmed(SentryAuthorizationConstants.PATHS_STORAGE_DIR_KEY,
+              SentryAuthorizationConstants.PATHS_STORAGE_DIR_DEFAULT));
+      compactPaths = conf.getBoolean(
+          SentryAuthorizationConstants.COMPACT_PATHS_KEY,
+          SentryAuthorizationConstants.COMPACT_PATHS_DEFAULT) || !allocator.isOnHeap();
+      LOG.info("Compact paths [{}], storage [{}]", compactPaths, allocator);
+
+      current = new AuthzSnapshot(newAuthzPaths(newPathPrefixes, compactPaths, allocator),
+          new UpdateableAuthzPermissions());
+      standby = new AuthzSnapshot(newAuthzPaths(newPathPrefixes, compactPaths, allocator),
+          new UpdateableAuthzPermissions());
       waitUntil = System.currentTimeMillis();
       lastStaleReport = 0;
-      updater = new SentryUpdater(conf, this);
+      updater = new SentryUpdater(limitUpdatesWait(conf, staleThresholdMillisec), this);
+    }
+  }
+
+  /**
+   * A request waiting on the Sentry server for updates doesn't update the authorization
+   * info: limit the wait to half the stale threshold, so that the info doesn't go stale
+   * while the request is held.
+   *
+   * @return conf, or a copy of it with the limited wait
+   */
+  @VisibleForTesting
+  static Configuration limitUpdatesWait(Configuration conf, int staleThresholdMillisec) {
+    int updatesWaitMillis = conf.getInt(ClientConfig.SENTRY_HDFS_UPDATES_WAIT_MS,
+        ClientConfig.SENTRY_HDFS_UPDATES_WAIT_MS_DEFAULT);
+    int maxUpdatesWaitMillis = staleThresholdMillisec / 2;
+    if (updatesWaitMillis <= maxUpdatesWaitMillis) {
+      return conf;
     }
+    LOG.warn("Updates wait [{}]ms is limited to half the stale threshold, [{}]ms",
+        updatesWaitMillis, maxUpdatesWaitMillis);
+    Configuration limitedConf = new Configuration(conf);
+    limitedConf.setInt(ClientConfig.SENTRY_HDFS_UPDATES_WAIT_MS, maxUpdatesWaitMillis);
+    return limitedConf;
+  }
+
+  private static UpdateableAuthzPaths newAuthzPaths(String[] pathPrefixes,
+      boolean compactPaths, BufferAllocator allocator) {
+    return compactPaths
+        ? new UpdateableAuthzPaths(new CompactHMSPaths(pathPrefixes, allocator))
+        : new UpdateableAuthzPaths(pathPrefixes);
   }
 
   private void setPrefixPaths(String[] pathPrefixes) {
@@ -115,19 +174,27 @@ public class SentryAuthorizationInfo implements Runnable {
     }
   }
 
+  @VisibleForTesting
+  void setUpdater(SentryUpdater updater) {
+    this.updater = updater;
+  }
+
   String[][] getPathPrefixes() {
     return pathPrefixes;
   }
 
   UpdateableAuthzPaths getAuthzPaths() {
-    return authzPaths;
+    return current.paths;
   }
 
   UpdateableAuthzPermissions getAuthzPermissions() {
-    return authzPermissions;
+    return current.permissions;
   }
 
-  private boolean update() {
+  private boolean update() throws Exception {
+    if (pathsImageLoader != null) {
+      return loadPathsImage();
+    }
     //Looks like getting same updates multiple times
     SentryAuthzUpdate updates = updater.getUpdates();
     // Updates can be null if Sentry Service is un-reachable
@@ -135,80 +202,192 @@ public class SentryAuthorizationInfo implements Runnable {
       if (updates.isEmpty()) {
         return true; // no updates is a norm, it's still success
       }
+      if (LOG.isDebugEnabled()) {
+        LOG.debug(updates.dumpContent());
+      }
+      List<PathsUpdate> pathUpdates = updates.getPathUpdates();
+      PathsUpdate firstChunk = null;
+      if (!pathUpdates.isEmpty() && pathUpdates.get(0).isChunk()) {
+        // Only the first chunk of a full image comes with the regular updates, the
+        // permissions are processed now and the paths once all the chunks are loaded
+        firstChunk = pathUpdates.get(0);
+        updates = new SentryAuthzUpdate(updates.getPermUpdates(),
+            Collections.<PathsUpdate>emptyList());
+      }
 
-      UpdateableAuthzPaths newAuthzPaths = processUpdates(
-          updates.getPathUpdates(), authzPaths);
-      UpdateableAuthzPermissions newAuthzPerms = processUpdates(
-          updates.getPermUpdates(), authzPermissions);
-
-      // processUpdates() should return different newAuthzPaths and newAuthzPerms object references
-      // if FULL updates were fetched from the Sentry server, otherwise, the same authzPaths and authzPermissions
+      // Nobody reads the standby copy, bring it up to date and publish it
+      AuthzSnapshot previous = current;
+      AuthzSnapshot oldStandby = standby;
+      AuthzSnapshot next;
+      try {
+        next = processUpdates(updates, standby);
+      } catch (RuntimeException e) {
+        // The standby copy may be partly updated, nothing was published yet
+        rebuildStandby();
+        closeUnusedPaths(oldStandby.paths);
+        throw e;
+      }
+      // processUpdates() should return different paths and perms object references
+      // if FULL updates were fetched from the Sentry server, otherwise, the same
       // objects will be returned.
-      if (newAuthzPaths != authzPaths || newAuthzPerms != authzPermissions) {
-        lock.writeLock().lock();
-        try {
-          if (LOG.isDebugEnabled()) {
-            LOG.debug(updates.dumpContent());
-          }
-          if (newAuthzPaths != authzPaths) {
-            LOG.info(String.format("FULL Updated paths seq Num [old=%d], [new=%d]",
-              authzPaths.getLastUpdatedSeqNum(), newAuthzPaths.getLastUpdatedSeqNum()));
-            authzPaths = newAuthzPaths;
-            if (LOG.isTraceEnabled()) {
-              LOG.trace(authzPaths.dumpContent());
-            }
-          }
-          if (newAuthzPerms != authzPermissions) {
-            LOG.info(String.format("FULL Updated perms seq Num [old=%d], [new=%d]",
-              authzPermissions.getLastUpdatedSeqNum(), newAuthzPerms.getLastUpdatedSeqNum()));
-            authzPermissions = newAuthzPerms;
-            if (LOG.isTraceEnabled()) {
-              LOG.trace(authzPermissions.dumpContent());
-            }
-          }
-        } finally {
-          lock.writeLock().unlock();
-        }
-      } else {
-        if (LOG.isDebugEnabled()) {
-          lock.writeLock().lock();
-          try {
-            LOG.debug(updates.dumpContent());
-            if (LOG.isTraceEnabled()) {
-              LOG.trace(newAuthzPaths.dumpContent());
-              LOG.trace(newAuthzPerms.dumpContent());
-            }
-          } finally {
-            lock.writeLock().unlock();
-          }
-        }
+      if (next.paths != standby.paths) {
+        LOG.info(String.format("FULL Updated paths seq Num [old=%d], [new=%d]",
+          previous.paths.getLastUpdatedSeqNum(), next.paths.getLastUpdatedSeqNum()));
+      }
+      if (next.permissions != standby.permissions) {
+        LOG.info(String.format("FULL Updated perms seq Num [old=%d], [new=%d]",
+          previous.permissions.getLastUpdatedSeqNum(), next.permissions.getLastUpdatedSeqNum()));
+      }
+      if (LOG.isTraceEnabled()) {
+        LOG.trace(next.paths.dumpContent());
+        LOG.trace(next.permissions.dumpContent());
+      }
+      current = next;
+
+      // Then bring the previous copy up to date, once the readers still on it are done
+      previous.awaitNoReaders();
+      try {
+        standby = processUpdates(updates, previous);
+      } catch (RuntimeException e) {
+        // For partial updates, standby still holds the objects just published, which
+        // must not be updated under the readers
+        LOG.error("Failed to bring the standby copy up to date, rebuilding it", e);
+        rebuildStandby();
+      }
+      // Full images replace the paths instead of updating them
+      closeUnusedPaths(oldStandby.paths);
+      closeUnusedPaths(previous.paths);
+      if (firstChunk != null) {
+        startPathsImage(firstChunk);
+        return loadPathsImage();
       }
       return true;
     }
     return false;
   }
 
+  private void startPathsImage(PathsUpdate firstChunk) {
+    LOG.info("Loading the full paths image [{}] in chunks", firstChunk.getSeqNum());
+    // The standby paths are replaced by the image, load it in their place so that only
+    // the current paths and the two being loaded are in memory
+    UpdateableAuthzPaths next = newAuthzPaths(authzPathPrefixes, compactPaths, allocator);
+    UpdateableAuthzPaths oldStandbyPaths = standby.paths;
+    standby = new AuthzSnapshot(
+        newAuthzPaths(authzPathPrefixes, compactPaths, allocator), standby.permissions);
+    closeUnusedPaths(oldStandbyPaths);
+    pathsImageLoader = new PathsImageLoader(firstChunk, next, standby.paths);
+  }
+
+  /**
+   * Fetches and loads the chunks of the full paths image still to come, then publishes
+   * the paths. When the Sentry server can't be reached, the next run resumes from the
+   * last chunk loaded.
+   */
+  private boolean loadPathsImage() throws Exception {
+    while (!pathsImageLoader.isLoaded()) {
+      PathsUpdate chunk = updater.getPathsImageChunk(pathsImageLoader.getSeqNum(),
+          pathsImageLoader.getImgNum(), pathsImageLoader.getOffset());
+      if (chunk == null || !pathsImageLoader.isNext(chunk)) {
+        // The Sentry server no longer has the image, the next run gets a new one
+        LOG.warn("Full paths image [{}] no longer available at offset [{}] of [{}]",
+            new Object[] { pathsImageLoader.getSeqNum(), pathsImageLoader.getOffset(),
+                pathsImageLoader.getTotal() });
+        abortPathsImage();
+        return false;
+      }
+      try {
+        pathsImageLoader.load(chunk);
+      } catch (RuntimeException e) {
+        abortPathsImage();
+        throw e;
+      }
+    }
+    List<UpdateableAuthzPaths> paths = pathsImageLoader.getPaths();
+    pathsImageLoader = null;
+
+    AuthzSnapshot previous = current;
+    current = new AuthzSnapshot(paths.get(0), standby.permissions);
+    LOG.info(String.format("FULL Updated paths seq Num [old=%d], [new=%d]",
+        previous.paths.getLastUpdatedSeqNum(), current.paths.getLastUpdatedSeqNum()));
+    if (LOG.isTraceEnabled()) {
+      LOG.trace(current.paths.dumpContent());
+    }
+    previous.awaitNoReaders();
+    standby = new AuthzSnapshot(paths.get(1), previous.permissions);
+    closeUnusedPaths(previous.paths);
+    return true;
+  }
+
+  private void abortPathsImage() {
+    List<UpdateableAuthzPaths> loadedPaths = pathsImageLoader.getPaths();
+    pathsImageLoader = null;
+    // The standby paths only hold part of the image, copy the current ones back
+    UpdateableAuthzPaths paths = current.paths;
+    PathsUpdate image = paths.createFullImageUpdate(paths.getLastUpdatedSeqNum());
+    image.setImgNum(paths.getLastUpdatedImgNum());
+    standby = new AuthzSnapshot(standby.paths.updateFull(image), standby.permissions);
+    for (UpdateableAuthzPaths loaded : loadedPaths) {
+      closeUnusedPaths(loaded);
+    }
+  }
+
+  /**
+   * Replaces the standby copy by new paths and permissions loaded from full images of the
+   * current ones, when it can't be trusted any more.
+   */
+  private void rebuildStandby() {
+    UpdateableAuthzPaths paths = current.paths;
+    PathsUpdate pathsImage = paths.createFullImageUpdate(paths.getLastUpdatedSeqNum());
+    pathsImage.setImgNum(paths.getLastUpdatedImgNum());
+    UpdateableAuthzPermissions permissions = current.permissions;
+    PermissionsUpdate permissionsImage =
+        permissions.createFullImageUpdate(permissions.getLastUpdatedSeqNum());
+    UpdateableAuthzPaths emptyPaths = newAuthzPaths(authzPathPrefixes, compactPaths, allocator);
+    standby = new AuthzSnapshot(emptyPaths.updateFull(pathsImage),
+        new UpdateableAuthzPermissions().updateFull(permissionsImage));
+    emptyPaths.close();
+  }
+
+  /**
+   * Releases the storage of paths replaced by the updater thread, unless they are still
+   * the current or the standby ones. Readers are done with them: they were never
+   * published, or the updater waited for the readers of their copy.
+   */
+  private void closeUnusedPaths(UpdateableAuthzPaths paths) {
+    if (paths != current.paths && paths != standby.paths) {
+      paths.close();
+    }
+  }
+
+  private AuthzSnapshot processUpdates(SentryAuthzUpdate updates, AuthzSnapshot snapshot) {
+    return new AuthzSnapshot(processUpdates(updates.getPathUpdates(), snapshot.paths),
+        processUpdates(updates.getPermUpdates(), snapshot.permissions));
+  }
+
   private <K extends Update, V extends Updateable<K>> V processUpdates(List<K> updates,
       V updateable) {
     // In a list of Updates, if there is a full Update, it will be the first
     // one in the List.. all the remaining will be partial updates
     V newUpdateable = updateable;
     if (!updates.isEmpty()) {
+      // The same updates are applied to both copies, leave the list untouched
+      List<K> partialUpdates = updates;
       if (updates.get(0).hasFullImage()) {
         LOG.debug(String.format("Process Update : FULL IMAGE [%s][%d][%d]",
             newUpdateable.getClass().getSimpleName(),
             updates.get(0).getSeqNum(),
             updates.get(0).getImgNum()));
-        newUpdateable = (V)newUpdateable.updateFull(updates.remove(0));
+        newUpdateable = (V)newUpdateable.updateFull(updates.get(0));
+        partialUpdates = updates.subList(1, updates.size());
       }
       // Any more elements ?
-      if (!updates.isEmpty()) {
+      if (!partialUpdates.isEmpty()) {
         LOG.debug(String.format("Process Update : More updates.. [%s][%d][%d][%d]",
             newUpdateable.getClass().getSimpleName(),
             newUpdateable.getLastUpdatedSeqNum(),
             newUpdateable.getLastUpdatedImgNum(),
-            updates.size()));
-        newUpdateable.updatePartial(updates, lock);
+            partialUpdates.size()));
+        newUpdateable.updatePartial(partialUpdates, updateLock);
       }
       LOG.debug(String.format("Process Update : Finished updates.. [%s][%d][%d]",
           newUpdateable.getClass().getSimpleName(),
@@ -218,6 +397,21 @@ public class SentryAuthorizationInfo implements Runnable {
     return newUpdateable;
   }
 
+  /**
+   * @return the current copy, which is not updated until released
+   */
+  private AuthzSnapshot acquire() {
+    while (true) {
+      AuthzSnapshot snapshot = current;
+      snapshot.readers.incrementAndGet();
+      // Still current after being marked as read, the updater thread will wait for us
+      if (snapshot == current) {
+        return snapshot;
+      }
+      snapshot.readers.decrementAndGet();
+    }
+  }
+
   @Override
   public void run() {
     boolean success = false;
@@ -245,7 +439,7 @@ public class SentryAuthorizationInfo implements Runnable {
   }
 
   public void start() {
-    if (authzPaths != null || authzPermissions != null) {
+    if (current != null) {
       boolean success = false;
       try {
         success = update();
@@ -268,7 +462,7 @@ public class SentryAuthorizationInfo implements Runnable {
   }
 
   public void stop() {
-    if (authzPaths != null) {
+    if (current != null) {
       LOG.info(getClass().getSimpleName() + ": Stopping");
       executor.shutdownNow();
     }
@@ -286,11 +480,11 @@ public class SentryAuthorizationInfo implements Runnable {
   }
 
   public boolean isUnderPrefix(String[] pathElements) {
-    lock.readLock().lock();
+    AuthzSnapshot snapshot = acquire();
     try {
-      return authzPaths.isUnderPrefix(pathElements);
+      return snapshot.paths.isUnderPrefix(pathElements);
     } finally {
-      lock.readLock().unlock();
+      snapshot.release();
     }
   }
 
@@ -300,49 +494,166 @@ public class SentryAuthorizationInfo implements Runnable {
   }
 
   public boolean doesBelongToAuthzObject(String[] pathElements) {
-    lock.readLock().lock();
+    AuthzSnapshot snapshot = acquire();
     try {
-      return authzPaths.findAuthzObject(pathElements) != null;
+      return snapshot.paths.findAuthzObject(pathElements) != null;
     } finally {
-      lock.readLock().unlock();
+      snapshot.release();
     }
   }
 
   public boolean isSentryManaged(final String[] pathElements) {
-    lock.readLock().lock();
+    AuthzSnapshot snapshot = acquire();
     try {
-      return authzPaths.isUnderPrefix(pathElements) &&
-          authzPaths.findAuthzObject(pathElements) != null;
+      return snapshot.paths.isUnderPrefix(pathElements) &&
+          snapshot.paths.findAuthzObject(pathElements) != null;
     } finally {
-      lock.readLock().unlock();
+      snapshot.release();
+    }
+  }
+
+  /**
+   * Look up once whether the path is under a prefix and which authz objects it belongs
+   * to, for the callers asking several questions about the same path.
+   */
+  public ResolvedPath resolvePath(String[] pathElements) {
+    AuthzSnapshot snapshot = acquire();
+    try {
+      boolean underPrefix = snapshot.paths.isUnderPrefix(pathElements);
+      Set<String> authzObjs = underPrefix ? snapshot.paths.findAuthzObject(pathElements) : null;
+      return new ResolvedPath(underPrefix,
+          authzObjs == null ? null : ImmutableSet.copyOf(authzObjs),
+          snapshot.paths.getLastUpdatedSeqNum());
+    } finally {
+      snapshot.release();
     }
   }
 
   @SuppressWarnings("unchecked")
   public List<AclEntry> getAclEntries(String[] pathElements) {
-    lock.readLock().lock();
+    AuthzSnapshot snapshot = acquire();
+    try {
+      return getAclEntries(snapshot.paths.findAuthzObject(pathElements), snapshot.permissions);
+    } finally {
+      snapshot.release();
+    }
+  }
+
+  /**
+   * Same as {@link #getAclEntries(String[])} for an already resolved path.
+   */
+  public List<AclEntry> getAclEntries(ResolvedPath path) {
+    AuthzSnapshot snapshot = acquire();
     try {
-      Set<String> authzObjs = authzPaths.findAuthzObject(pathElements);
-      // Apparently setFAcl throws error if 'group::---' is not present
-      AclEntry noGroup = AclEntry.parseAclEntry("group::---", true);
+      return getAclEntries(path.getAuthzObjects(), snapshot.permissions);
+    } finally {
+      snapshot.release();
+    }
+  }
 
-      Set<AclEntry> retSet = new HashSet<>();
-      retSet.add(noGroup);
+  private static List<AclEntry> getAclEntries(Set<String> authzObjs,
+      UpdateableAuthzPermissions authzPermissions) {
+    if (authzObjs == null) {
+      return new ArrayList<>(Collections.singletonList(NO_GROUP));
+    }
+    if (authzObjs.size() == 1) {
+      // The ACLs of an authzObj have one entry per group, and no unnamed one
+      List<AclEntry> acls = authzPermissions.getAcls(authzObjs.iterator().next());
+      List<AclEntry> retList = new ArrayList<>(acls.size() + 1);
+      retList.add(NO_GROUP);
+      retList.addAll(acls);
+      return retList;
+    }
 
-      if (authzObjs == null) {
-        retSet.addAll(Collections.<AclEntry>emptyList());
-        return new ArrayList<>(retSet);
-      }
+    Set<AclEntry> retSet = new HashSet<>();
+    retSet.add(NO_GROUP);
 
-      // No duplicate acls should be added.
-      for (String authzObj: authzObjs) {
-        retSet.addAll(authzPermissions.getAcls(authzObj));
-      }
+    // No duplicate acls should be added.
+    for (String authzObj: authzObjs) {
+      retSet.addAll(authzPermissions.getAcls(authzObj));
+    }
 
-      return new ArrayList<>(retSet);
-    } finally {
-      lock.readLock().unlock();
+    return new ArrayList<>(retSet);
+  }
+
+  /**
+   * One copy of the paths and permissions, and how many readers are using it.
+   */
+  private static final class AuthzSnapshot {
+    private final UpdateableAuthzPaths paths;
+    private final UpdateableAuthzPermissions permissions;
+    private final AtomicInteger readers = new AtomicInteger();
+
+    private AuthzSnapshot(UpdateableAuthzPaths paths, UpdateableAuthzPermissions permissions) {
+      this.paths = paths;
+      this.permissions = permissions;
+    }
+
+    private void release() {
+      readers.decrementAndGet();
+    }
+
+    private void awaitNoReaders() {
+      // The readers only do in-memory lookups, they are gone quickly
+      int spins = 0;
+      while (readers.get() != 0) {
+        if (++spins < 100) {
+          Thread.yield();
+        } else {
+          LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+        }
+      }
     }
   }
 
+  /**
+   * What the authorization info knew about a path when it was resolved.
+   */
+  public static final class ResolvedPath {
+    private final boolean underPrefix;
+    private final Set<String> authzObjs;
+    private final long pathsSeqNum;
+
+    ResolvedPath(boolean underPrefix, Set<String> authzObjs, long pathsSeqNum) {
+      this.underPrefix = underPrefix;
+      this.authzObjs = authzObjs;
+      this.pathsSeqNum = pathsSeqNum;
+    }
+
+    public boolean isUnderPrefix() {
+      return underPrefix;
+    }
+
+    /**
+     * @return whether the path belongs to an authz object. Only known for paths
+     *         under a prefix.
+     */
+    public boolean belongsToAuthzObject() {
+      return authzObjs != null;
+    }
+
+    public boolean isSentryManaged() {
+      return underPrefix && authzObjs != null;
+    }
+
+    /**
+     * @return the authz objects of the path, null if it doesn't belong to any
+     */
+    public Set<String> getAuthzObjects() {
+      return authzObjs;
+    }
+
+    /**
+     * @return sequence number of the paths the path was resolved against
+     */
+    public long getPathsSeqNum() {
+      return pathsSeqNum;
+    }
+
+    @Override
+    public String toString() {
+      return "ResolvedPath(underPrefix=" + underPrefix + ", authzObjs=" + authzObjs
+          + ", seqNum=" + pathsSeqNum + ")";
+    }
+  }
 }
@@ -19,6 +19,8 @@ package org.apache.sentry.hdfs;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import org.apache.hadoop.conf.Configurable;
@@ -36,6 +38,7 @@ import org.apache.hadoop.hdfs.server.namenode.INodeDirectory;
 import org.apache.hadoop.hdfs.server.namenode.XAttrFeature;
 import org.apache.hadoop.security.AccessControlException;
 import org.apache.hadoop.security.UserGroupInformation;
+import org.apache.sentry.hdfs.SentryAuthorizationInfo.ResolvedPath;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -105,11 +108,21 @@ public class SentryINodeAttributesProvider extends INodeAttributeProvider
 
     private final INodeAttributes defaultAttributes;
     private final String[] pathElements;
+    // Resolved once, the getters are called several times per permission check
+    private final ResolvedPath resolvedPath;
+    private final boolean isPrefixPath;
 
     public SentryINodeAttributes(INodeAttributes defaultAttributes, String[]
             pathElements) {
+      this(defaultAttributes, pathElements, authzInfo.resolvePath(pathElements));
+    }
+
+    SentryINodeAttributes(INodeAttributes defaultAttributes, String[] pathElements,
+            ResolvedPath resolvedPath) {
       this.defaultAttributes = defaultAttributes;
       this.pathElements = pathElements;
+      this.resolvedPath = resolvedPath;
+      this.isPrefixPath = resolvedPath.isSentryManaged() && isPrefixPath(pathElements);
     }
 
     @Override
@@ -124,13 +137,13 @@ public class SentryINodeAttributesProvider extends INodeAttributeProvider
 
     @Override
     public String getUserName() {
-      return isSentryManaged(pathElements)?
+      return resolvedPath.isSentryManaged()?
           SentryINodeAttributesProvider.this.user : defaultAttributes.getUserName();
     }
 
     @Override
     public String getGroupName() {
-      return isSentryManaged(pathElements)?
+      return resolvedPath.isSentryManaged()?
           SentryINodeAttributesProvider.this.group : defaultAttributes.getGroupName();
     }
 
@@ -138,22 +151,12 @@ public class SentryINodeAttributesProvider extends INodeAttributeProvider
     public FsPermission getFsPermission() {
       FsPermission permission;
 
-      if (!isSentryManaged(pathElements)) {
+      if (!resolvedPath.isSentryManaged()) {
         permission = defaultAttributes.getFsPermission();
+      } else if (isPrefixPath) {
+        permission = prefixPermission;
       } else {
-        FsPermission returnPerm = SentryINodeAttributesProvider.this.permission;
-        // Handle case when prefix directory is itself associated with an
-        // authorizable object (default db directory in hive)
-        // An executable permission needs to be set on the the prefix directory
-        // in this case.. else, subdirectories (which map to other dbs) will
-        // not be travesible.
-        for (String [] prefixPath : authzInfo.getPathPrefixes()) {
-          if (Arrays.equals(prefixPath, pathElements)) {
-            returnPerm = FsPermission.createImmutable((short)(returnPerm.toShort() | 0x01));
-            break;
-          }
-        }
-        permission = returnPerm;
+        permission = SentryINodeAttributesProvider.this.permission;
       }
       return permission;
     }
@@ -165,11 +168,10 @@ public class SentryINodeAttributesProvider extends INodeAttributeProvider
 
     @Override
     public long getPermissionLong() {
-      PermissionStatus permissionStatus = new PermissionStatus(getUserName(),
-              getGroupName(), getFsPermission());
-      // No other way to get the long permission currently
-      return new INodeDirectory(0L, null, permissionStatus, 0L)
-              .getPermissionLong();
+      if (!resolvedPath.isSentryManaged()) {
+        return toPermissionLong(getUserName(), getGroupName(), getFsPermission());
+      }
+      return isPrefixPath ? prefixPermissionLong : permissionLong;
     }
 
     /**
@@ -184,38 +186,45 @@ public class SentryINodeAttributesProvider extends INodeAttributeProvider
     @Override
     public AclFeature getAclFeature() {
       AclFeature aclFeature;
-      String p = Arrays.toString(pathElements);
       boolean isPrefixed = false;
       boolean isStale = false;
       boolean hasAuthzObj = false;
       Map<String, AclEntry> aclMap = null;
 
       // If path is not under prefix, return hadoop acls.
-      if (!authzInfo.isUnderPrefix(pathElements)) {
+      if (!resolvedPath.isUnderPrefix()) {
         isPrefixed = false;
         aclFeature = defaultAttributes.getAclFeature();
-      } else if (!authzInfo.doesBelongToAuthzObject(pathElements)) {
+      } else if (!resolvedPath.belongsToAuthzObject()) {
         // If path is not managed, return hadoop acls.
         isPrefixed = true;
         aclFeature = defaultAttributes.getAclFeature();
-      } else {
-        // If path is managed, add original hadoop permission if originalAuthzAsAcl true.
+      } else if (!originalAuthzAsAcl) {
+        // If path is managed, add hive:hive. The ACLs then only depend on the
+        // Sentry ACLs of the path, the features are shared.
         isPrefixed = true;
         hasAuthzObj = true;
-        aclMap = new HashMap<String, AclEntry>();
-        if (originalAuthzAsAcl) {
-          String user = defaultAttributes.getUserName();
-          String group = defaultAttributes.getGroupName();
-          FsPermission perm = defaultAttributes.getFsPermission();
-          addToACLMap(aclMap, createAclEntries(user, group, perm));
+        if (!authzInfo.isStale()) {
+          isStale = false;
+          aclFeature = getSharedAclFeature(authzInfo.getAclEntries(resolvedPath));
         } else {
-          // else add hive:hive
-          addToACLMap(aclMap, createAclEntries(user, group, permission));
+          // if stale return hive:hive
+          isStale = true;
+          aclFeature = staleAclFeature;
         }
+      } else {
+        // If path is managed, add original hadoop permission.
+        isPrefixed = true;
+        hasAuthzObj = true;
+        aclMap = new HashMap<String, AclEntry>();
+        String user = defaultAttributes.getUserName();
+        String group = defaultAttributes.getGroupName();
+        FsPermission perm = defaultAttributes.getFsPermission();
+        addToACLMap(aclMap, createAclEntries(user, group, perm));
         if (!authzInfo.isStale()) {
           // if not stale return sentry acls.
           isStale = false;
-          addToACLMap(aclMap, authzInfo.getAclEntries(pathElements));
+          addToACLMap(aclMap, authzInfo.getAclEntries(resolvedPath));
           aclFeature = new SentryAclFeature(ImmutableList.copyOf(aclMap.values()));
         } else {
           // if stale return hive:hive
@@ -224,10 +233,11 @@ public class SentryINodeAttributesProvider extends INodeAttributeProvider
         }
       }
       if (LOG.isDebugEnabled()) {
-        LOG.debug("### getAclEntry \n[" + (p == null ? "null" : p) + "] : ["
+        LOG.debug("### getAclEntry \n[" + Arrays.toString(pathElements) + "] : ["
             + "isPreifxed=" + isPrefixed
             + ", isStale=" + isStale
             + ", hasAuthzObj=" + hasAuthzObj
+            + ", pathsSeqNum=" + resolvedPath.getPathsSeqNum()
             + ", origAuthzAsAcl=" + originalAuthzAsAcl + "]\n"
             + "[" + (aclMap == null ? "null" : aclMap) + "]\n");
       }
@@ -255,14 +265,40 @@ public class SentryINodeAttributesProvider extends INodeAttributeProvider
   private String user;
   private String group;
   private FsPermission permission;
+  // Handle case when prefix directory is itself associated with an
+  // authorizable object (default db directory in hive)
+  // An executable permission needs to be set on the the prefix directory
+  // in this case.. else, subdirectories (which map to other dbs) will
+  // not be travesible.
+  private FsPermission prefixPermission;
+  private long permissionLong;
+  private long prefixPermissionLong;
   private boolean originalAuthzAsAcl;
+  // hive:hive ACL features by Sentry ACLs, when the original permissions are not
+  // included. Paths with the same Sentry ACLs get the same feature.
+  private Cache<List<AclEntry>, AclFeature> aclFeatures;
+  private AclFeature staleAclFeature;
   private Configuration conf;
 
   public SentryINodeAttributesProvider() {
   }
 
-  private boolean isSentryManaged(final String[] pathElements) {
-    return authzInfo.isSentryManaged(pathElements);
+  private boolean isPrefixPath(String[] pathElements) {
+    for (String [] prefixPath : authzInfo.getPathPrefixes()) {
+      if (Arrays.equals(prefixPath, pathElements)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static long toPermissionLong(String user, String group,
+                                       FsPermission permission) {
+    PermissionStatus permissionStatus = new PermissionStatus(user, group,
+            permission);
+    // No other way to get the long permission currently
+    return new INodeDirectory(0L, null, permissionStatus, 0L)
+            .getPermissionLong();
   }
 
   @VisibleForTesting
@@ -303,10 +339,22 @@ public class SentryINodeAttributesProvider extends INodeAttributeProvider
                               .HDFS_PERMISSION_KEY,
                       SentryAuthorizationConstants.HDFS_PERMISSION_DEFAULT)
       );
+      prefixPermission = FsPermission.createImmutable(
+              (short) (permission.toShort() | 0x01));
+      permissionLong = toPermissionLong(user, group, permission);
+      prefixPermissionLong = toPermissionLong(user, group, prefixPermission);
       originalAuthzAsAcl = conf.getBoolean(
               SentryAuthorizationConstants.INCLUDE_HDFS_AUTHZ_AS_ACL_KEY,
               SentryAuthorizationConstants.INCLUDE_HDFS_AUTHZ_AS_ACL_DEFAULT);
 
+      aclFeatures = CacheBuilder.newBuilder()
+          .maximumSize(conf.getInt(SentryAuthorizationConstants.ACL_FEATURE_CACHE_SIZE_KEY,
+              SentryAuthorizationConstants.ACL_FEATURE_CACHE_SIZE_DEFAULT))
+          .build();
+      Map<String, AclEntry> staleAclMap = new HashMap<String, AclEntry>();
+      addToACLMap(staleAclMap, createAclEntries(user, group, permission));
+      staleAclFeature = new SentryAclFeature(ImmutableList.copyOf(staleAclMap.values()));
+
       LOG.info("Starting");
       LOG.info("Config: hdfs-user[{}] hdfs-group[{}] hdfs-permission[{}] " +
               "include-hdfs-authz-as-acl[{}]", new Object[]
@@ -334,8 +382,9 @@ public class SentryINodeAttributesProvider extends INodeAttributeProvider
     pathElements = "".equals(pathElements[0]) && pathElements.length > 1 ?
             Arrays.copyOfRange(pathElements, 1, pathElements.length) :
             pathElements;
-    return isSentryManaged(pathElements) ? new SentryINodeAttributes
-            (inode, pathElements) : inode;
+    ResolvedPath resolvedPath = authzInfo.resolvePath(pathElements);
+    return resolvedPath.isSentryManaged() ? new SentryINodeAttributes
+            (inode, pathElements, resolvedPath) : inode;
   }
 
   @Override
@@ -344,6 +393,18 @@ public class SentryINodeAttributesProvider extends INodeAttributeProvider
     return new SentryPermissionEnforcer(defaultEnforcer);
   }
 
+  private AclFeature getSharedAclFeature(List<AclEntry> sentryAcls) {
+    AclFeature aclFeature = aclFeatures.getIfPresent(sentryAcls);
+    if (aclFeature == null) {
+      Map<String, AclEntry> aclMap = new HashMap<String, AclEntry>();
+      addToACLMap(aclMap, createAclEntries(user, group, permission));
+      addToACLMap(aclMap, sentryAcls);
+      aclFeature = new SentryAclFeature(ImmutableList.copyOf(aclMap.values()));
+      aclFeatures.put(sentryAcls, aclFeature);
+    }
+    return aclFeature;
+  }
+
   private static void addToACLMap(Map<String, AclEntry> map,
                                   Collection<AclEntry> entries) {
     for (AclEntry ent : entries) {
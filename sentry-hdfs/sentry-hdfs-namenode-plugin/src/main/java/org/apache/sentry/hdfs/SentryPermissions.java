@@ -18,7 +18,10 @@
 package org.apache.sentry.hdfs;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+import com.google.common.collect.ImmutableList;
 import org.apache.hadoop.fs.permission.AclEntry;
 import org.apache.hadoop.fs.permission.AclEntryScope;
 import org.apache.hadoop.fs.permission.AclEntryType;
@@ -88,6 +91,15 @@ public class SentryPermissions implements AuthzPermissions {
   // RoleInfo should be case insensitive.
   private final Map<String, RoleInfo> roles = new TreeMap<String, RoleInfo>(String.CASE_INSENSITIVE_ORDER);
 
+  // ACLs already computed, by lower-cased parent (db) and then lower-cased authzObj, so
+  // that a change on a db drops the ACLs of its tables too. Filled by readers, possibly
+  // concurrently, and invalidated by writers, which hold the write lock.
+  private final ConcurrentMap<String, ConcurrentMap<String, List<AclEntry>>> aclCache =
+      new ConcurrentHashMap<String, ConcurrentMap<String, List<AclEntry>>>();
+  // Lower-cased authzObjs with cached ACLs, by lower-cased role they depend on
+  private final ConcurrentMap<String, Set<String>> cachedAuthzObjsByRole =
+      new ConcurrentHashMap<String, Set<String>>();
+
   String getParentAuthzObject(String authzObject) {
     if (authzObject != null) {
       int dot = authzObject.indexOf('.');
@@ -123,29 +135,65 @@ public class SentryPermissions implements AuthzPermissions {
     }
   }
 
-  private Map<String, FsAction> getGroupPerms(String authzObj) {
+  private Map<String, FsAction> getGroupPerms(String authzObj, Set<String> usedRoles) {
     Map<String, FsAction> groupPerms;
     String parent = getParentAuthzObject(authzObj);
     if (parent == null || parent.equals(authzObj)) {
       groupPerms = new HashMap<String, FsAction>();
     } else {
-      groupPerms = getGroupPerms(parent);
+      groupPerms = getGroupPerms(parent, usedRoles);
     }
 
     PrivilegeInfo privilegeInfo = privileges.get(authzObj);
     if (privilegeInfo != null) {
       for (Map.Entry<String, FsAction> privs : privilegeInfo
           .getAllPermissions().entrySet()) {
+        usedRoles.add(privs.getKey().toLowerCase());
         constructAclEntry(privs.getKey(), privs.getValue(), groupPerms);
       }
     }
     return groupPerms;
   }
 
+  /**
+   * The returned list is immutable and computed once per authzObj, until a change of
+   * the privileges of authzObj or its parent, or of the groups of one of their roles.
+   */
   @Override
   public List<AclEntry> getAcls(String authzObj) {
-    Map<String, FsAction> groupPerms = getGroupPerms(authzObj);
-    List<AclEntry> retList = new LinkedList<AclEntry>();
+    String parentKey = getParentAuthzObject(authzObj).toLowerCase();
+    String key = authzObj.toLowerCase();
+    ConcurrentMap<String, List<AclEntry>> parentAcls = aclCache.get(parentKey);
+    if (parentAcls == null) {
+      parentAcls = new ConcurrentHashMap<String, List<AclEntry>>();
+      ConcurrentMap<String, List<AclEntry>> existing = aclCache.putIfAbsent(parentKey, parentAcls);
+      if (existing != null) {
+        parentAcls = existing;
+      }
+    }
+    List<AclEntry> acls = parentAcls.get(key);
+    if (acls == null) {
+      Set<String> usedRoles = new HashSet<String>();
+      acls = computeAcls(authzObj, usedRoles);
+      for (String role : usedRoles) {
+        Set<String> authzObjs = cachedAuthzObjsByRole.get(role);
+        if (authzObjs == null) {
+          authzObjs = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+          Set<String> existing = cachedAuthzObjsByRole.putIfAbsent(role, authzObjs);
+          if (existing != null) {
+            authzObjs = existing;
+          }
+        }
+        authzObjs.add(key);
+      }
+      parentAcls.putIfAbsent(key, acls);
+    }
+    return acls;
+  }
+
+  private List<AclEntry> computeAcls(String authzObj, Set<String> usedRoles) {
+    Map<String, FsAction> groupPerms = getGroupPerms(authzObj, usedRoles);
+    ImmutableList.Builder<AclEntry> retList = ImmutableList.builder();
     for (Map.Entry<String, FsAction> groupPerm : groupPerms.entrySet()) {
       AclEntry.Builder builder = new AclEntry.Builder();
       builder.setName(groupPerm.getKey());
@@ -159,7 +207,45 @@ public class SentryPermissions implements AuthzPermissions {
       builder.setPermission(action);
       retList.add(builder.build());
     }
-    return retList;
+    return retList.build();
+  }
+
+  /**
+   * Drop the cached ACLs of authzObj, and of all its children if it's a db.
+   */
+  void invalidateAcls(String authzObj) {
+    String parent = getParentAuthzObject(authzObj);
+    if (parent == null) {
+      return;
+    }
+    if (parent.equals(authzObj)) {
+      aclCache.remove(parent.toLowerCase());
+    } else {
+      Map<String, List<AclEntry>> parentAcls = aclCache.get(parent.toLowerCase());
+      if (parentAcls != null) {
+        parentAcls.remove(authzObj.toLowerCase());
+      }
+    }
+  }
+
+  /**
+   * Drop the cached ACLs of the authzObjs the role has privileges on.
+   */
+  void invalidateRoleAcls(String role) {
+    Set<String> authzObjs = cachedAuthzObjsByRole.remove(role.toLowerCase());
+    if (authzObjs != null) {
+      for (String authzObj : authzObjs) {
+        invalidateAcls(authzObj);
+      }
+    }
+  }
+
+  int getCachedAclsCount() {
+    int count = 0;
+    for (Map<String, List<AclEntry>> parentAcls : aclCache.values()) {
+      count += parentAcls.size();
+    }
+    return count;
   }
 
   private void constructAclEntry(String role, FsAction permission,
@@ -190,10 +276,12 @@ public class SentryPermissions implements AuthzPermissions {
 
   public void delPrivilegeInfo(String authzObj) {
     privileges.remove(authzObj);
+    invalidateAcls(authzObj);
   }
 
   public void addPrivilegeInfo(PrivilegeInfo privilegeInfo) {
     privileges.put(privilegeInfo.authzObj, privilegeInfo);
+    invalidateAcls(privilegeInfo.authzObj);
   }
 
   public Set<String> getChildren(String authzObj) {
@@ -206,10 +294,12 @@ public class SentryPermissions implements AuthzPermissions {
 
   public void delRoleInfo(String role) {
     roles.remove(role);
+    invalidateRoleAcls(role);
   }
 
   public void addRoleInfo(RoleInfo roleInfo) {
     roles.put(roleInfo.role, roleInfo);
+    invalidateRoleAcls(roleInfo.role);
   }
 
   public String dumpContent() {
@@ -57,4 +57,21 @@ class SentryUpdater {
     }
   }
 
+  /**
+   * @return the chunk of the full paths image at the offset, null if the image isn't
+   *         available anymore
+   * @throws Exception if the chunk couldn't be received, it can be asked for again
+   */
+  PathsUpdate getPathsImageChunk(long seqNum, long imgNum, long offset) throws Exception {
+    if (sentryClient == null) {
+      sentryClient = SentryHDFSServiceClientFactory.create(conf);
+    }
+    try {
+      return sentryClient.getPathsImageChunk(seqNum, imgNum, offset);
+    } catch (Exception e) {
+      sentryClient = null;
+      throw e;
+    }
+  }
+
 }
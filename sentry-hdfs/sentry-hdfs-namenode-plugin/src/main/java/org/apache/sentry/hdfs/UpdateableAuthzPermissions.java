@@ -96,7 +96,10 @@ public class UpdateableAuthzPermissions implements AuthzPermissions, Updateable<
         // Request to remove group from all roles
         String groupToRemove = rUpdate.getDelGroups().iterator().next();
         for (RoleInfo rInfo : perms.getAllRoles()) {
-          rInfo.delGroup(groupToRemove);
+          if (rInfo.getAllGroups().contains(groupToRemove)) {
+            rInfo.delGroup(groupToRemove);
+            perms.invalidateRoleAcls(rInfo.getRole());
+          }
         }
       }
       RoleInfo rInfo = perms.getRoleInfo(rUpdate.getRole());
@@ -151,6 +154,7 @@ public class UpdateableAuthzPermissions implements AuthzPermissions, Updateable<
         for (PrivilegeInfo pInfo : perms.getAllPrivileges()) {
           pInfo.removePermission(roleToRemove);
         }
+        perms.invalidateRoleAcls(roleToRemove);
       }
       PrivilegeInfo pInfo = perms.getPrivilegeInfo(pUpdate.getAuthzObj());
       for (Map.Entry<String, String> aMap : pUpdate.getAddPrivileges().entrySet()) {
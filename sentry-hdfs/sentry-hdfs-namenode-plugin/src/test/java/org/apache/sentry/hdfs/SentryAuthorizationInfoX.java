@@ -18,7 +18,9 @@
 package org.apache.sentry.hdfs;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 import org.apache.hadoop.fs.permission.AclEntry;
 import org.apache.hadoop.fs.permission.AclEntryScope;
@@ -81,6 +83,19 @@ public class SentryAuthorizationInfoX extends SentryAuthorizationInfo {
     return isUnderPrefix(pathElements) && doesBelongToAuthzObject(pathElements);
   }
 
+  @Override
+  public ResolvedPath resolvePath(String[] pathElements) {
+    boolean underPrefix = isUnderPrefix(pathElements);
+    Set<String> authzObjs = underPrefix && doesBelongToAuthzObject(pathElements)
+        ? Collections.singleton(Arrays.toString(pathElements)) : null;
+    return new ResolvedPath(underPrefix, authzObjs, 0L);
+  }
+
+  @Override
+  public List<AclEntry> getAclEntries(ResolvedPath path) {
+    return getAclEntries((String[]) null);
+  }
+
   @Override
   public List<AclEntry> getAclEntries(String[] pathElements) {
     AclEntry acl = new AclEntry.Builder().setType(AclEntryType.USER).
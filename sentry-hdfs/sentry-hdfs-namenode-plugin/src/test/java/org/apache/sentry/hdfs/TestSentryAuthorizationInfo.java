@@ -0,0 +1,319 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.hdfs;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.permission.AclEntry;
+import org.apache.sentry.hdfs.service.thrift.TPathChanges;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+public class TestSentryAuthorizationInfo {
+
+  private static final String[] TBL1 = {"user", "hive", "warehouse", "db1", "tbl1"};
+  private static final String[] TBL2 = {"user", "hive", "warehouse", "db1", "tbl2"};
+
+  private SentryAuthorizationInfo authzInfo;
+  private QueueUpdater updater;
+  private long seqNum;
+
+  @Before
+  public void setup() throws Exception {
+    Configuration conf = new Configuration(false);
+    conf.set(SentryAuthorizationConstants.HDFS_PATH_PREFIXES_KEY, "/user/hive/warehouse");
+    conf.setInt(SentryAuthorizationConstants.CACHE_REFRESH_RETRY_WAIT_KEY, 0);
+    authzInfo = new SentryAuthorizationInfo(conf);
+    updater = new QueueUpdater(conf, authzInfo);
+    authzInfo.setUpdater(updater);
+  }
+
+  @Test
+  public void testBothCopiesUpdated() throws Exception {
+    updater.add(addPath("db1.tbl1", TBL1),
+        grant("db1.tbl1", "role1"), addGroup("role1", "group1"));
+    authzInfo.run();
+    Assert.assertTrue(authzInfo.isSentryManaged(TBL1));
+    Assert.assertFalse(authzInfo.isSentryManaged(TBL2));
+
+    // The next update is applied to the other copy, which must have the first one too
+    updater.add(addPath("db1.tbl2", TBL2));
+    authzInfo.run();
+    Assert.assertTrue(authzInfo.isSentryManaged(TBL1));
+    Assert.assertTrue(authzInfo.isSentryManaged(TBL2));
+    Assert.assertTrue(hasGroupAcl(authzInfo.getAclEntries(TBL1), "group1"));
+
+    updater.add(addGroup("role2", "group2"));
+    authzInfo.run();
+    Assert.assertTrue(authzInfo.isSentryManaged(TBL2));
+    Assert.assertTrue(hasGroupAcl(authzInfo.getAclEntries(TBL1), "group1"));
+    Assert.assertEquals(seqNum, authzInfo.getAuthzPermissions().getLastUpdatedSeqNum());
+  }
+
+  @Test
+  public void testUpdatesWaitLimitedByStaleThreshold() throws Exception {
+    Configuration conf = new Configuration(false);
+    Assert.assertSame(conf, SentryAuthorizationInfo.limitUpdatesWait(conf, 60000));
+    conf.setInt(ServiceConstants.ClientConfig.SENTRY_HDFS_UPDATES_WAIT_MS, 30000);
+    Assert.assertSame(conf, SentryAuthorizationInfo.limitUpdatesWait(conf, 60000));
+
+    conf.setInt(ServiceConstants.ClientConfig.SENTRY_HDFS_UPDATES_WAIT_MS, 60000);
+    Configuration limited = SentryAuthorizationInfo.limitUpdatesWait(conf, 60000);
+    Assert.assertEquals(30000,
+        limited.getInt(ServiceConstants.ClientConfig.SENTRY_HDFS_UPDATES_WAIT_MS, 0));
+    Assert.assertEquals(60000,
+        conf.getInt(ServiceConstants.ClientConfig.SENTRY_HDFS_UPDATES_WAIT_MS, 0));
+  }
+
+  @Test
+  public void testReadersDuringUpdates() throws Exception {
+    updater.add(addPath("db1.tbl1", TBL1));
+    authzInfo.run();
+
+    final AtomicBoolean done = new AtomicBoolean();
+    final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+    Thread reader = new Thread() {
+      @Override
+      public void run() {
+        try {
+          while (!done.get()) {
+            if (!authzInfo.isSentryManaged(TBL1)) {
+              throw new AssertionError("Path lost during an update");
+            }
+            authzInfo.getAclEntries(authzInfo.resolvePath(TBL2));
+          }
+        } catch (Throwable t) {
+          failure.set(t);
+        }
+      }
+    };
+    reader.start();
+    try {
+      for (int i = 0; i < 200; i++) {
+        updater.add(i % 2 == 0 ? addPath("db1.tbl2", TBL2)
+            : delPath("db1.tbl2", TBL2));
+        authzInfo.run();
+      }
+    } finally {
+      done.set(true);
+      reader.join();
+    }
+    Assert.assertNull(failure.get());
+    Assert.assertFalse(authzInfo.isSentryManaged(TBL2));
+  }
+
+  @Test
+  public void testChunkedPathsImage() throws Exception {
+    updater.add(addPath("db1.tbl2", TBL2));
+    authzInfo.run();
+
+    UpdateableAuthzPaths image = new UpdateableAuthzPaths(new String[] {"/user/hive/warehouse"});
+    image.updatePartial(Lists.newArrayList(addPath("db1.tbl1", TBL1),
+        addPath("db2.tbl1", new String[] {"user", "hive", "warehouse", "db2", "tbl1"})),
+        new ReentrantReadWriteLock());
+    long imageSeqNum = seqNum;
+    PathsUpdate fullImage = image.createFullImageUpdate(imageSeqNum);
+    fullImage.setImgNum(3);
+    updater.chunker = new PathsImageChunker(fullImage);
+    updater.add(updater.chunker.getChunk(0, 2), grant("db1.tbl1", "role1"),
+        addGroup("role1", "group1"));
+    // The Sentry server is not reachable for the second chunk, the next run resumes
+    updater.failures = 1;
+    authzInfo.run();
+    Assert.assertTrue(authzInfo.isSentryManaged(TBL2));
+    Assert.assertFalse(authzInfo.isSentryManaged(TBL1));
+
+    authzInfo.run();
+    Assert.assertTrue(authzInfo.isSentryManaged(TBL1));
+    Assert.assertFalse(authzInfo.isSentryManaged(TBL2));
+    Assert.assertTrue(hasGroupAcl(authzInfo.getAclEntries(TBL1), "group1"));
+    Assert.assertEquals(imageSeqNum, authzInfo.getAuthzPaths().getLastUpdatedSeqNum());
+    Assert.assertEquals(3, authzInfo.getAuthzPaths().getLastUpdatedImgNum());
+
+    // Both copies hold the image
+    updater.add(delPath("db1.tbl1", TBL1));
+    authzInfo.run();
+    Assert.assertFalse(authzInfo.isSentryManaged(TBL1));
+    Assert.assertTrue(authzInfo.isSentryManaged(
+        new String[] {"user", "hive", "warehouse", "db2", "tbl1"}));
+  }
+
+  @Test
+  public void testChunkedPathsImageExpired() throws Exception {
+    updater.add(addPath("db1.tbl2", TBL2));
+    authzInfo.run();
+
+    UpdateableAuthzPaths image = new UpdateableAuthzPaths(new String[] {"/user/hive/warehouse"});
+    image.updatePartial(Lists.newArrayList(addPath("db1.tbl1", TBL1)),
+        new ReentrantReadWriteLock());
+    PathsUpdate fullImage = image.createFullImageUpdate(seqNum);
+    updater.add(new PathsImageChunker(fullImage).getChunk(0, 2));
+    // The Sentry server no longer has the image, the paths are left as they were
+    authzInfo.run();
+    Assert.assertTrue(authzInfo.isSentryManaged(TBL2));
+    Assert.assertFalse(authzInfo.isSentryManaged(TBL1));
+
+    updater.add(addPath("db1.tbl1", TBL1));
+    authzInfo.run();
+    updater.add(delPath("db1.tbl2", TBL2));
+    authzInfo.run();
+    Assert.assertTrue(authzInfo.isSentryManaged(TBL1));
+    Assert.assertFalse(authzInfo.isSentryManaged(TBL2));
+  }
+
+  @Test
+  public void testStandbyRebuiltWhenReplayFails() throws Exception {
+    updater.add(addPath("db1.tbl1", TBL1));
+    authzInfo.run();
+
+    // Count how often an update is read when applied once, so that it fails the second time
+    FailingPathsUpdate failing = new FailingPathsUpdate(++seqNum);
+    failing.newPathChange("db1.tbl2").addToAddPaths(Arrays.asList(TBL2));
+    new UpdateableAuthzPaths(new String[] {"/user/hive/warehouse"})
+        .updatePartial(Lists.<PathsUpdate>newArrayList(failing), new ReentrantReadWriteLock());
+    failing.failAfter = failing.reads;
+    failing.reads = 0;
+
+    updater.add(failing);
+    authzInfo.run();
+    Assert.assertTrue(failing.reads > failing.failAfter);
+    Assert.assertTrue(authzInfo.isSentryManaged(TBL2));
+    UpdateableAuthzPaths published = authzInfo.getAuthzPaths();
+
+    // The next update goes to a rebuilt standby copy, not to the published one under
+    // its readers
+    String[] tbl3 = {"user", "hive", "warehouse", "db1", "tbl3"};
+    updater.add(addPath("db1.tbl3", tbl3));
+    authzInfo.run();
+    Assert.assertNotSame(published, authzInfo.getAuthzPaths());
+    Assert.assertTrue(authzInfo.isSentryManaged(TBL1));
+    Assert.assertTrue(authzInfo.isSentryManaged(TBL2));
+    Assert.assertTrue(authzInfo.isSentryManaged(tbl3));
+
+    // And both copies are consistent again
+    updater.add(delPath("db1.tbl1", TBL1));
+    authzInfo.run();
+    Assert.assertFalse(authzInfo.isSentryManaged(TBL1));
+    Assert.assertTrue(authzInfo.isSentryManaged(TBL2));
+    Assert.assertTrue(authzInfo.isSentryManaged(tbl3));
+  }
+
+  private PathsUpdate addPath(String authzObj, String[] path) {
+    PathsUpdate update = new PathsUpdate(++seqNum, false);
+    update.newPathChange(authzObj).addToAddPaths(Arrays.asList(path));
+    return update;
+  }
+
+  private PathsUpdate delPath(String authzObj, String[] path) {
+    PathsUpdate update = new PathsUpdate(++seqNum, false);
+    update.newPathChange(authzObj).addToDelPaths(Arrays.asList(path));
+    return update;
+  }
+
+  private PermissionsUpdate grant(String authzObj, String role) {
+    PermissionsUpdate update = new PermissionsUpdate(++seqNum, false);
+    update.addPrivilegeUpdate(authzObj).putToAddPrivileges(role, "SELECT");
+    return update;
+  }
+
+  private PermissionsUpdate addGroup(String role, String group) {
+    PermissionsUpdate update = new PermissionsUpdate(++seqNum, false);
+    update.addRoleUpdate(role).addToAddGroups(group);
+    return update;
+  }
+
+  private static boolean hasGroupAcl(List<AclEntry> acls, String group) {
+    for (AclEntry acl : acls) {
+      if (group.equals(acl.getName())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Path update failing once its changes were read a given number of times.
+   */
+  private static final class FailingPathsUpdate extends PathsUpdate {
+    private int reads;
+    private int failAfter = Integer.MAX_VALUE;
+
+    private FailingPathsUpdate(long seqNum) {
+      super(seqNum, false);
+    }
+
+    @Override
+    public List<TPathChanges> getPathChanges() {
+      if (++reads > failAfter) {
+        throw new IllegalStateException("Failing update");
+      }
+      return super.getPathChanges();
+    }
+  }
+
+  private static final class QueueUpdater extends SentryUpdater {
+    private final Queue<Object> updates = new LinkedList<Object>();
+    private PathsImageChunker chunker;
+    private int failures;
+
+    private QueueUpdater(Configuration conf, SentryAuthorizationInfo authzInfo)
+        throws Exception {
+      super(conf, authzInfo);
+    }
+
+    private void add(Object... newUpdates) {
+      for (Object update : newUpdates) {
+        updates.add(update);
+      }
+    }
+
+    @Override
+    SentryAuthzUpdate getUpdates() {
+      List<PermissionsUpdate> permUpdates = Lists.newArrayList();
+      List<PathsUpdate> pathUpdates = Lists.newArrayList();
+      while (!updates.isEmpty()) {
+        Object update = updates.poll();
+        if (update instanceof PathsUpdate) {
+          pathUpdates.add((PathsUpdate) update);
+        } else {
+          permUpdates.add((PermissionsUpdate) update);
+        }
+      }
+      return new SentryAuthzUpdate(permUpdates, pathUpdates);
+    }
+
+    @Override
+    PathsUpdate getPathsImageChunk(long seqNum, long imgNum, long offset) throws Exception {
+      if (failures > 0) {
+        failures--;
+        throw new Exception("Sentry server not reachable");
+      }
+      return chunker != null ? chunker.getChunk(offset, 2) : null;
+    }
+  }
+}
@@ -0,0 +1,162 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.hdfs;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.hadoop.fs.permission.AclEntry;
+import org.apache.hadoop.fs.permission.FsAction;
+import org.apache.sentry.hdfs.service.thrift.TPrivilegeChanges;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+public class TestUpdateableAuthzPermissions {
+
+  private UpdateableAuthzPermissions authzPerms;
+  private long seqNum;
+
+  @Before
+  public void setup() {
+    authzPerms = new UpdateableAuthzPermissions();
+    PermissionsUpdate update = newUpdate();
+    update.addPrivilegeUpdate("db1").putToAddPrivileges("role1", "SELECT");
+    update.addPrivilegeUpdate("db1.tbl1").putToAddPrivileges("role2", "INSERT");
+    update.addRoleUpdate("role1").addToAddGroups("group1");
+    update.addRoleUpdate("role2").addToAddGroups("group2");
+    apply(update);
+  }
+
+  @Test
+  public void testAclsAreCached() {
+    List<AclEntry> acls = authzPerms.getAcls("db1.tbl1");
+    Assert.assertEquals(ImmutableMap.of("group1", FsAction.READ_EXECUTE,
+        "group2", FsAction.WRITE_EXECUTE), toMap(acls));
+    Assert.assertSame(acls, authzPerms.getAcls("DB1.TBL1"));
+    Assert.assertSame(authzPerms.getAcls("db1"), authzPerms.getAcls("db1"));
+  }
+
+  @Test
+  public void testParentPrivilegeChange() {
+    List<AclEntry> tblAcls = authzPerms.getAcls("db1.tbl1");
+    List<AclEntry> otherAcls = authzPerms.getAcls("db1.tbl2");
+
+    PermissionsUpdate update = newUpdate();
+    update.addPrivilegeUpdate("db1").putToAddPrivileges("role2", "SELECT");
+    apply(update);
+
+    Assert.assertNotSame(tblAcls, authzPerms.getAcls("db1.tbl1"));
+    Assert.assertEquals(ImmutableMap.of("group1", FsAction.READ_EXECUTE,
+        "group2", FsAction.ALL), toMap(authzPerms.getAcls("db1.tbl1")));
+    Assert.assertNotSame(otherAcls, authzPerms.getAcls("db1.tbl2"));
+    Assert.assertEquals(ImmutableMap.of("group1", FsAction.READ_EXECUTE,
+        "group2", FsAction.READ_EXECUTE), toMap(authzPerms.getAcls("db1.tbl2")));
+  }
+
+  @Test
+  public void testChildPrivilegeChange() {
+    List<AclEntry> dbAcls = authzPerms.getAcls("db1");
+    authzPerms.getAcls("db1.tbl1");
+
+    PermissionsUpdate update = newUpdate();
+    update.addPrivilegeUpdate("db1.tbl1").putToDelPrivileges("role2", "INSERT");
+    apply(update);
+
+    Assert.assertSame(dbAcls, authzPerms.getAcls("db1"));
+    Assert.assertEquals(ImmutableMap.of("group1", FsAction.READ_EXECUTE),
+        toMap(authzPerms.getAcls("db1.tbl1")));
+  }
+
+  @Test
+  public void testRoleGroupChange() {
+    List<AclEntry> dbAcls = authzPerms.getAcls("db1");
+    List<AclEntry> tblAcls = authzPerms.getAcls("db1.tbl1");
+    List<AclEntry> db2Acls = authzPerms.getAcls("db2");
+
+    PermissionsUpdate update = newUpdate();
+    update.addRoleUpdate("ROLE2").addToAddGroups("group3");
+    apply(update);
+
+    // Only the ACLs depending on role2 are computed again
+    Assert.assertSame(dbAcls, authzPerms.getAcls("db1"));
+    Assert.assertSame(db2Acls, authzPerms.getAcls("db2"));
+    Assert.assertEquals(ImmutableMap.of("group1", FsAction.READ_EXECUTE,
+        "group2", FsAction.WRITE_EXECUTE, "group3", FsAction.WRITE_EXECUTE),
+        toMap(authzPerms.getAcls("db1.tbl1")));
+    Assert.assertNotSame(tblAcls, authzPerms.getAcls("db1.tbl1"));
+
+    update = newUpdate();
+    update.addRoleUpdate(PermissionsUpdate.ALL_ROLES).addToDelGroups("group1");
+    apply(update);
+    Assert.assertTrue(toMap(authzPerms.getAcls("db1")).isEmpty());
+    Assert.assertEquals(ImmutableMap.of("group2", FsAction.WRITE_EXECUTE,
+        "group3", FsAction.WRITE_EXECUTE), toMap(authzPerms.getAcls("db1.tbl1")));
+  }
+
+  @Test
+  public void testDropRoleFromAllPrivileges() {
+    authzPerms.getAcls("db1.tbl1");
+
+    PermissionsUpdate update = newUpdate();
+    update.addPrivilegeUpdate(PermissionsUpdate.ALL_AUTHZ_OBJ)
+        .putToDelPrivileges("role1", PermissionsUpdate.ALL_AUTHZ_OBJ);
+    apply(update);
+
+    Assert.assertEquals(ImmutableMap.of("group2", FsAction.WRITE_EXECUTE),
+        toMap(authzPerms.getAcls("db1.tbl1")));
+  }
+
+  @Test
+  public void testRename() {
+    authzPerms.getAcls("db1.tbl1");
+    authzPerms.getAcls("db1.tbl3");
+
+    PermissionsUpdate update = newUpdate();
+    TPrivilegeChanges rename = update.addPrivilegeUpdate(PermissionsUpdate.RENAME_PRIVS);
+    rename.putToAddPrivileges("db1.tbl3", "db1.tbl3");
+    rename.putToDelPrivileges("db1.tbl1", "db1.tbl1");
+    apply(update);
+
+    Assert.assertEquals(ImmutableMap.of("group1", FsAction.READ_EXECUTE),
+        toMap(authzPerms.getAcls("db1.tbl1")));
+    Assert.assertEquals(ImmutableMap.of("group1", FsAction.READ_EXECUTE,
+        "group2", FsAction.WRITE_EXECUTE), toMap(authzPerms.getAcls("db1.tbl3")));
+  }
+
+  private PermissionsUpdate newUpdate() {
+    return new PermissionsUpdate(++seqNum, false);
+  }
+
+  private void apply(PermissionsUpdate update) {
+    authzPerms.updatePartial(Lists.newArrayList(update), new ReentrantReadWriteLock());
+  }
+
+  private static Map<String, FsAction> toMap(List<AclEntry> acls) {
+    Map<String, FsAction> groupPerms = Maps.newHashMap();
+    for (AclEntry acl : acls) {
+      groupPerms.put(acl.getName(), acl.getPermission());
+    }
+    return groupPerms;
+  }
+}
@@ -20,6 +20,7 @@ package org.apache.sentry.hdfs;
 import static org.apache.sentry.hdfs.ServiceConstants.IMAGE_NUMBER_UPDATE_UNINITIALIZED;
 import static org.apache.sentry.hdfs.ServiceConstants.SEQUENCE_NUMBER_FULL_UPDATE_REQUEST;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import javax.annotation.concurrent.ThreadSafe;
@@ -39,6 +40,10 @@ import org.slf4j.LoggerFactory;
 @ThreadSafe
 class DBUpdateForwarder<K extends Updateable.Update> {
 
+  // Past this many deltas, a new full image is retrieved rather than sending the cached
+  // one with its deltas
+  static final long MAX_CACHED_IMAGE_DELTAS = 10000;
+
   private final ImageRetriever<K> imageRetriever;
   private final DeltaRetriever<K> deltaRetriever;
   private static final Logger LOGGER = LoggerFactory.getLogger(DBUpdateForwarder.class);
@@ -46,11 +51,46 @@ class DBUpdateForwarder<K extends Updateable.Update> {
   //For logging purposes
   private String retrieverType;
 
+  // Null not to compact the deltas
+  private final DeltaCompactor<K> deltaCompactor;
+  // Past this many deltas once compacted, a full image is sent instead, 0 for no limit
+  private final int maxDeltaUpdates;
+
+  private final boolean cacheFullImage;
+  // The last full image retrieved, only when cacheFullImage. It's never modified, the same
+  // object is sent to all the clients.
+  private volatile K cachedImage;
+  private final Object imageLock = new Object();
+
   DBUpdateForwarder(final ImageRetriever<K> imageRetriever,
       final DeltaRetriever<K> deltaRetriever) {
+    this(imageRetriever, deltaRetriever, false);
+  }
+
+  /**
+   * @param cacheFullImage whether to keep the last full image retrieved, and send it with
+   *                       the deltas persisted since instead of retrieving a new one, as
+   *                       long as no newer image was persisted
+   */
+  DBUpdateForwarder(final ImageRetriever<K> imageRetriever,
+      final DeltaRetriever<K> deltaRetriever, boolean cacheFullImage) {
+    this(imageRetriever, deltaRetriever, cacheFullImage, null, 0);
+  }
+
+  /**
+   * @param deltaCompactor merges the deltas before they are sent, or null
+   * @param maxDeltaUpdates the number of deltas, once compacted, past which a full image
+   *                        is sent instead, 0 for no limit
+   */
+  DBUpdateForwarder(final ImageRetriever<K> imageRetriever,
+      final DeltaRetriever<K> deltaRetriever, boolean cacheFullImage,
+      DeltaCompactor<K> deltaCompactor, int maxDeltaUpdates) {
     this.imageRetriever = imageRetriever;
     this.deltaRetriever = deltaRetriever;
     this.retrieverType = imageRetriever.getClass().getName();
+    this.cacheFullImage = cacheFullImage;
+    this.deltaCompactor = deltaCompactor;
+    this.maxDeltaUpdates = maxDeltaUpdates;
   }
 
   /**
@@ -115,10 +155,14 @@ class DBUpdateForwarder<K extends Updateable.Update> {
     // Checks if newer deltas exist in the persistent storage.
     // If there are, return the list of delta updates.
     if (seqNum > SEQUENCE_NUMBER_FULL_UPDATE_REQUEST && deltaRetriever.isDeltaAvailable(seqNum)) {
-      List<K> deltas = deltaRetriever.retrieveDelta(seqNum, imgNum);
+      List<K> deltas = compact(deltaRetriever.retrieveDelta(seqNum, imgNum));
       if (!deltas.isEmpty()) {
-        LOGGER.info("({}) Newer delta updates are found up to sequence number {} and being sent to HDFS", retrieverType, curSeqNum);
-        return deltas;
+        if (maxDeltaUpdates <= 0 || deltas.size() <= maxDeltaUpdates) {
+          LOGGER.info("({}) Newer delta updates are found up to sequence number {} and being sent to HDFS", retrieverType, curSeqNum);
+          return deltas;
+        }
+        LOGGER.info("({}) {} delta updates from sequence number {} are more than {}, a full update is sent instead",
+            retrieverType, deltas.size(), seqNum, maxDeltaUpdates);
       }
     }
 
@@ -133,13 +177,67 @@ class DBUpdateForwarder<K extends Updateable.Update> {
     return fullImage;
   }
 
+  private List<K> compact(List<K> deltas) {
+    if (deltaCompactor == null || deltas.size() < 2) {
+      return deltas;
+    }
+    List<K> compacted = deltaCompactor.compact(deltas);
+    LOGGER.debug("({}) {} delta updates compacted into {}", retrieverType, deltas.size(),
+        compacted.size());
+    return compacted;
+  }
+
   private List<K> retrieveFullImage() throws Exception {
     if (SentryStateBank.isEnabled(SentryServiceState.COMPONENT, SentryServiceState.FULL_UPDATE_RUNNING)){
       LOGGER.debug("({}) A full update is being loaded. Delaying updating client with full image until its finished.", retrieverType);
       return Collections.emptyList();
     }
-    else {
+    else if (!cacheFullImage) {
       return Collections.singletonList(imageRetriever.retrieveFullImage());
     }
+
+    // The clients asking for a full image at the same time wait for the same one
+    synchronized (imageLock) {
+      List<K> updates = getCachedImage();
+      if (updates == null) {
+        K image = imageRetriever.retrieveFullImage();
+        cachedImage = image;
+        updates = Collections.singletonList(image);
+      }
+      return updates;
+    }
+  }
+
+  /**
+   * @return the cached full image followed by the deltas persisted since, or null if there
+   *         is no such image or a new one has to be retrieved
+   */
+  private List<K> getCachedImage() throws Exception {
+    K image = cachedImage;
+    if (image == null || image.getImgNum() != imageRetriever.getLatestImageID()) {
+      return null;
+    }
+    long curSeqNum = deltaRetriever.getLatestDeltaID();
+    if (curSeqNum == image.getSeqNum()) {
+      LOGGER.debug("({}) Sending the cached full update with sequence number {}",
+          retrieverType, curSeqNum);
+      return Collections.singletonList(image);
+    }
+    long nextSeqNum = image.getSeqNum() + 1;
+    if (curSeqNum < nextSeqNum || curSeqNum - image.getSeqNum() > MAX_CACHED_IMAGE_DELTAS ||
+        !deltaRetriever.isDeltaAvailable(nextSeqNum)) {
+      return null;
+    }
+    List<K> deltas = deltaRetriever.retrieveDelta(nextSeqNum, image.getImgNum());
+    if (deltas.isEmpty() || deltas.get(0).getSeqNum() != nextSeqNum) {
+      return null;
+    }
+    deltas = compact(deltas);
+    LOGGER.debug("({}) Sending the cached full update with sequence number {} and {} delta " +
+        "updates", retrieverType, image.getSeqNum(), deltas.size());
+    List<K> updates = new ArrayList<>(deltas.size() + 1);
+    updates.add(image);
+    updates.addAll(deltas);
+    return updates;
   }
 }
@@ -0,0 +1,38 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.hdfs;
+
+import java.util.List;
+
+import static org.apache.sentry.hdfs.Updateable.Update;
+
+/**
+ * DeltaCompactor merges a range of delta updates retrieved by a {@link DeltaRetriever}
+ * into fewer delta updates with the same net effect, for a consumer of Sentry, such as
+ * HDFS NameNode, catching up on many of them.
+ */
+interface DeltaCompactor<K extends Update> {
+
+  /**
+   * @param deltas delta updates in sequence number order
+   * @return delta updates with the same effect once applied in order. The last one has
+   *         the sequence number of the last given delta update. An empty list is only
+   *         returned for an empty list.
+   */
+  List<K> compact(List<K> deltas);
+}
@@ -0,0 +1,159 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.hdfs;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.apache.sentry.hdfs.service.thrift.TPathChanges;
+
+
+/**
+ * PathDeltaCompactor merges consecutive {@link PathsUpdate} deltas into updates of up to
+ * {@link #MAX_PATH_CHANGES} path changes, leaving out the paths added again to the same
+ * object.
+ * <p>
+ * The paths of the NameNode are not just a set of paths per object: adding a path creates
+ * its parents, deleting one turns it into a directory when it has children or deletes its
+ * parents left empty, and the paths can be shared by objects. A path added then deleted
+ * is then not the same as nothing done, so the changes are kept in their order. The
+ * NameNode applies all the paths deleted by a delta before the ones added: the deltas
+ * are merged as long as the ones deleting paths come before the ones adding paths. A
+ * delta the NameNode applies as a rename, with exactly one path added to an object and
+ * one path deleted from another one, is sent as it is, and the merged updates never
+ * look like one.
+ */
+@ThreadSafe
+class PathDeltaCompactor implements DeltaCompactor<PathsUpdate> {
+
+  static final int MAX_PATH_CHANGES = 10000;
+
+  @Override
+  public List<PathsUpdate> compact(List<PathsUpdate> deltas) {
+    List<PathsUpdate> compacted = new ArrayList<>();
+    Changes changes = new Changes();
+    for (PathsUpdate delta : deltas) {
+      if (!changes.canAdd(delta)) {
+        changes.flush(compacted);
+        if (!changes.canAdd(delta)) {
+          compacted.add(delta);
+          continue;
+        }
+      }
+      changes.add(delta);
+    }
+    changes.flush(compacted);
+    return compacted;
+  }
+
+  /**
+   * @return whether the NameNode applies the path changes as a rename, see
+   *         {@link UpdateableAuthzPaths#updatePartial}
+   */
+  private static boolean isRename(List<TPathChanges> pathChanges) {
+    if (pathChanges.size() != 2) {
+      return false;
+    }
+    TPathChanges first = pathChanges.get(0);
+    TPathChanges second = pathChanges.get(1);
+    return ((first.getAddPathsSize() == 1 && second.getDelPathsSize() == 1) ||
+        (second.getAddPathsSize() == 1 && first.getDelPathsSize() == 1)) &&
+        !first.getAuthzObj().equalsIgnoreCase(second.getAuthzObj());
+  }
+
+  /**
+   * The path changes of the deltas merged so far, in the order the NameNode applies them.
+   */
+  private static final class Changes {
+    private final List<TPathChanges> pathChanges = new ArrayList<>();
+    private int size;
+    private boolean adding;
+    // The object and path of each path added
+    private final Set<List<String>> added = new HashSet<>();
+    private final List<PathsUpdate> deltas = new ArrayList<>();
+
+    boolean canAdd(PathsUpdate delta) {
+      List<TPathChanges> deltaChanges = delta.getPathChanges();
+      if (isRename(deltaChanges)) {
+        return false;
+      }
+      if (deltas.isEmpty()) {
+        return true;
+      }
+      int deltaSize = 0;
+      for (TPathChanges changes : deltaChanges) {
+        if (adding && changes.getDelPathsSize() > 0) {
+          return false;
+        }
+        deltaSize += changes.getAddPathsSize() + changes.getDelPathsSize();
+      }
+      return size + deltaSize <= MAX_PATH_CHANGES;
+    }
+
+    void add(PathsUpdate delta) {
+      for (TPathChanges changes : delta.getPathChanges()) {
+        TPathChanges merged = new TPathChanges(changes.getAuthzObj(),
+            new ArrayList<List<String>>(), new ArrayList<List<String>>());
+        if (changes.getDelPathsSize() > 0) {
+          merged.getDelPaths().addAll(changes.getDelPaths());
+        }
+        if (changes.getAddPathsSize() > 0) {
+          adding = true;
+          for (List<String> path : changes.getAddPaths()) {
+            // Adding the same path to the same object again changes nothing
+            List<String> objectPath = new ArrayList<>(path.size() + 1);
+            objectPath.add(changes.getAuthzObj());
+            objectPath.addAll(path);
+            if (added.add(objectPath)) {
+              merged.addToAddPaths(path);
+            }
+          }
+        }
+        if (merged.getDelPathsSize() > 0 || merged.getAddPathsSize() > 0) {
+          pathChanges.add(merged);
+          size += merged.getDelPathsSize() + merged.getAddPathsSize();
+        }
+      }
+      deltas.add(delta);
+    }
+
+    /**
+     * Adds the update of the changes merged so far, with the sequence number of the last
+     * delta, and starts over. The deltas are added as they are when the merged update
+     * would be applied as a rename.
+     */
+    void flush(List<PathsUpdate> compacted) {
+      if (deltas.size() == 1 || isRename(pathChanges)) {
+        compacted.addAll(deltas);
+      } else if (!deltas.isEmpty()) {
+        PathsUpdate last = deltas.get(deltas.size() - 1);
+        PathsUpdate update = new PathsUpdate(last.getSeqNum(), last.getImgNum(), false);
+        update.toThrift().setPathChanges(new ArrayList<>(pathChanges));
+        compacted.add(update);
+      }
+      pathChanges.clear();
+      size = 0;
+      adding = false;
+      added.clear();
+      deltas.clear();
+    }
+  }
+}
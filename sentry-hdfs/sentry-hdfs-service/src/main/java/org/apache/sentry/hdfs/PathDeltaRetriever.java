@@ -60,11 +60,9 @@ public class PathDeltaRetriever implements DeltaRetriever<PathsUpdate> {
       for (MSentryPathChange mSentryPathChange : mSentryPathChanges) {
         // Gets the changeID from the persisted MSentryPathChange.
         long changeID = mSentryPathChange.getChangeID();
-        // Creates a corresponding PathsUpdate and deserialize the
-        // persisted delta update in JSON format to TPathsUpdate with
-        // associated changeID.
-        PathsUpdate pathsUpdate = new PathsUpdate();
-        pathsUpdate.JSONDeserialize(mSentryPathChange.getPathChange());
+        // Deserializes the persisted delta update, in binary or JSON
+        // format, to a PathsUpdate with associated changeID.
+        PathsUpdate pathsUpdate = mSentryPathChange.getPathsUpdate();
         pathsUpdate.setSeqNum(changeID);
         pathsUpdate.setImgNum(imgNum);
         updates.add(pathsUpdate);
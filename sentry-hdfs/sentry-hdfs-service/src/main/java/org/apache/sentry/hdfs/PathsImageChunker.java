@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.hdfs;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.apache.sentry.hdfs.service.thrift.TPathEntry;
+import org.apache.sentry.hdfs.service.thrift.TPathsDump;
+import org.apache.sentry.hdfs.service.thrift.TPathsUpdate;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Splits a full paths image in chunks of path entries, for the HDFS NameNodes which load
+ * it with a {@link PathsImageLoader} instead of receiving it whole.
+ * <p>
+ * The entries are renumbered in depth first order, so that each one comes after its
+ * parent, and the chunks only refer to the entries by their new numbers. Chunks are
+ * created on demand, only the entries of the image are kept.
+ */
+@ThreadSafe
+class PathsImageChunker {
+
+  private final long seqNum;
+  private final long imgNum;
+  private final List<String> dupStringValues;
+  // The entries of the image in depth first order
+  private final TPathEntry[] entries;
+  // The position in entries of each entry id of the image
+  private final int[] positions;
+
+  PathsImageChunker(PathsUpdate fullImage) {
+    Preconditions.checkArgument(fullImage.hasFullImage(), "Not a full image");
+    seqNum = fullImage.getSeqNum();
+    imgNum = fullImage.getImgNum();
+    TPathsDump dump = fullImage.toThrift().getPathsDump();
+    dupStringValues = dump.getDupStringValues();
+    Map<Integer, TPathEntry> nodeMap = dump.getNodeMap();
+    int maxId = 0;
+    for (int id : nodeMap.keySet()) {
+      Preconditions.checkArgument(id >= 0, "Negative entry id %s", id);
+      maxId = Math.max(maxId, id);
+    }
+    entries = new TPathEntry[nodeMap.size()];
+    positions = new int[maxId + 1];
+    // Iterative depth first walk, deep images must not overflow the stack
+    int[] stack = new int[16];
+    int stackSize = 0;
+    stack[stackSize++] = dump.getRootId();
+    int position = 0;
+    while (stackSize > 0) {
+      int id = stack[--stackSize];
+      TPathEntry entry = nodeMap.get(id);
+      Preconditions.checkArgument(entry != null, "Entry %s missing from the image", id);
+      positions[id] = position;
+      entries[position++] = entry;
+      List<Integer> children = entry.getChildren();
+      if (stackSize + children.size() > stack.length) {
+        int[] newStack = new int[Math.max(stack.length * 2, stackSize + children.size())];
+        System.arraycopy(stack, 0, newStack, 0, stackSize);
+        stack = newStack;
+      }
+      // Pushed in reverse, so that the children come in their order
+      for (int i = children.size() - 1; i >= 0; i--) {
+        stack[stackSize++] = children.get(i);
+      }
+    }
+    Preconditions.checkArgument(position == entries.length,
+        "%s entries of the image not under its root", entries.length - position);
+  }
+
+  long getSeqNum() {
+    return seqNum;
+  }
+
+  long getImgNum() {
+    return imgNum;
+  }
+
+  /**
+   * @return the number of entries of the image
+   */
+  int size() {
+    return entries.length;
+  }
+
+  /**
+   * @return the chunk with up to chunkSize entries from offset, the first one also
+   *         has the duplicate path elements of the image
+   */
+  PathsUpdate getChunk(long offset, int chunkSize) {
+    Preconditions.checkArgument(offset >= 0 && offset < entries.length,
+        "Offset %s out of the %s entries of the image", offset, entries.length);
+    Preconditions.checkArgument(chunkSize > 0, "Chunk size %s is not positive", chunkSize);
+    int start = (int) offset;
+    int end = (int) Math.min(offset + chunkSize, entries.length);
+    Map<Integer, TPathEntry> nodeMap = new HashMap<Integer, TPathEntry>(
+        (int) ((end - start) / 0.75f) + 1);
+    for (int position = start; position < end; position++) {
+      TPathEntry entry = entries[position];
+      List<Integer> children = entry.getChildren();
+      List<Integer> childPositions = children.isEmpty() ?
+          Collections.<Integer>emptyList() : new ArrayList<Integer>(children.size());
+      for (int child : children) {
+        childPositions.add(positions[child]);
+      }
+      TPathEntry chunkEntry = new TPathEntry(entry.getType(), entry.getPathElement(),
+          childPositions);
+      if (entry.isSetAuthzObjs()) {
+        chunkEntry.setAuthzObjs(entry.getAuthzObjs());
+      }
+      nodeMap.put(position, chunkEntry);
+    }
+    TPathsDump dump = new TPathsDump(0, nodeMap);
+    if (start == 0 && dupStringValues != null) {
+      dump.setDupStringValues(dupStringValues);
+    }
+    PathsUpdate chunk = new PathsUpdate(seqNum, imgNum, true);
+    TPathsUpdate tChunk = chunk.toThrift();
+    tChunk.setPathsDump(dump);
+    tChunk.setChunkOffset(start);
+    tChunk.setChunkTotal(entries.length);
+    return chunk;
+  }
+}
@@ -0,0 +1,212 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.hdfs;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.apache.sentry.hdfs.service.thrift.TPrivilegeChanges;
+import org.apache.sentry.hdfs.service.thrift.TRoleChanges;
+
+import com.google.common.base.Joiner;
+
+/**
+ * PermDeltaCompactor merges consecutive {@link PermissionsUpdate} deltas into one update
+ * with the privileges of each role on each authorizable object, and the groups added to
+ * and deleted from each role in the end.
+ * <p>
+ * The NameNode revokes a privilege from the children of the object too, so a grant and a
+ * revoke don't commute: the consecutive deltas granting privileges are merged together,
+ * and so are the ones revoking privileges, the privileges of a role being joined into
+ * one. A group added then deleted is only deleted, and the other way around. The deltas
+ * renaming objects, or removing a role from all the objects or a group from all the
+ * roles, are sent as they are, and the deltas before and after them are merged
+ * separately.
+ */
+@ThreadSafe
+class PermDeltaCompactor implements DeltaCompactor<PermissionsUpdate> {
+
+  private static final Joiner PRIVILEGE_JOINER = Joiner.on(',');
+
+  @Override
+  public List<PermissionsUpdate> compact(List<PermissionsUpdate> deltas) {
+    List<PermissionsUpdate> compacted = new ArrayList<>();
+    Changes changes = new Changes();
+    for (PermissionsUpdate delta : deltas) {
+      if (!changes.canAdd(delta)) {
+        changes.flush(compacted);
+        if (!changes.canAdd(delta)) {
+          compacted.add(delta);
+          continue;
+        }
+      }
+      changes.add(delta);
+    }
+    changes.flush(compacted);
+    return compacted;
+  }
+
+  /**
+   * @return whether the delta applies to all the objects, roles or groups, or renames an
+   *         object
+   */
+  private static boolean isSpecial(PermissionsUpdate delta) {
+    for (TPrivilegeChanges privChanges : delta.getPrivilegeUpdates()) {
+      if (privChanges.getAuthzObj().equals(PermissionsUpdate.RENAME_PRIVS) ||
+          privChanges.getAuthzObj().equals(PermissionsUpdate.ALL_AUTHZ_OBJ) ||
+          privChanges.getAddPrivileges().containsKey(PermissionsUpdate.ALL_ROLES) ||
+          privChanges.getDelPrivileges().containsKey(PermissionsUpdate.ALL_ROLES)) {
+        return true;
+      }
+    }
+    for (TRoleChanges roleChanges : delta.getRoleUpdates()) {
+      if (roleChanges.getRole().equals(PermissionsUpdate.ALL_ROLES) ||
+          roleChanges.getAddGroups().contains(PermissionsUpdate.ALL_GROUPS) ||
+          roleChanges.getDelGroups().contains(PermissionsUpdate.ALL_GROUPS)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * The net permission changes of the deltas merged so far.
+   */
+  private static final class Changes {
+    // The privileges granted, or revoked, of each role on each object
+    private final Map<String, Map<String, Set<String>>> privileges = new LinkedHashMap<>();
+    private Boolean grants;
+    // Whether each group is added to or deleted from each role, the NameNode comparing
+    // role names case insensitively
+    private final Map<String, Map<String, Boolean>> roles =
+        new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private PermissionsUpdate last;
+
+    boolean canAdd(PermissionsUpdate delta) {
+      if (isSpecial(delta)) {
+        return false;
+      }
+      Boolean deltaGrants = grants;
+      for (TPrivilegeChanges privChanges : delta.getPrivilegeUpdates()) {
+        if (!privChanges.getAddPrivileges().isEmpty()) {
+          if (Boolean.FALSE.equals(deltaGrants)) {
+            return false;
+          }
+          deltaGrants = Boolean.TRUE;
+        }
+        if (!privChanges.getDelPrivileges().isEmpty()) {
+          if (Boolean.TRUE.equals(deltaGrants)) {
+            return false;
+          }
+          deltaGrants = Boolean.FALSE;
+        }
+      }
+      return true;
+    }
+
+    void add(PermissionsUpdate delta) {
+      // The NameNode applies the privilege changes, then the role changes
+      for (TPrivilegeChanges privChanges : delta.getPrivilegeUpdates()) {
+        if (!privChanges.getAddPrivileges().isEmpty()) {
+          grants = Boolean.TRUE;
+          addPrivileges(privChanges.getAuthzObj(), privChanges.getAddPrivileges());
+        } else if (!privChanges.getDelPrivileges().isEmpty()) {
+          grants = Boolean.FALSE;
+          addPrivileges(privChanges.getAuthzObj(), privChanges.getDelPrivileges());
+        }
+      }
+      for (TRoleChanges roleChanges : delta.getRoleUpdates()) {
+        Map<String, Boolean> groups = roles.get(roleChanges.getRole());
+        if (groups == null) {
+          groups = new LinkedHashMap<>();
+          roles.put(roleChanges.getRole(), groups);
+        }
+        for (String group : roleChanges.getAddGroups()) {
+          groups.put(group, Boolean.TRUE);
+        }
+        for (String group : roleChanges.getDelGroups()) {
+          groups.put(group, Boolean.FALSE);
+        }
+      }
+      last = delta;
+    }
+
+    private void addPrivileges(String authzObj, Map<String, String> rolePrivileges) {
+      Map<String, Set<String>> objPrivileges = privileges.get(authzObj);
+      if (objPrivileges == null) {
+        objPrivileges = new HashMap<>();
+        privileges.put(authzObj, objPrivileges);
+      }
+      for (Map.Entry<String, String> rolePrivilege : rolePrivileges.entrySet()) {
+        Set<String> rolePrivs = objPrivileges.get(rolePrivilege.getKey());
+        if (rolePrivs == null) {
+          rolePrivs = new LinkedHashSet<>();
+          objPrivileges.put(rolePrivilege.getKey(), rolePrivs);
+        }
+        // The NameNode only trims the whole privileges string
+        rolePrivs.add(rolePrivilege.getValue().trim());
+      }
+    }
+
+    /**
+     * Adds the update of the changes merged so far, with the sequence number of the last
+     * delta, and starts over.
+     */
+    void flush(List<PermissionsUpdate> compacted) {
+      if (last == null) {
+        return;
+      }
+      PermissionsUpdate update = new PermissionsUpdate(last.getSeqNum(), false);
+      for (Map.Entry<String, Map<String, Set<String>>> objPrivileges :
+          privileges.entrySet()) {
+        TPrivilegeChanges privChanges = update.addPrivilegeUpdate(objPrivileges.getKey());
+        for (Map.Entry<String, Set<String>> rolePrivs : objPrivileges.getValue().entrySet()) {
+          // The NameNode grants, or revokes, each of the comma separated privileges
+          String privs = PRIVILEGE_JOINER.join(rolePrivs.getValue());
+          if (grants) {
+            privChanges.putToAddPrivileges(rolePrivs.getKey(), privs);
+          } else {
+            privChanges.putToDelPrivileges(rolePrivs.getKey(), privs);
+          }
+        }
+      }
+      for (Map.Entry<String, Map<String, Boolean>> roleGroups : roles.entrySet()) {
+        TRoleChanges roleChanges = update.addRoleUpdate(roleGroups.getKey());
+        for (Map.Entry<String, Boolean> group : roleGroups.getValue().entrySet()) {
+          if (group.getValue()) {
+            roleChanges.addToAddGroups(group.getKey());
+          } else {
+            roleChanges.addToDelGroups(group.getKey());
+          }
+        }
+      }
+      compacted.add(update);
+      privileges.clear();
+      grants = null;
+      roles.clear();
+      last = null;
+    }
+  }
+}
@@ -50,5 +50,18 @@ public interface SentryHDFSServiceClient extends AutoCloseable {
    */
   SentryAuthzUpdate getAllUpdatesFrom(long permSeqNum, long pathSeqNum, long pathImgNum)
       throws SentryHdfsServiceException;
+
+  /**
+   * Get the next chunk of a full paths image, when the first one was returned by
+   * {@link #getAllUpdatesFrom(long, long, long)} (see {@link PathsUpdate#isChunk()}).
+   * @param seqNum Sequence number of the image
+   * @param imgNum Image number of the image
+   * @param offset Number of entries of the image received so far
+   * @return The chunk at the offset, or null if the image isn't available anymore and must be
+   *         requested again
+   * @throws SentryHdfsServiceException if a connection exception happens
+   */
+  PathsUpdate getPathsImageChunk(long seqNum, long imgNum, long offset)
+      throws SentryHdfsServiceException;
 }
 
@@ -40,6 +40,7 @@ import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static org.apache.sentry.hdfs.ServiceConstants.SEQUENCE_NUMBER_UPDATE_UNINITIALIZED;
 import static org.apache.sentry.hdfs.service.thrift.sentry_hdfs_serviceConstants.UNUSED_PATH_UPDATE_IMG_NUM;
 
 /**
@@ -57,6 +58,8 @@ public class SentryHDFSServiceClientDefaultImpl
   private final SentryTransportPool transportPool;
   private TTransportWrapper transport;
   private final long maxMessageSize;
+  private final int pathsChunkSize;
+  private final int updatesWaitMillis;
 
   SentryHDFSServiceClientDefaultImpl(Configuration conf,
                                      SentryTransportPool transportPool) {
@@ -64,6 +67,10 @@ public class SentryHDFSServiceClientDefaultImpl
             ClientConfig.SENTRY_HDFS_THRIFT_MAX_MESSAGE_SIZE_DEFAULT);
     useCompactTransport = conf.getBoolean(ClientConfig.USE_COMPACT_TRANSPORT,
             ClientConfig.USE_COMPACT_TRANSPORT_DEFAULT);
+    pathsChunkSize = conf.getInt(ClientConfig.SENTRY_HDFS_PATHS_CHUNK_SIZE,
+            ClientConfig.SENTRY_HDFS_PATHS_CHUNK_SIZE_DEFAULT);
+    updatesWaitMillis = conf.getInt(ClientConfig.SENTRY_HDFS_UPDATES_WAIT_MS,
+            ClientConfig.SENTRY_HDFS_UPDATES_WAIT_MS_DEFAULT);
     this.transportPool = transportPool;
   }
 
@@ -102,6 +109,12 @@ public class SentryHDFSServiceClientDefaultImpl
           throws SentryHdfsServiceException {
     try {
       TAuthzUpdateRequest updateRequest = new TAuthzUpdateRequest(permSeqNum, pathSeqNum, pathImgNum);
+      if (pathsChunkSize > 0) {
+        updateRequest.setPathsChunkSize(pathsChunkSize);
+      }
+      if (updatesWaitMillis > 0) {
+        updateRequest.setUpdatesWaitMillis(updatesWaitMillis);
+      }
       TAuthzUpdateResponse sentryUpdates = client.get_authz_updates(updateRequest);
 
       List<PathsUpdate> pathsUpdates = Collections.emptyList();
@@ -139,6 +152,26 @@ public class SentryHDFSServiceClientDefaultImpl
     }
   }
 
+  @Override
+  public PathsUpdate getPathsImageChunk(long seqNum, long imgNum, long offset)
+          throws SentryHdfsServiceException {
+    try {
+      TAuthzUpdateRequest chunkRequest = new TAuthzUpdateRequest(
+          SEQUENCE_NUMBER_UPDATE_UNINITIALIZED, seqNum, imgNum);
+      chunkRequest.setPathsChunkSize(pathsChunkSize);
+      chunkRequest.setPathsChunkSeqNum(seqNum);
+      chunkRequest.setPathsChunkImgNum(imgNum);
+      chunkRequest.setPathsChunkOffset(offset);
+      TAuthzUpdateResponse response = client.get_authz_updates(chunkRequest);
+      if (response.getAuthzPathUpdateSize() == 0) {
+        return null;
+      }
+      return new PathsUpdate(response.getAuthzPathUpdate().get(0));
+    } catch (Exception e) {
+      throw new SentryHdfsServiceException("Thrift Exception occurred !!", e);
+    }
+  }
+
   @Override
   public void close() {
     done();
@@ -22,6 +22,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import com.codahale.metrics.Timer.Context;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -45,6 +46,13 @@ public class SentryHDFSServiceProcessor implements SentryHDFSService.Iface {
   // This helps to reduce memory consumption on large path images.
   private static final AtomicBoolean pathsRetrieverBusy = new AtomicBoolean(false);
 
+  // The full paths image sent in chunks to the NameNodes which ask for chunks is kept
+  // until none of its chunks is asked for during this time
+  private static final long PATHS_IMAGE_CHUNKER_EXPIRY_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+  private PathsImageChunker pathsImageChunker;
+  private long pathsImageChunkerLastUse;
+
   @Override
   public TAuthzUpdateResponse get_all_authz_updates_from(long permSeqNum, long pathSeqNum) throws TException {
    throw new UnsupportedOperationException(
@@ -63,9 +71,25 @@ public class SentryHDFSServiceProcessor implements SentryHDFSService.Iface {
       return retVal;
     }
 
+    expirePathsImageChunker();
+    if (request.isSetUpdatesWaitMillis() && !request.isSetPathsChunkOffset()) {
+      try {
+        SentryPlugin.instance.waitForUpdates(request.getPermSeqNum(), request.getPathSeqNum(),
+            request.getPathImgNum(), request.getUpdatesWaitMillis());
+      } catch (Exception e) {
+        // The updates are looked for anyway
+        LOGGER.warn("Error waiting for updates", e);
+      }
+    }
     try (Context timerContext = SentryHdfsMetricsUtil.getAllAuthzUpdatesTimer.time()) {
-      retVal.setAuthzPermUpdate(getPermissionsUpdatesFrom(request));
-      retVal.setAuthzPathUpdate(getPathsUpdatesFrom(request));
+      if (request.isSetPathsChunkOffset()) {
+        // The NameNode is receiving a full paths image, it only asks for the next chunk
+        retVal.setAuthzPermUpdate(Collections.<TPermissionsUpdate>emptyList());
+        retVal.setAuthzPathUpdate(getPathsImageChunk(request));
+      } else {
+        retVal.setAuthzPermUpdate(getPermissionsUpdatesFrom(request));
+        retVal.setAuthzPathUpdate(getPathsUpdatesFrom(request));
+      }
     } catch (Exception e) {
       LOGGER.error("Error Sending updates to downstream Cache", e);
       throw new TException(e);
@@ -110,6 +134,10 @@ public class SentryHDFSServiceProcessor implements SentryHDFSService.Iface {
    * with large full images, then this method will serialize the access to the requested updates
    * to only one request at a time.
    *
+   * A full image is only sent whole when the request has no pathsChunkSize, otherwise its first
+   * chunk is sent, and the image is kept for the NameNode to ask for the next ones with
+   * {@link #getPathsImageChunk(TAuthzUpdateRequest)}, without being serialized by the flag.
+   *
    * @param request The requested thrift object that contains the paths seqNum and imgNum
    * @return A list of delta updates or a full image retrieved. It returns an empty list if there
    *         are not updates or another request is happening at the same time.
@@ -135,6 +163,15 @@ public class SentryHDFSServiceProcessor implements SentryHDFSService.Iface {
       for (PathsUpdate update : pathUpdates) {
         LOGGER.debug("Sending PATH preUpdate seq [{}], [{}]",
             update.getSeqNum(), update.getImgNum());
+        if (update.hasFullImage() && request.getPathsChunkSize() > 0) {
+          PathsImageChunker chunker = setPathsImageChunker(update);
+          LOGGER.info("Sending full PATH image seq [{}], [{}] in chunks of {} of its {} entries",
+              update.getSeqNum(), update.getImgNum(), request.getPathsChunkSize(),
+              chunker.size());
+          // The NameNode asks for the updates since the image once it's loaded
+          retPathUpdates.add(chunker.getChunk(0, request.getPathsChunkSize()).toThrift());
+          break;
+        }
         retPathUpdates.add(update.toThrift());
       }
 
@@ -147,6 +184,66 @@ public class SentryHDFSServiceProcessor implements SentryHDFSService.Iface {
     }
   }
 
+  /**
+   * Returns the chunk of the full paths image being received by a NameNode at the requested
+   * offset. Serving chunks doesn't take the flag: the image is already in memory, and
+   * several NameNodes can receive it at the same time.
+   *
+   * @param request The requested thrift object that contains the image seqNum, imgNum and
+   *                chunk offset
+   * @return The chunk, or an empty list if the image isn't kept anymore, for the NameNode to
+   *         start over with a regular request.
+   */
+  private List<TPathsUpdate> getPathsImageChunk(TAuthzUpdateRequest request) {
+    PathsImageChunker chunker = getPathsImageChunker(request.getPathsChunkSeqNum(),
+        request.getPathsChunkImgNum());
+    if (chunker == null || request.getPathsChunkOffset() >= chunker.size()) {
+      LOGGER.info("PATH image seq [{}], [{}] at offset {} is not available anymore",
+          request.getPathsChunkSeqNum(), request.getPathsChunkImgNum(),
+          request.getPathsChunkOffset());
+      return Collections.emptyList();
+    }
+    LOGGER.debug("Sending PATH image seq [{}], [{}] chunk at offset {}",
+        request.getPathsChunkSeqNum(), request.getPathsChunkImgNum(),
+        request.getPathsChunkOffset());
+    PathsUpdate chunk = chunker.getChunk(request.getPathsChunkOffset(),
+        Math.max(request.getPathsChunkSize(), 1));
+    return Collections.singletonList(chunk.toThrift());
+  }
+
+  private PathsImageChunker setPathsImageChunker(PathsUpdate fullImage) {
+    PathsImageChunker chunker = getPathsImageChunker(fullImage.getSeqNum(),
+        fullImage.getImgNum());
+    if (chunker != null) {
+      return chunker;
+    }
+    // Outside of the lock, the other NameNodes keep receiving the previous image meanwhile
+    chunker = new PathsImageChunker(fullImage);
+    synchronized (this) {
+      pathsImageChunker = chunker;
+      pathsImageChunkerLastUse = System.currentTimeMillis();
+    }
+    return chunker;
+  }
+
+  private synchronized PathsImageChunker getPathsImageChunker(long seqNum, long imgNum) {
+    if (pathsImageChunker != null && pathsImageChunker.getSeqNum() == seqNum &&
+        pathsImageChunker.getImgNum() == imgNum) {
+      pathsImageChunkerLastUse = System.currentTimeMillis();
+      return pathsImageChunker;
+    }
+    return null;
+  }
+
+  private synchronized void expirePathsImageChunker() {
+    if (pathsImageChunker != null && System.currentTimeMillis() - pathsImageChunkerLastUse >
+        PATHS_IMAGE_CHUNKER_EXPIRY_MILLIS) {
+      LOGGER.info("Releasing the chunks of PATH image seq [{}], [{}]",
+          pathsImageChunker.getSeqNum(), pathsImageChunker.getImgNum());
+      pathsImageChunker = null;
+    }
+  }
+
   @Override
   public void handle_hms_notification(TPathsUpdate update) throws TException {
     throw new UnsupportedOperationException("handle_hms_notification");
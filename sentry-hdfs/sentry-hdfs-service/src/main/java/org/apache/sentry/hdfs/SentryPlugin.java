@@ -114,6 +114,8 @@ public class SentryPlugin implements SentryPolicyStorePlugin, SigUtils.SigListen
 
   private DBUpdateForwarder<PathsUpdate> pathsUpdater;
   private DBUpdateForwarder<PermissionsUpdate> permsUpdater;
+  private UpdatesWaiter updatesWaiter;
+  private volatile boolean subscribed;
 
   @Override
   public void initialize(Configuration conf, SentryStore sentryStore) throws SentryPluginException {
@@ -125,11 +127,32 @@ public class SentryPlugin implements SentryPolicyStorePlugin, SigUtils.SigListen
     PathImageRetriever pathImageRetriever = new PathImageRetriever(sentryStore, prefixes);
     PermDeltaRetriever permDeltaRetriever = new PermDeltaRetriever(sentryStore);
     PathDeltaRetriever pathDeltaRetriever = new PathDeltaRetriever(sentryStore);
-    pathsUpdater = new DBUpdateForwarder<>(pathImageRetriever, pathDeltaRetriever);
-    permsUpdater = new DBUpdateForwarder<>(permImageRetriever, permDeltaRetriever);
+    boolean compactDeltas = conf.getBoolean(ServerConfig.SENTRY_HDFS_SYNC_COMPACT_DELTAS,
+        ServerConfig.SENTRY_HDFS_SYNC_COMPACT_DELTAS_DEFAULT);
+    int maxDeltaUpdates = conf.getInt(ServerConfig.SENTRY_HDFS_SYNC_MAX_DELTA_UPDATES,
+        ServerConfig.SENTRY_HDFS_SYNC_MAX_DELTA_UPDATES_DEFAULT);
+    // Retrieving a full paths image means reading all the paths of the snapshot, keep it
+    // for the next NameNodes to ask for one
+    pathsUpdater = new DBUpdateForwarder<>(pathImageRetriever, pathDeltaRetriever, true,
+        compactDeltas ? new PathDeltaCompactor() : null, maxDeltaUpdates);
+    permsUpdater = new DBUpdateForwarder<>(permImageRetriever, permDeltaRetriever, false,
+        compactDeltas ? new PermDeltaCompactor() : null, maxDeltaUpdates);
+    updatesWaiter = new UpdatesWaiter(permDeltaRetriever, pathDeltaRetriever,
+        pathImageRetriever,
+        conf.getLong(ServerConfig.SENTRY_HDFS_SYNC_MAX_UPDATES_WAIT_MS,
+            ServerConfig.SENTRY_HDFS_SYNC_MAX_UPDATES_WAIT_MS_DEFAULT),
+        conf.getInt(ServerConfig.SENTRY_HDFS_SYNC_MAX_WAITING_REQUESTS,
+            ServerConfig.SENTRY_HDFS_SYNC_MAX_WAITING_REQUESTS_DEFAULT),
+        conf.getLong(ServerConfig.SENTRY_HDFS_SYNC_CHANGES_CHECK_MS,
+            ServerConfig.SENTRY_HDFS_SYNC_CHANGES_CHECK_MS_DEFAULT));
 
     LOGGER.info("Sentry HDFS plugin initialized !!");
+    SentryPlugin previous = instance;
     instance = this;
+    if (previous != null && previous != this) {
+      // The server was restarted, the plugin of its previous run isn't used anymore
+      previous.close();
+    }
 
     // register signal handler(s) if any signal(s) are configured
     String[] sigs = conf.getStrings(ServerConfig.SENTRY_SERVICE_FULL_UPDATE_SIGNAL, null);
@@ -148,6 +171,22 @@ public class SentryPlugin implements SentryPolicyStorePlugin, SigUtils.SigListen
     if (conf.getBoolean(ServerConfig.SENTRY_SERVICE_FULL_UPDATE_PUBSUB, false)) {
       LOGGER.info(FULL_UPDATE_TRIGGER + "subscribing to topic " + PubSub.Topic.HDFS_SYNC_NN.getName());
       PubSub.getInstance().subscribe(PubSub.Topic.HDFS_SYNC_NN, this);
+      subscribed = true;
+    }
+  }
+
+  /**
+   * Stops the thread waking up the requests waiting for updates and the full update
+   * notifications.
+   */
+  @Override
+  public synchronized void close() {
+    if (updatesWaiter != null) {
+      updatesWaiter.close();
+    }
+    if (subscribed) {
+      PubSub.getInstance().unsubscribe(PubSub.Topic.HDFS_SYNC_NN, this);
+      subscribed = false;
     }
   }
 
@@ -198,6 +237,19 @@ public class SentryPlugin implements SentryPolicyStorePlugin, SigUtils.SigListen
     return updates;
   }
 
+  /**
+   * Request of a NameNode willing to wait for updates newer than the ones it has, see
+   * {@link UpdatesWaiter}.
+   */
+  public void waitForUpdates(long permSeqNum, long pathSeqNum, long pathImgNum,
+      long waitMillis) throws Exception {
+    if (fullUpdateNN.get()) {
+      // The full update is to be sent right away
+      return;
+    }
+    updatesWaiter.waitForUpdates(permSeqNum, pathSeqNum, pathImgNum, waitMillis);
+  }
+
   public List<PermissionsUpdate> getAllPermsUpdatesFrom(long permSeqNum) throws Exception {
     LOGGER.debug("Received request for PERM update from NameNode for permSeqNum {}", permSeqNum);
     return permsUpdater.getAllUpdatesFrom(permSeqNum, UNUSED_PATH_UPDATE_IMG_NUM);
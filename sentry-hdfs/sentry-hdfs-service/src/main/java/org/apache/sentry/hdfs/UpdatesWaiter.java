@@ -0,0 +1,151 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.hdfs;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.apache.sentry.provider.db.service.persistent.CounterWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import static org.apache.sentry.hdfs.ServiceConstants.IMAGE_NUMBER_UPDATE_UNINITIALIZED;
+import static org.apache.sentry.hdfs.ServiceConstants.SEQUENCE_NUMBER_FULL_UPDATE_REQUEST;
+
+/**
+ * Holds the requests of the HDFS NameNodes for updates until there are permission or path
+ * changes, or a paths image, newer than the ones they have, so that they receive them as
+ * soon as they are made instead of at their next request.
+ * <p>
+ * The last change and image ids are read by a single thread, only while requests are held,
+ * and summed up in a {@link CounterWait} the requests wait on: the ids only increase, so
+ * does their sum with any change. Reading the ids, rather than being told of the changes,
+ * also catches the changes made by the other Sentry servers.
+ * <p>
+ * Each request held keeps a thread of the Thrift server: past maxWaitingRequests held,
+ * the requests are answered right away.
+ */
+@ThreadSafe
+class UpdatesWaiter {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(UpdatesWaiter.class);
+
+  private final DeltaRetriever<PermissionsUpdate> permDeltaRetriever;
+  private final DeltaRetriever<PathsUpdate> pathDeltaRetriever;
+  private final ImageRetriever<PathsUpdate> pathImageRetriever;
+  private final long maxWaitMillis;
+  private final Semaphore waitingRequests;
+  // The sum of the last perm change id, path change id and paths image id
+  private final CounterWait changes = new CounterWait();
+  private final ScheduledExecutorService checker;
+
+  UpdatesWaiter(DeltaRetriever<PermissionsUpdate> permDeltaRetriever,
+      DeltaRetriever<PathsUpdate> pathDeltaRetriever,
+      ImageRetriever<PathsUpdate> pathImageRetriever, long maxWaitMillis,
+      int maxWaitingRequests, long checkMillis) {
+    this.permDeltaRetriever = permDeltaRetriever;
+    this.pathDeltaRetriever = pathDeltaRetriever;
+    this.pathImageRetriever = pathImageRetriever;
+    this.maxWaitMillis = maxWaitMillis;
+    waitingRequests = new Semaphore(maxWaitingRequests);
+    checker = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+        .setNameFormat("sentry-hdfs-updates-waiter")
+        .setDaemon(true)
+        .build());
+    checker.scheduleWithFixedDelay(new Runnable() {
+      @Override
+      public void run() {
+        checkChanges();
+      }
+    }, checkMillis, checkMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Waits until there are updates newer than the ones of a NameNode, at most for the time
+   * it asked for. Returns right away when there already are, or too many requests are
+   * held.
+   *
+   * @param permSeqNum the sequence number of the next permissions update of the NameNode
+   * @param pathSeqNum the sequence number of the next paths update of the NameNode
+   * @param pathImgNum the paths image number of the NameNode
+   * @param waitMillis the time the NameNode asked to wait for at most
+   * @throws Exception if the last change or image ids cannot be read
+   */
+  void waitForUpdates(long permSeqNum, long pathSeqNum, long pathImgNum, long waitMillis)
+      throws Exception {
+    long wait = Math.min(waitMillis, maxWaitMillis);
+    if (wait <= 0 || permSeqNum <= SEQUENCE_NUMBER_FULL_UPDATE_REQUEST ||
+        pathSeqNum <= SEQUENCE_NUMBER_FULL_UPDATE_REQUEST) {
+      return;
+    }
+    if (!waitingRequests.tryAcquire()) {
+      LOGGER.debug("Too many requests waiting for updates, answering right away");
+      return;
+    }
+    try {
+      long permChangeId = permDeltaRetriever.getLatestDeltaID();
+      long pathChangeId = pathDeltaRetriever.getLatestDeltaID();
+      long imageId = pathImageRetriever.getLatestImageID();
+      if (permChangeId >= permSeqNum || pathChangeId >= pathSeqNum ||
+          (pathImgNum >= IMAGE_NUMBER_UPDATE_UNINITIALIZED && imageId > pathImgNum)) {
+        return;
+      }
+      LOGGER.debug("Waiting up to {} ms for updates from perm seq [{}], path seq [{}]",
+          wait, permSeqNum, pathSeqNum);
+      changes.waitFor(permChangeId + pathChangeId + imageId + 1, wait, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      LOGGER.debug("No updates from perm seq [{}], path seq [{}] within {} ms", permSeqNum,
+          pathSeqNum, wait);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      waitingRequests.release();
+    }
+  }
+
+  /**
+   * Reads the last change and image ids and wakes up the requests waiting for them, when
+   * there are.
+   */
+  private void checkChanges() {
+    if (changes.waitersCount() == 0) {
+      return;
+    }
+    try {
+      // The ids may start over, lower, once the Sentry database is cleared
+      changes.reset(permDeltaRetriever.getLatestDeltaID() +
+          pathDeltaRetriever.getLatestDeltaID() + pathImageRetriever.getLatestImageID());
+    } catch (Exception e) {
+      LOGGER.warn("Error reading the last change ids for the requests waiting for updates", e);
+    }
+  }
+
+  /**
+   * Stops reading the change ids, the requests still held wait until their time is over.
+   */
+  void close() {
+    checker.shutdownNow();
+  }
+}
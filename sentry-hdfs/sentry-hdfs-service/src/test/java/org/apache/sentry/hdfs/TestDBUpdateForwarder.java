@@ -32,6 +32,7 @@ import static org.apache.sentry.hdfs.ServiceConstants.SEQUENCE_NUMBER_UPDATE_UNI
 import static org.apache.sentry.hdfs.service.thrift.sentry_hdfs_serviceConstants.UNUSED_PATH_UPDATE_IMG_NUM;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 public class TestDBUpdateForwarder {
@@ -185,4 +186,118 @@ public class TestDBUpdateForwarder {
     assertEquals(UNUSED_PATH_UPDATE_IMG_NUM, updates.get(0).getImgNum());
     assertTrue(updates.get(0).hasFullImage());
   }
+
+  @Test
+  public void testCachedImageIsReturnedWhenNoDeltasArePersisted() throws Exception {
+    updater = new DBUpdateForwarder<>(imageRetriever, deltaRetriever, true);
+    Mockito.when(imageRetriever.getLatestImageID()).thenReturn(1L);
+    Mockito.when(deltaRetriever.getLatestDeltaID()).thenReturn(3L);
+    PathsUpdate image = new PathsUpdate(3, 1, true);
+    Mockito.when(imageRetriever.retrieveFullImage()).thenReturn(image);
+
+    List<PathsUpdate> updates = updater.getAllUpdatesFrom(0, 0);
+    assertEquals(1, updates.size());
+    assertSame(image, updates.get(0));
+
+    updates = updater.getAllUpdatesFrom(SEQUENCE_NUMBER_UPDATE_UNINITIALIZED, 0);
+    assertEquals(1, updates.size());
+    assertSame(image, updates.get(0));
+    Mockito.verify(imageRetriever, Mockito.times(1)).retrieveFullImage();
+  }
+
+  @Test
+  public void testCachedImageIsReturnedWithNewDeltas() throws Exception {
+    updater = new DBUpdateForwarder<>(imageRetriever, deltaRetriever, true);
+    Mockito.when(imageRetriever.getLatestImageID()).thenReturn(1L);
+    Mockito.when(deltaRetriever.getLatestDeltaID()).thenReturn(3L);
+    PathsUpdate image = new PathsUpdate(3, 1, true);
+    Mockito.when(imageRetriever.retrieveFullImage()).thenReturn(image);
+    updater.getAllUpdatesFrom(0, 0);
+
+    Mockito.when(deltaRetriever.getLatestDeltaID()).thenReturn(5L);
+    Mockito.when(deltaRetriever.isDeltaAvailable(4L)).thenReturn(true);
+    Mockito.when(deltaRetriever.retrieveDelta(4L, 1L)).thenReturn(
+        Arrays.asList(new PathsUpdate(4, 1, false), new PathsUpdate(5, 1, false)));
+    List<PathsUpdate> updates = updater.getAllUpdatesFrom(0, 0);
+    assertEquals(3, updates.size());
+    assertSame(image, updates.get(0));
+    assertEquals(4, updates.get(1).getSeqNum());
+    assertEquals(5, updates.get(2).getSeqNum());
+    Mockito.verify(imageRetriever, Mockito.times(1)).retrieveFullImage();
+  }
+
+  @Test
+  public void testNewImageIsRetrievedWhenCachedImageIsStale() throws Exception {
+    updater = new DBUpdateForwarder<>(imageRetriever, deltaRetriever, true);
+    Mockito.when(imageRetriever.getLatestImageID()).thenReturn(1L);
+    Mockito.when(deltaRetriever.getLatestDeltaID()).thenReturn(3L);
+    Mockito.when(imageRetriever.retrieveFullImage()).thenReturn(new PathsUpdate(3, 1, true));
+    updater.getAllUpdatesFrom(0, 0);
+
+    // A new image was persisted
+    Mockito.when(imageRetriever.getLatestImageID()).thenReturn(2L);
+    Mockito.when(imageRetriever.retrieveFullImage()).thenReturn(new PathsUpdate(3, 2, true));
+    List<PathsUpdate> updates = updater.getAllUpdatesFrom(0, 1);
+    assertEquals(1, updates.size());
+    assertEquals(2, updates.get(0).getImgNum());
+
+    // The deltas since the cached image are no longer available
+    Mockito.when(deltaRetriever.getLatestDeltaID()).thenReturn(5L);
+    Mockito.when(deltaRetriever.isDeltaAvailable(4L)).thenReturn(false);
+    Mockito.when(imageRetriever.retrieveFullImage()).thenReturn(new PathsUpdate(5, 2, true));
+    updates = updater.getAllUpdatesFrom(0, 2);
+    assertEquals(1, updates.size());
+    assertEquals(5, updates.get(0).getSeqNum());
+
+    // Too many deltas since the cached image
+    long seqNum = 5 + DBUpdateForwarder.MAX_CACHED_IMAGE_DELTAS + 1;
+    Mockito.when(deltaRetriever.getLatestDeltaID()).thenReturn(seqNum);
+    Mockito.when(deltaRetriever.isDeltaAvailable(6L)).thenReturn(true);
+    Mockito.when(imageRetriever.retrieveFullImage())
+        .thenReturn(new PathsUpdate(seqNum, 2, true));
+    updates = updater.getAllUpdatesFrom(0, 2);
+    assertEquals(1, updates.size());
+    assertEquals(seqNum, updates.get(0).getSeqNum());
+    Mockito.verify(imageRetriever, Mockito.times(4)).retrieveFullImage();
+  }
+
+  @Test
+  public void testCompactedDeltasAreReturned() throws Exception {
+    updater = new DBUpdateForwarder<>(imageRetriever, deltaRetriever, false,
+        new PathDeltaCompactor(), 0);
+    Mockito.when(imageRetriever.getLatestImageID()).thenReturn(1L);
+    Mockito.when(deltaRetriever.getLatestDeltaID()).thenReturn(3L);
+    Mockito.when(deltaRetriever.isDeltaAvailable(2L)).thenReturn(true);
+    PathsUpdate del = new PathsUpdate(2, 1, false);
+    del.newPathChange("db1.tbl1").addToDelPaths(Arrays.asList("db1", "tbl1"));
+    PathsUpdate add = new PathsUpdate(3, 1, false);
+    add.newPathChange("db1.tbl1").addToAddPaths(Arrays.asList("db1", "tbl1", "part=1"));
+    Mockito.when(deltaRetriever.retrieveDelta(2L, 1L)).thenReturn(Arrays.asList(del, add));
+
+    List<PathsUpdate> updates = updater.getAllUpdatesFrom(2, 1);
+    assertEquals(1, updates.size());
+    assertEquals(3, updates.get(0).getSeqNum());
+    assertEquals(1, updates.get(0).getImgNum());
+    assertFalse(updates.get(0).hasFullImage());
+    assertEquals(2, updates.get(0).getPathChanges().size());
+  }
+
+  @Test
+  public void testNewImageIsReturnedWhenTooManyDeltas() throws Exception {
+    updater = new DBUpdateForwarder<>(imageRetriever, deltaRetriever, false,
+        new PathDeltaCompactor(), 1);
+    Mockito.when(imageRetriever.getLatestImageID()).thenReturn(1L);
+    Mockito.when(deltaRetriever.getLatestDeltaID()).thenReturn(3L);
+    Mockito.when(deltaRetriever.isDeltaAvailable(2L)).thenReturn(true);
+    PathsUpdate tbl1 = new PathsUpdate(2, 1, false);
+    tbl1.newPathChange("db1.tbl1").addToAddPaths(Arrays.asList("db1", "tbl1"));
+    PathsUpdate tbl2 = new PathsUpdate(3, 1, false);
+    tbl2.newPathChange("db1.tbl2").addToDelPaths(Arrays.asList("db1", "tbl2"));
+    Mockito.when(deltaRetriever.retrieveDelta(2L, 1L)).thenReturn(Arrays.asList(tbl1, tbl2));
+    Mockito.when(imageRetriever.retrieveFullImage()).thenReturn(new PathsUpdate(3, 1, true));
+
+    List<PathsUpdate> updates = updater.getAllUpdatesFrom(2, 1);
+    assertEquals(1, updates.size());
+    assertTrue(updates.get(0).hasFullImage());
+  }
 }
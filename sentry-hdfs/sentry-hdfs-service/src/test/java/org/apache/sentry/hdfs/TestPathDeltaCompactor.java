@@ -0,0 +1,211 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.hdfs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.sentry.hdfs.service.thrift.TPathChanges;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TestPathDeltaCompactor {
+  private static final String[] PREFIXES = {"/user/hive/warehouse"};
+
+  private final PathDeltaCompactor compactor = new PathDeltaCompactor();
+
+  @Test
+  public void testDeletedThenAddedPathsAreMerged() throws Exception {
+    List<PathsUpdate> deltas = Lists.newArrayList(
+        delPath(1, "db1.tbl1", "db1", "tbl1", "part=1"),
+        delPath(2, "db1.tbl2", "db1", "tbl2"),
+        addPath(3, "db1.tbl1", "db1", "tbl1", "part=2"),
+        addPath(4, "db1.tbl2", "db1", "tbl2"),
+        addPath(5, "db1.tbl1", "db1", "tbl1", "part=2"),
+        delPath(6, "db1.tbl1", "db1", "tbl1", "part=2"),
+        addPath(7, "db1.tbl1", "db1", "tbl1", "part=3"));
+
+    List<PathsUpdate> compacted = compactor.compact(deltas);
+    // A path deleted after paths added starts a new update
+    assertEquals(2, compacted.size());
+    assertEquals(5, compacted.get(0).getSeqNum());
+    List<TPathChanges> pathChanges = compacted.get(0).getPathChanges();
+    // The path added again to db1.tbl1 is left out
+    assertEquals(4, pathChanges.size());
+    assertEquals(deltas.get(0).getPathChanges().get(0), pathChanges.get(0));
+    assertEquals(deltas.get(1).getPathChanges().get(0), pathChanges.get(1));
+    assertEquals(deltas.get(2).getPathChanges().get(0), pathChanges.get(2));
+    assertEquals(deltas.get(3).getPathChanges().get(0), pathChanges.get(3));
+    assertEquals(7, compacted.get(1).getSeqNum());
+    assertEquals(Lists.newArrayList(deltas.get(5).getPathChanges().get(0),
+        deltas.get(6).getPathChanges().get(0)), compacted.get(1).getPathChanges());
+  }
+
+  @Test
+  public void testDeleteAllPaths() throws Exception {
+    List<PathsUpdate> deltas = Lists.newArrayList(
+        addPath(1, "db1.tbl1", "db1", "tbl1", "part=1"),
+        delAllPaths(2, "db1.tbl1"),
+        addPath(3, "db1.tbl1", "db1", "tbl1"),
+        addPath(4, "db1.tbl2", "db1", "tbl2"));
+
+    List<PathsUpdate> compacted = compactor.compact(deltas);
+    assertEquals(2, compacted.size());
+    assertSame(deltas.get(0), compacted.get(0));
+    List<TPathChanges> pathChanges = compacted.get(1).getPathChanges();
+    assertEquals(3, pathChanges.size());
+    assertEquals(Arrays.asList(Arrays.asList(PathsUpdate.ALL_PATHS)),
+        pathChanges.get(0).getDelPaths());
+    assertEquals(4, compacted.get(1).getSeqNum());
+  }
+
+  @Test
+  public void testRenameIsNotMerged() throws Exception {
+    PathsUpdate rename = new PathsUpdate(2, false);
+    rename.newPathChange("db1.tbl2").addToAddPaths(path("db1", "tbl2"));
+    rename.newPathChange("db1.tbl1").addToDelPaths(path("db1", "tbl1"));
+    List<PathsUpdate> deltas = Lists.newArrayList(addPath(1, "db1.tbl1", "db1", "tbl1"),
+        rename, addPath(3, "db1.tbl2", "db1", "tbl2", "part=1"));
+
+    List<PathsUpdate> compacted = compactor.compact(deltas);
+    assertEquals(3, compacted.size());
+    assertSame(rename, compacted.get(1));
+
+    // Merged, a path deleted from an object and one added to another one are a rename
+    deltas = Lists.newArrayList(delPath(1, "db1.tbl1", "db1", "tbl1"),
+        addPath(2, "db1.tbl2", "db1", "tbl2"));
+    assertEquals(deltas, compactor.compact(deltas));
+  }
+
+  @Test
+  public void testCancelledChangesKeepTheSeqNum() throws Exception {
+    PathsUpdate empty = new PathsUpdate(2, false);
+    empty.toThrift().setPathChanges(new ArrayList<TPathChanges>());
+    List<PathsUpdate> compacted = compactor.compact(Lists.newArrayList(
+        new PathsUpdate(1, false), empty));
+    assertEquals(1, compacted.size());
+    assertEquals(2, compacted.get(0).getSeqNum());
+    assertTrue(compacted.get(0).getPathChanges().isEmpty());
+  }
+
+  /**
+   * The paths with the compacted deltas applied are the same as with each of them applied.
+   */
+  @Test
+  public void testSameAsDeltas() throws Exception {
+    Random random = new Random(42);
+    String[] objects = {"db1", "db1.tbl1", "db1.tbl2", "DB1.TBL2", "db2.tbl1"};
+    String[][] paths = {{"db1"}, {"db1", "tbl1"}, {"db1", "tbl1", "part=1"},
+        {"db1", "tbl2"}, {"db1", "tbl2", "part=1"}, {"db2", "tbl1"}, {"db1", "shared"}};
+    for (int run = 0; run < 200; run++) {
+      UpdateableAuthzPaths expected = new UpdateableAuthzPaths(PREFIXES);
+      List<PathsUpdate> deltas = new ArrayList<>();
+      long seqNum = 0;
+      while (deltas.size() < 30) {
+        PathsUpdate delta = new PathsUpdate(seqNum + 1, false);
+        int changes = 1 + random.nextInt(2);
+        for (int c = 0; c < changes; c++) {
+          TPathChanges pathChanges =
+              delta.newPathChange(objects[random.nextInt(objects.length)]);
+          int op = random.nextInt(10);
+          if (op == 0) {
+            pathChanges.addToDelPaths(Lists.newArrayList(PathsUpdate.ALL_PATHS));
+          } else if (op < 4) {
+            pathChanges.addToDelPaths(path(paths[random.nextInt(paths.length)]));
+          } else {
+            pathChanges.addToAddPaths(path(paths[random.nextInt(paths.length)]));
+          }
+        }
+        if (!isValidRename(expected, delta)) {
+          continue;
+        }
+        expected.updatePartial(Lists.newArrayList(delta), new ReentrantReadWriteLock());
+        deltas.add(delta);
+        seqNum++;
+      }
+
+      UpdateableAuthzPaths actual = new UpdateableAuthzPaths(PREFIXES);
+      List<PathsUpdate> compacted = compactor.compact(deltas);
+      actual.updatePartial(compacted, new ReentrantReadWriteLock());
+      assertEquals(seqNum, actual.getLastUpdatedSeqNum());
+      for (String[] path : paths) {
+        String[] pathElements = path(path).toArray(new String[0]);
+        assertEquals("Run " + run + ", path " + Arrays.toString(path),
+            expected.findAuthzObjectExactMatches(pathElements),
+            actual.findAuthzObjectExactMatches(pathElements));
+        assertEquals(expected.findAuthzObject(pathElements),
+            actual.findAuthzObject(pathElements));
+      }
+    }
+  }
+
+  /**
+   * @return false if the NameNode would apply the delta as the rename of an object that
+   *         doesn't have the path
+   */
+  private static boolean isValidRename(UpdateableAuthzPaths paths, PathsUpdate delta) {
+    List<TPathChanges> pathChanges = delta.getPathChanges();
+    if (pathChanges.size() != 2 ||
+        pathChanges.get(0).getAuthzObj().equalsIgnoreCase(pathChanges.get(1).getAuthzObj())) {
+      return true;
+    }
+    for (TPathChanges oldPathChanges : pathChanges) {
+      if (oldPathChanges.getDelPathsSize() == 1) {
+        Set<String> authzObjs = paths.findAuthzObjectExactMatches(
+            oldPathChanges.getDelPaths().get(0).toArray(new String[0]));
+        if (authzObjs == null || !authzObjs.contains(oldPathChanges.getAuthzObj())) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  private static PathsUpdate addPath(long seqNum, String authzObj, String... elements) {
+    PathsUpdate update = new PathsUpdate(seqNum, false);
+    update.newPathChange(authzObj).addToAddPaths(path(elements));
+    return update;
+  }
+
+  private static PathsUpdate delPath(long seqNum, String authzObj, String... elements) {
+    PathsUpdate update = new PathsUpdate(seqNum, false);
+    update.newPathChange(authzObj).addToDelPaths(path(elements));
+    return update;
+  }
+
+  private static PathsUpdate delAllPaths(long seqNum, String authzObj) {
+    PathsUpdate update = new PathsUpdate(seqNum, false);
+    update.newPathChange(authzObj).addToDelPaths(Lists.newArrayList(PathsUpdate.ALL_PATHS));
+    return update;
+  }
+
+  private static List<String> path(String... elements) {
+    List<String> path = Lists.newArrayList("user", "hive", "warehouse");
+    path.addAll(Arrays.asList(elements));
+    return path;
+  }
+}
@@ -0,0 +1,111 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.hdfs;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.sentry.hdfs.service.thrift.TPathsUpdate;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TestPathsImageChunker {
+  private static final String[] PREFIXES = {"/user/hive/warehouse"};
+
+  @Test
+  public void testChunksLoadTheImage() throws Exception {
+    UpdateableAuthzPaths image = new UpdateableAuthzPaths(PREFIXES);
+    List<PathsUpdate> updates = Lists.newArrayList();
+    int seqNum = 0;
+    for (int db = 0; db < 5; db++) {
+      PathsUpdate update = new PathsUpdate(++seqNum, false);
+      update.newPathChange("db" + db).addToAddPaths(path("db" + db));
+      for (int tbl = 0; tbl < 10; tbl++) {
+        // The table names repeat across databases, they are dumped as duplicates
+        update.newPathChange("db" + db + ".tbl" + tbl)
+            .addToAddPaths(path("db" + db, "tbl" + tbl));
+        update.newPathChange("db" + db + ".tbl" + tbl)
+            .addToAddPaths(path("db" + db, "tbl" + tbl, "part=1"));
+      }
+      updates.add(update);
+    }
+    image.updatePartial(updates, new ReentrantReadWriteLock());
+    PathsUpdate fullImage = image.createFullImageUpdate(seqNum);
+    fullImage.setImgNum(7);
+    assertFalse(fullImage.toThrift().getPathsDump().getDupStringValues().isEmpty());
+
+    PathsImageChunker chunker = new PathsImageChunker(fullImage);
+    assertEquals(fullImage.toThrift().getPathsDump().getNodeMapSize(), chunker.size());
+    PathsUpdate chunk = chunker.getChunk(0, 7);
+    assertTrue(chunk.isChunk());
+    assertEquals(chunker.size(), chunk.toThrift().getChunkTotal());
+    UpdateableAuthzPaths loaded = new UpdateableAuthzPaths(PREFIXES);
+    PathsImageLoader loader = new PathsImageLoader(chunk, loaded);
+    while (!loader.isLoaded()) {
+      chunk = chunker.getChunk(loader.getOffset(), 7);
+      TPathsUpdate tChunk = chunk.toThrift();
+      assertEquals(loader.getOffset(), tChunk.getChunkOffset());
+      assertNull(tChunk.getPathsDump().getDupStringValues());
+      assertTrue(loader.isNext(chunk));
+      loader.load(chunk);
+    }
+
+    assertEquals(seqNum, loaded.getLastUpdatedSeqNum());
+    assertEquals(7, loaded.getLastUpdatedImgNum());
+    for (int db = 0; db < 5; db++) {
+      assertEquals(image.findAuthzObject(new String[] {"user", "hive", "warehouse",
+          "db" + db}), loaded.findAuthzObject(new String[] {"user", "hive", "warehouse",
+          "db" + db}));
+      for (int tbl = 0; tbl < 10; tbl++) {
+        String[] partition = {"user", "hive", "warehouse", "db" + db, "tbl" + tbl, "part=1"};
+        assertEquals(image.findAuthzObject(partition), loaded.findAuthzObject(partition));
+        assertEquals(Sets.newHashSet("db" + db + ".tbl" + tbl),
+            loaded.findAuthzObject(partition));
+      }
+    }
+  }
+
+  @Test
+  public void testOutOfOrderChunk() throws Exception {
+    UpdateableAuthzPaths image = new UpdateableAuthzPaths(PREFIXES);
+    PathsUpdate update = new PathsUpdate(1, false);
+    update.newPathChange("db1.tbl1").addToAddPaths(path("db1", "tbl1"));
+    image.updatePartial(Lists.newArrayList(update), new ReentrantReadWriteLock());
+    PathsImageChunker chunker = new PathsImageChunker(image.createFullImageUpdate(1));
+
+    PathsImageLoader loader = new PathsImageLoader(chunker.getChunk(0, 2),
+        new UpdateableAuthzPaths(PREFIXES));
+    assertFalse(loader.isLoaded());
+    assertFalse(loader.isNext(chunker.getChunk(3, 2)));
+    assertTrue(loader.isNext(chunker.getChunk(2, 2)));
+  }
+
+  private static List<String> path(String... elements) {
+    List<String> path = Lists.newArrayList("user", "hive", "warehouse");
+    path.addAll(Arrays.asList(elements));
+    return path;
+  }
+}
@@ -0,0 +1,141 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.hdfs;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.sentry.hdfs.service.thrift.TPermissionsUpdate;
+import org.apache.sentry.hdfs.service.thrift.TRoleChanges;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TestPermDeltaCompactor {
+
+  private final PermDeltaCompactor compactor = new PermDeltaCompactor();
+
+  @Test
+  public void testGrantsAndGroupsMerged() throws Exception {
+    List<PermissionsUpdate> deltas = Lists.newArrayList(
+        grant(1, "db1.tbl1", "role1", "SELECT"),
+        addGroup(2, "role1", "group1"),
+        grant(3, "db1.tbl1", "role1", " INSERT "),
+        grant(4, "db1.tbl1", "role2", "SELECT"),
+        delGroup(5, "role1", "group1"),
+        addGroup(6, "role1", "group2"));
+
+    List<PermissionsUpdate> compacted = compactor.compact(deltas);
+    assertEquals(1, compacted.size());
+    TPermissionsUpdate update = compacted.get(0).toThrift();
+    assertEquals(6, update.getSeqNum());
+    assertEquals(ImmutableMap.of("role1", "SELECT,INSERT", "role2", "SELECT"),
+        update.getPrivilegeChanges().get("db1.tbl1").getAddPrivileges());
+    assertTrue(update.getPrivilegeChanges().get("db1.tbl1").getDelPrivileges().isEmpty());
+    assertEquals(Arrays.asList("group2"),
+        update.getRoleChanges().get("role1").getAddGroups());
+    assertEquals(Arrays.asList("group1"),
+        update.getRoleChanges().get("role1").getDelGroups());
+  }
+
+  @Test
+  public void testRoleGroupsMergedCaseInsensitively() throws Exception {
+    List<PermissionsUpdate> deltas = Lists.newArrayList(
+        addGroup(1, "role1", "group1"),
+        delGroup(2, "ROLE1", "group1"));
+
+    List<PermissionsUpdate> compacted = compactor.compact(deltas);
+    assertEquals(1, compacted.size());
+    TPermissionsUpdate update = compacted.get(0).toThrift();
+    assertEquals(1, update.getRoleChanges().size());
+    TRoleChanges roleChanges = update.getRoleChanges().values().iterator().next();
+    assertTrue(roleChanges.getAddGroups().isEmpty());
+    assertEquals(Arrays.asList("group1"), roleChanges.getDelGroups());
+  }
+
+  @Test
+  public void testGrantsAndRevokesNotMerged() throws Exception {
+    List<PermissionsUpdate> deltas = Lists.newArrayList(
+        grant(1, "db1.tbl1", "role1", "SELECT"),
+        revoke(2, "db1", "role1", "SELECT"),
+        revoke(3, "db1.tbl1", "role1", "INSERT"),
+        grant(4, "db1.tbl1", "role1", "INSERT"));
+
+    List<PermissionsUpdate> compacted = compactor.compact(deltas);
+    assertEquals(3, compacted.size());
+    assertEquals(1, compacted.get(0).getSeqNum());
+    TPermissionsUpdate revokes = compacted.get(1).toThrift();
+    assertEquals(3, revokes.getSeqNum());
+    assertEquals(ImmutableMap.of("role1", "SELECT"),
+        revokes.getPrivilegeChanges().get("db1").getDelPrivileges());
+    assertEquals(ImmutableMap.of("role1", "INSERT"),
+        revokes.getPrivilegeChanges().get("db1.tbl1").getDelPrivileges());
+    assertEquals(4, compacted.get(2).getSeqNum());
+  }
+
+  @Test
+  public void testSpecialUpdatesNotMerged() throws Exception {
+    PermissionsUpdate dropRole = new PermissionsUpdate(2, false);
+    dropRole.addPrivilegeUpdate(PermissionsUpdate.ALL_AUTHZ_OBJ).putToDelPrivileges(
+        "role1", PermissionsUpdate.ALL_AUTHZ_OBJ);
+    dropRole.addRoleUpdate("role1").addToDelGroups(PermissionsUpdate.ALL_GROUPS);
+    PermissionsUpdate rename = new PermissionsUpdate(4, false);
+    rename.addPrivilegeUpdate(PermissionsUpdate.RENAME_PRIVS)
+        .putToAddPrivileges("db1.tbl2", "db1.tbl2");
+    rename.addPrivilegeUpdate(PermissionsUpdate.RENAME_PRIVS)
+        .putToDelPrivileges("db1.tbl1", "db1.tbl1");
+    List<PermissionsUpdate> deltas = Lists.newArrayList(addGroup(1, "role1", "group1"),
+        dropRole, addGroup(3, "role1", "group1"), rename, grant(5, "db1.tbl2", "role1", "ALL"));
+
+    List<PermissionsUpdate> compacted = compactor.compact(deltas);
+    assertEquals(5, compacted.size());
+    assertSame(dropRole, compacted.get(1));
+    assertSame(rename, compacted.get(3));
+  }
+
+  private static PermissionsUpdate grant(long seqNum, String authzObj, String role,
+      String privilege) {
+    PermissionsUpdate update = new PermissionsUpdate(seqNum, false);
+    update.addPrivilegeUpdate(authzObj).putToAddPrivileges(role, privilege);
+    return update;
+  }
+
+  private static PermissionsUpdate revoke(long seqNum, String authzObj, String role,
+      String privilege) {
+    PermissionsUpdate update = new PermissionsUpdate(seqNum, false);
+    update.addPrivilegeUpdate(authzObj).putToDelPrivileges(role, privilege);
+    return update;
+  }
+
+  private static PermissionsUpdate addGroup(long seqNum, String role, String group) {
+    PermissionsUpdate update = new PermissionsUpdate(seqNum, false);
+    update.addRoleUpdate(role).addToAddGroups(group);
+    return update;
+  }
+
+  private static PermissionsUpdate delGroup(long seqNum, String role, String group) {
+    PermissionsUpdate update = new PermissionsUpdate(seqNum, false);
+    update.addRoleUpdate(role).addToDelGroups(group);
+    return update;
+  }
+}
@@ -0,0 +1,126 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.hdfs;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestUpdatesWaiter {
+  private static final long WAIT_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+  private DeltaRetriever<PermissionsUpdate> permDeltaRetriever;
+  private DeltaRetriever<PathsUpdate> pathDeltaRetriever;
+  private ImageRetriever<PathsUpdate> pathImageRetriever;
+  private UpdatesWaiter waiter;
+  private final ExecutorService executor = Executors.newCachedThreadPool();
+
+  @Before
+  @SuppressWarnings("unchecked")
+  public void setUp() throws Exception {
+    permDeltaRetriever = Mockito.mock(DeltaRetriever.class);
+    pathDeltaRetriever = Mockito.mock(DeltaRetriever.class);
+    pathImageRetriever = Mockito.mock(ImageRetriever.class);
+    Mockito.when(permDeltaRetriever.getLatestDeltaID()).thenReturn(10L);
+    Mockito.when(pathDeltaRetriever.getLatestDeltaID()).thenReturn(20L);
+    Mockito.when(pathImageRetriever.getLatestImageID()).thenReturn(1L);
+    waiter = new UpdatesWaiter(permDeltaRetriever, pathDeltaRetriever, pathImageRetriever,
+        WAIT_MILLIS, 1, 10);
+  }
+
+  @After
+  public void tearDown() {
+    waiter.close();
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void testNoWaitWhenThereAreUpdates() throws Exception {
+    long start = System.nanoTime();
+    waiter.waitForUpdates(10, 21, 1, WAIT_MILLIS);
+    waiter.waitForUpdates(11, 20, 1, WAIT_MILLIS);
+    // A new paths image
+    waiter.waitForUpdates(11, 21, 0, WAIT_MILLIS);
+    // A full update is requested
+    waiter.waitForUpdates(0, 21, 1, WAIT_MILLIS);
+    assertTrue(elapsedMillis(start) < WAIT_MILLIS);
+  }
+
+  @Test
+  public void testWaitUntilNewUpdates() throws Exception {
+    long start = System.nanoTime();
+    Future<?> request = waitForUpdates();
+    Thread.sleep(100);
+    assertFalse(request.isDone());
+    Mockito.when(pathDeltaRetriever.getLatestDeltaID()).thenReturn(21L);
+    request.get(WAIT_MILLIS / 2, TimeUnit.MILLISECONDS);
+    assertTrue(elapsedMillis(start) < WAIT_MILLIS);
+  }
+
+  @Test
+  public void testWaitUntilTimeout() throws Exception {
+    long start = System.nanoTime();
+    waiter.waitForUpdates(11, 21, 1, 100);
+    assertTrue(elapsedMillis(start) >= 100);
+  }
+
+  @Test
+  public void testNoWaitWhenTooManyRequests() throws Exception {
+    final CountDownLatch waiting = new CountDownLatch(1);
+    Mockito.when(pathImageRetriever.getLatestImageID()).thenAnswer(new Answer<Long>() {
+      @Override
+      public Long answer(InvocationOnMock invocation) {
+        waiting.countDown();
+        return 1L;
+      }
+    });
+    Future<?> request = waitForUpdates();
+    waiting.await();
+    long start = System.nanoTime();
+    waiter.waitForUpdates(11, 21, 1, WAIT_MILLIS);
+    assertTrue(elapsedMillis(start) < WAIT_MILLIS);
+    assertFalse(request.isDone());
+  }
+
+  private Future<?> waitForUpdates() {
+    return executor.submit(new Callable<Void>() {
+      @Override
+      public Void call() throws Exception {
+        waiter.waitForUpdates(11, 21, 1, WAIT_MILLIS);
+        return null;
+      }
+    });
+  }
+
+  private static long elapsedMillis(long start) {
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+  }
+}
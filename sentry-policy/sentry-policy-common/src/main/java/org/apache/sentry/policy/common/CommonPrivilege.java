@@ -18,14 +18,12 @@ package org.apache.sentry.policy.common;
 
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Lists;
-import org.apache.sentry.core.common.BitFieldAction;
 import org.apache.sentry.core.common.BitFieldActionFactory;
 import org.apache.sentry.core.common.ImplyMethodType;
 import org.apache.sentry.core.common.Model;
-import org.apache.sentry.core.common.exception.SentryUserException;
 import org.apache.sentry.core.common.utils.KeyValue;
 import org.apache.sentry.core.common.utils.PathUtils;
+import org.apache.sentry.core.common.utils.PrivilegeStrings;
 import org.apache.sentry.core.common.utils.SentryConstants;
 
 import java.util.ArrayList;
@@ -41,18 +39,7 @@ public class CommonPrivilege implements Privilege {
     if (privilegeStr.isEmpty()) {
       throw new IllegalArgumentException("Privilege string cannot be null or empty.");
     }
-    List<KeyValue> parts = Lists.newArrayList();
-    for (String authorizable : SentryConstants.AUTHORIZABLE_SPLITTER.trimResults().split(
-            privilegeStr)) {
-      if (authorizable.isEmpty()) {
-        throw new IllegalArgumentException("Privilege '" + privilegeStr + "' has an empty section");
-      }
-      parts.add(new KeyValue(authorizable));
-    }
-    if (parts.isEmpty()) {
-      throw new AssertionError("Should never occur: " + privilegeStr);
-    }
-    this.parts = ImmutableList.copyOf(parts);
+    this.parts = ImmutableList.copyOf(PrivilegeStrings.parse(privilegeStr));
   }
 
   @Override
@@ -122,7 +109,7 @@ public class CommonPrivilege implements Privilege {
 
       // Authorizeable is the same as privileges but should exclude action
       if (!SentryConstants.PRIVILEGE_NAME.equalsIgnoreCase(part.getKey())) {
-        KeyValue keyValue = new KeyValue(part.getKey().toLowerCase(),
+        KeyValue keyValue = new KeyValue(PrivilegeStrings.internType(part.getKey()),
             part.getValue().toLowerCase());
         authorizable.add(keyValue);
       }
@@ -161,26 +148,15 @@ public class CommonPrivilege implements Privilege {
   // for Solr, the action will be update, query, etc.
   private boolean impliesAction(String policyValue, String requestValue,
                                 BitFieldActionFactory bitFieldActionFactory) {
-    BitFieldAction currentAction;
-    BitFieldAction requestAction;
-
-    try {
-      currentAction = bitFieldActionFactory.getActionByName(policyValue);
-      requestAction = bitFieldActionFactory.getActionByName(requestValue);
-    } catch (SentryUserException e) {
-      return false;
-    }
-
-    // the action in privilege is not supported
-    if (currentAction == null || requestAction == null) {
-      return false;
-    }
-    return currentAction.implies(requestAction);
+    // an action not supported by the model implies nothing and is implied by nothing
+    return BitFieldActionFactory.impliesActionCode(
+        bitFieldActionFactory.getActionCode(policyValue),
+        bitFieldActionFactory.getActionCode(requestValue));
   }
 
   @Override
   public String toString() {
-    return SentryConstants.AUTHORIZABLE_JOINER.join(parts);
+    return PrivilegeStrings.join(parts);
   }
 
   public List<KeyValue> getParts() {
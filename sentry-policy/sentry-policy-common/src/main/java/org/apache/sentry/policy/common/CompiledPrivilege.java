@@ -0,0 +1,323 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.policy.common;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import org.apache.sentry.core.common.Action;
+import org.apache.sentry.core.common.Authorizable;
+import org.apache.sentry.core.common.BitFieldActionFactory;
+import org.apache.sentry.core.common.ImplyMethodType;
+import org.apache.sentry.core.common.Model;
+import org.apache.sentry.core.common.utils.KeyValue;
+import org.apache.sentry.core.common.utils.PathUtils;
+import org.apache.sentry.core.common.utils.PrivilegeStrings;
+import org.apache.sentry.core.common.utils.SentryConstants;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Immutable, pre-parsed form of a privilege, bound to a {@link Model}.
+ * <p>
+ * All the work {@link CommonPrivilege#implies(Privilege, Model)} does on every call
+ * is done once when the privilege is compiled: authorizable types are lower-cased
+ * and interned so they can be compared by reference, resource values are
+ * lower-cased, imply methods and action codes are resolved from the
+ * model, and URIs are parsed and qualified. The implication semantics are the same
+ * as the ones of {@link CommonPrivilege}.
+ */
+public final class CompiledPrivilege implements Privilege {
+
+  // Types are interned, so they compare with ==
+  private static final String ACTION_TYPE =
+      PrivilegeStrings.internType(SentryConstants.PRIVILEGE_NAME);
+
+  // Per part flags
+  private static final int POLICY_WILDCARD = 1;
+  private static final int REQUEST_WILDCARD = 2;
+  private static final int PRIVILEGE_WILDCARD = 4;
+
+  private final Model model;
+  private final ImmutableList<KeyValue> parts;
+  private final int hashCode;
+
+  private final String[] types;
+  private final String[] values;
+  private final String[] lowerValues;
+  private final int[] flags;
+  private final ImplyMethodType[] implyMethods;
+  private final int[] actionCodes;
+  // URIs qualified as granted privileges (system properties substituted)
+  private final URI[] privilegeURIs;
+  // URIs qualified as requested privileges
+  private final URI[] requestURIs;
+
+  private CompiledPrivilege(List<KeyValue> parts, Model model, boolean request) {
+    Preconditions.checkNotNull(model, "Model cannot be null");
+    this.model = model;
+    this.parts = ImmutableList.copyOf(parts);
+    this.hashCode = this.parts.hashCode();
+
+    int size = this.parts.size();
+    types = new String[size];
+    values = new String[size];
+    lowerValues = new String[size];
+    flags = new int[size];
+    implyMethods = new ImplyMethodType[size];
+    actionCodes = new int[size];
+    privilegeURIs = new URI[size];
+    requestURIs = new URI[size];
+
+    for (int i = 0; i < size; i++) {
+      KeyValue part = this.parts.get(i);
+      String value = part.getValue();
+      types[i] = PrivilegeStrings.internType(part.getKey());
+      values[i] = value;
+      lowerValues[i] = value.toLowerCase(Locale.ROOT);
+      flags[i] = wildcardFlags(value);
+
+      if (types[i] == ACTION_TYPE) {
+        actionCodes[i] = model.getBitFieldActionFactory().getActionCode(value);
+        continue;
+      }
+      implyMethods[i] = model.getImplyMethodMap().get(types[i]);
+      if (ImplyMethodType.URL == implyMethods[i] && (flags[i] & REQUEST_WILDCARD) == 0) {
+        if (request) {
+          requestURIs[i] = PathUtils.parseRequestURI(value);
+        } else {
+          privilegeURIs[i] = PathUtils.parsePrivilegeURI(value);
+        }
+      }
+    }
+  }
+
+  /**
+   * Compile a granted privilege string, e.g.
+   * "server=server1->db=db1->table=t1->action=select".
+   */
+  public static CompiledPrivilege compile(String privilegeStr, Model model) {
+    return new CompiledPrivilege(new CommonPrivilege(privilegeStr).getParts(), model, false);
+  }
+
+  /**
+   * Compile the privilege requested by an access check, without building and
+   * re-parsing the corresponding privilege string.
+   */
+  public static CompiledPrivilege compileRequest(List<? extends Authorizable> authorizables,
+      Action action, Model model) {
+    return compileRequest(authorizables, action.getValue(), model);
+  }
+
+  /**
+   * Compile a requested privilege whose action is only known by its name, e.g. a
+   * privilege received by the Sentry service.
+   */
+  public static CompiledPrivilege compileRequest(List<? extends Authorizable> authorizables,
+      String action, Model model) {
+    List<KeyValue> parts = new ArrayList<KeyValue>(authorizables.size() + 1);
+    for (Authorizable authorizable : authorizables) {
+      parts.add(new KeyValue(authorizable.getTypeName(), authorizable.getName()));
+    }
+    parts.add(new KeyValue(SentryConstants.PRIVILEGE_NAME, action));
+    return new CompiledPrivilege(parts, model, true);
+  }
+
+  @Override
+  public boolean implies(Privilege privilege, Model model) {
+    if (privilege instanceof CompiledPrivilege) {
+      return implies((CompiledPrivilege) privilege);
+    }
+    if (privilege instanceof CommonPrivilege) {
+      return implies(new CompiledPrivilege(((CommonPrivilege) privilege).getParts(), model, true));
+    }
+    return false;
+  }
+
+  /**
+   * Same as {@link CommonPrivilege#implies(Privilege, Model)}, using the
+   * pre-computed state of both privileges.
+   */
+  public boolean implies(CompiledPrivilege other) {
+    if (hashCode == other.hashCode && parts.equals(other.parts)) {
+      return true;
+    }
+
+    int index = 0;
+    for (int otherIndex = 0; otherIndex < other.types.length; otherIndex++) {
+      // If this privilege has less parts than the other privilege, everything
+      // after the number of parts contained in this privilege is automatically implied
+      if (index >= types.length) {
+        return true;
+      }
+      String type = types[index];
+      if (type != other.types[otherIndex]) {
+        // Support for action inheritance from parent to child
+        if (type == ACTION_TYPE) {
+          continue;
+        }
+        return false;
+      }
+
+      if (type == ACTION_TYPE) {
+        if (!BitFieldActionFactory.impliesActionCode(actionCodes[index],
+            other.actionCodes[otherIndex])) {
+          return false;
+        }
+      } else if (!impliesResource(index, other, otherIndex)) {
+        return false;
+      }
+      index++;
+    }
+
+    // If this privilege has more parts than the other parts, only imply it if
+    // all of the other parts are wildcards
+    for (; index < types.length; index++) {
+      if ((flags[index] & PRIVILEGE_WILDCARD) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private boolean impliesResource(int index, CompiledPrivilege other, int otherIndex) {
+    if ((flags[index] & POLICY_WILDCARD) != 0 || (other.flags[otherIndex] & REQUEST_WILDCARD) != 0) {
+      return true;
+    }
+
+    ImplyMethodType implyMethod = implyMethods[index];
+    if (ImplyMethodType.URL == implyMethod) {
+      URI privilegeURI = privilegeURIs[index];
+      URI requestURI = other.requestURIs[otherIndex];
+      if (privilegeURI != null && requestURI != null) {
+        return PathUtils.impliesQualifiedURI(privilegeURI, requestURI);
+      }
+      // Either side could not be pre-parsed, use the original comparison
+      return PathUtils.impliesURI(values[index], other.values[otherIndex]);
+    } else if (ImplyMethodType.STRING_CASE_SENSITIVE == implyMethod) {
+      return values[index].equals(other.values[otherIndex]);
+    }
+    return lowerValues[index].equals(other.lowerValues[otherIndex]);
+  }
+
+  private static int wildcardFlags(String value) {
+    int result = 0;
+    boolean star = SentryConstants.RESOURCE_WILDCARD_VALUE.equals(value);
+    if (star || SentryConstants.RESOURCE_WILDCARD_VALUE_ALL.equalsIgnoreCase(value)) {
+      result |= POLICY_WILDCARD | REQUEST_WILDCARD;
+    } else if (SentryConstants.RESOURCE_WILDCARD_VALUE_SOME.equals(value)) {
+      result |= REQUEST_WILDCARD;
+    }
+    if (SentryConstants.PRIVILEGE_WILDCARD_VALUE.equals(value)) {
+      result |= PRIVILEGE_WILDCARD;
+    }
+    return result;
+  }
+
+  // Accessors used by PrivilegeTrie
+
+  int size() {
+    return types.length;
+  }
+
+  /**
+   * Number of leading authorizable parts, i.e. the parts before the first action.
+   */
+  int getAuthorizableDepth() {
+    int depth = 0;
+    while (depth < types.length && types[depth] != ACTION_TYPE) {
+      depth++;
+    }
+    return depth;
+  }
+
+  String getType(int index) {
+    return types[index];
+  }
+
+  /**
+   * The value under which the part is indexed, consistent with the way
+   * {@link #implies(CompiledPrivilege)} compares it: wildcards share a single key,
+   * case insensitive values are lower-cased. Returns null for values which can't
+   * be compared by equality, i.e. URIs.
+   */
+  String getIndexValue(int index) {
+    if ((flags[index] & POLICY_WILDCARD) != 0) {
+      return SentryConstants.RESOURCE_WILDCARD_VALUE;
+    }
+    ImplyMethodType implyMethod = implyMethods[index];
+    if (ImplyMethodType.URL == implyMethod) {
+      return null;
+    } else if (ImplyMethodType.STRING_CASE_SENSITIVE == implyMethod) {
+      return values[index];
+    }
+    return lowerValues[index];
+  }
+
+  boolean isRequestWildcard(int index) {
+    return (flags[index] & REQUEST_WILDCARD) != 0;
+  }
+
+  /**
+   * @return the code of the action at index, {@link BitFieldActionFactory#UNKNOWN_ACTION_CODE}
+   *         if the part is not a supported action
+   */
+  int getActionCode(int index) {
+    return actionCodes[index];
+  }
+
+  @Override
+  public List<KeyValue> getAuthorizable() {
+    List<KeyValue> authorizable = new ArrayList<>();
+    for (int i = 0; i < types.length; i++) {
+      // Authorizeable is the same as privileges but should exclude action
+      if (types[i] != ACTION_TYPE) {
+        authorizable.add(new KeyValue(types[i], lowerValues[i]));
+      }
+    }
+    return authorizable;
+  }
+
+  public List<KeyValue> getParts() {
+    return parts;
+  }
+
+  public Model getModel() {
+    return model;
+  }
+
+  @Override
+  public String toString() {
+    return PrivilegeStrings.join(parts);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (o instanceof CompiledPrivilege) {
+      CompiledPrivilege cp = (CompiledPrivilege) o;
+      return hashCode == cp.hashCode && parts.equals(cp.parts);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    return hashCode;
+  }
+}
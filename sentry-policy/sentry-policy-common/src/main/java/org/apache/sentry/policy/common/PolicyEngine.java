@@ -23,6 +23,7 @@ import java.util.Set;
 import org.apache.http.annotation.ThreadSafe;
 import org.apache.sentry.core.common.ActiveRoleSet;
 import org.apache.sentry.core.common.Authorizable;
+import org.apache.sentry.core.common.Model;
 import org.apache.sentry.core.common.exception.SentryConfigurationException;
 
 import com.google.common.collect.ImmutableSet;
@@ -33,6 +34,12 @@ import com.google.common.collect.ImmutableSet;
 @ThreadSafe
 public interface PolicyEngine {
 
+  /**
+   * Returned by {@link #getPolicyVersion()} when the engine can't tell whether
+   * its privileges changed.
+   */
+  long UNKNOWN_POLICY_VERSION = -1L;
+
   /**
    * The privilege factory to use in order to compare privileges in {@link getPermission}.
    * This is typically a factory that returns a privilege used to evaluate wildcards.
@@ -94,6 +101,42 @@ public interface PolicyEngine {
   ImmutableSet<String> getPrivileges(Set<String> groups, Set<String> users, ActiveRoleSet roleSet,
       Authorizable... authorizableHierarchy) throws SentryConfigurationException;
 
+  /**
+   * Get privileges associated with groups and users, compiled against the given model.
+   * Unlike {@link #getPrivileges(Set, Set, ActiveRoleSet, Authorizable...)} the returned
+   * privileges can be evaluated directly, without re-parsing privilege strings.
+   *
+   * @param group name
+   * @param user name
+   * @param active role-set
+   * @param model used to resolve actions and imply methods
+   * @param authorizable Hierarchy (Can be null)
+   * @return non-null immutable set of compiled privileges
+   */
+  ImmutableSet<CompiledPrivilege> getCompiledPrivileges(Set<String> groups, Set<String> users,
+      ActiveRoleSet roleSet, Model model, Authorizable... authorizableHierarchy)
+      throws SentryConfigurationException;
+
+  /**
+   * Same as {@link #getCompiledPrivileges(Set, Set, ActiveRoleSet, Model, Authorizable...)},
+   * but the privileges are returned indexed by their authorizable hierarchy, so that
+   * checking a request doesn't require evaluating every privilege.
+   *
+   * @return non-null privilege trie
+   */
+  PrivilegeTrie getPrivilegeTrie(Set<String> groups, Set<String> users, ActiveRoleSet roleSet,
+      Model model, Authorizable... authorizableHierarchy) throws SentryConfigurationException;
+
+  /**
+   * Version of the privileges returned by this engine. It changes whenever the
+   * privileges may have changed, so that callers caching decisions derived from
+   * them know when to discard them.
+   *
+   * @return the current version, or {@link #UNKNOWN_POLICY_VERSION} if the
+   *         privileges may change at any time
+   */
+  long getPolicyVersion();
+
   void close();
 
   void validatePolicy(boolean strictValidation) throws SentryConfigurationException;
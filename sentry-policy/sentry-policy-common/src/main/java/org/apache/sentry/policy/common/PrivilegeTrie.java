@@ -0,0 +1,246 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.policy.common;
+
+import com.google.common.collect.ImmutableSet;
+import org.apache.sentry.core.common.BitFieldActionFactory;
+import org.apache.sentry.core.common.Model;
+import org.apache.sentry.core.common.utils.SentryConstants;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable index of a set of {@link CompiledPrivilege}s, keyed by their authorizable
+ * hierarchy, e.g. server->db->table->column for Hive or cluster->topic for Kafka.
+ * <p>
+ * {@link #implies(CompiledPrivilege)} gives the same answer as evaluating every
+ * privilege of the set against the request, but only visits the nodes matching the
+ * requested hierarchy (plus wildcard branches), so its cost depends on the depth of
+ * the hierarchy rather than on the number of privileges.
+ * <p>
+ * Every node keeps the action codes of the privileges ending at that node, so the
+ * common case "authorizables followed by one action" is decided with bit operations.
+ * Privileges which can't be decided that way (URIs, which are not compared by
+ * equality, or unusual shapes) are evaluated with
+ * {@link CompiledPrivilege#implies(CompiledPrivilege)}.
+ */
+public final class PrivilegeTrie {
+
+  private final Model model;
+  private final ImmutableSet<CompiledPrivilege> privileges;
+  private final Node root = new Node();
+
+  private PrivilegeTrie(ImmutableSet<CompiledPrivilege> privileges, Model model) {
+    this.model = model;
+    this.privileges = privileges;
+    for (CompiledPrivilege privilege : privileges) {
+      add(privilege);
+    }
+  }
+
+  /**
+   * Index the given privileges, which must have been compiled against the given model.
+   */
+  public static PrivilegeTrie build(Collection<CompiledPrivilege> privileges, Model model) {
+    return new PrivilegeTrie(ImmutableSet.copyOf(privileges), model);
+  }
+
+  public Model getModel() {
+    return model;
+  }
+
+  /**
+   * @return the privileges the trie was built from
+   */
+  public ImmutableSet<CompiledPrivilege> getPrivileges() {
+    return privileges;
+  }
+
+  /**
+   * @return true if any of the privileges implies the requested privilege
+   */
+  public boolean implies(CompiledPrivilege request) {
+    if (privileges.isEmpty()) {
+      return false;
+    }
+    int depth = request.getAuthorizableDepth();
+    int actionCode = depth == request.size() - 1
+        ? request.getActionCode(depth) : BitFieldActionFactory.UNKNOWN_ACTION_CODE;
+    if (actionCode == BitFieldActionFactory.UNKNOWN_ACTION_CODE) {
+      // Not an "authorizables followed by one action" request, evaluate every privilege
+      for (CompiledPrivilege privilege : privileges) {
+        if (privilege.implies(request)) {
+          return true;
+        }
+      }
+      return false;
+    }
+    return implies(root, request, 0, depth, actionCode, false);
+  }
+
+  private boolean implies(Node node, CompiledPrivilege request, int index, int depth,
+      int actionCode, boolean verify) {
+    if (node.implies(request, actionCode, verify)) {
+      return true;
+    }
+    if (index == depth) {
+      return false;
+    }
+
+    String type = request.getType(index);
+    Map<String, Node> children = node.children.get(type);
+    Node unindexed = node.unindexedChildren.get(type);
+    if (unindexed != null
+        && implies(unindexed, request, index + 1, depth, actionCode, true)) {
+      return true;
+    }
+    if (children == null) {
+      return false;
+    }
+
+    if (request.isRequestWildcard(index)) {
+      // Any value of this authorizable type is implied
+      for (Node child : children.values()) {
+        if (implies(child, request, index + 1, depth, actionCode, verify)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    Node wildcard = children.get(SentryConstants.RESOURCE_WILDCARD_VALUE);
+    if (wildcard != null && implies(wildcard, request, index + 1, depth, actionCode, verify)) {
+      return true;
+    }
+    String value = request.getIndexValue(index);
+    Node child = value == null ? null : children.get(value);
+    return child != null && child != wildcard
+        && implies(child, request, index + 1, depth, actionCode, verify);
+  }
+
+  private void add(CompiledPrivilege privilege) {
+    int depth = privilege.getAuthorizableDepth();
+    Node node = root;
+    for (int index = 0; index < depth; index++) {
+      node = node.getOrCreateChild(privilege.getType(index), privilege.getIndexValue(index));
+    }
+    node.add(privilege, depth);
+  }
+
+  private static final class Node {
+    private static final int[] NO_CODES = new int[0];
+
+    // authorizable type -> index value -> child
+    private final Map<String, Map<String, Node>> children = new HashMap<String, Map<String, Node>>(2);
+    // authorizable type -> child for the values which can't be indexed
+    private final Map<String, Node> unindexedChildren = new HashMap<String, Node>(1);
+
+    // All the privileges ending at this node
+    private final List<CompiledPrivilege> privileges = new ArrayList<CompiledPrivilege>(1);
+    // Privileges ending at this node which need a full evaluation
+    private final List<CompiledPrivilege> others = new ArrayList<CompiledPrivilege>(0);
+    // A privilege without action ends at this node, it implies any action
+    private boolean allActions;
+    // Distinct action codes of the privileges ending at this node, and their union
+    private int[] actionCodes = NO_CODES;
+    private int actionMask;
+
+    private Node getOrCreateChild(String type, String value) {
+      Node child;
+      if (value == null) {
+        child = unindexedChildren.get(type);
+        if (child == null) {
+          child = new Node();
+          unindexedChildren.put(type, child);
+        }
+        return child;
+      }
+
+      Map<String, Node> values = children.get(type);
+      if (values == null) {
+        values = new HashMap<String, Node>(2);
+        children.put(type, values);
+      }
+      child = values.get(value);
+      if (child == null) {
+        child = new Node();
+        values.put(value, child);
+      }
+      return child;
+    }
+
+    private void add(CompiledPrivilege privilege, int depth) {
+      privileges.add(privilege);
+      if (depth == privilege.size()) {
+        allActions = true;
+        return;
+      }
+      int code = depth == privilege.size() - 1
+          ? privilege.getActionCode(depth) : BitFieldActionFactory.UNKNOWN_ACTION_CODE;
+      if (code == BitFieldActionFactory.UNKNOWN_ACTION_CODE) {
+        others.add(privilege);
+        return;
+      }
+      for (int actionCode : actionCodes) {
+        if (actionCode == code) {
+          return;
+        }
+      }
+      int[] codes = new int[actionCodes.length + 1];
+      System.arraycopy(actionCodes, 0, codes, 0, actionCodes.length);
+      codes[actionCodes.length] = code;
+      actionCodes = codes;
+      actionMask |= code;
+    }
+
+    private boolean implies(CompiledPrivilege request, int actionCode, boolean verify) {
+      if (privileges.isEmpty()) {
+        return false;
+      }
+      if (verify) {
+        // Reached through a branch whose values were not compared
+        for (CompiledPrivilege privilege : privileges) {
+          if (privilege.implies(request)) {
+            return true;
+          }
+        }
+        return false;
+      }
+
+      if (allActions) {
+        return true;
+      }
+      if ((actionMask & actionCode) == actionCode) {
+        for (int code : actionCodes) {
+          if ((code & actionCode) == actionCode) {
+            return true;
+          }
+        }
+      }
+      for (CompiledPrivilege privilege : others) {
+        if (privilege.implies(request)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.policy.common;
+
+import com.google.common.collect.Lists;
+import org.apache.sentry.core.common.Model;
+import org.apache.sentry.core.model.db.AccessURI;
+import org.apache.sentry.core.model.db.Column;
+import org.apache.sentry.core.model.db.DBModelAction;
+import org.apache.sentry.core.model.db.Database;
+import org.apache.sentry.core.model.db.Server;
+import org.apache.sentry.core.model.db.Table;
+import org.junit.Before;
+import org.junit.Test;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+public class TestCompiledPrivilege {
+
+  private Model testModel;
+
+  @Before
+  public void prepareData() {
+    testModel = new ModelForTest();
+  }
+
+  @Test
+  public void testSameResultAsCommonPrivilege() throws Exception {
+    String[] policies = {
+        "server=server1",
+        "server=*",
+        "server=server1->db=db1",
+        "server=server1->db=DB1->table=table1->action=select",
+        "server=server1->db=db1->table=table1->action=insert",
+        "server=server1->db=db1->table=*->action=all",
+        "server=server1->db=db1->table=table1->column=col1->action=select",
+        "server=server1->db=db1->table=table1->column=CoL1->action=select",
+        "server=server1->db=db1->table=table1->column=*",
+        "server=server1->action=select",
+        "server=server1->uri=hdfs:///url",
+        "server=server1->uri=hdfs:///url/unvalid",
+        "server=server1->db=db1->action=unknown"};
+    String[] requests = {
+        "server=server1->db=db1->table=table1->action=select",
+        "server=server1->db=db1->table=table1->action=insert",
+        "server=SERVER1->db=db1->table=TABLE1->column=col1->action=select",
+        "SERVER=server1->DB=db1->TABLE=table1->COLUMN=col1->ACTION=select",
+        "server=server1->db=db1->table=+->action=select",
+        "server=server1->db=db2->table=table1->action=select",
+        "server=server1->db=db1->table=table1",
+        "server=server1->uri=hdfs:///url/for/request->action=select",
+        "server=server1->db=db1->action=unknown"};
+
+    for (String policy : policies) {
+      CommonPrivilege commonPolicy = new CommonPrivilege(policy);
+      CompiledPrivilege compiledPolicy = CompiledPrivilege.compile(policy, testModel);
+      for (String request : requests) {
+        CommonPrivilege commonRequest = new CommonPrivilege(request);
+        assertEquals(policy + " implies " + request,
+            commonPolicy.implies(commonRequest, testModel),
+            compiledPolicy.implies(CompiledPrivilege.compile(request, testModel), testModel));
+        assertEquals(policy + " implies " + request,
+            commonPolicy.implies(commonRequest, testModel),
+            compiledPolicy.implies(commonRequest, testModel));
+      }
+    }
+  }
+
+  @Test
+  public void testCompileRequest() throws Exception {
+    CompiledPrivilege columnRequest = CompiledPrivilege.compileRequest(
+        Lists.newArrayList(new Server("server1"), new Database("db1"), new Table("table1"),
+            new Column("col1")), DBModelAction.SELECT, testModel);
+    assertEquals("Server=server1->Db=db1->Table=table1->Column=col1->action=select",
+        columnRequest.toString());
+
+    assertTrue(CompiledPrivilege.compile("server=server1->db=db1->table=table1->action=select",
+        testModel).implies(columnRequest));
+    assertTrue(CompiledPrivilege.compile("server=server1->db=db1->table=*->column=col1->action=all",
+        testModel).implies(columnRequest));
+    assertFalse(CompiledPrivilege.compile("server=server1->db=db1->table=table1->action=insert",
+        testModel).implies(columnRequest));
+    assertFalse(CompiledPrivilege.compile("server=server1->db=db1->table=table1->column=COL1",
+        testModel).implies(columnRequest));
+
+    CompiledPrivilege uriRequest = CompiledPrivilege.compileRequest(
+        Lists.newArrayList(new Server("server1"), new AccessURI("hdfs://namenode:8020/url/for/request")),
+        DBModelAction.SELECT, testModel);
+    assertTrue(CompiledPrivilege.compile("server=server1->uri=hdfs://namenode:8020/url",
+        testModel).implies(uriRequest));
+    assertFalse(CompiledPrivilege.compile("server=server1->uri=hdfs://namenode:8020/url/unvalid",
+        testModel).implies(uriRequest));
+  }
+
+  @Test
+  public void testGetAuthorizable() throws Exception {
+    CompiledPrivilege privilege = CompiledPrivilege.compile(
+        "Server=Server1->Db=DB1->Table=t1->action=select", testModel);
+    assertEquals(new CommonPrivilege(privilege.toString()).getAuthorizable(),
+        privilege.getAuthorizable());
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.policy.common;
+
+import com.google.common.collect.Lists;
+import org.apache.sentry.core.common.Model;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+public class TestPrivilegeTrie {
+
+  private static final String[] SERVERS = {"server1", "SERVER1", "*", "server2"};
+  private static final String[] DBS = {"db1", "DB1", "*", "ALL", "db2"};
+  private static final String[] TABLES = {"t1", "T1", "*", "t2", "+"};
+  private static final String[] COLUMNS = {"c1", "C1", "*", "c2"};
+  private static final String[] ACTIONS = {"select", "insert", "all", "*", "unknown"};
+  private static final String[] URIS = {"hdfs:///path", "hdfs:///path/sub", "hdfs:///other"};
+
+  private Model testModel;
+
+  @Before
+  public void prepareData() {
+    testModel = new ModelForTest();
+  }
+
+  @Test
+  public void testImplies() throws Exception {
+    PrivilegeTrie trie = build(
+        "server=server1->db=db1->table=t1->action=select",
+        "server=server1->db=db2",
+        "server=server1->db=db3->table=*->action=insert",
+        "server=server1->uri=hdfs:///path");
+
+    assertTrue(trie.implies(compile("server=server1->db=db1->table=t1->action=select")));
+    assertTrue(trie.implies(compile("server=server1->db=DB1->table=T1->column=c1->action=select")));
+    assertFalse(trie.implies(compile("server=server1->db=db1->table=t1->action=insert")));
+    assertFalse(trie.implies(compile("server=server1->db=db1->table=t2->action=select")));
+    assertTrue(trie.implies(compile("server=server1->db=db2->table=t9->action=all")));
+    assertTrue(trie.implies(compile("server=server1->db=db3->table=t9->action=insert")));
+    assertTrue(trie.implies(compile("server=server1->db=*->table=t1->action=select")));
+    assertTrue(trie.implies(compile("server=server1->uri=hdfs:///path/sub->action=select")));
+    assertFalse(trie.implies(compile("server=server1->uri=hdfs:///other->action=select")));
+    assertFalse(build().implies(compile("server=server1->action=select")));
+  }
+
+  @Test
+  public void testSameResultAsLinearScan() throws Exception {
+    Random random = new Random(42);
+    List<CompiledPrivilege> privileges = Lists.newArrayList();
+    for (int i = 0; i < 50; i++) {
+      privileges.add(randomPrivilege(random));
+    }
+    PrivilegeTrie trie = PrivilegeTrie.build(privileges, testModel);
+
+    for (int i = 0; i < 2000; i++) {
+      CompiledPrivilege request = randomPrivilege(random);
+      boolean expected = false;
+      for (CompiledPrivilege privilege : privileges) {
+        expected |= privilege.implies(request);
+      }
+      assertEquals(request.toString(), expected, trie.implies(request));
+    }
+  }
+
+  private CompiledPrivilege randomPrivilege(Random random) {
+    StringBuilder privilege = new StringBuilder("server=").append(pick(random, SERVERS));
+    if (random.nextInt(5) == 0) {
+      privilege.append("->uri=").append(pick(random, URIS));
+    } else {
+      String[][] levels = {{"db"}, DBS, {"table"}, TABLES, {"column"}, COLUMNS};
+      int depth = random.nextInt(4);
+      for (int level = 0; level < depth; level++) {
+        privilege.append("->").append(levels[2 * level][0]).append('=')
+            .append(pick(random, levels[2 * level + 1]));
+      }
+    }
+    if (random.nextInt(6) != 0) {
+      privilege.append("->action=").append(pick(random, ACTIONS));
+    }
+    return compile(privilege.toString());
+  }
+
+  private static String pick(Random random, String[] values) {
+    return values[random.nextInt(values.length)];
+  }
+
+  private PrivilegeTrie build(String... privileges) {
+    List<CompiledPrivilege> compiled = Lists.newArrayList();
+    for (String privilege : privileges) {
+      compiled.add(compile(privilege));
+    }
+    return PrivilegeTrie.build(compiled, testModel);
+  }
+
+  private CompiledPrivilege compile(String privilege) {
+    return CompiledPrivilege.compile(privilege, testModel);
+  }
+}
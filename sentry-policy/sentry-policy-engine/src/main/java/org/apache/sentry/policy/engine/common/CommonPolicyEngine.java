@@ -16,16 +16,25 @@
  */
 package org.apache.sentry.policy.engine.common;
 
+import com.google.common.base.Objects;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import org.apache.sentry.core.common.ActiveRoleSet;
 import org.apache.sentry.core.common.Authorizable;
+import org.apache.sentry.core.common.Model;
 import org.apache.sentry.core.common.exception.SentryConfigurationException;
+import org.apache.sentry.policy.common.CompiledPrivilege;
 import org.apache.sentry.policy.common.PolicyEngine;
 import org.apache.sentry.policy.common.PrivilegeFactory;
+import org.apache.sentry.policy.common.PrivilegeTrie;
 import org.apache.sentry.provider.common.ProviderBackend;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 
 public class CommonPolicyEngine implements PolicyEngine {
@@ -33,8 +42,28 @@ public class CommonPolicyEngine implements PolicyEngine {
   private static final Logger LOGGER = LoggerFactory
           .getLogger(CommonPolicyEngine.class);
 
+  // Upper bound of distinct privilege strings kept in compiled form
+  private static final long MAX_COMPILED_PRIVILEGES = 100000L;
+  // Upper bound of distinct privilege sets kept as a trie
+  private static final long MAX_PRIVILEGE_TRIES = 1000L;
+
   private final ProviderBackend providerBackend;
 
+  // The backends hand out the same privilege strings over and over again, so the
+  // compiled form of each string is kept around instead of being re-parsed per check.
+  private final Cache<String, CompiledPrivilege> compiledPrivileges =
+      CacheBuilder.newBuilder().maximumSize(MAX_COMPILED_PRIVILEGES).build();
+
+  // Same for the tries: a given set of privileges, typically the privileges of one
+  // role set, is only indexed once.
+  private final Cache<ImmutableSet<String>, PrivilegeTrie> privilegeTries =
+      CacheBuilder.newBuilder().maximumSize(MAX_PRIVILEGE_TRIES).build();
+
+  // When the backend has a policy version, the trie of a request is found without
+  // fetching the privileges again, nor hashing and comparing them.
+  private final Cache<TrieKey, PrivilegeTrie> requestTries =
+      CacheBuilder.newBuilder().maximumSize(MAX_PRIVILEGE_TRIES).build();
+
   public CommonPolicyEngine(ProviderBackend providerBackend) {
     this.providerBackend = providerBackend;
   }
@@ -92,6 +121,72 @@ public class CommonPolicyEngine implements PolicyEngine {
     return result;
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public ImmutableSet<CompiledPrivilege> getCompiledPrivileges(Set<String> groups,
+          Set<String> users, ActiveRoleSet roleSet, Model model,
+          Authorizable... authorizableHierarchy) throws SentryConfigurationException {
+    ImmutableSet<String> privileges = getPrivileges(groups, users, roleSet, authorizableHierarchy);
+    ImmutableSet.Builder<CompiledPrivilege> result = ImmutableSet.builder();
+    for (String privilege : privileges) {
+      result.add(compile(privilege, model));
+    }
+    return result.build();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public PrivilegeTrie getPrivilegeTrie(Set<String> groups, Set<String> users,
+          ActiveRoleSet roleSet, Model model, Authorizable... authorizableHierarchy)
+          throws SentryConfigurationException {
+    // Read the version before the privileges, so that a trie is never tagged with a
+    // version newer than the privileges it was built from
+    long policyVersion = getPolicyVersion();
+    if (policyVersion == UNKNOWN_POLICY_VERSION) {
+      return getPrivilegeTrie(getPrivileges(groups, users, roleSet, authorizableHierarchy),
+          model);
+    }
+    TrieKey key = new TrieKey(policyVersion, groups, users, roleSet, authorizableHierarchy);
+    PrivilegeTrie trie = requestTries.getIfPresent(key);
+    if (trie == null || trie.getModel() != model) {
+      trie = getPrivilegeTrie(getPrivileges(groups, users, roleSet, authorizableHierarchy),
+          model);
+      requestTries.put(key, trie);
+    }
+    return trie;
+  }
+
+  private PrivilegeTrie getPrivilegeTrie(ImmutableSet<String> privileges, Model model) {
+    PrivilegeTrie trie = privilegeTries.getIfPresent(privileges);
+    if (trie == null || trie.getModel() != model) {
+      List<CompiledPrivilege> compiled = new ArrayList<>(privileges.size());
+      for (String privilege : privileges) {
+        compiled.add(compile(privilege, model));
+      }
+      trie = PrivilegeTrie.build(compiled, model);
+      privilegeTries.put(privileges, trie);
+    }
+    return trie;
+  }
+
+  private CompiledPrivilege compile(String privilege, Model model) {
+    CompiledPrivilege compiled = compiledPrivileges.getIfPresent(privilege);
+    if (compiled == null || compiled.getModel() != model) {
+      compiled = CompiledPrivilege.compile(privilege, model);
+      compiledPrivileges.put(privilege, compiled);
+    }
+    return compiled;
+  }
+
+  @Override
+  public long getPolicyVersion() {
+    return providerBackend.getPolicyVersion();
+  }
+
   @Override
   public void validatePolicy(boolean strictValidation) throws SentryConfigurationException {
     this.providerBackend.validatePolicy(strictValidation);
@@ -103,4 +198,58 @@ public class CommonPolicyEngine implements PolicyEngine {
       providerBackend.close();
     }
   }
+
+  /**
+   * The policy version and the request the privileges of a trie were fetched for.
+   */
+  private static final class TrieKey {
+    private final long policyVersion;
+    private final ImmutableSet<String> groups;
+    private final ImmutableSet<String> users;
+    private final boolean allRoles;
+    private final Set<String> roles;
+    private final ImmutableList<String> authorizables;
+    private final int hashCode;
+
+    TrieKey(long policyVersion, Set<String> groups, Set<String> users,
+        ActiveRoleSet roleSet, Authorizable... authorizableHierarchy) {
+      ImmutableList.Builder<String> authorizables = ImmutableList.builder();
+      if (authorizableHierarchy != null) {
+        for (Authorizable authorizable : authorizableHierarchy) {
+          authorizables.add(authorizable.getTypeName()).add(authorizable.getName());
+        }
+      }
+      this.policyVersion = policyVersion;
+      this.groups = groups == null ? ImmutableSet.<String>of() : ImmutableSet.copyOf(groups);
+      this.users = users == null ? ImmutableSet.<String>of() : ImmutableSet.copyOf(users);
+      this.allRoles = roleSet.isAll();
+      this.roles = roleSet.getRoles();
+      this.authorizables = authorizables.build();
+      this.hashCode = Objects.hashCode(policyVersion, this.groups, this.users, allRoles,
+          roles, this.authorizables);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof TrieKey)) {
+        return false;
+      }
+      TrieKey other = (TrieKey) o;
+      return hashCode == other.hashCode
+          && policyVersion == other.policyVersion
+          && allRoles == other.allRoles
+          && groups.equals(other.groups)
+          && users.equals(other.users)
+          && Objects.equal(roles, other.roles)
+          && authorizables.equals(other.authorizables);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
 }
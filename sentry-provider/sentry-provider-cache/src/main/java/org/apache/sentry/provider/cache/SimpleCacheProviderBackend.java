@@ -97,6 +97,14 @@ public class SimpleCacheProviderBackend implements ProviderBackend {
         "validatePolicy() is not supported by Cache provider");
   }
 
+  /**
+   * The privilege cache is a snapshot taken by the binding, it never changes.
+   */
+  @Override
+  public long getPolicyVersion() {
+    return 0L;
+  }
+
   @Override
   public void close() {
     cacheHandle.close();
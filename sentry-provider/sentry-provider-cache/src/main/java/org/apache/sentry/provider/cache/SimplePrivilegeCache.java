@@ -24,194 +24,152 @@ import org.apache.sentry.core.model.db.DBModelAuthorizable.AuthorizableType;
 import org.apache.sentry.policy.common.CommonPrivilege;
 import org.apache.sentry.policy.common.Privilege;
 
+import com.google.common.collect.ImmutableSet;
+
+import java.util.Collection;
 import java.util.Set;
 import java.util.HashSet;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.List;
-import java.util.LinkedList;
+
+import javax.annotation.concurrent.ThreadSafe;
 
 /*
  * The class is used for saving and getting user's privileges when do the hive command like "show tables".
- * This will enhance the performance for the hive metadata filter. This class is not thread safe.
+ * This will enhance the performance for the hive metadata filter. Instances are immutable once built,
+ * so a cache can be shared by the sessions of a user holding the same privileges.
  */
+@ThreadSafe
 public class SimplePrivilegeCache implements PrivilegeCache {
 
-  private Set<String> cachedPrivileges;
-
-  // <Authorizable, Set<PrivilegeObject>> map, this is a cache for mapping authorizable
-  // to corresponding set of privilege objects.
-  // e.g. (server=server1->database=b1, (server=server1->database=b1->action=insert))
-  private final Map<String, Set<String>> cachedAuthzPrivileges = new HashMap<>();
+  private final ImmutableSet<String> cachedPrivileges;
 
-  // <AuthorizableType, Set<AuthorizableValue>> wild card map
-  private final Map<String, Set<String>> wildCardAuthz = new HashMap<>();
+  // Privileges indexed by their authorizable, one level per authorizable, e.g.
+  // server=server1 -> database=b1 -> (server=server1->database=b1->action=insert).
+  // Nodes are only modified while the cache is built.
+  private final Node root = new Node();
 
   public SimplePrivilegeCache(Set<String> cachedPrivileges) {
-    this.cachedPrivileges = cachedPrivileges;
+    this.cachedPrivileges = cachedPrivileges == null ? ImmutableSet.<String>of()
+        : ImmutableSet.copyOf(cachedPrivileges);
 
-    for (String cachedPrivilege : cachedPrivileges) {
+    for (String cachedPrivilege : this.cachedPrivileges) {
       Privilege privilege = new CommonPrivilege(cachedPrivilege);
-      List<KeyValue> authorizable = privilege.getAuthorizable();
-      String authzString = getAuthzString(authorizable);
-      updateWildCardAuthzMap(authorizable);
-
-      Set<String> authzPrivileges = cachedAuthzPrivileges.get(authzString);
-      if (authzPrivileges == null) {
-        authzPrivileges = new HashSet();
-        cachedAuthzPrivileges.put(authzString, authzPrivileges);
+      Node node = root;
+      for (KeyValue auth : privilege.getAuthorizable()) {
+        // For authorizable e.g. sever=server1->uri=hdfs://namenode:8020/path/,
+        // index the privilege under sever=server1, since
+        // cannot do string matching on URI paths.
+        if (!isURI(auth.getKey())) {
+          node = node.getOrCreateChild(auth.getKey(), auth.getValue());
+        }
       }
-      authzPrivileges.add(cachedPrivilege);
+      node.privileges.add(cachedPrivilege);
     }
   }
 
-  private String getAuthzString(List<KeyValue> authoriable) {
-    List<KeyValue> authz = new LinkedList<>();
-    for (KeyValue auth : authoriable) {
-
-      // For authorizable e.g. sever=server1->uri=hdfs://namenode:8020/path/,
-      // use sever=server1 as the key of cachedAuthzPrivileges, since
-      // cannot do string matchinf on URI paths.
-      if (!AuthorizableType.URI.toString().equalsIgnoreCase(auth.getKey())) {
-        authz.add(auth);
-      }
-    }
-
-    return SentryConstants.AUTHORIZABLE_JOINER.join(authz);
+  private static boolean isURI(String authzType) {
+    return AuthorizableType.URI.toString().equalsIgnoreCase(authzType);
   }
 
-  private void updateWildCardAuthzMap(List<KeyValue> authz) {
-    for (KeyValue auth : authz) {
-      String authKey = auth.getKey().toLowerCase();
-      String authValue = auth.getValue().toLowerCase();
-      Set<String> authzValue = wildCardAuthz.get(authKey);
-
-      if (authzValue != null ) {
-        if (!authzValue.contains(authValue)) {
-          authzValue.add(authValue);
-        }
-      } else {
-        authzValue = new HashSet<>();
-        authzValue.add(authValue);
-        wildCardAuthz.put(authKey, authzValue);
-      }
-    }
+  private static boolean isWildcard(String authzName) {
+    return authzName.equals(SentryConstants.RESOURCE_WILDCARD_VALUE) ||
+        authzName.equals(SentryConstants.RESOURCE_WILDCARD_VALUE_SOME) ||
+        authzName.equalsIgnoreCase(SentryConstants.RESOURCE_WILDCARD_VALUE_ALL);
   }
 
   // return the cached privileges
   @Override
   public Set<String> listPrivileges(Set<String> groups, ActiveRoleSet roleSet) {
-    if (cachedPrivileges == null) {
-      cachedPrivileges = new HashSet<String>();
-    }
     return cachedPrivileges;
   }
 
+  /**
+   * The cache may be shared, closing it is a no-op.
+   */
   @Override
   public void close() {
-    if (cachedPrivileges != null) {
-      cachedPrivileges.clear();
-    }
   }
 
   @Override
   public Set<String> listPrivileges(Set<String> groups, Set<String> users, ActiveRoleSet roleSet) {
-    if (cachedPrivileges == null) {
-      cachedPrivileges = new HashSet<String>();
-    }
     return cachedPrivileges;
   }
 
+  /**
+   * Get the privileges whose authorizable may imply the given authorizable hierarchy.
+   * This logic follows Privilege.implies, e.g. given authorizable hierarchy
+   * server=server1->db=db1, returns the privileges on server=server1, server=*,
+   * server=server1->db=db1 and server=server1->db=*. A wildcard in the hierarchy
+   * matches every value indexed at that level.
+   */
   @Override
   public Set<String> listPrivileges(Set<String> groups, Set<String> users, ActiveRoleSet roleSet,
       Authorizable... authorizationHierarchy) {
     Set<String> privileges = new HashSet<>();
-    Set<StringBuilder> authzKeys = getAuthzKeys(authorizationHierarchy);
-    for (StringBuilder authzKey : authzKeys) {
-      if (cachedAuthzPrivileges.get(authzKey.toString()) != null) {
-        privileges.addAll(cachedAuthzPrivileges.get(authzKey.toString()));
-      }
-    }
-
+    collectPrivileges(root, authorizationHierarchy, 0, privileges);
     return privileges;
   }
 
-  /**
-   * Get authoriables from the <Authorizable, Set<PrivilegeObject>> cache map,
-   * based on the authorizable hierarchy. This logic follows Privilege.implies.
-   * e.g. given authorizable hierarchy:server=server1->db=db1, returns matched
-   * privileges including server=server1;server=*;server=server1->db=db1;server=server1->db=*.
-   * @param authorizationHierarchy
-   * @return
-   */
-  private Set<StringBuilder> getAuthzKeys(Authorizable... authorizationHierarchy) {
-    Set<StringBuilder> targets = new HashSet<>();
-    for (Authorizable auth : authorizationHierarchy) {
-      String authzType = auth.getTypeName().toLowerCase();
-      String authzName = auth.getName().toLowerCase();
-
-      // No op for URI authorizable type.
-      if (authzType.equalsIgnoreCase(AuthorizableType.URI.toString())) {
-        continue;
-      }
-      // If authorizable name is a wild card, need to add all possible authorizable objects
-      // basesd on the authorizable type.
-      if (authzName.equals(SentryConstants.RESOURCE_WILDCARD_VALUE) ||
-          authzName.equals(SentryConstants.RESOURCE_WILDCARD_VALUE_SOME)||
-          authzName.equals(SentryConstants.RESOURCE_WILDCARD_VALUE_ALL)) {
-        Set<String> wildcardValues = wildCardAuthz.get(authzType);
-
-        if (wildcardValues != null && wildcardValues.size() > 0) {
-          Set<StringBuilder> newTargets = new HashSet<>(targets);
-          for (StringBuilder target : targets) {
-            for (String wildcardValue : wildcardValues) {
-              newTargets.add(addAuthz(target, authzType, wildcardValue));
-            }
-          }
-
-          targets = newTargets;
-        } else {
-          return targets;
-        }
-      } else {
-        if (targets.isEmpty()) {
-          targets.add(addAuthz(new StringBuilder(), authzType, authzName));
-
-          // Add wild card * search, e.g server=*, server=ALL
-          targets.add(addAuthz(new StringBuilder(), authzType,
-              SentryConstants.RESOURCE_WILDCARD_VALUE.toLowerCase()));
-          targets.add(addAuthz(new StringBuilder(), authzType,
-              SentryConstants.RESOURCE_WILDCARD_VALUE_ALL.toLowerCase()));
-        } else {
-          Set<StringBuilder> newTargets = new HashSet<>(targets);
-
-          for (StringBuilder target : targets) {
-            newTargets.add(addAuthz(target, authzType, authzName));
-
-            // Add wild card * search, e.g server=server1->db=*, server=server1->db=ALL
-            newTargets.add(addAuthz(target, authzType,
-                SentryConstants.RESOURCE_WILDCARD_VALUE.toLowerCase()));
-            newTargets.add(addAuthz(target, authzType,
-                SentryConstants.RESOURCE_WILDCARD_VALUE_ALL.toLowerCase()));
-          }
-
-          targets = newTargets;
-        }
-      }
+  private void collectPrivileges(Node node, Authorizable[] authorizationHierarchy, int index,
+      Set<String> privileges) {
+    if (node == null) {
+      return;
+    }
+    if (node != root) {
+      privileges.addAll(node.privileges);
+    }
+    // No op for URI authorizable type.
+    while (index < authorizationHierarchy.length
+        && isURI(authorizationHierarchy[index].getTypeName())) {
+      index++;
+    }
+    if (index == authorizationHierarchy.length) {
+      return;
     }
 
-    return targets;
+    Authorizable auth = authorizationHierarchy[index];
+    Map<String, Node> children = node.children.get(auth.getTypeName().toLowerCase());
+    if (children == null) {
+      return;
+    }
+    String authzName = auth.getName().toLowerCase();
+    if (isWildcard(authzName)) {
+      collectPrivileges(children.values(), authorizationHierarchy, index + 1, privileges);
+    } else {
+      // Add wild card * search, e.g server=*, server=ALL
+      collectPrivileges(children.get(authzName), authorizationHierarchy, index + 1, privileges);
+      collectPrivileges(children.get(SentryConstants.RESOURCE_WILDCARD_VALUE),
+          authorizationHierarchy, index + 1, privileges);
+      collectPrivileges(children.get(SentryConstants.RESOURCE_WILDCARD_VALUE_ALL.toLowerCase()),
+          authorizationHierarchy, index + 1, privileges);
+    }
   }
 
-  private StringBuilder addAuthz(StringBuilder authorizable, String authzType, String authzName) {
-    StringBuilder newAuthrizable = new StringBuilder(authorizable);
-    if (newAuthrizable.length() > 0) {
-      newAuthrizable.append(SentryConstants.AUTHORIZABLE_SEPARATOR);
-      newAuthrizable.append(SentryConstants.KV_JOINER.join(authzType, authzName));
-    } else {
-      newAuthrizable.append(SentryConstants.KV_JOINER.join(authzType, authzName));
+  private void collectPrivileges(Collection<Node> nodes, Authorizable[] authorizationHierarchy,
+      int index, Set<String> privileges) {
+    for (Node node : nodes) {
+      collectPrivileges(node, authorizationHierarchy, index, privileges);
     }
+  }
+
+  private static final class Node {
+    // <AuthorizableType, <AuthorizableValue, Node>>, both lower-cased
+    private final Map<String, Map<String, Node>> children = new HashMap<>();
+    private final Set<String> privileges = new HashSet<>();
 
-    return newAuthrizable;
+    private Node getOrCreateChild(String authzType, String authzName) {
+      Map<String, Node> values = children.get(authzType);
+      if (values == null) {
+        values = new HashMap<>();
+        children.put(authzType, values);
+      }
+      Node child = values.get(authzName);
+      if (child == null) {
+        child = new Node();
+        values.put(authzName, child);
+      }
+      return child;
+    }
   }
 }
@@ -19,6 +19,7 @@ package org.apache.sentry.provider.cache;
 import com.google.common.collect.Sets;
 import org.apache.sentry.core.common.utils.KeyValue;
 import org.apache.sentry.core.common.utils.SentryConstants;
+import org.apache.sentry.core.model.db.Column;
 import org.apache.sentry.core.model.db.Database;
 import org.apache.sentry.core.model.db.Table;
 import org.apache.sentry.policy.common.CommonPrivilege;
@@ -67,6 +68,44 @@ public class TestSimplePrivilegeCache {
     assertEquals(4, cache.listPrivileges(null, null, null, new Server("server1"), new Database("db1"), new Table("t1")).size());
   }
 
+  @Test
+  public void testListPrivilegesWildCardRequest() {
+    CommonPrivilege t1Select = create(new KeyValue("Server", "server1"),
+        new KeyValue("db", "db1"), new KeyValue("table", "t1"), new KeyValue("action", "SELECT"));
+    CommonPrivilege t2Select = create(new KeyValue("Server", "server1"),
+        new KeyValue("db", "db1"), new KeyValue("table", "t2"), new KeyValue("action", "SELECT"));
+    CommonPrivilege otherDbSelect = create(new KeyValue("Server", "server1"),
+        new KeyValue("db", "db2"), new KeyValue("table", "t1"), new KeyValue("action", "SELECT"));
+    CommonPrivilege colSelect = create(new KeyValue("Server", "server1"),
+        new KeyValue("db", "db1"), new KeyValue("table", "t1"), new KeyValue("column", "c1"),
+        new KeyValue("action", "SELECT"));
+
+    SimplePrivilegeCache cache = new SimplePrivilegeCache(Sets.newHashSet(t1Select.toString(),
+        t2Select.toString(), otherDbSelect.toString(), colSelect.toString()));
+
+    assertEquals(Sets.newHashSet(t1Select.toString(), t2Select.toString(), colSelect.toString()),
+        cache.listPrivileges(null, null, null, new Server("server1"), new Database("db1"),
+            new Table("*"), new Column("*")));
+    assertEquals(Sets.newHashSet(t1Select.toString(), t2Select.toString()),
+        cache.listPrivileges(null, null, null, new Server("server1"), new Database("db1"),
+            new Table("+")));
+    assertEquals(Sets.newHashSet(t1Select.toString(), otherDbSelect.toString()),
+        cache.listPrivileges(null, null, null, new Server("server1"), new Database("ALL"),
+            new Table("t1")));
+  }
+
+  @Test
+  public void testCloseKeepsPrivileges() {
+    CommonPrivilege dbSelect = create(new KeyValue("Server", "server1"),
+        new KeyValue("db", "db1"), new KeyValue("action", "SELECT"));
+    SimplePrivilegeCache cache = new SimplePrivilegeCache(Sets.newHashSet(dbSelect.toString()));
+    // The cache may be shared by several bindings, closing one of them must not empty it
+    cache.close();
+    assertEquals(1, cache.listPrivileges(null, null).size());
+    assertEquals(1, cache.listPrivileges(null, null, null,
+        new Server("server1"), new Database("db1")).size());
+  }
+
   @Test
   public void testListPrivilegesURI() {
     CommonPrivilege uri1Select = create(new KeyValue("Server", "server1"),
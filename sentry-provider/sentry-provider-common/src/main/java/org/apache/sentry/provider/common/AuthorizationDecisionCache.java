@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.provider.common;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.apache.sentry.core.common.Action;
+import org.apache.sentry.core.common.ActiveRoleSet;
+import org.apache.sentry.core.common.Authorizable;
+import org.apache.sentry.core.common.Subject;
+import org.apache.sentry.policy.common.PolicyEngine;
+
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Memoizes the result of {@link AuthorizationProvider#hasAccess} for a given subject,
+ * authorizable hierarchy, set of actions and active role set.
+ * <p>
+ * Decisions are bounded in number and in age, and are tagged with the policy version
+ * they were computed against: a decision made against an older version of the
+ * privileges is never returned, and the whole cache is dropped as soon as a newer
+ * version is seen. Policy versions are expected to only grow. When the policy engine
+ * can't tell whether its privileges changed ({@link PolicyEngine#UNKNOWN_POLICY_VERSION}),
+ * the age bound is the only one.
+ * <p>
+ * The underlying map is segmented, so concurrent lookups of different keys don't
+ * contend on a single lock.
+ */
+@ThreadSafe
+public final class AuthorizationDecisionCache {
+
+  private final Cache<Key, Decision> decisions;
+  private final AtomicLong hitCount = new AtomicLong();
+  private final AtomicLong missCount = new AtomicLong();
+  private final AtomicLong invalidationCount = new AtomicLong();
+  private volatile long policyVersion = PolicyEngine.UNKNOWN_POLICY_VERSION;
+
+  /**
+   * @param maxSize maximum number of decisions kept
+   * @param ttlMs time after which a decision is recomputed
+   * @param concurrencyLevel expected number of threads checking access concurrently
+   */
+  public AuthorizationDecisionCache(long maxSize, long ttlMs, int concurrencyLevel) {
+    Preconditions.checkArgument(maxSize > 0, "Decision cache size must be positive");
+    Preconditions.checkArgument(ttlMs > 0, "Decision cache TTL must be positive");
+    this.decisions = CacheBuilder.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfterWrite(ttlMs, TimeUnit.MILLISECONDS)
+        .concurrencyLevel(concurrencyLevel)
+        .recordStats()
+        .build();
+  }
+
+  /**
+   * @return the decision made against the given policy version, or null if there is none
+   */
+  public Boolean get(Key key, long currentPolicyVersion) {
+    checkPolicyVersion(currentPolicyVersion);
+    Decision decision = decisions.getIfPresent(key);
+    if (decision == null || decision.policyVersion != currentPolicyVersion) {
+      missCount.incrementAndGet();
+      return null;
+    }
+    hitCount.incrementAndGet();
+    return decision.allowed;
+  }
+
+  public void put(Key key, long currentPolicyVersion, boolean allowed) {
+    checkPolicyVersion(currentPolicyVersion);
+    // Don't overwrite a newer decision with one computed against older privileges
+    if (currentPolicyVersion == policyVersion) {
+      decisions.put(key, new Decision(currentPolicyVersion, allowed));
+    }
+  }
+
+  public void invalidateAll() {
+    decisions.invalidateAll();
+    invalidationCount.incrementAndGet();
+  }
+
+  private void checkPolicyVersion(long currentPolicyVersion) {
+    if (currentPolicyVersion > policyVersion) {
+      synchronized (this) {
+        if (currentPolicyVersion > policyVersion) {
+          policyVersion = currentPolicyVersion;
+          invalidateAll();
+        }
+      }
+    }
+  }
+
+  /**
+   * @return the hit, miss and eviction counts of the cache. A lookup finding a
+   *         decision made against another policy version counts as a miss.
+   */
+  public CacheStats getStats() {
+    return new CacheStats(hitCount.get(), missCount.get(), 0L, 0L, 0L,
+        decisions.stats().evictionCount());
+  }
+
+  /**
+   * @return how many times the cache was dropped because the policy changed
+   */
+  public long getInvalidationCount() {
+    return invalidationCount.get();
+  }
+
+  public long size() {
+    return decisions.size();
+  }
+
+  /**
+   * Identifies an access check. Authorizables and actions are reduced to their
+   * names, since implementations don't necessarily define equals().
+   */
+  public static final class Key {
+    private final String subject;
+    private final ImmutableList<String> authorizables;
+    private final ImmutableSet<String> actions;
+    private final boolean allRoles;
+    private final Set<String> roles;
+    private final int hashCode;
+
+    public Key(Subject subject, List<? extends Authorizable> authorizableHierarchy,
+        Set<? extends Action> actions, ActiveRoleSet roleSet) {
+      ImmutableList.Builder<String> authorizables = ImmutableList.builder();
+      for (Authorizable authorizable : authorizableHierarchy) {
+        authorizables.add(authorizable.getTypeName()).add(authorizable.getName());
+      }
+      ImmutableSet.Builder<String> actionValues = ImmutableSet.builder();
+      for (Action action : actions) {
+        actionValues.add(action.getValue());
+      }
+      this.subject = subject.getName();
+      this.authorizables = authorizables.build();
+      this.actions = actionValues.build();
+      this.allRoles = roleSet.isAll();
+      this.roles = roleSet.getRoles();
+      this.hashCode = Objects.hashCode(this.subject, this.authorizables, this.actions,
+          allRoles, roles);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) o;
+      return hashCode == other.hashCode
+          && allRoles == other.allRoles
+          && Objects.equal(subject, other.subject)
+          && authorizables.equals(other.authorizables)
+          && actions.equals(other.actions)
+          && roles.equals(other.roles);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+
+    @Override
+    public String toString() {
+      return "Key [subject=" + subject + ", authorizables=" + authorizables
+          + ", actions=" + actions + ", allRoles=" + allRoles + ", roles=" + roles + "]";
+    }
+  }
+
+  private static final class Decision {
+    private final long policyVersion;
+    private final boolean allowed;
+
+    private Decision(long policyVersion, boolean allowed) {
+      this.policyVersion = policyVersion;
+      this.allowed = allowed;
+    }
+  }
+}
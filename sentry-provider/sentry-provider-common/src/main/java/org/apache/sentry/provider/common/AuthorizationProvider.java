@@ -16,6 +16,7 @@
  */
 package org.apache.sentry.provider.common;
 
+import java.util.BitSet;
 import java.util.List;
 import java.util.Set;
 
@@ -52,6 +53,25 @@ public interface AuthorizationProvider {
   boolean hasAccess(Subject subject, List<? extends Authorizable> authorizableHierarchy,
       Set<? extends Action> actions, ActiveRoleSet roleSet);
 
+  /***
+   * Bulk version of {@link #hasAccess(Subject, List, Set, ActiveRoleSet)} for objects
+   * sharing a common scope, e.g. the tables of a database. The privileges of the subject
+   * are fetched once for the scope and every hierarchy is checked against them.
+   *
+   * @param subject: UserID to validate privileges
+   * @param scopeHierarchy : Hierarchy covering all the authorizable hierarchies, used to
+   *        fetch the privileges, eg. Server->Db->Table=* for the tables of a database
+   * @param authorizableHierarchies : Hierarchies to validate
+   * @param actions : Privileges to validate, any of them grants access
+   * @param roleSet : Roles which should be used when obtaining privileges
+   * @return
+   *        Bit i is set if the subject is authorized to perform requested action on
+   *        the i-th hierarchy. Denials are not recorded in {@link #getLastFailedPrivileges()}.
+   */
+  BitSet hasAccess(Subject subject, List<? extends Authorizable> scopeHierarchy,
+      List<? extends List<? extends Authorizable>> authorizableHierarchies,
+      Set<? extends Action> actions, ActiveRoleSet roleSet);
+
   /***
    * Get the GroupMappingService used by the AuthorizationProvider
    *
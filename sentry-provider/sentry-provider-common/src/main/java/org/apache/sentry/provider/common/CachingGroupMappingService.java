@@ -0,0 +1,245 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.provider.common;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.apache.sentry.core.common.exception.SentryGroupNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.base.Ticker;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListenableFutureTask;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * A {@link GroupMappingService} remembering the groups of the users it was asked about.
+ * <p>
+ * The groups of a user are resolved by the wrapped service on the first lookup and kept
+ * at most {@code ttlMs}. Once an entry is older than {@code refreshMs}, the next lookup
+ * still returns it but resolves the groups again in the background, so a slow directory
+ * only delays the first lookup of a user. Users the wrapped service doesn't know are
+ * remembered too, for {@code negativeTtlMs}, so that repeated checks for an unknown user
+ * don't all go to the directory.
+ */
+@ThreadSafe
+public final class CachingGroupMappingService implements GroupMappingService {
+  private static final Logger LOGGER = LoggerFactory.getLogger(CachingGroupMappingService.class);
+
+  // Shared by all the caches of the process, threads go away when idle
+  private static volatile Executor defaultRefreshExecutor;
+
+  private final GroupMappingService groupService;
+  private final LoadingCache<String, Lookup> lookups;
+  private final long negativeTtlNanos;
+  private final Ticker ticker;
+  private final AtomicLong negativeHitCount = new AtomicLong();
+  private final AtomicLong refreshCount = new AtomicLong();
+  private final AtomicLong refreshTimeNanos = new AtomicLong();
+
+  /**
+   * @param groupService service resolving the groups of the users not in the cache
+   * @param maxSize maximum number of users kept
+   * @param ttlMs time after which the groups of a user are resolved again before
+   *        being returned
+   * @param refreshMs time after which the groups of a user are resolved again in the
+   *        background, no background refresh if not positive or not lower than ttlMs
+   * @param negativeTtlMs time during which a user unknown to groupService is reported
+   *        as unknown without asking groupService again
+   */
+  public CachingGroupMappingService(GroupMappingService groupService, long maxSize, long ttlMs,
+      long refreshMs, long negativeTtlMs) {
+    this(groupService, maxSize, ttlMs, refreshMs, negativeTtlMs, getDefaultRefreshExecutor(),
+        Ticker.systemTicker());
+  }
+
+  CachingGroupMappingService(GroupMappingService groupService, long maxSize, long ttlMs,
+      long refreshMs, long negativeTtlMs, final Executor refreshExecutor, final Ticker ticker) {
+    Preconditions.checkArgument(maxSize > 0, "Group cache size must be positive");
+    Preconditions.checkArgument(ttlMs > 0, "Group cache TTL must be positive");
+    this.groupService = Preconditions.checkNotNull(groupService);
+    this.negativeTtlNanos = TimeUnit.MILLISECONDS.toNanos(Math.min(negativeTtlMs, ttlMs));
+    this.ticker = ticker;
+    CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfterWrite(ttlMs, TimeUnit.MILLISECONDS)
+        .ticker(ticker)
+        .recordStats();
+    if (refreshMs > 0 && refreshMs < ttlMs) {
+      builder.refreshAfterWrite(refreshMs, TimeUnit.MILLISECONDS);
+    }
+    this.lookups = builder.build(new CacheLoader<String, Lookup>() {
+      @Override
+      public Lookup load(String user) {
+        return resolve(user);
+      }
+
+      @Override
+      public ListenableFuture<Lookup> reload(final String user, Lookup oldLookup) {
+        ListenableFutureTask<Lookup> task = ListenableFutureTask.create(
+            new Callable<Lookup>() {
+              @Override
+              public Lookup call() {
+                long start = ticker.read();
+                try {
+                  return resolve(user);
+                } finally {
+                  refreshCount.incrementAndGet();
+                  refreshTimeNanos.addAndGet(ticker.read() - start);
+                }
+              }
+            });
+        refreshExecutor.execute(task);
+        return task;
+      }
+    });
+  }
+
+  @Override
+  public Set<String> getGroups(String user) throws SentryGroupNotFoundException {
+    if (user == null) {
+      return groupService.getGroups(user);
+    }
+    Lookup lookup = get(user);
+    if (lookup.groups == null) {
+      if (ticker.read() - lookup.resolvedAtNanos < negativeTtlNanos) {
+        if (lookup.reported) {
+          negativeHitCount.incrementAndGet();
+        }
+        lookup.reported = true;
+        throw new SentryGroupNotFoundException(lookup.message);
+      }
+      // The user may have been added to the directory since. A background refresh may
+      // be pending, don't wait for it.
+      lookup = resolve(user);
+      lookups.put(user, lookup);
+      if (lookup.groups == null) {
+        throw new SentryGroupNotFoundException(lookup.message);
+      }
+    }
+    return lookup.groups;
+  }
+
+  private Lookup get(String user) {
+    try {
+      return lookups.getUnchecked(user);
+    } catch (UncheckedExecutionException e) {
+      // The wrapped service failed in an unexpected way, nothing is remembered
+      throw Throwables.propagate(e.getCause());
+    }
+  }
+
+  private Lookup resolve(String user) {
+    try {
+      return new Lookup(ImmutableSet.copyOf(groupService.getGroups(user)), null,
+          ticker.read());
+    } catch (SentryGroupNotFoundException e) {
+      LOGGER.debug("Caching unknown user {}", user);
+      return new Lookup(null, e.getMessage(), ticker.read());
+    }
+  }
+
+  public void invalidateAll() {
+    lookups.invalidateAll();
+  }
+
+  /**
+   * @return hit, miss, load and eviction counts of the cache. Loads include the
+   *         background refreshes.
+   */
+  public CacheStats getStats() {
+    return lookups.stats();
+  }
+
+  /**
+   * @return how many lookups were answered from a cached unknown user
+   */
+  public long getNegativeHitCount() {
+    return negativeHitCount.get();
+  }
+
+  /**
+   * @return how many times the groups of a user were resolved in the background
+   */
+  public long getRefreshCount() {
+    return refreshCount.get();
+  }
+
+  /**
+   * @return average time spent resolving the groups of a user in the background
+   */
+  public double getAverageRefreshTimeMs() {
+    long count = refreshCount.get();
+    return count == 0 ? 0.0 : refreshTimeNanos.get() / (count * 1e6);
+  }
+
+  public long size() {
+    return lookups.size();
+  }
+
+  private static Executor getDefaultRefreshExecutor() {
+    if (defaultRefreshExecutor == null) {
+      synchronized (CachingGroupMappingService.class) {
+        if (defaultRefreshExecutor == null) {
+          ThreadPoolExecutor executor = new ThreadPoolExecutor(4, 4, 60L, TimeUnit.SECONDS,
+              new LinkedBlockingQueue<Runnable>(),
+              new ThreadFactoryBuilder()
+                  .setNameFormat("sentry-group-refresh-%d")
+                  .setDaemon(true)
+                  .build());
+          executor.allowCoreThreadTimeOut(true);
+          defaultRefreshExecutor = executor;
+        }
+      }
+    }
+    return defaultRefreshExecutor;
+  }
+
+  /**
+   * The groups of a user, or why they couldn't be resolved.
+   */
+  private static final class Lookup {
+    private final ImmutableSet<String> groups;
+    private final String message;
+    private final long resolvedAtNanos;
+    // Whether an unknown user was already reported from this lookup
+    private volatile boolean reported;
+
+    private Lookup(ImmutableSet<String> groups, String message, long resolvedAtNanos) {
+      this.groups = groups;
+      this.message = message;
+      this.resolvedAtNanos = resolvedAtNanos;
+    }
+  }
+}
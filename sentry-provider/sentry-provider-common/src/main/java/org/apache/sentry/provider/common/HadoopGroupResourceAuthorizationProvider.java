@@ -34,6 +34,39 @@ public class HadoopGroupResourceAuthorizationProvider extends
   public static final String CONF_PREFIX = HadoopGroupResourceAuthorizationProvider.class.getName();
   public static final String USE_NEW_GROUPS = CONF_PREFIX + ".useNewGroups";
 
+  // if set to true in the Configuration, memoizes access decisions, see
+  // AuthorizationDecisionCache. Decisions are kept at most DECISION_CACHE_TTL_MS,
+  // and are dropped earlier if the policy engine reports a policy change.
+  public static final String DECISION_CACHE_ENABLED = CONF_PREFIX + ".decisionCache.enabled";
+  public static final boolean DECISION_CACHE_ENABLED_DEFAULT = false;
+  public static final String DECISION_CACHE_MAX_SIZE = CONF_PREFIX + ".decisionCache.maxSize";
+  public static final long DECISION_CACHE_MAX_SIZE_DEFAULT = 100000L;
+  public static final String DECISION_CACHE_TTL_MS = CONF_PREFIX + ".decisionCache.ttlMs";
+  public static final long DECISION_CACHE_TTL_MS_DEFAULT = 30000L;
+  public static final String DECISION_CACHE_CONCURRENCY_LEVEL =
+      CONF_PREFIX + ".decisionCache.concurrencyLevel";
+  public static final int DECISION_CACHE_CONCURRENCY_LEVEL_DEFAULT = 16;
+
+  // if set to true in the Configuration, remembers the groups of the users, see
+  // CachingGroupMappingService. Groups are resolved again in the background after
+  // GROUP_CACHE_REFRESH_MS and before being returned after GROUP_CACHE_TTL_MS. Unknown
+  // users are remembered GROUP_CACHE_NEGATIVE_TTL_MS.
+  public static final String GROUP_CACHE_ENABLED = CONF_PREFIX + ".groupCache.enabled";
+  public static final boolean GROUP_CACHE_ENABLED_DEFAULT = false;
+  public static final String GROUP_CACHE_MAX_SIZE = CONF_PREFIX + ".groupCache.maxSize";
+  public static final long GROUP_CACHE_MAX_SIZE_DEFAULT = 10000L;
+  public static final String GROUP_CACHE_TTL_MS = CONF_PREFIX + ".groupCache.ttlMs";
+  public static final long GROUP_CACHE_TTL_MS_DEFAULT = 600000L;
+  public static final String GROUP_CACHE_REFRESH_MS = CONF_PREFIX + ".groupCache.refreshMs";
+  public static final long GROUP_CACHE_REFRESH_MS_DEFAULT = 60000L;
+  public static final String GROUP_CACHE_NEGATIVE_TTL_MS =
+      CONF_PREFIX + ".groupCache.negativeTtlMs";
+  public static final long GROUP_CACHE_NEGATIVE_TTL_MS_DEFAULT = 30000L;
+
+  // Groups of Hadoop's static mapping, shared by the providers of the process. Sized and
+  // timed by the configuration of the first provider.
+  private static volatile CachingGroupMappingService sharedGroupCache;
+
   // resource parameter present so that other AuthorizationProviders (e.g.
   // LocalGroupResourceAuthorizationProvider) has the same constructor params.
   public HadoopGroupResourceAuthorizationProvider(String resource, PolicyEngine policy,
@@ -43,7 +76,7 @@ public class HadoopGroupResourceAuthorizationProvider extends
 
   public HadoopGroupResourceAuthorizationProvider(Configuration conf, String resource, //NOPMD
       PolicyEngine policy, Model model) throws IOException {
-    this(policy, new HadoopGroupMappingService(getGroups(conf)), model);
+    this(policy, getGroupMappingService(conf), model, getDecisionCache(conf));
   }
 
   @VisibleForTesting
@@ -52,6 +85,47 @@ public class HadoopGroupResourceAuthorizationProvider extends
     super(policy, groupService, model);
   }
 
+  @VisibleForTesting
+  public HadoopGroupResourceAuthorizationProvider(PolicyEngine policy,
+      GroupMappingService groupService, Model model, AuthorizationDecisionCache decisionCache) {
+    super(policy, groupService, model, decisionCache);
+  }
+
+  private static AuthorizationDecisionCache getDecisionCache(Configuration conf) {
+    if (!conf.getBoolean(DECISION_CACHE_ENABLED, DECISION_CACHE_ENABLED_DEFAULT)) {
+      return null;
+    }
+    return new AuthorizationDecisionCache(
+        conf.getLong(DECISION_CACHE_MAX_SIZE, DECISION_CACHE_MAX_SIZE_DEFAULT),
+        conf.getLong(DECISION_CACHE_TTL_MS, DECISION_CACHE_TTL_MS_DEFAULT),
+        conf.getInt(DECISION_CACHE_CONCURRENCY_LEVEL, DECISION_CACHE_CONCURRENCY_LEVEL_DEFAULT));
+  }
+
+  private static GroupMappingService getGroupMappingService(Configuration conf) {
+    if (!conf.getBoolean(GROUP_CACHE_ENABLED, GROUP_CACHE_ENABLED_DEFAULT)) {
+      return new HadoopGroupMappingService(getGroups(conf));
+    }
+    if (conf.getBoolean(USE_NEW_GROUPS, false)) {
+      return newGroupCache(conf);
+    }
+    if (sharedGroupCache == null) {
+      synchronized (HadoopGroupResourceAuthorizationProvider.class) {
+        if (sharedGroupCache == null) {
+          sharedGroupCache = newGroupCache(conf);
+        }
+      }
+    }
+    return sharedGroupCache;
+  }
+
+  private static CachingGroupMappingService newGroupCache(Configuration conf) {
+    return new CachingGroupMappingService(new HadoopGroupMappingService(getGroups(conf)),
+        conf.getLong(GROUP_CACHE_MAX_SIZE, GROUP_CACHE_MAX_SIZE_DEFAULT),
+        conf.getLong(GROUP_CACHE_TTL_MS, GROUP_CACHE_TTL_MS_DEFAULT),
+        conf.getLong(GROUP_CACHE_REFRESH_MS, GROUP_CACHE_REFRESH_MS_DEFAULT),
+        conf.getLong(GROUP_CACHE_NEGATIVE_TTL_MS, GROUP_CACHE_NEGATIVE_TTL_MS_DEFAULT));
+  }
+
   private static Groups getGroups(Configuration conf) {
     if (conf.getBoolean(USE_NEW_GROUPS, false)) {
       return new Groups(conf);
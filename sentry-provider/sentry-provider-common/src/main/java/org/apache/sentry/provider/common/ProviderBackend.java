@@ -69,5 +69,12 @@ public interface ProviderBackend {
    */
   void validatePolicy(boolean strictValidation) throws SentryConfigurationException;
 
+  /**
+   * Version of the privileges returned by the backend, changed whenever they
+   * may have changed. Backends which fetch privileges on every call, and so
+   * can't tell, return {@link org.apache.sentry.policy.common.PolicyEngine#UNKNOWN_POLICY_VERSION}.
+   */
+  long getPolicyVersion();
+
   void close();
 }
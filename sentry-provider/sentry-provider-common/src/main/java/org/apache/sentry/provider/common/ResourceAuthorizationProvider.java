@@ -16,14 +16,11 @@
  */
 package org.apache.sentry.provider.common;
 
-import static org.apache.sentry.core.common.utils.SentryConstants.AUTHORIZABLE_JOINER;
-import static org.apache.sentry.core.common.utils.SentryConstants.AUTHORIZABLE_SPLITTER;
-import static org.apache.sentry.core.common.utils.SentryConstants.KV_JOINER;
-import static org.apache.sentry.core.common.utils.SentryConstants.PRIVILEGE_NAME;
+import static org.apache.sentry.core.common.utils.SentryConstants.AUTHORIZABLE_SEPARATOR;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -34,17 +31,15 @@ import org.apache.sentry.core.common.Model;
 import org.apache.sentry.core.common.exception.SentryConfigurationException;
 import org.apache.sentry.core.common.exception.SentryGroupNotFoundException;
 import org.apache.sentry.core.common.Subject;
+import org.apache.sentry.core.common.utils.PrivilegeStrings;
+import org.apache.sentry.policy.common.CompiledPrivilege;
 import org.apache.sentry.policy.common.PolicyEngine;
-import org.apache.sentry.policy.common.Privilege;
-import org.apache.sentry.policy.common.PrivilegeFactory;
+import org.apache.sentry.policy.common.PrivilegeTrie;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.common.base.Function;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.Iterables;
-import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 
 public abstract class ResourceAuthorizationProvider implements AuthorizationProvider {
@@ -60,15 +55,24 @@ public abstract class ResourceAuthorizationProvider implements AuthorizationProv
 
   private final GroupMappingService groupService;
   private final PolicyEngine policy;
-  private final PrivilegeFactory privilegeFactory;
   private final Model model;
+  private final AuthorizationDecisionCache decisionCache;
 
   public ResourceAuthorizationProvider(PolicyEngine policy,
       GroupMappingService groupService, Model model) {
+    this(policy, groupService, model, null);
+  }
+
+  /**
+   * @param decisionCache memoizes the results of {@link #hasAccess}, or null to
+   *        evaluate every request
+   */
+  public ResourceAuthorizationProvider(PolicyEngine policy,
+      GroupMappingService groupService, Model model, AuthorizationDecisionCache decisionCache) {
     this.policy = policy;
     this.groupService = groupService;
-    this.privilegeFactory = policy.getPrivilegeFactory();
     this.model = model;
+    this.decisionCache = decisionCache;
   }
 
   /***
@@ -93,11 +97,73 @@ public abstract class ResourceAuthorizationProvider implements AuthorizationProv
     Preconditions.checkNotNull(actions, "Actions cannot be null");
     Preconditions.checkArgument(!actions.isEmpty(), "Actions cannot be empty");
     Preconditions.checkNotNull(roleSet, "ActiveRoleSet cannot be null");
-    boolean hasAccess = false;
-    hasAccess = doHasAccess(subject, authorizableHierarchy, actions, roleSet);
+    if (decisionCache == null) {
+      return doHasAccess(subject, authorizableHierarchy, actions, roleSet);
+    }
+
+    // Read the version before evaluating, so that a decision is never tagged
+    // with a version newer than the privileges it was computed from
+    long policyVersion = policy.getPolicyVersion();
+    AuthorizationDecisionCache.Key key =
+        new AuthorizationDecisionCache.Key(subject, authorizableHierarchy, actions, roleSet);
+    Boolean cached = decisionCache.get(key, policyVersion);
+    if (cached != null) {
+      lastFailedPrivileges.get().clear();
+      if (!cached) {
+        lastFailedPrivileges.get().addAll(buildPermissions(authorizableHierarchy, actions));
+      }
+      return cached;
+    }
+    boolean hasAccess = doHasAccess(subject, authorizableHierarchy, actions, roleSet);
+    decisionCache.put(key, policyVersion, hasAccess);
     return hasAccess;
   }
 
+  @Override
+  public BitSet hasAccess(Subject subject, List<? extends Authorizable> scopeHierarchy,
+      List<? extends List<? extends Authorizable>> authorizableHierarchies,
+      Set<? extends Action> actions, ActiveRoleSet roleSet) {
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Bulk authorization Request for " + subject + " " + scopeHierarchy
+          + ", " + authorizableHierarchies.size() + " objects and " + actions);
+    }
+    Preconditions.checkNotNull(subject, "Subject cannot be null");
+    Preconditions.checkNotNull(scopeHierarchy, "Scope cannot be null");
+    Preconditions.checkArgument(!scopeHierarchy.isEmpty(), "Scope cannot be empty");
+    Preconditions.checkNotNull(authorizableHierarchies, "Authorizables cannot be null");
+    Preconditions.checkNotNull(actions, "Actions cannot be null");
+    Preconditions.checkArgument(!actions.isEmpty(), "Actions cannot be empty");
+    Preconditions.checkNotNull(roleSet, "ActiveRoleSet cannot be null");
+
+    BitSet result = new BitSet(authorizableHierarchies.size());
+    if (authorizableHierarchies.isEmpty()) {
+      return result;
+    }
+    Set<String> groups;
+    try {
+      groups = getGroups(subject);
+    } catch (SentryGroupNotFoundException e) {
+      groups = Collections.emptySet();
+      LOGGER.debug("Groups not found for " + subject);
+    }
+    Set<String> users = Sets.newHashSet(subject.getName());
+    PrivilegeTrie scopePrivileges = policy.getPrivilegeTrie(groups, users, roleSet, model,
+        scopeHierarchy.toArray(new Authorizable[0]));
+
+    int index = 0;
+    for (List<? extends Authorizable> authorizables : authorizableHierarchies) {
+      PrivilegeTrie privileges = appendDefaultDBPriv(scopePrivileges, authorizables);
+      for (Action action : actions) {
+        if (privileges.implies(CompiledPrivilege.compileRequest(authorizables, action, model))) {
+          result.set(index);
+          break;
+        }
+      }
+      index++;
+    }
+    return result;
+  }
+
   private boolean doHasAccess(Subject subject,
       List<? extends Authorizable> authorizables, Set<? extends Action> actions,
       ActiveRoleSet roleSet) {
@@ -109,69 +175,59 @@ public abstract class ResourceAuthorizationProvider implements AuthorizationProv
       LOGGER.debug("Groups not found for " + subject);
     }
     Set<String> users = Sets.newHashSet(subject.getName());
-    Set<String> hierarchy = new HashSet<String>();
-    for (Authorizable authorizable : authorizables) {
-      hierarchy.add(KV_JOINER.join(authorizable.getTypeName(), authorizable.getName()));
-    }
-    List<String> requestPrivileges = buildPermissions(authorizables, actions);
-    Iterable<Privilege> privileges = getPrivileges(groups, users, roleSet,
-        authorizables.toArray(new Authorizable[0]));
+    PrivilegeTrie privileges = getPrivileges(groups, users, roleSet, authorizables);
     lastFailedPrivileges.get().clear();
 
-    for (String requestPrivilege : requestPrivileges) {
-      Privilege priv = privilegeFactory.createPrivilege(requestPrivilege);
-      for (Privilege permission : privileges) {
-        /*
-         * Does the permission granted in the policy file imply the requested action?
-         */
-        boolean result = permission.implies(priv, model);
-        if (LOGGER.isDebugEnabled()) {
-          LOGGER.debug("ProviderPrivilege {}, RequestPrivilege {}, RoleSet {}, Result {}",
-              new Object[]{ permission, requestPrivilege, roleSet, result});
-        }
-        if (result) {
-          return true;
-        }
+    for (Action action : actions) {
+      CompiledPrivilege requestPrivilege =
+          CompiledPrivilege.compileRequest(authorizables, action, model);
+      /*
+       * Does any permission granted in the policy file imply the requested action?
+       */
+      boolean result = privileges.implies(requestPrivilege);
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("ProviderPrivileges {}, RequestPrivilege {}, RoleSet {}, Result {}",
+            new Object[]{ privileges.getPrivileges(), requestPrivilege, roleSet, result});
+      }
+      if (result) {
+        return true;
       }
     }
 
-    lastFailedPrivileges.get().addAll(requestPrivileges);
+    lastFailedPrivileges.get().addAll(buildPermissions(authorizables, actions));
     return false;
   }
 
-  private Iterable<Privilege> getPrivileges(Set<String> groups, Set<String> users,
-      ActiveRoleSet roleSet, Authorizable[] authorizables) {
-    ImmutableSet<String> privileges = policy.getPrivileges(groups, users, roleSet, authorizables);
-    return Iterables.transform(appendDefaultDBPriv(privileges, authorizables),
-        new Function<String, Privilege>() {
-      @Override
-      public Privilege apply(String privilege) {
-        return privilegeFactory.createPrivilege(privilege);
-      }
-    });
+  private PrivilegeTrie getPrivileges(Set<String> groups, Set<String> users,
+      ActiveRoleSet roleSet, List<? extends Authorizable> authorizables) {
+    PrivilegeTrie privileges = policy.getPrivilegeTrie(groups, users, roleSet, model,
+        authorizables.toArray(new Authorizable[0]));
+    return appendDefaultDBPriv(privileges, authorizables);
   }
 
-  private ImmutableSet<String> appendDefaultDBPriv(ImmutableSet<String> privileges, Authorizable[] authorizables) {
+  private PrivilegeTrie appendDefaultDBPriv(PrivilegeTrie privileges,
+      List<? extends Authorizable> authorizables) {
     // Only for switch db
-    if (authorizables != null && authorizables.length == 4 && authorizables[2].getName().equals("+")
-      && privileges.size() == 1 && hasOnlyServerPrivilege(privileges.asList().get(0))) {
+    ImmutableSet<CompiledPrivilege> privilegeSet = privileges.getPrivileges();
+    if (authorizables != null && authorizables.size() == 4 && authorizables.get(2).getName().equals("+")
+      && privilegeSet.size() == 1 && hasOnlyServerPrivilege(privilegeSet.asList().get(0).toString())) {
       // Assuming authorizable[0] will always be the server
       // This Code is only reachable only when user fires a 'use default'
       // and the user has a privilege on atleast 1 privilized Object
-      String defaultPriv = "Server=" + authorizables[0].getName()
+      String defaultPriv = "Server=" + authorizables.get(0).getName()
           + "->Db=default->Table=*->Column=*->action=select";
-      Set<String> newPrivs = Sets.newHashSet(defaultPriv);
-      return ImmutableSet.copyOf(newPrivs);
+      return PrivilegeTrie.build(
+          ImmutableSet.of(CompiledPrivilege.compile(defaultPriv, model)), model);
     }
     return privileges;
   }
 
   private boolean hasOnlyServerPrivilege(String priv) {
-    ArrayList<String> l = Lists.newArrayList(AUTHORIZABLE_SPLITTER.split(priv));
-    if (l.size() == 1 && l.get(0).toLowerCase().startsWith("server")) {
-      return l.get(0).toLowerCase().split("=")[1].endsWith("+");
+    if (priv.contains(AUTHORIZABLE_SEPARATOR)
+        || !priv.toLowerCase().startsWith("server")) {
+      return false;
     }
-    return false;
+    return priv.toLowerCase().split("=")[1].endsWith("+");
   }
 
   @Override
@@ -214,22 +270,21 @@ public abstract class ResourceAuthorizationProvider implements AuthorizationProv
 
   private List<String> buildPermissions(List<? extends Authorizable> authorizables,
       Set<? extends Action> actions) {
-    List<String> hierarchy = new ArrayList<String>();
-    List<String> requestedPermissions = new ArrayList<String>();
-
-    for (Authorizable authorizable : authorizables) {
-      hierarchy.add(KV_JOINER.join(authorizable.getTypeName(), authorizable.getName()));
-    }
-
+    List<String> requestedPermissions = new ArrayList<String>(actions.size());
     for (Action action : actions) {
-      String requestPermission = AUTHORIZABLE_JOINER.join(hierarchy);
-      requestPermission = AUTHORIZABLE_JOINER.join(requestPermission,
-          KV_JOINER.join(PRIVILEGE_NAME, action.getValue()));
-      requestedPermissions.add(requestPermission);
+      requestedPermissions.add(PrivilegeStrings.toPrivilegeString(authorizables,
+          action.getValue()));
     }
     return requestedPermissions;
   }
 
+  /**
+   * @return the decision cache, or null if decisions are not cached
+   */
+  public AuthorizationDecisionCache getDecisionCache() {
+    return decisionCache;
+  }
+
   @Override
   public PolicyEngine getPolicyEngine() {
     return policy;
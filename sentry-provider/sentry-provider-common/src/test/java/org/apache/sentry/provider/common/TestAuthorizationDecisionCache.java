@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.provider.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+
+import org.apache.sentry.core.common.Action;
+import org.apache.sentry.core.common.ActiveRoleSet;
+import org.apache.sentry.core.common.Authorizable;
+import org.apache.sentry.core.common.Subject;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+
+public class TestAuthorizationDecisionCache {
+
+  private static final Subject USER = new Subject("user1");
+  private static final List<Authorizable> TABLE =
+      ImmutableList.of(authorizable("Server", "server1"), authorizable("Table", "t1"));
+
+  @Test
+  public void testHitAndMiss() {
+    AuthorizationDecisionCache cache = new AuthorizationDecisionCache(10, 60000, 4);
+    AuthorizationDecisionCache.Key key = key(USER, TABLE, ImmutableSet.of(action("select")));
+
+    assertNull(cache.get(key, 1L));
+    cache.put(key, 1L, true);
+    assertTrue(cache.get(key, 1L));
+    // Equal keys built from different instances share the decision
+    assertTrue(cache.get(key(new Subject("user1"),
+        ImmutableList.of(authorizable("Server", "server1"), authorizable("Table", "t1")),
+        ImmutableSet.of(action("select"))), 1L));
+    assertNull(cache.get(key(new Subject("user2"), TABLE, ImmutableSet.of(action("select"))), 1L));
+    assertNull(cache.get(key(USER, TABLE, ImmutableSet.of(action("insert"))), 1L));
+
+    assertEquals(2L, cache.getStats().hitCount());
+    assertEquals(3L, cache.getStats().missCount());
+  }
+
+  @Test
+  public void testActionOrderAndRoles() {
+    AuthorizationDecisionCache cache = new AuthorizationDecisionCache(10, 60000, 4);
+    cache.put(key(USER, TABLE, Sets.newLinkedHashSet(ImmutableList.of(action("select"),
+        action("insert")))), 1L, false);
+    assertFalse(cache.get(key(USER, TABLE, Sets.newLinkedHashSet(ImmutableList.of(
+        action("insert"), action("select")))), 1L));
+
+    AuthorizationDecisionCache.Key someRoles = new AuthorizationDecisionCache.Key(USER, TABLE,
+        ImmutableSet.of(action("select")), new ActiveRoleSet(ImmutableSet.of("role1")));
+    cache.put(someRoles, 1L, true);
+    assertTrue(cache.get(someRoles, 1L));
+    assertNull(cache.get(key(USER, TABLE, ImmutableSet.of(action("select"))), 1L));
+  }
+
+  @Test
+  public void testPolicyVersionChange() {
+    AuthorizationDecisionCache cache = new AuthorizationDecisionCache(10, 60000, 4);
+    AuthorizationDecisionCache.Key key = key(USER, TABLE, ImmutableSet.of(action("select")));
+    cache.get(key, 1L);
+    cache.put(key, 1L, true);
+    assertTrue(cache.get(key, 1L));
+
+    // The policy changed, decisions made against the previous version are dropped
+    assertNull(cache.get(key, 2L));
+    assertEquals(0L, cache.size());
+    // A decision computed against the previous version is not stored anymore
+    cache.put(key, 1L, true);
+    assertNull(cache.get(key, 2L));
+    cache.put(key, 2L, false);
+    assertFalse(cache.get(key, 2L));
+  }
+
+  @Test
+  public void testEviction() {
+    AuthorizationDecisionCache cache = new AuthorizationDecisionCache(1, 60000, 1);
+    cache.get(key(USER, TABLE, ImmutableSet.of(action("select"))), 1L);
+    cache.put(key(USER, TABLE, ImmutableSet.of(action("select"))), 1L, true);
+    cache.put(key(USER, TABLE, ImmutableSet.of(action("insert"))), 1L, true);
+    assertEquals(1L, cache.size());
+    assertEquals(1L, cache.getStats().evictionCount());
+  }
+
+  private static AuthorizationDecisionCache.Key key(Subject subject,
+      List<Authorizable> authorizables, Set<Action> actions) {
+    return new AuthorizationDecisionCache.Key(subject, authorizables, actions, ActiveRoleSet.ALL);
+  }
+
+  private static Authorizable authorizable(final String type, final String name) {
+    return new Authorizable() {
+      @Override
+      public String getName() {
+        return name;
+      }
+
+      @Override
+      public String getTypeName() {
+        return type;
+      }
+    };
+  }
+
+  private static Action action(final String value) {
+    return new Action() {
+      @Override
+      public String getValue() {
+        return value;
+      }
+    };
+  }
+}
@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.provider.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sentry.core.common.exception.SentryGroupNotFoundException;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+
+public class TestCachingGroupMappingService {
+
+  private FakeGroupMappingService directory;
+  private FakeTicker ticker;
+  private QueueExecutor refreshExecutor;
+  private CachingGroupMappingService groupCache;
+
+  @Before
+  public void setup() {
+    directory = new FakeGroupMappingService();
+    ticker = new FakeTicker();
+    refreshExecutor = new QueueExecutor();
+    // TTL 10s, refresh after 1s, unknown users kept 2s
+    groupCache = new CachingGroupMappingService(directory, 10, 10000, 1000, 2000,
+        refreshExecutor, ticker);
+  }
+
+  @Test
+  public void testHitAndMiss() throws Exception {
+    directory.groups.put("user1", ImmutableSet.of("group1"));
+    assertEquals(ImmutableSet.of("group1"), groupCache.getGroups("user1"));
+    assertEquals(ImmutableSet.of("group1"), groupCache.getGroups("user1"));
+    assertEquals(1, directory.lookupCount);
+    assertEquals(1L, groupCache.getStats().hitCount());
+    assertEquals(1L, groupCache.getStats().missCount());
+  }
+
+  @Test
+  public void testRefreshInBackground() throws Exception {
+    directory.groups.put("user1", ImmutableSet.of("group1"));
+    groupCache.getGroups("user1");
+    directory.groups.put("user1", ImmutableSet.of("group2"));
+
+    // The lookup doesn't wait for the directory, the groups are refreshed in the background
+    ticker.advance(1500);
+    assertEquals(ImmutableSet.of("group1"), groupCache.getGroups("user1"));
+    assertEquals(1, directory.lookupCount);
+    assertEquals(1, refreshExecutor.tasks.size());
+    refreshExecutor.runAll();
+    assertEquals(ImmutableSet.of("group2"), groupCache.getGroups("user1"));
+    assertEquals(2, directory.lookupCount);
+    assertEquals(1L, groupCache.getRefreshCount());
+  }
+
+  @Test
+  public void testExpiry() throws Exception {
+    directory.groups.put("user1", ImmutableSet.of("group1"));
+    groupCache.getGroups("user1");
+    directory.groups.put("user1", ImmutableSet.of("group2"));
+
+    // Past the TTL the groups are resolved again before being returned
+    ticker.advance(10000);
+    assertEquals(ImmutableSet.of("group2"), groupCache.getGroups("user1"));
+    assertEquals(2, directory.lookupCount);
+    assertEquals(0, refreshExecutor.tasks.size());
+  }
+
+  @Test
+  public void testUnknownUser() throws Exception {
+    assertUnknown("user1");
+    assertUnknown("user1");
+    assertEquals(1, directory.lookupCount);
+    assertEquals(1L, groupCache.getNegativeHitCount());
+
+    // The user is asked about again once the negative TTL is over
+    directory.groups.put("user1", ImmutableSet.of("group1"));
+    ticker.advance(2000);
+    assertEquals(ImmutableSet.of("group1"), groupCache.getGroups("user1"));
+    assertEquals(2, directory.lookupCount);
+  }
+
+  private void assertUnknown(String user) {
+    try {
+      groupCache.getGroups(user);
+      fail("SentryGroupNotFoundException should be thrown");
+    } catch (SentryGroupNotFoundException e) {
+      // Ok
+    }
+  }
+
+  private static final class FakeGroupMappingService implements GroupMappingService {
+    private final Map<String, Set<String>> groups = Maps.newHashMap();
+    private int lookupCount;
+
+    @Override
+    public Set<String> getGroups(String user) throws SentryGroupNotFoundException {
+      lookupCount++;
+      Set<String> userGroups = groups.get(user);
+      if (userGroups == null) {
+        throw new SentryGroupNotFoundException("Unable to obtain groups for " + user);
+      }
+      return userGroups;
+    }
+  }
+
+  private static final class FakeTicker extends Ticker {
+    private long nanos;
+
+    @Override
+    public long read() {
+      return nanos;
+    }
+
+    private void advance(long ms) {
+      nanos += TimeUnit.MILLISECONDS.toNanos(ms);
+    }
+  }
+
+  private static final class QueueExecutor implements Executor {
+    private final Queue<Runnable> tasks = new LinkedList<Runnable>();
+
+    @Override
+    public void execute(Runnable task) {
+      tasks.add(task);
+    }
+
+    private void runAll() {
+      while (!tasks.isEmpty()) {
+        tasks.poll().run();
+      }
+    }
+  }
+}
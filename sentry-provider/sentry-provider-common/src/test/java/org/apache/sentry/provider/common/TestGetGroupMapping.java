@@ -22,7 +22,10 @@ import java.util.Set;
 
 import org.apache.sentry.core.common.ActiveRoleSet;
 import org.apache.sentry.core.common.Authorizable;
+import org.apache.sentry.core.common.Model;
 import org.apache.sentry.core.common.exception.SentryConfigurationException;
+import org.apache.sentry.policy.common.CompiledPrivilege;
+import org.apache.sentry.policy.common.PrivilegeTrie;
 import org.apache.sentry.policy.common.PolicyEngine;
 import org.apache.sentry.policy.common.PrivilegeFactory;
 import org.junit.Test;
@@ -79,6 +82,25 @@ public class TestGetGroupMapping {
         return ImmutableSet.of();
       }
 
+      @Override
+      public ImmutableSet<CompiledPrivilege> getCompiledPrivileges(Set<String> groups,
+          Set<String> users, ActiveRoleSet roleSet, Model model,
+          Authorizable... authorizableHierarchy) throws SentryConfigurationException {
+        return ImmutableSet.of();
+      }
+
+      @Override
+      public PrivilegeTrie getPrivilegeTrie(Set<String> groups, Set<String> users,
+          ActiveRoleSet roleSet, Model model, Authorizable... authorizableHierarchy)
+          throws SentryConfigurationException {
+        return PrivilegeTrie.build(ImmutableSet.<CompiledPrivilege>of(), model);
+      }
+
+      @Override
+      public long getPolicyVersion() {
+        return UNKNOWN_POLICY_VERSION;
+      }
+
       @Override
       public void close() {}
     };
@@ -34,7 +34,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 @SuppressWarnings({"cast", "rawtypes", "serial", "unchecked"})
-@Generated(value = "Autogenerated by Thrift Compiler (0.9.3)", date = "2017-04-26")
+@Generated(value = "Autogenerated by Thrift Compiler (0.9.3)", date = "2026-10-17")
 public class TListSentryPrivilegesByAuthRequest implements org.apache.thrift.TBase<TListSentryPrivilegesByAuthRequest, TListSentryPrivilegesByAuthRequest._Fields>, java.io.Serializable, Cloneable, Comparable<TListSentryPrivilegesByAuthRequest> {
   private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("TListSentryPrivilegesByAuthRequest");
 
@@ -908,13 +908,13 @@ public class TListSentryPrivilegesByAuthRequest implements org.apache.thrift.TBa
           case 5: // AUTHORIZABLES_SET
             if (schemeField.type == org.apache.thrift.protocol.TType.SET) {
               {
-                org.apache.thrift.protocol.TSet _set122 = iprot.readSetBegin();
-                struct.authorizablesSet = new HashSet<String>(2*_set122.size);
-                String _elem123;
-                for (int _i124 = 0; _i124 < _set122.size; ++_i124)
+                org.apache.thrift.protocol.TSet _set138 = iprot.readSetBegin();
+                struct.authorizablesSet = new HashSet<String>(2*_set138.size);
+                String _elem139;
+                for (int _i140 = 0; _i140 < _set138.size; ++_i140)
                 {
-                  _elem123 = iprot.readString();
-                  struct.authorizablesSet.add(_elem123);
+                  _elem139 = iprot.readString();
+                  struct.authorizablesSet.add(_elem139);
                 }
                 iprot.readSetEnd();
               }
@@ -926,13 +926,13 @@ public class TListSentryPrivilegesByAuthRequest implements org.apache.thrift.TBa
           case 6: // GROUPS
             if (schemeField.type == org.apache.thrift.protocol.TType.SET) {
               {
-                org.apache.thrift.protocol.TSet _set125 = iprot.readSetBegin();
-                struct.groups = new HashSet<String>(2*_set125.size);
-                String _elem126;
-                for (int _i127 = 0; _i127 < _set125.size; ++_i127)
+                org.apache.thrift.protocol.TSet _set141 = iprot.readSetBegin();
+                struct.groups = new HashSet<String>(2*_set141.size);
+                String _elem142;
+                for (int _i143 = 0; _i143 < _set141.size; ++_i143)
                 {
-                  _elem126 = iprot.readString();
-                  struct.groups.add(_elem126);
+                  _elem142 = iprot.readString();
+                  struct.groups.add(_elem142);
                 }
                 iprot.readSetEnd();
               }
@@ -985,9 +985,9 @@ public class TListSentryPrivilegesByAuthRequest implements org.apache.thrift.TBa
         oprot.writeFieldBegin(AUTHORIZABLES_SET_FIELD_DESC);
         {
           oprot.writeSetBegin(new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRING, struct.authorizablesSet.size()));
-          for (String _iter128 : struct.authorizablesSet)
+          for (String _iter144 : struct.authorizablesSet)
           {
-            oprot.writeString(_iter128);
+            oprot.writeString(_iter144);
           }
           oprot.writeSetEnd();
         }
@@ -998,9 +998,9 @@ public class TListSentryPrivilegesByAuthRequest implements org.apache.thrift.TBa
           oprot.writeFieldBegin(GROUPS_FIELD_DESC);
           {
             oprot.writeSetBegin(new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRING, struct.groups.size()));
-            for (String _iter129 : struct.groups)
+            for (String _iter145 : struct.groups)
             {
-              oprot.writeString(_iter129);
+              oprot.writeString(_iter145);
             }
             oprot.writeSetEnd();
           }
@@ -1037,9 +1037,9 @@ public class TListSentryPrivilegesByAuthRequest implements org.apache.thrift.TBa
       oprot.writeString(struct.serviceName);
       {
         oprot.writeI32(struct.authorizablesSet.size());
-        for (String _iter130 : struct.authorizablesSet)
+        for (String _iter146 : struct.authorizablesSet)
         {
-          oprot.writeString(_iter130);
+          oprot.writeString(_iter146);
         }
       }
       BitSet optionals = new BitSet();
@@ -1053,9 +1053,9 @@ public class TListSentryPrivilegesByAuthRequest implements org.apache.thrift.TBa
       if (struct.isSetGroups()) {
         {
           oprot.writeI32(struct.groups.size());
-          for (String _iter131 : struct.groups)
+          for (String _iter147 : struct.groups)
           {
-            oprot.writeString(_iter131);
+            oprot.writeString(_iter147);
           }
         }
       }
@@ -1076,26 +1076,26 @@ public class TListSentryPrivilegesByAuthRequest implements org.apache.thrift.TBa
       struct.serviceName = iprot.readString();
       struct.setServiceNameIsSet(true);
       {
-        org.apache.thrift.protocol.TSet _set132 = new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRING, iprot.readI32());
-        struct.authorizablesSet = new HashSet<String>(2*_set132.size);
-        String _elem133;
-        for (int _i134 = 0; _i134 < _set132.size; ++_i134)
+        org.apache.thrift.protocol.TSet _set148 = new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRING, iprot.readI32());
+        struct.authorizablesSet = new HashSet<String>(2*_set148.size);
+        String _elem149;
+        for (int _i150 = 0; _i150 < _set148.size; ++_i150)
         {
-          _elem133 = iprot.readString();
-          struct.authorizablesSet.add(_elem133);
+          _elem149 = iprot.readString();
+          struct.authorizablesSet.add(_elem149);
         }
       }
       struct.setAuthorizablesSetIsSet(true);
       BitSet incoming = iprot.readBitSet(2);
       if (incoming.get(0)) {
         {
-          org.apache.thrift.protocol.TSet _set135 = new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRING, iprot.readI32());
-          struct.groups = new HashSet<String>(2*_set135.size);
-          String _elem136;
-          for (int _i137 = 0; _i137 < _set135.size; ++_i137)
+          org.apache.thrift.protocol.TSet _set151 = new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRING, iprot.readI32());
+          struct.groups = new HashSet<String>(2*_set151.size);
+          String _elem152;
+          for (int _i153 = 0; _i153 < _set151.size; ++_i153)
           {
-            _elem136 = iprot.readString();
-            struct.groups.add(_elem136);
+            _elem152 = iprot.readString();
+            struct.groups.add(_elem152);
           }
         }
         struct.setGroupsIsSet(true);
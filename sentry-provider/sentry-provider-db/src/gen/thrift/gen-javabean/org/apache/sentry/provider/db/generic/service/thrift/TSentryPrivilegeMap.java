@@ -34,7 +34,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 @SuppressWarnings({"cast", "rawtypes", "serial", "unchecked"})
-@Generated(value = "Autogenerated by Thrift Compiler (0.9.3)", date = "2017-04-26")
+@Generated(value = "Autogenerated by Thrift Compiler (0.9.3)", date = "2026-10-17")
 public class TSentryPrivilegeMap implements org.apache.thrift.TBase<TSentryPrivilegeMap, TSentryPrivilegeMap._Fields>, java.io.Serializable, Cloneable, Comparable<TSentryPrivilegeMap> {
   private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("TSentryPrivilegeMap");
 
@@ -363,26 +363,26 @@ public class TSentryPrivilegeMap implements org.apache.thrift.TBase<TSentryPrivi
           case 1: // PRIVILEGE_MAP
             if (schemeField.type == org.apache.thrift.protocol.TType.MAP) {
               {
-                org.apache.thrift.protocol.TMap _map104 = iprot.readMapBegin();
-                struct.privilegeMap = new HashMap<String,Set<TSentryPrivilege>>(2*_map104.size);
-                String _key105;
-                Set<TSentryPrivilege> _val106;
-                for (int _i107 = 0; _i107 < _map104.size; ++_i107)
+                org.apache.thrift.protocol.TMap _map120 = iprot.readMapBegin();
+                struct.privilegeMap = new HashMap<String,Set<TSentryPrivilege>>(2*_map120.size);
+                String _key121;
+                Set<TSentryPrivilege> _val122;
+                for (int _i123 = 0; _i123 < _map120.size; ++_i123)
                 {
-                  _key105 = iprot.readString();
+                  _key121 = iprot.readString();
                   {
-                    org.apache.thrift.protocol.TSet _set108 = iprot.readSetBegin();
-                    _val106 = new HashSet<TSentryPrivilege>(2*_set108.size);
-                    TSentryPrivilege _elem109;
-                    for (int _i110 = 0; _i110 < _set108.size; ++_i110)
+                    org.apache.thrift.protocol.TSet _set124 = iprot.readSetBegin();
+                    _val122 = new HashSet<TSentryPrivilege>(2*_set124.size);
+                    TSentryPrivilege _elem125;
+                    for (int _i126 = 0; _i126 < _set124.size; ++_i126)
                     {
-                      _elem109 = new TSentryPrivilege();
-                      _elem109.read(iprot);
-                      _val106.add(_elem109);
+                      _elem125 = new TSentryPrivilege();
+                      _elem125.read(iprot);
+                      _val122.add(_elem125);
                     }
                     iprot.readSetEnd();
                   }
-                  struct.privilegeMap.put(_key105, _val106);
+                  struct.privilegeMap.put(_key121, _val122);
                 }
                 iprot.readMapEnd();
               }
@@ -408,14 +408,14 @@ public class TSentryPrivilegeMap implements org.apache.thrift.TBase<TSentryPrivi
         oprot.writeFieldBegin(PRIVILEGE_MAP_FIELD_DESC);
         {
           oprot.writeMapBegin(new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.STRING, org.apache.thrift.protocol.TType.SET, struct.privilegeMap.size()));
-          for (Map.Entry<String, Set<TSentryPrivilege>> _iter111 : struct.privilegeMap.entrySet())
+          for (Map.Entry<String, Set<TSentryPrivilege>> _iter127 : struct.privilegeMap.entrySet())
           {
-            oprot.writeString(_iter111.getKey());
+            oprot.writeString(_iter127.getKey());
             {
-              oprot.writeSetBegin(new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRUCT, _iter111.getValue().size()));
-              for (TSentryPrivilege _iter112 : _iter111.getValue())
+              oprot.writeSetBegin(new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRUCT, _iter127.getValue().size()));
+              for (TSentryPrivilege _iter128 : _iter127.getValue())
               {
-                _iter112.write(oprot);
+                _iter128.write(oprot);
               }
               oprot.writeSetEnd();
             }
@@ -443,14 +443,14 @@ public class TSentryPrivilegeMap implements org.apache.thrift.TBase<TSentryPrivi
       TTupleProtocol oprot = (TTupleProtocol) prot;
       {
         oprot.writeI32(struct.privilegeMap.size());
-        for (Map.Entry<String, Set<TSentryPrivilege>> _iter113 : struct.privilegeMap.entrySet())
+        for (Map.Entry<String, Set<TSentryPrivilege>> _iter129 : struct.privilegeMap.entrySet())
         {
-          oprot.writeString(_iter113.getKey());
+          oprot.writeString(_iter129.getKey());
           {
-            oprot.writeI32(_iter113.getValue().size());
-            for (TSentryPrivilege _iter114 : _iter113.getValue())
+            oprot.writeI32(_iter129.getValue().size());
+            for (TSentryPrivilege _iter130 : _iter129.getValue())
             {
-              _iter114.write(oprot);
+              _iter130.write(oprot);
             }
           }
         }
@@ -461,25 +461,25 @@ public class TSentryPrivilegeMap implements org.apache.thrift.TBase<TSentryPrivi
     public void read(org.apache.thrift.protocol.TProtocol prot, TSentryPrivilegeMap struct) throws org.apache.thrift.TException {
       TTupleProtocol iprot = (TTupleProtocol) prot;
       {
-        org.apache.thrift.protocol.TMap _map115 = new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.STRING, org.apache.thrift.protocol.TType.SET, iprot.readI32());
-        struct.privilegeMap = new HashMap<String,Set<TSentryPrivilege>>(2*_map115.size);
-        String _key116;
-        Set<TSentryPrivilege> _val117;
-        for (int _i118 = 0; _i118 < _map115.size; ++_i118)
+        org.apache.thrift.protocol.TMap _map131 = new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.STRING, org.apache.thrift.protocol.TType.SET, iprot.readI32());
+        struct.privilegeMap = new HashMap<String,Set<TSentryPrivilege>>(2*_map131.size);
+        String _key132;
+        Set<TSentryPrivilege> _val133;
+        for (int _i134 = 0; _i134 < _map131.size; ++_i134)
         {
-          _key116 = iprot.readString();
+          _key132 = iprot.readString();
           {
-            org.apache.thrift.protocol.TSet _set119 = new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRUCT, iprot.readI32());
-            _val117 = new HashSet<TSentryPrivilege>(2*_set119.size);
-            TSentryPrivilege _elem120;
-            for (int _i121 = 0; _i121 < _set119.size; ++_i121)
+            org.apache.thrift.protocol.TSet _set135 = new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRUCT, iprot.readI32());
+            _val133 = new HashSet<TSentryPrivilege>(2*_set135.size);
+            TSentryPrivilege _elem136;
+            for (int _i137 = 0; _i137 < _set135.size; ++_i137)
             {
-              _elem120 = new TSentryPrivilege();
-              _elem120.read(iprot);
-              _val117.add(_elem120);
+              _elem136 = new TSentryPrivilege();
+              _elem136.read(iprot);
+              _val133.add(_elem136);
             }
           }
-          struct.privilegeMap.put(_key116, _val117);
+          struct.privilegeMap.put(_key132, _val133);
         }
       }
       struct.setPrivilegeMapIsSet(true);
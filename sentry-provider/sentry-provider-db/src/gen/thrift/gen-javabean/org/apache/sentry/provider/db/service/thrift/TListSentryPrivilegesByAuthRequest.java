@@ -34,7 +34,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 @SuppressWarnings({"cast", "rawtypes", "serial", "unchecked"})
-@Generated(value = "Autogenerated by Thrift Compiler (0.9.3)", date = "2017-04-26")
+@Generated(value = "Autogenerated by Thrift Compiler (0.9.3)", date = "2026-10-17")
 public class TListSentryPrivilegesByAuthRequest implements org.apache.thrift.TBase<TListSentryPrivilegesByAuthRequest, TListSentryPrivilegesByAuthRequest._Fields>, java.io.Serializable, Cloneable, Comparable<TListSentryPrivilegesByAuthRequest> {
   private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("TListSentryPrivilegesByAuthRequest");
 
@@ -725,14 +725,14 @@ public class TListSentryPrivilegesByAuthRequest implements org.apache.thrift.TBa
           case 3: // AUTHORIZABLE_SET
             if (schemeField.type == org.apache.thrift.protocol.TType.SET) {
               {
-                org.apache.thrift.protocol.TSet _set130 = iprot.readSetBegin();
-                struct.authorizableSet = new HashSet<TSentryAuthorizable>(2*_set130.size);
-                TSentryAuthorizable _elem131;
-                for (int _i132 = 0; _i132 < _set130.size; ++_i132)
+                org.apache.thrift.protocol.TSet _set154 = iprot.readSetBegin();
+                struct.authorizableSet = new HashSet<TSentryAuthorizable>(2*_set154.size);
+                TSentryAuthorizable _elem155;
+                for (int _i156 = 0; _i156 < _set154.size; ++_i156)
                 {
-                  _elem131 = new TSentryAuthorizable();
-                  _elem131.read(iprot);
-                  struct.authorizableSet.add(_elem131);
+                  _elem155 = new TSentryAuthorizable();
+                  _elem155.read(iprot);
+                  struct.authorizableSet.add(_elem155);
                 }
                 iprot.readSetEnd();
               }
@@ -744,13 +744,13 @@ public class TListSentryPrivilegesByAuthRequest implements org.apache.thrift.TBa
           case 4: // GROUPS
             if (schemeField.type == org.apache.thrift.protocol.TType.SET) {
               {
-                org.apache.thrift.protocol.TSet _set133 = iprot.readSetBegin();
-                struct.groups = new HashSet<String>(2*_set133.size);
-                String _elem134;
-                for (int _i135 = 0; _i135 < _set133.size; ++_i135)
+                org.apache.thrift.protocol.TSet _set157 = iprot.readSetBegin();
+                struct.groups = new HashSet<String>(2*_set157.size);
+                String _elem158;
+                for (int _i159 = 0; _i159 < _set157.size; ++_i159)
                 {
-                  _elem134 = iprot.readString();
-                  struct.groups.add(_elem134);
+                  _elem158 = iprot.readString();
+                  struct.groups.add(_elem158);
                 }
                 iprot.readSetEnd();
               }
@@ -793,9 +793,9 @@ public class TListSentryPrivilegesByAuthRequest implements org.apache.thrift.TBa
         oprot.writeFieldBegin(AUTHORIZABLE_SET_FIELD_DESC);
         {
           oprot.writeSetBegin(new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRUCT, struct.authorizableSet.size()));
-          for (TSentryAuthorizable _iter136 : struct.authorizableSet)
+          for (TSentryAuthorizable _iter160 : struct.authorizableSet)
           {
-            _iter136.write(oprot);
+            _iter160.write(oprot);
           }
           oprot.writeSetEnd();
         }
@@ -806,9 +806,9 @@ public class TListSentryPrivilegesByAuthRequest implements org.apache.thrift.TBa
           oprot.writeFieldBegin(GROUPS_FIELD_DESC);
           {
             oprot.writeSetBegin(new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRING, struct.groups.size()));
-            for (String _iter137 : struct.groups)
+            for (String _iter161 : struct.groups)
             {
-              oprot.writeString(_iter137);
+              oprot.writeString(_iter161);
             }
             oprot.writeSetEnd();
           }
@@ -843,9 +843,9 @@ public class TListSentryPrivilegesByAuthRequest implements org.apache.thrift.TBa
       oprot.writeString(struct.requestorUserName);
       {
         oprot.writeI32(struct.authorizableSet.size());
-        for (TSentryAuthorizable _iter138 : struct.authorizableSet)
+        for (TSentryAuthorizable _iter162 : struct.authorizableSet)
         {
-          _iter138.write(oprot);
+          _iter162.write(oprot);
         }
       }
       BitSet optionals = new BitSet();
@@ -859,9 +859,9 @@ public class TListSentryPrivilegesByAuthRequest implements org.apache.thrift.TBa
       if (struct.isSetGroups()) {
         {
           oprot.writeI32(struct.groups.size());
-          for (String _iter139 : struct.groups)
+          for (String _iter163 : struct.groups)
           {
-            oprot.writeString(_iter139);
+            oprot.writeString(_iter163);
           }
         }
       }
@@ -878,27 +878,27 @@ public class TListSentryPrivilegesByAuthRequest implements org.apache.thrift.TBa
       struct.requestorUserName = iprot.readString();
       struct.setRequestorUserNameIsSet(true);
       {
-        org.apache.thrift.protocol.TSet _set140 = new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRUCT, iprot.readI32());
-        struct.authorizableSet = new HashSet<TSentryAuthorizable>(2*_set140.size);
-        TSentryAuthorizable _elem141;
-        for (int _i142 = 0; _i142 < _set140.size; ++_i142)
+        org.apache.thrift.protocol.TSet _set164 = new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRUCT, iprot.readI32());
+        struct.authorizableSet = new HashSet<TSentryAuthorizable>(2*_set164.size);
+        TSentryAuthorizable _elem165;
+        for (int _i166 = 0; _i166 < _set164.size; ++_i166)
         {
-          _elem141 = new TSentryAuthorizable();
-          _elem141.read(iprot);
-          struct.authorizableSet.add(_elem141);
+          _elem165 = new TSentryAuthorizable();
+          _elem165.read(iprot);
+          struct.authorizableSet.add(_elem165);
         }
       }
       struct.setAuthorizableSetIsSet(true);
       BitSet incoming = iprot.readBitSet(2);
       if (incoming.get(0)) {
         {
-          org.apache.thrift.protocol.TSet _set143 = new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRING, iprot.readI32());
-          struct.groups = new HashSet<String>(2*_set143.size);
-          String _elem144;
-          for (int _i145 = 0; _i145 < _set143.size; ++_i145)
+          org.apache.thrift.protocol.TSet _set167 = new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRING, iprot.readI32());
+          struct.groups = new HashSet<String>(2*_set167.size);
+          String _elem168;
+          for (int _i169 = 0; _i169 < _set167.size; ++_i169)
           {
-            _elem144 = iprot.readString();
-            struct.groups.add(_elem144);
+            _elem168 = iprot.readString();
+            struct.groups.add(_elem168);
           }
         }
         struct.setGroupsIsSet(true);
@@ -34,7 +34,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 @SuppressWarnings({"cast", "rawtypes", "serial", "unchecked"})
-@Generated(value = "Autogenerated by Thrift Compiler (0.9.3)", date = "2017-04-26")
+@Generated(value = "Autogenerated by Thrift Compiler (0.9.3)", date = "2026-10-17")
 public class TListSentryPrivilegesByAuthResponse implements org.apache.thrift.TBase<TListSentryPrivilegesByAuthResponse, TListSentryPrivilegesByAuthResponse._Fields>, java.io.Serializable, Cloneable, Comparable<TListSentryPrivilegesByAuthResponse> {
   private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("TListSentryPrivilegesByAuthResponse");
 
@@ -453,17 +453,17 @@ public class TListSentryPrivilegesByAuthResponse implements org.apache.thrift.TB
           case 2: // PRIVILEGES_MAP_BY_AUTH
             if (schemeField.type == org.apache.thrift.protocol.TType.MAP) {
               {
-                org.apache.thrift.protocol.TMap _map146 = iprot.readMapBegin();
-                struct.privilegesMapByAuth = new HashMap<TSentryAuthorizable,TSentryPrivilegeMap>(2*_map146.size);
-                TSentryAuthorizable _key147;
-                TSentryPrivilegeMap _val148;
-                for (int _i149 = 0; _i149 < _map146.size; ++_i149)
+                org.apache.thrift.protocol.TMap _map170 = iprot.readMapBegin();
+                struct.privilegesMapByAuth = new HashMap<TSentryAuthorizable,TSentryPrivilegeMap>(2*_map170.size);
+                TSentryAuthorizable _key171;
+                TSentryPrivilegeMap _val172;
+                for (int _i173 = 0; _i173 < _map170.size; ++_i173)
                 {
-                  _key147 = new TSentryAuthorizable();
-                  _key147.read(iprot);
-                  _val148 = new TSentryPrivilegeMap();
-                  _val148.read(iprot);
-                  struct.privilegesMapByAuth.put(_key147, _val148);
+                  _key171 = new TSentryAuthorizable();
+                  _key171.read(iprot);
+                  _val172 = new TSentryPrivilegeMap();
+                  _val172.read(iprot);
+                  struct.privilegesMapByAuth.put(_key171, _val172);
                 }
                 iprot.readMapEnd();
               }
@@ -495,10 +495,10 @@ public class TListSentryPrivilegesByAuthResponse implements org.apache.thrift.TB
           oprot.writeFieldBegin(PRIVILEGES_MAP_BY_AUTH_FIELD_DESC);
           {
             oprot.writeMapBegin(new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.STRUCT, org.apache.thrift.protocol.TType.STRUCT, struct.privilegesMapByAuth.size()));
-            for (Map.Entry<TSentryAuthorizable, TSentryPrivilegeMap> _iter150 : struct.privilegesMapByAuth.entrySet())
+            for (Map.Entry<TSentryAuthorizable, TSentryPrivilegeMap> _iter174 : struct.privilegesMapByAuth.entrySet())
             {
-              _iter150.getKey().write(oprot);
-              _iter150.getValue().write(oprot);
+              _iter174.getKey().write(oprot);
+              _iter174.getValue().write(oprot);
             }
             oprot.writeMapEnd();
           }
@@ -531,10 +531,10 @@ public class TListSentryPrivilegesByAuthResponse implements org.apache.thrift.TB
       if (struct.isSetPrivilegesMapByAuth()) {
         {
           oprot.writeI32(struct.privilegesMapByAuth.size());
-          for (Map.Entry<TSentryAuthorizable, TSentryPrivilegeMap> _iter151 : struct.privilegesMapByAuth.entrySet())
+          for (Map.Entry<TSentryAuthorizable, TSentryPrivilegeMap> _iter175 : struct.privilegesMapByAuth.entrySet())
           {
-            _iter151.getKey().write(oprot);
-            _iter151.getValue().write(oprot);
+            _iter175.getKey().write(oprot);
+            _iter175.getValue().write(oprot);
           }
         }
       }
@@ -549,17 +549,17 @@ public class TListSentryPrivilegesByAuthResponse implements org.apache.thrift.TB
       BitSet incoming = iprot.readBitSet(1);
       if (incoming.get(0)) {
         {
-          org.apache.thrift.protocol.TMap _map152 = new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.STRUCT, org.apache.thrift.protocol.TType.STRUCT, iprot.readI32());
-          struct.privilegesMapByAuth = new HashMap<TSentryAuthorizable,TSentryPrivilegeMap>(2*_map152.size);
-          TSentryAuthorizable _key153;
-          TSentryPrivilegeMap _val154;
-          for (int _i155 = 0; _i155 < _map152.size; ++_i155)
+          org.apache.thrift.protocol.TMap _map176 = new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.STRUCT, org.apache.thrift.protocol.TType.STRUCT, iprot.readI32());
+          struct.privilegesMapByAuth = new HashMap<TSentryAuthorizable,TSentryPrivilegeMap>(2*_map176.size);
+          TSentryAuthorizable _key177;
+          TSentryPrivilegeMap _val178;
+          for (int _i179 = 0; _i179 < _map176.size; ++_i179)
           {
-            _key153 = new TSentryAuthorizable();
-            _key153.read(iprot);
-            _val154 = new TSentryPrivilegeMap();
-            _val154.read(iprot);
-            struct.privilegesMapByAuth.put(_key153, _val154);
+            _key177 = new TSentryAuthorizable();
+            _key177.read(iprot);
+            _val178 = new TSentryPrivilegeMap();
+            _val178.read(iprot);
+            struct.privilegesMapByAuth.put(_key177, _val178);
           }
         }
         struct.setPrivilegesMapByAuthIsSet(true);
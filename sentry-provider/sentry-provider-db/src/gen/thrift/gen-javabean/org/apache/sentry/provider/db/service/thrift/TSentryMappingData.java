@@ -34,7 +34,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 @SuppressWarnings({"cast", "rawtypes", "serial", "unchecked"})
-@Generated(value = "Autogenerated by Thrift Compiler (0.9.3)", date = "2017-04-26")
+@Generated(value = "Autogenerated by Thrift Compiler (0.9.3)", date = "2026-10-17")
 public class TSentryMappingData implements org.apache.thrift.TBase<TSentryMappingData, TSentryMappingData._Fields>, java.io.Serializable, Cloneable, Comparable<TSentryMappingData> {
   private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("TSentryMappingData");
 
@@ -569,25 +569,25 @@ public class TSentryMappingData implements org.apache.thrift.TBase<TSentryMappin
           case 1: // GROUP_ROLES_MAP
             if (schemeField.type == org.apache.thrift.protocol.TType.MAP) {
               {
-                org.apache.thrift.protocol.TMap _map156 = iprot.readMapBegin();
-                struct.groupRolesMap = new HashMap<String,Set<String>>(2*_map156.size);
-                String _key157;
-                Set<String> _val158;
-                for (int _i159 = 0; _i159 < _map156.size; ++_i159)
+                org.apache.thrift.protocol.TMap _map180 = iprot.readMapBegin();
+                struct.groupRolesMap = new HashMap<String,Set<String>>(2*_map180.size);
+                String _key181;
+                Set<String> _val182;
+                for (int _i183 = 0; _i183 < _map180.size; ++_i183)
                 {
-                  _key157 = iprot.readString();
+                  _key181 = iprot.readString();
                   {
-                    org.apache.thrift.protocol.TSet _set160 = iprot.readSetBegin();
-                    _val158 = new HashSet<String>(2*_set160.size);
-                    String _elem161;
-                    for (int _i162 = 0; _i162 < _set160.size; ++_i162)
+                    org.apache.thrift.protocol.TSet _set184 = iprot.readSetBegin();
+                    _val182 = new HashSet<String>(2*_set184.size);
+                    String _elem185;
+                    for (int _i186 = 0; _i186 < _set184.size; ++_i186)
                     {
-                      _elem161 = iprot.readString();
-                      _val158.add(_elem161);
+                      _elem185 = iprot.readString();
+                      _val182.add(_elem185);
                     }
                     iprot.readSetEnd();
                   }
-                  struct.groupRolesMap.put(_key157, _val158);
+                  struct.groupRolesMap.put(_key181, _val182);
                 }
                 iprot.readMapEnd();
               }
@@ -599,26 +599,26 @@ public class TSentryMappingData implements org.apache.thrift.TBase<TSentryMappin
           case 2: // ROLE_PRIVILEGES_MAP
             if (schemeField.type == org.apache.thrift.protocol.TType.MAP) {
               {
-                org.apache.thrift.protocol.TMap _map163 = iprot.readMapBegin();
-                struct.rolePrivilegesMap = new HashMap<String,Set<TSentryPrivilege>>(2*_map163.size);
-                String _key164;
-                Set<TSentryPrivilege> _val165;
-                for (int _i166 = 0; _i166 < _map163.size; ++_i166)
+                org.apache.thrift.protocol.TMap _map187 = iprot.readMapBegin();
+                struct.rolePrivilegesMap = new HashMap<String,Set<TSentryPrivilege>>(2*_map187.size);
+                String _key188;
+                Set<TSentryPrivilege> _val189;
+                for (int _i190 = 0; _i190 < _map187.size; ++_i190)
                 {
-                  _key164 = iprot.readString();
+                  _key188 = iprot.readString();
                   {
-                    org.apache.thrift.protocol.TSet _set167 = iprot.readSetBegin();
-                    _val165 = new HashSet<TSentryPrivilege>(2*_set167.size);
-                    TSentryPrivilege _elem168;
-                    for (int _i169 = 0; _i169 < _set167.size; ++_i169)
+                    org.apache.thrift.protocol.TSet _set191 = iprot.readSetBegin();
+                    _val189 = new HashSet<TSentryPrivilege>(2*_set191.size);
+                    TSentryPrivilege _elem192;
+                    for (int _i193 = 0; _i193 < _set191.size; ++_i193)
                     {
-                      _elem168 = new TSentryPrivilege();
-                      _elem168.read(iprot);
-                      _val165.add(_elem168);
+                      _elem192 = new TSentryPrivilege();
+                      _elem192.read(iprot);
+                      _val189.add(_elem192);
                     }
                     iprot.readSetEnd();
                   }
-                  struct.rolePrivilegesMap.put(_key164, _val165);
+                  struct.rolePrivilegesMap.put(_key188, _val189);
                 }
                 iprot.readMapEnd();
               }
@@ -630,25 +630,25 @@ public class TSentryMappingData implements org.apache.thrift.TBase<TSentryMappin
           case 3: // USER_ROLES_MAP
             if (schemeField.type == org.apache.thrift.protocol.TType.MAP) {
               {
-                org.apache.thrift.protocol.TMap _map170 = iprot.readMapBegin();
-                struct.userRolesMap = new HashMap<String,Set<String>>(2*_map170.size);
-                String _key171;
-                Set<String> _val172;
-                for (int _i173 = 0; _i173 < _map170.size; ++_i173)
+                org.apache.thrift.protocol.TMap _map194 = iprot.readMapBegin();
+                struct.userRolesMap = new HashMap<String,Set<String>>(2*_map194.size);
+                String _key195;
+                Set<String> _val196;
+                for (int _i197 = 0; _i197 < _map194.size; ++_i197)
                 {
-                  _key171 = iprot.readString();
+                  _key195 = iprot.readString();
                   {
-                    org.apache.thrift.protocol.TSet _set174 = iprot.readSetBegin();
-                    _val172 = new HashSet<String>(2*_set174.size);
-                    String _elem175;
-                    for (int _i176 = 0; _i176 < _set174.size; ++_i176)
+                    org.apache.thrift.protocol.TSet _set198 = iprot.readSetBegin();
+                    _val196 = new HashSet<String>(2*_set198.size);
+                    String _elem199;
+                    for (int _i200 = 0; _i200 < _set198.size; ++_i200)
                     {
-                      _elem175 = iprot.readString();
-                      _val172.add(_elem175);
+                      _elem199 = iprot.readString();
+                      _val196.add(_elem199);
                     }
                     iprot.readSetEnd();
                   }
-                  struct.userRolesMap.put(_key171, _val172);
+                  struct.userRolesMap.put(_key195, _val196);
                 }
                 iprot.readMapEnd();
               }
@@ -675,14 +675,14 @@ public class TSentryMappingData implements org.apache.thrift.TBase<TSentryMappin
           oprot.writeFieldBegin(GROUP_ROLES_MAP_FIELD_DESC);
           {
             oprot.writeMapBegin(new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.STRING, org.apache.thrift.protocol.TType.SET, struct.groupRolesMap.size()));
-            for (Map.Entry<String, Set<String>> _iter177 : struct.groupRolesMap.entrySet())
+            for (Map.Entry<String, Set<String>> _iter201 : struct.groupRolesMap.entrySet())
             {
-              oprot.writeString(_iter177.getKey());
+              oprot.writeString(_iter201.getKey());
               {
-                oprot.writeSetBegin(new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRING, _iter177.getValue().size()));
-                for (String _iter178 : _iter177.getValue())
+                oprot.writeSetBegin(new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRING, _iter201.getValue().size()));
+                for (String _iter202 : _iter201.getValue())
                 {
-                  oprot.writeString(_iter178);
+                  oprot.writeString(_iter202);
                 }
                 oprot.writeSetEnd();
               }
@@ -697,14 +697,14 @@ public class TSentryMappingData implements org.apache.thrift.TBase<TSentryMappin
           oprot.writeFieldBegin(ROLE_PRIVILEGES_MAP_FIELD_DESC);
           {
             oprot.writeMapBegin(new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.STRING, org.apache.thrift.protocol.TType.SET, struct.rolePrivilegesMap.size()));
-            for (Map.Entry<String, Set<TSentryPrivilege>> _iter179 : struct.rolePrivilegesMap.entrySet())
+            for (Map.Entry<String, Set<TSentryPrivilege>> _iter203 : struct.rolePrivilegesMap.entrySet())
             {
-              oprot.writeString(_iter179.getKey());
+              oprot.writeString(_iter203.getKey());
               {
-                oprot.writeSetBegin(new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRUCT, _iter179.getValue().size()));
-                for (TSentryPrivilege _iter180 : _iter179.getValue())
+                oprot.writeSetBegin(new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRUCT, _iter203.getValue().size()));
+                for (TSentryPrivilege _iter204 : _iter203.getValue())
                 {
-                  _iter180.write(oprot);
+                  _iter204.write(oprot);
                 }
                 oprot.writeSetEnd();
               }
@@ -719,14 +719,14 @@ public class TSentryMappingData implements org.apache.thrift.TBase<TSentryMappin
           oprot.writeFieldBegin(USER_ROLES_MAP_FIELD_DESC);
           {
             oprot.writeMapBegin(new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.STRING, org.apache.thrift.protocol.TType.SET, struct.userRolesMap.size()));
-            for (Map.Entry<String, Set<String>> _iter181 : struct.userRolesMap.entrySet())
+            for (Map.Entry<String, Set<String>> _iter205 : struct.userRolesMap.entrySet())
             {
-              oprot.writeString(_iter181.getKey());
+              oprot.writeString(_iter205.getKey());
               {
-                oprot.writeSetBegin(new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRING, _iter181.getValue().size()));
-                for (String _iter182 : _iter181.getValue())
+                oprot.writeSetBegin(new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRING, _iter205.getValue().size()));
+                for (String _iter206 : _iter205.getValue())
                 {
-                  oprot.writeString(_iter182);
+                  oprot.writeString(_iter206);
                 }
                 oprot.writeSetEnd();
               }
@@ -767,14 +767,14 @@ public class TSentryMappingData implements org.apache.thrift.TBase<TSentryMappin
       if (struct.isSetGroupRolesMap()) {
         {
           oprot.writeI32(struct.groupRolesMap.size());
-          for (Map.Entry<String, Set<String>> _iter183 : struct.groupRolesMap.entrySet())
+          for (Map.Entry<String, Set<String>> _iter207 : struct.groupRolesMap.entrySet())
           {
-            oprot.writeString(_iter183.getKey());
+            oprot.writeString(_iter207.getKey());
             {
-              oprot.writeI32(_iter183.getValue().size());
-              for (String _iter184 : _iter183.getValue())
+              oprot.writeI32(_iter207.getValue().size());
+              for (String _iter208 : _iter207.getValue())
               {
-                oprot.writeString(_iter184);
+                oprot.writeString(_iter208);
               }
             }
           }
@@ -783,14 +783,14 @@ public class TSentryMappingData implements org.apache.thrift.TBase<TSentryMappin
       if (struct.isSetRolePrivilegesMap()) {
         {
           oprot.writeI32(struct.rolePrivilegesMap.size());
-          for (Map.Entry<String, Set<TSentryPrivilege>> _iter185 : struct.rolePrivilegesMap.entrySet())
+          for (Map.Entry<String, Set<TSentryPrivilege>> _iter209 : struct.rolePrivilegesMap.entrySet())
           {
-            oprot.writeString(_iter185.getKey());
+            oprot.writeString(_iter209.getKey());
             {
-              oprot.writeI32(_iter185.getValue().size());
-              for (TSentryPrivilege _iter186 : _iter185.getValue())
+              oprot.writeI32(_iter209.getValue().size());
+              for (TSentryPrivilege _iter210 : _iter209.getValue())
               {
-                _iter186.write(oprot);
+                _iter210.write(oprot);
               }
             }
           }
@@ -799,14 +799,14 @@ public class TSentryMappingData implements org.apache.thrift.TBase<TSentryMappin
       if (struct.isSetUserRolesMap()) {
         {
           oprot.writeI32(struct.userRolesMap.size());
-          for (Map.Entry<String, Set<String>> _iter187 : struct.userRolesMap.entrySet())
+          for (Map.Entry<String, Set<String>> _iter211 : struct.userRolesMap.entrySet())
           {
-            oprot.writeString(_iter187.getKey());
+            oprot.writeString(_iter211.getKey());
             {
-              oprot.writeI32(_iter187.getValue().size());
-              for (String _iter188 : _iter187.getValue())
+              oprot.writeI32(_iter211.getValue().size());
+              for (String _iter212 : _iter211.getValue())
               {
-                oprot.writeString(_iter188);
+                oprot.writeString(_iter212);
               }
             }
           }
@@ -820,73 +820,73 @@ public class TSentryMappingData implements org.apache.thrift.TBase<TSentryMappin
       BitSet incoming = iprot.readBitSet(3);
       if (incoming.get(0)) {
         {
-          org.apache.thrift.protocol.TMap _map189 = new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.STRING, org.apache.thrift.protocol.TType.SET, iprot.readI32());
-          struct.groupRolesMap = new HashMap<String,Set<String>>(2*_map189.size);
-          String _key190;
-          Set<String> _val191;
-          for (int _i192 = 0; _i192 < _map189.size; ++_i192)
+          org.apache.thrift.protocol.TMap _map213 = new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.STRING, org.apache.thrift.protocol.TType.SET, iprot.readI32());
+          struct.groupRolesMap = new HashMap<String,Set<String>>(2*_map213.size);
+          String _key214;
+          Set<String> _val215;
+          for (int _i216 = 0; _i216 < _map213.size; ++_i216)
           {
-            _key190 = iprot.readString();
+            _key214 = iprot.readString();
             {
-              org.apache.thrift.protocol.TSet _set193 = new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRING, iprot.readI32());
-              _val191 = new HashSet<String>(2*_set193.size);
-              String _elem194;
-              for (int _i195 = 0; _i195 < _set193.size; ++_i195)
+              org.apache.thrift.protocol.TSet _set217 = new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRING, iprot.readI32());
+              _val215 = new HashSet<String>(2*_set217.size);
+              String _elem218;
+              for (int _i219 = 0; _i219 < _set217.size; ++_i219)
               {
-                _elem194 = iprot.readString();
-                _val191.add(_elem194);
+                _elem218 = iprot.readString();
+                _val215.add(_elem218);
               }
             }
-            struct.groupRolesMap.put(_key190, _val191);
+            struct.groupRolesMap.put(_key214, _val215);
           }
         }
         struct.setGroupRolesMapIsSet(true);
       }
       if (incoming.get(1)) {
         {
-          org.apache.thrift.protocol.TMap _map196 = new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.STRING, org.apache.thrift.protocol.TType.SET, iprot.readI32());
-          struct.rolePrivilegesMap = new HashMap<String,Set<TSentryPrivilege>>(2*_map196.size);
-          String _key197;
-          Set<TSentryPrivilege> _val198;
-          for (int _i199 = 0; _i199 < _map196.size; ++_i199)
+          org.apache.thrift.protocol.TMap _map220 = new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.STRING, org.apache.thrift.protocol.TType.SET, iprot.readI32());
+          struct.rolePrivilegesMap = new HashMap<String,Set<TSentryPrivilege>>(2*_map220.size);
+          String _key221;
+          Set<TSentryPrivilege> _val222;
+          for (int _i223 = 0; _i223 < _map220.size; ++_i223)
           {
-            _key197 = iprot.readString();
+            _key221 = iprot.readString();
             {
-              org.apache.thrift.protocol.TSet _set200 = new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRUCT, iprot.readI32());
-              _val198 = new HashSet<TSentryPrivilege>(2*_set200.size);
-              TSentryPrivilege _elem201;
-              for (int _i202 = 0; _i202 < _set200.size; ++_i202)
+              org.apache.thrift.protocol.TSet _set224 = new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRUCT, iprot.readI32());
+              _val222 = new HashSet<TSentryPrivilege>(2*_set224.size);
+              TSentryPrivilege _elem225;
+              for (int _i226 = 0; _i226 < _set224.size; ++_i226)
               {
-                _elem201 = new TSentryPrivilege();
-                _elem201.read(iprot);
-                _val198.add(_elem201);
+                _elem225 = new TSentryPrivilege();
+                _elem225.read(iprot);
+                _val222.add(_elem225);
               }
             }
-            struct.rolePrivilegesMap.put(_key197, _val198);
+            struct.rolePrivilegesMap.put(_key221, _val222);
           }
         }
         struct.setRolePrivilegesMapIsSet(true);
       }
       if (incoming.get(2)) {
         {
-          org.apache.thrift.protocol.TMap _map203 = new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.STRING, org.apache.thrift.protocol.TType.SET, iprot.readI32());
-          struct.userRolesMap = new HashMap<String,Set<String>>(2*_map203.size);
-          String _key204;
-          Set<String> _val205;
-          for (int _i206 = 0; _i206 < _map203.size; ++_i206)
+          org.apache.thrift.protocol.TMap _map227 = new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.STRING, org.apache.thrift.protocol.TType.SET, iprot.readI32());
+          struct.userRolesMap = new HashMap<String,Set<String>>(2*_map227.size);
+          String _key228;
+          Set<String> _val229;
+          for (int _i230 = 0; _i230 < _map227.size; ++_i230)
           {
-            _key204 = iprot.readString();
+            _key228 = iprot.readString();
             {
-              org.apache.thrift.protocol.TSet _set207 = new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRING, iprot.readI32());
-              _val205 = new HashSet<String>(2*_set207.size);
-              String _elem208;
-              for (int _i209 = 0; _i209 < _set207.size; ++_i209)
+              org.apache.thrift.protocol.TSet _set231 = new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRING, iprot.readI32());
+              _val229 = new HashSet<String>(2*_set231.size);
+              String _elem232;
+              for (int _i233 = 0; _i233 < _set231.size; ++_i233)
               {
-                _elem208 = iprot.readString();
-                _val205.add(_elem208);
+                _elem232 = iprot.readString();
+                _val229.add(_elem232);
               }
             }
-            struct.userRolesMap.put(_key204, _val205);
+            struct.userRolesMap.put(_key228, _val229);
           }
         }
         struct.setUserRolesMapIsSet(true);
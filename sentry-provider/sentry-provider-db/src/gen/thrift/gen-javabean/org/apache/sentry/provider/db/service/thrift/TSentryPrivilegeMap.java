@@ -34,7 +34,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 @SuppressWarnings({"cast", "rawtypes", "serial", "unchecked"})
-@Generated(value = "Autogenerated by Thrift Compiler (0.9.3)", date = "2017-04-26")
+@Generated(value = "Autogenerated by Thrift Compiler (0.9.3)", date = "2026-10-17")
 public class TSentryPrivilegeMap implements org.apache.thrift.TBase<TSentryPrivilegeMap, TSentryPrivilegeMap._Fields>, java.io.Serializable, Cloneable, Comparable<TSentryPrivilegeMap> {
   private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("TSentryPrivilegeMap");
 
@@ -363,26 +363,26 @@ public class TSentryPrivilegeMap implements org.apache.thrift.TBase<TSentryPrivi
           case 1: // PRIVILEGE_MAP
             if (schemeField.type == org.apache.thrift.protocol.TType.MAP) {
               {
-                org.apache.thrift.protocol.TMap _map112 = iprot.readMapBegin();
-                struct.privilegeMap = new HashMap<String,Set<TSentryPrivilege>>(2*_map112.size);
-                String _key113;
-                Set<TSentryPrivilege> _val114;
-                for (int _i115 = 0; _i115 < _map112.size; ++_i115)
+                org.apache.thrift.protocol.TMap _map136 = iprot.readMapBegin();
+                struct.privilegeMap = new HashMap<String,Set<TSentryPrivilege>>(2*_map136.size);
+                String _key137;
+                Set<TSentryPrivilege> _val138;
+                for (int _i139 = 0; _i139 < _map136.size; ++_i139)
                 {
-                  _key113 = iprot.readString();
+                  _key137 = iprot.readString();
                   {
-                    org.apache.thrift.protocol.TSet _set116 = iprot.readSetBegin();
-                    _val114 = new HashSet<TSentryPrivilege>(2*_set116.size);
-                    TSentryPrivilege _elem117;
-                    for (int _i118 = 0; _i118 < _set116.size; ++_i118)
+                    org.apache.thrift.protocol.TSet _set140 = iprot.readSetBegin();
+                    _val138 = new HashSet<TSentryPrivilege>(2*_set140.size);
+                    TSentryPrivilege _elem141;
+                    for (int _i142 = 0; _i142 < _set140.size; ++_i142)
                     {
-                      _elem117 = new TSentryPrivilege();
-                      _elem117.read(iprot);
-                      _val114.add(_elem117);
+                      _elem141 = new TSentryPrivilege();
+                      _elem141.read(iprot);
+                      _val138.add(_elem141);
                     }
                     iprot.readSetEnd();
                   }
-                  struct.privilegeMap.put(_key113, _val114);
+                  struct.privilegeMap.put(_key137, _val138);
                 }
                 iprot.readMapEnd();
               }
@@ -408,14 +408,14 @@ public class TSentryPrivilegeMap implements org.apache.thrift.TBase<TSentryPrivi
         oprot.writeFieldBegin(PRIVILEGE_MAP_FIELD_DESC);
         {
           oprot.writeMapBegin(new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.STRING, org.apache.thrift.protocol.TType.SET, struct.privilegeMap.size()));
-          for (Map.Entry<String, Set<TSentryPrivilege>> _iter119 : struct.privilegeMap.entrySet())
+          for (Map.Entry<String, Set<TSentryPrivilege>> _iter143 : struct.privilegeMap.entrySet())
           {
-            oprot.writeString(_iter119.getKey());
+            oprot.writeString(_iter143.getKey());
             {
-              oprot.writeSetBegin(new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRUCT, _iter119.getValue().size()));
-              for (TSentryPrivilege _iter120 : _iter119.getValue())
+              oprot.writeSetBegin(new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRUCT, _iter143.getValue().size()));
+              for (TSentryPrivilege _iter144 : _iter143.getValue())
               {
-                _iter120.write(oprot);
+                _iter144.write(oprot);
               }
               oprot.writeSetEnd();
             }
@@ -443,14 +443,14 @@ public class TSentryPrivilegeMap implements org.apache.thrift.TBase<TSentryPrivi
       TTupleProtocol oprot = (TTupleProtocol) prot;
       {
         oprot.writeI32(struct.privilegeMap.size());
-        for (Map.Entry<String, Set<TSentryPrivilege>> _iter121 : struct.privilegeMap.entrySet())
+        for (Map.Entry<String, Set<TSentryPrivilege>> _iter145 : struct.privilegeMap.entrySet())
         {
-          oprot.writeString(_iter121.getKey());
+          oprot.writeString(_iter145.getKey());
           {
-            oprot.writeI32(_iter121.getValue().size());
-            for (TSentryPrivilege _iter122 : _iter121.getValue())
+            oprot.writeI32(_iter145.getValue().size());
+            for (TSentryPrivilege _iter146 : _iter145.getValue())
             {
-              _iter122.write(oprot);
+              _iter146.write(oprot);
             }
           }
         }
@@ -461,25 +461,25 @@ public class TSentryPrivilegeMap implements org.apache.thrift.TBase<TSentryPrivi
     public void read(org.apache.thrift.protocol.TProtocol prot, TSentryPrivilegeMap struct) throws org.apache.thrift.TException {
       TTupleProtocol iprot = (TTupleProtocol) prot;
       {
-        org.apache.thrift.protocol.TMap _map123 = new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.STRING, org.apache.thrift.protocol.TType.SET, iprot.readI32());
-        struct.privilegeMap = new HashMap<String,Set<TSentryPrivilege>>(2*_map123.size);
-        String _key124;
-        Set<TSentryPrivilege> _val125;
-        for (int _i126 = 0; _i126 < _map123.size; ++_i126)
+        org.apache.thrift.protocol.TMap _map147 = new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.STRING, org.apache.thrift.protocol.TType.SET, iprot.readI32());
+        struct.privilegeMap = new HashMap<String,Set<TSentryPrivilege>>(2*_map147.size);
+        String _key148;
+        Set<TSentryPrivilege> _val149;
+        for (int _i150 = 0; _i150 < _map147.size; ++_i150)
         {
-          _key124 = iprot.readString();
+          _key148 = iprot.readString();
           {
-            org.apache.thrift.protocol.TSet _set127 = new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRUCT, iprot.readI32());
-            _val125 = new HashSet<TSentryPrivilege>(2*_set127.size);
-            TSentryPrivilege _elem128;
-            for (int _i129 = 0; _i129 < _set127.size; ++_i129)
+            org.apache.thrift.protocol.TSet _set151 = new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRUCT, iprot.readI32());
+            _val149 = new HashSet<TSentryPrivilege>(2*_set151.size);
+            TSentryPrivilege _elem152;
+            for (int _i153 = 0; _i153 < _set151.size; ++_i153)
             {
-              _elem128 = new TSentryPrivilege();
-              _elem128.read(iprot);
-              _val125.add(_elem128);
+              _elem152 = new TSentryPrivilege();
+              _elem152.read(iprot);
+              _val149.add(_elem152);
             }
           }
-          struct.privilegeMap.put(_key124, _val125);
+          struct.privilegeMap.put(_key148, _val149);
         }
       }
       struct.setPrivilegeMapIsSet(true);
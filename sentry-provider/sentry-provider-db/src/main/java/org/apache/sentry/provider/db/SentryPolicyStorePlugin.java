@@ -73,4 +73,9 @@ public interface SentryPolicyStorePlugin {
       throws SentryPluginException, SentryInvalidInputException;
 
   Update onDropSentryPrivilege(TDropPrivilegesRequest request) throws SentryPluginException;
+
+  /**
+   * Releases the resources of the plugin, e.g. its threads, once it isn't used anymore.
+   */
+  void close();
 }
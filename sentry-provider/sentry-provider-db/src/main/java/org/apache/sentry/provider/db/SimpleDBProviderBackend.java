@@ -22,6 +22,7 @@ import org.apache.hadoop.conf.Configuration;
 import org.apache.sentry.core.common.ActiveRoleSet;
 import org.apache.sentry.core.common.Authorizable;
 import org.apache.sentry.core.common.exception.SentryConfigurationException;
+import org.apache.sentry.policy.common.PolicyEngine;
 import org.apache.sentry.provider.common.ProviderBackend;
 import org.apache.sentry.provider.common.ProviderBackendContext;
 import org.apache.sentry.provider.db.service.thrift.SentryPolicyServiceClient;
@@ -110,6 +111,14 @@ public class SimpleDBProviderBackend implements ProviderBackend {
     throw new UnsupportedOperationException("Not yet implemented.");
   }
 
+  /**
+   * Privileges are fetched from the server on every call.
+   */
+  @Override
+  public long getPolicyVersion() {
+    return PolicyEngine.UNKNOWN_POLICY_VERSION;
+  }
+
   @Override
   public void close() {
     //Noop
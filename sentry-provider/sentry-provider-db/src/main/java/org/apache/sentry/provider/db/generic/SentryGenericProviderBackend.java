@@ -29,6 +29,7 @@ import org.apache.sentry.core.common.exception.SentryUserException;
 import org.apache.sentry.core.common.ActiveRoleSet;
 import org.apache.sentry.core.common.Authorizable;
 import org.apache.sentry.core.common.exception.SentryConfigurationException;
+import org.apache.sentry.policy.common.PolicyEngine;
 import org.apache.sentry.provider.common.CacheProvider;
 import org.apache.sentry.provider.common.ProviderBackend;
 import org.apache.sentry.provider.common.ProviderBackendContext;
@@ -54,6 +55,7 @@ public class SentryGenericProviderBackend extends CacheProvider implements Provi
   private String serviceName;
   private boolean enableCaching;
   private String privilegeConverter;
+  private UpdatableCache cache;
 
   // ProviderBackend should have the same construct to support the reflect in authBinding,
   // eg:SqoopAuthBinding
@@ -90,7 +92,7 @@ public class SentryGenericProviderBackend extends CacheProvider implements Provi
         throw new RuntimeException("Failed to create privilege converter of type " + privilegeConverter, e);
       }
       LOGGER.debug("Starting Updateable Cache");
-      UpdatableCache cache = new UpdatableCache(conf, getComponentType(), getServiceName(), sentryPrivilegeConverter);
+      cache = new UpdatableCache(conf, getComponentType(), getServiceName(), sentryPrivilegeConverter);
       try {
         cache.startUpdateThread(true);
       } catch (Exception e) {
@@ -181,6 +183,14 @@ public class SentryGenericProviderBackend extends CacheProvider implements Provi
     return getPrivileges(groups, roleSet);
   }
 
+  /**
+   * Without caching, privileges are fetched from the server on every call.
+   */
+  @Override
+  public long getPolicyVersion() {
+    return enableCaching ? cache.getVersion() : PolicyEngine.UNKNOWN_POLICY_VERSION;
+  }
+
   @Override
   public void close() {
   }
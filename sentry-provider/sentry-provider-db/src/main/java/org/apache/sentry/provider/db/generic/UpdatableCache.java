@@ -46,6 +46,8 @@ public final class UpdatableCache implements TableCache, AutoCloseable {
   private final TSentryPrivilegeConverter tSentryPrivilegeConverter;
 
   private volatile long lastRefreshedNs = 0;
+  // Bumped whenever the content of the table changes
+  private volatile long version = 0;
   private int consecutiveUpdateFailuresCount = 0;
   /**
    * Sparse table where group is the row key and role is the cell.
@@ -175,16 +177,29 @@ public final class UpdatableCache implements TableCache, AutoCloseable {
       // Clear cache to revoke all privileges.
       // Update table cache to point to an empty table to avoid thread-unsafe characteristics of HashBasedTable.
       this.table = HashBasedTable.create();
+      version++;
       LOGGER.error("Failed to update roles and privileges cache for " + consecutiveUpdateFailuresCount + " times." +
           " Revoking all privileges from cache, which will cause all authorization requests to fail.");
     }
   }
 
   private void reloadData() throws Exception {
-    this.table = loadFromRemote();
+    Table<String, String, Set<String>> newTable = loadFromRemote();
+    if (!newTable.equals(table)) {
+      this.table = newTable;
+      version++;
+    }
     lastRefreshedNs = System.nanoTime();
   }
 
+  /**
+   * @return the version of the cached privileges, changed on every reload which
+   *         changed them
+   */
+  long getVersion() {
+    return version;
+  }
+
   private boolean shouldRefresh() {
     final long currentTimeNs = System.nanoTime();
     return lastRefreshedNs + cacheTtlNs < currentTimeNs;
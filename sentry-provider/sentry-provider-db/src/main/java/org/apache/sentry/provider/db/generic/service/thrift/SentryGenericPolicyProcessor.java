@@ -17,10 +17,8 @@
  */
 package org.apache.sentry.provider.db.generic.service.thrift;
 
-import static org.apache.sentry.core.common.utils.SentryConstants.AUTHORIZABLE_JOINER;
-import static org.apache.sentry.core.common.utils.SentryConstants.KV_JOINER;
-
 import java.lang.reflect.Constructor;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -30,10 +28,17 @@ import java.util.Set;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.sentry.core.common.exception.SentryUserException;
 import org.apache.sentry.core.common.Authorizable;
-import org.apache.sentry.core.common.utils.SentryConstants;
+import org.apache.sentry.core.common.Model;
 import org.apache.sentry.core.common.exception.SentrySiteConfigurationException;
 import org.apache.sentry.core.model.db.AccessConstants;
+import org.apache.sentry.core.model.indexer.IndexerPrivilegeModel;
+import org.apache.sentry.core.model.kafka.KafkaPrivilegeModel;
+import org.apache.sentry.core.model.solr.SolrPrivilegeModel;
+import org.apache.sentry.core.model.sqoop.SqoopPrivilegeModel;
+import org.apache.sentry.policy.common.CompiledPrivilege;
+import org.apache.sentry.policy.common.PrivilegeTrie;
 import org.apache.sentry.core.common.utils.KeyValue;
+import org.apache.sentry.core.common.utils.PrivilegeStrings;
 import org.apache.sentry.provider.common.AuthorizationComponent;
 import org.apache.sentry.core.common.exception.SentryAccessDeniedException;
 import org.apache.sentry.core.common.exception.SentryAlreadyExistsException;
@@ -250,15 +255,11 @@ public class SentryGenericPolicyProcessor implements SentryGenericPolicyService.
 
   private String fromAuthorizableToStr(List<? extends Authorizable> authorizables) {
     if (authorizables != null && !authorizables.isEmpty()) {
-      List<String> privileges = Lists.newArrayList();
-
+      PrivilegeStrings.Builder privileges = new PrivilegeStrings.Builder();
       for (Authorizable authorizable : authorizables) {
-
-        privileges.add(SentryConstants.KV_JOINER.join(authorizable.getTypeName(),
-            authorizable.getName()));
+        privileges.add(authorizable.getTypeName(), authorizable.getName());
       }
-
-      return SentryConstants.AUTHORIZABLE_JOINER.join(privileges);
+      return privileges.toString();
     } else {
       return "";
     }
@@ -290,8 +291,7 @@ public class SentryGenericPolicyProcessor implements SentryGenericPolicyService.
       return authorizables;
     }
 
-    for (String authorizable : SentryConstants.AUTHORIZABLE_SPLITTER.split(privilegeStr)) {
-      KeyValue tempKV = new KeyValue(authorizable);
+    for (KeyValue tempKV : PrivilegeStrings.parse(privilegeStr)) {
       final String key = tempKV.getKey();
       final String value = tempKV.getValue();
 
@@ -356,15 +356,15 @@ public class SentryGenericPolicyProcessor implements SentryGenericPolicyService.
   private Set<String> buildPermissions(Set<PrivilegeObject> privileges) {
     Set<String> permissions = Sets.newHashSet();
     for (PrivilegeObject privilege : privileges) {
-      List<String> hierarchy = Lists.newArrayList();
+      PrivilegeStrings.Builder hierarchy = new PrivilegeStrings.Builder();
       if (hasComponentServerPrivilege(privilege.getComponent())) {
-        hierarchy.add(KV_JOINER.join("server", privilege.getService()));
+        hierarchy.add("server", privilege.getService());
       }
       for (Authorizable authorizable : privilege.getAuthorizables()) {
-        hierarchy.add(KV_JOINER.join(authorizable.getTypeName(),authorizable.getName()));
+        hierarchy.add(authorizable.getTypeName(), authorizable.getName());
       }
-      hierarchy.add(KV_JOINER.join("action", privilege.getAction()));
-      permissions.add(AUTHORIZABLE_JOINER.join(hierarchy));
+      hierarchy.add("action", privilege.getAction());
+      permissions.add(hierarchy.toString());
     }
     return permissions;
   }
@@ -583,8 +583,7 @@ public class SentryGenericPolicyProcessor implements SentryGenericPolicyService.
           if(!admin && (request.getGroupName() == null || !groups.contains(request.getGroupName()))) {
             throw new SentryAccessDeniedException(ACCESS_DENIAL_MESSAGE + request.getRequestorUserName());
           }
-          groups.clear();
-          groups.add(request.getGroupName());
+          groups = Sets.newHashSet(request.getGroupName());
         }
 
         Set<String> roleNames = store.getRolesByGroups(request.getComponent(), groups);
@@ -656,6 +655,59 @@ public class SentryGenericPolicyProcessor implements SentryGenericPolicyService.
     return tResponse;
   }
 
+  @Override
+  public TCheckSentryPrivilegesForProviderResponse check_sentry_privileges_for_provider(
+      final TCheckSentryPrivilegesForProviderRequest request) throws TException {
+    Response<byte[]> respose = requestHandle(new RequestHandler<byte[]>() {
+      @Override
+      public Response<byte[]> handle() throws Exception {
+        validateClientVersion(request.getProtocol_version());
+        Model model = getPrivilegeModel(request.getComponent());
+        Set<String> activeRoleNames = toTrimmedLower(request.getRoleSet().getRoles());
+        Set<String> roleNamesForGroups = store.getRolesByGroups(request.getComponent(), request.getGroups());
+        Set<String> rolesToQuery = request.getRoleSet().isAll() ? roleNamesForGroups : Sets.intersection(activeRoleNames, roleNamesForGroups);
+        // A single query for all the privileges of the service, the requested
+        // privileges are evaluated in memory against an index of them
+        Set<PrivilegeObject> privileges = store.getPrivilegesByProvider(request.getComponent(),
+                                                                        request.getServiceName(),
+                                                                        rolesToQuery, null, null);
+        List<CompiledPrivilege> compiled = Lists.newArrayList();
+        for (String permission : buildPermissions(privileges)) {
+          compiled.add(CompiledPrivilege.compile(permission, model));
+        }
+        PrivilegeTrie trie = PrivilegeTrie.build(compiled, model);
+
+        List<TSentryPrivilege> requested = request.getPrivileges();
+        BitSet decisions = new BitSet(requested.size());
+        for (int i = 0; i < requested.size(); i++) {
+          TSentryPrivilege privilege = requested.get(i);
+          if (trie.implies(CompiledPrivilege.compileRequest(
+              toAuthorizables(privilege.getAuthorizables()), privilege.getAction(), model))) {
+            decisions.set(i);
+          }
+        }
+        return new Response<byte[]>(Status.OK(), decisions.toByteArray());
+      }
+    });
+    TCheckSentryPrivilegesForProviderResponse tResponse = new TCheckSentryPrivilegesForProviderResponse();
+    tResponse.setStatus(respose.status);
+    tResponse.setDecisions(respose.content == null ? new byte[0] : respose.content);
+    return tResponse;
+  }
+
+  private static Model getPrivilegeModel(String component) throws SentryInvalidInputException {
+    if (AuthorizationComponent.KAFKA.equalsIgnoreCase(component)) {
+      return KafkaPrivilegeModel.getInstance();
+    } else if (AuthorizationComponent.Search.equalsIgnoreCase(component)) {
+      return SolrPrivilegeModel.getInstance();
+    } else if (AuthorizationComponent.SQOOP.equalsIgnoreCase(component)) {
+      return SqoopPrivilegeModel.getInstance();
+    } else if (AuthorizationComponent.HBASE_INDEXER.equalsIgnoreCase(component)) {
+      return IndexerPrivilegeModel.getInstance();
+    }
+    throw new SentryInvalidInputException("Unsupported component: " + component);
+  }
+
   @Override
   public TListSentryPrivilegesByAuthResponse list_sentry_privileges_by_authorizable(TListSentryPrivilegesByAuthRequest request) throws TException {
 
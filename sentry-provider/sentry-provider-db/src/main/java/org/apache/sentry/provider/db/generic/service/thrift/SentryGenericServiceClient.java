@@ -17,6 +17,7 @@
  */
 package org.apache.sentry.provider.db.generic.service.thrift;
 
+import java.util.BitSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -173,6 +174,20 @@ public interface SentryGenericServiceClient extends AutoCloseable {
       String serviceName, ActiveRoleSet roleSet, Set<String> groups,
       List<? extends Authorizable> authorizables) throws SentryUserException;
 
+  /**
+   * Authorize a batch of privileges in a single call.
+   * @param: component: The request is issued to which component
+   * @param: serviceName: The privilege belongs to which service
+   * @param: roleSet
+   * @param: groupNames
+   * @param: privileges: the requested privileges, only their authorizables and action are used
+   * @returns the indexes of the granted privileges
+   * @throws SentryUserException
+   */
+  BitSet checkPrivilegesForProvider(String component,
+      String serviceName, ActiveRoleSet roleSet, Set<String> groups,
+      List<TSentryPrivilege> privileges) throws SentryUserException;
+
   /**
    * Get sentry privileges based on valid active roles and the authorize objects. Note that
    * it is client responsibility to ensure the requestor username, etc. is not impersonated.
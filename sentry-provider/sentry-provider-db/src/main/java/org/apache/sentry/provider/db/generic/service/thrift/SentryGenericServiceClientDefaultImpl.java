@@ -35,6 +35,7 @@ import org.apache.thrift.protocol.TBinaryProtocol;
 import org.apache.thrift.protocol.TMultiplexedProtocol;
 
 import java.io.IOException;
+import java.util.BitSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -490,6 +491,32 @@ public class SentryGenericServiceClientDefaultImpl
     }
   }
 
+  @Override
+  public BitSet checkPrivilegesForProvider(String component,
+                                           String serviceName, ActiveRoleSet roleSet, Set<String> groups,
+                                           List<TSentryPrivilege> privileges) throws SentryUserException {
+    TSentryActiveRoleSet thriftRoleSet = new TSentryActiveRoleSet(roleSet.isAll(), roleSet.getRoles());
+    TCheckSentryPrivilegesForProviderRequest request = new TCheckSentryPrivilegesForProviderRequest();
+    request.setProtocol_version(sentry_common_serviceConstants.TSENTRY_SERVICE_V2);
+    request.setComponent(component);
+    request.setServiceName(serviceName);
+    request.setRoleSet(thriftRoleSet);
+    if (groups == null) {
+      request.setGroups(new HashSet<String>());
+    } else {
+      request.setGroups(groups);
+    }
+    request.setPrivileges(privileges);
+
+    try {
+      TCheckSentryPrivilegesForProviderResponse response = client.check_sentry_privileges_for_provider(request);
+      Status.throwIfNotOk(response.getStatus());
+      return BitSet.valueOf(response.getDecisions());
+    } catch (TException e) {
+      throw new SentryUserException(THRIFT_EXCEPTION_MESSAGE, e);
+    }
+  }
+
   /**
    * Get sentry privileges based on valid active roles and the authorize objects. Note that
    * it is client responsibility to ensure the requestor username, etc. is not impersonated.
@@ -0,0 +1,95 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.provider.db.service.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.apache.sentry.hdfs.Updateable.Update;
+
+import com.google.common.io.ByteStreams;
+
+/**
+ * The binary format of the delta changes of {@link MSentryPathChange} and
+ * {@link MSentryPermChange}: a format version byte followed by the update serialized with
+ * the Thrift compact protocol, deflated unless it is small. Unlike their JSON format, the
+ * changes are read without parsing any text.
+ */
+public final class DeltaChangeFormat {
+
+  // Format versions
+  static final byte COMPACT = 1;
+  static final byte COMPACT_DEFLATED = 2;
+
+  // Smaller updates are hardly compressed
+  static final int DEFLATE_MIN_SIZE = 256;
+
+  private DeltaChangeFormat() {
+    // Make constructor private to avoid instantiation
+  }
+
+  public static byte[] encode(Update update) throws IOException {
+    byte[] serialized = update.serialize();
+    if (serialized.length >= DEFLATE_MIN_SIZE) {
+      ByteArrayOutputStream deflated = new ByteArrayOutputStream(serialized.length / 4);
+      deflated.write(COMPACT_DEFLATED);
+      Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+      try (DeflaterOutputStream out = new DeflaterOutputStream(deflated, deflater)) {
+        out.write(serialized);
+      } finally {
+        deflater.end();
+      }
+      if (deflated.size() < serialized.length) {
+        return deflated.toByteArray();
+      }
+    }
+    byte[] data = new byte[serialized.length + 1];
+    data[0] = COMPACT;
+    System.arraycopy(serialized, 0, data, 1, serialized.length);
+    return data;
+  }
+
+  /**
+   * @param update the update to read the change into
+   * @param data the change in a format {@link #encode(Update)} wrote
+   * @throws IOException if the change cannot be read
+   */
+  public static void decode(Update update, byte[] data) throws IOException {
+    if (data.length == 0) {
+      throw new IOException("Empty delta change");
+    }
+    switch (data[0]) {
+      case COMPACT:
+        update.deserialize(Arrays.copyOfRange(data, 1, data.length));
+        break;
+      case COMPACT_DEFLATED:
+        try (InflaterInputStream in = new InflaterInputStream(
+            new ByteArrayInputStream(data, 1, data.length - 1))) {
+          update.deserialize(ByteStreams.toByteArray(in));
+        }
+        break;
+      default:
+        throw new IOException("Unknown delta change format " + data[0]);
+    }
+  }
+}
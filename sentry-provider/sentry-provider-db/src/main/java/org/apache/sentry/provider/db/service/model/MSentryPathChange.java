@@ -18,6 +18,9 @@
 
 package org.apache.sentry.provider.db.service.model;
 
+import java.io.IOException;
+import java.util.Arrays;
+
 import org.apache.sentry.hdfs.PathsUpdate;
 import org.apache.thrift.TException;
 
@@ -26,8 +29,10 @@ import javax.jdo.annotations.PrimaryKey;
 
 /**
  * Database backend store for HMS path delta change. Each record contains
- * change ID, HMS notification ID, JSON format of a single
- * &lt Hive Obj, HDFS Path &gt change, and timestamp.
+ * change ID, HMS notification ID, a single &lt Hive Obj, HDFS Path &gt change,
+ * and timestamp. The change is stored either in the binary
+ * {@link DeltaChangeFormat}, or in the JSON format of the changes persisted
+ * before it, and read from both.
  * <p>
  * e.g. for add paths change in JSON format.
  * <pre>
@@ -63,16 +68,27 @@ public class MSentryPathChange implements MSentryChange {
   //This value is auto incremented by JDO
   private long changeID;
 
-  // Path change in JSON format.
+  // Path change in JSON format, if not stored in binary format
   private String pathChange;
+  // Path change in binary format, if not stored in JSON format
+  private byte[] pathChangeData;
   private long createTimeMs;
   private String notificationHash;
 
   public MSentryPathChange(long changeID, String notificationHash, PathsUpdate pathChange) throws TException {
+    this(changeID, notificationHash, pathChange, false);
+  }
+
+  /**
+   * @param binary whether the change is stored in the binary {@link DeltaChangeFormat}
+   *        rather than in JSON format, which Sentry servers of previous versions can read
+   */
+  public MSentryPathChange(long changeID, String notificationHash, PathsUpdate pathChange,
+      boolean binary) throws TException {
     // Each PathsUpdate maps to a MSentryPathChange object.
     // The PathsUpdate is generated from a HMS notification log,
     // the notification ID is stored as seqNum and
-    // the notification update is serialized as JSON string.
+    // the notification update is serialized in binary or JSON format.
     this.changeID = changeID;
 
     /*
@@ -84,7 +100,15 @@ public class MSentryPathChange implements MSentryChange {
      */
     this.notificationHash = notificationHash;
 
-    this.pathChange = pathChange.JSONSerialize();
+    if (binary) {
+      try {
+        this.pathChangeData = DeltaChangeFormat.encode(pathChange);
+      } catch (IOException e) {
+        throw new TException("Cannot serialize path change " + changeID, e);
+      }
+    } else {
+      this.pathChange = pathChange.JSONSerialize();
+    }
     this.createTimeMs = System.currentTimeMillis();
   }
 
@@ -92,10 +116,37 @@ public class MSentryPathChange implements MSentryChange {
     return createTimeMs;
   }
 
+  /**
+   * @return the path change in JSON format, null if stored in binary format
+   */
   public String getPathChange() {
     return pathChange;
   }
 
+  /**
+   * @return the path change read from the format it is stored in, JSON or binary
+   */
+  public PathsUpdate getPathsUpdate() throws TException {
+    PathsUpdate update = new PathsUpdate();
+    if (pathChangeData == null) {
+      update.JSONDeserialize(pathChange);
+      return update;
+    }
+    try {
+      DeltaChangeFormat.decode(update, pathChangeData);
+    } catch (IOException e) {
+      throw new TException("Cannot deserialize path change " + changeID, e);
+    }
+    return update;
+  }
+
+  /**
+   * @return whether the change is stored in the binary {@link DeltaChangeFormat}
+   */
+  public boolean isBinary() {
+    return pathChangeData != null;
+  }
+
   public long getChangeID() {
     return changeID;
   }
@@ -107,7 +158,8 @@ public class MSentryPathChange implements MSentryChange {
   @Override
   public String toString() {
     return "MSentryChange [changeID=" + changeID + " , notificationHash= "
-        + notificationHash +" , pathChange= " + pathChange +
+        + notificationHash +" , pathChange= " +
+        (pathChange != null ? pathChange : pathChangeData.length + " bytes") +
         ", createTime=" + createTimeMs +  "]";
   }
 
@@ -118,6 +170,7 @@ public class MSentryPathChange implements MSentryChange {
     result = prime * result + Long.valueOf(changeID).hashCode();
     result = prime * result + notificationHash.hashCode();
     result = prime * result + ((pathChange == null) ? 0 : pathChange.hashCode());
+    result = prime * result + Arrays.hashCode(pathChangeData);
     return result;
   }
 
@@ -148,6 +201,10 @@ public class MSentryPathChange implements MSentryChange {
       return false;
     }
 
+    if (!Arrays.equals(pathChangeData, other.pathChangeData)) {
+      return false;
+    }
+
     if (pathChange == null) {
       return other.pathChange == null;
     }
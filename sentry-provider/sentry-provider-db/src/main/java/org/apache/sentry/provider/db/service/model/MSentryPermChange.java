@@ -18,6 +18,9 @@
 
 package org.apache.sentry.provider.db.service.model;
 
+import java.io.IOException;
+import java.util.Arrays;
+
 import org.apache.sentry.hdfs.PermissionsUpdate;
 import org.apache.thrift.TException;
 
@@ -27,8 +30,9 @@ import javax.jdo.annotations.PrimaryKey;
 
 /**
  * Database backend store for Sentry permission delta change. Each record
- * contains change ID, JSON format of a single Sentry permission change,
- * and timestamp.
+ * contains change ID, a single Sentry permission change, and timestamp.
+ * The change is stored either in the binary {@link DeltaChangeFormat}, or in
+ * the JSON format of the changes persisted before it, and read from both.
  * <p>
  * e.g. for rename privileges change in JSON format.
  * <pre>
@@ -61,13 +65,32 @@ public class MSentryPermChange implements MSentryChange {
   //This value is auto incremented by JDO
   private long changeID;
 
-  // Permission change in JSON format.
+  // Permission change in JSON format, if not stored in binary format
   private String permChange;
+  // Permission change in binary format, if not stored in JSON format
+  private byte[] permChangeData;
   private long createTimeMs;
 
   public MSentryPermChange(long changeID, PermissionsUpdate permChange) throws TException {
+    this(changeID, permChange, false);
+  }
+
+  /**
+   * @param binary whether the change is stored in the binary {@link DeltaChangeFormat}
+   *        rather than in JSON format, which Sentry servers of previous versions can read
+   */
+  public MSentryPermChange(long changeID, PermissionsUpdate permChange, boolean binary)
+      throws TException {
     this.changeID = changeID;
-    this.permChange = permChange.JSONSerialize();
+    if (binary) {
+      try {
+        this.permChangeData = DeltaChangeFormat.encode(permChange);
+      } catch (IOException e) {
+        throw new TException("Cannot serialize permission change " + changeID, e);
+      }
+    } else {
+      this.permChange = permChange.JSONSerialize();
+    }
     this.createTimeMs = System.currentTimeMillis();
   }
 
@@ -75,17 +98,45 @@ public class MSentryPermChange implements MSentryChange {
     return createTimeMs;
   }
 
+  /**
+   * @return the permission change in JSON format, null if stored in binary format
+   */
   public String getPermChange() {
     return permChange;
   }
 
+  /**
+   * @return the permission change read from the format it is stored in, JSON or binary
+   */
+  public PermissionsUpdate getPermissionsUpdate() throws TException {
+    PermissionsUpdate update = new PermissionsUpdate();
+    if (permChangeData == null) {
+      update.JSONDeserialize(permChange);
+      return update;
+    }
+    try {
+      DeltaChangeFormat.decode(update, permChangeData);
+    } catch (IOException e) {
+      throw new TException("Cannot deserialize permission change " + changeID, e);
+    }
+    return update;
+  }
+
+  /**
+   * @return whether the change is stored in the binary {@link DeltaChangeFormat}
+   */
+  public boolean isBinary() {
+    return permChangeData != null;
+  }
+
   public long getChangeID() {
     return changeID;
   }
 
   @Override
   public String toString() {
-    return "MSentryPermChange [changeID=" + changeID + ", permChange= " + permChange +
+    return "MSentryPermChange [changeID=" + changeID + ", permChange= " +
+        (permChange != null ? permChange : permChangeData.length + " bytes") +
         ", createTimeMs=" + createTimeMs +  "]";
   }
 
@@ -95,6 +146,7 @@ public class MSentryPermChange implements MSentryChange {
     int result = 1;
     result = prime * result + Long.valueOf(changeID).hashCode();
     result = prime * result + ((permChange == null) ? 0 : permChange.hashCode());
+    result = prime * result + Arrays.hashCode(permChangeData);
     return result;
   }
 
@@ -121,6 +173,10 @@ public class MSentryPermChange implements MSentryChange {
       return false;
     }
 
+    if (!Arrays.equals(permChangeData, other.permChangeData)) {
+      return false;
+    }
+
     if (permChange == null) {
       return other.permChange == null;
     }
@@ -0,0 +1,93 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.provider.db.service.model;
+
+import javax.jdo.annotations.PersistenceCapable;
+import javax.jdo.annotations.PrimaryKey;
+
+/**
+ * Database backend store for the changes of the Sentry roles and privileges. Every
+ * transaction changing the roles, their groups, users or privileges records the names of
+ * the roles it changed, so that the Sentry servers sharing the database can bring their
+ * in-memory image of the roles up to date. A null role name stands for a change of any
+ * role, e.g. an import.
+ * <p>
+ * Any changes to this objects require re-running the maven build so DN
+ * can re-enhance.
+ */
+@PersistenceCapable
+public class MSentryPolicyChange implements MSentryChange {
+
+  @PrimaryKey
+  private long changeID;
+
+  // Normalized name of the changed role, null if any role may have changed
+  private String roleName;
+  private long createTimeMs;
+
+  public MSentryPolicyChange(long changeID, String roleName) {
+    this.changeID = changeID;
+    this.roleName = roleName;
+    this.createTimeMs = System.currentTimeMillis();
+  }
+
+  public long getChangeID() {
+    return changeID;
+  }
+
+  public String getRoleName() {
+    return roleName;
+  }
+
+  public long getCreateTimeMs() {
+    return createTimeMs;
+  }
+
+  @Override
+  public String toString() {
+    return "MSentryPolicyChange [changeID=" + changeID + ", roleName=" + roleName +
+        ", createTimeMs=" + createTimeMs + "]";
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.valueOf(changeID).hashCode();
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+
+    if (obj == null) {
+      return false;
+    }
+
+    if (getClass() != obj.getClass()) {
+      return false;
+    }
+
+    MSentryPolicyChange other = (MSentryPolicyChange) obj;
+    if (changeID != other.changeID || createTimeMs != other.createTimeMs) {
+      return false;
+    }
+
+    return roleName == null ? other.roleName == null : roleName.equals(other.roleName);
+  }
+}
@@ -40,13 +40,22 @@ import javax.jdo.PersistenceManager;
  * {@link SentryInvalidInputException} would be thrown when update is
  * neither type of PathsUpdate nor PermissionsUpdate, also in the case
  * update contains a full image. TException would be thrown if Update
- * cannot be successfully serialized to JSON string.
+ * cannot be successfully serialized.
  */
 public class DeltaTransactionBlock implements TransactionBlock<Object> {
   private final Update update;
+  private final boolean binary;
 
   public DeltaTransactionBlock(Update update) {
+    this(update, false);
+  }
+
+  /**
+   * @param binary whether the update is persisted in binary rather than JSON format
+   */
+  public DeltaTransactionBlock(Update update, boolean binary) {
     this.update = update;
+    this.binary = binary;
   }
 
   @Override
@@ -63,8 +72,7 @@ public class DeltaTransactionBlock implements TransactionBlock<Object> {
    * {@link SentryInvalidInputException} would be thrown when update is
    * neither type of PathsUpdate nor PermissionsUpdate. Also in the case
    * update contains a full image.
-   * TException would be thrown if Update cannot be successfully serialized
-   * to JSON string.
+   * TException would be thrown if Update cannot be successfully serialized.
    *
    * @param pm PersistenceManager
    * @param update update
@@ -87,11 +95,13 @@ public class DeltaTransactionBlock implements TransactionBlock<Object> {
     // fail.
     if (update instanceof PermissionsUpdate) {
       long lastChangeID = SentryStore.getLastProcessedChangeIDCore(pm, MSentryPermChange.class);
-      pm.makePersistent(new MSentryPermChange(lastChangeID + 1, (PermissionsUpdate) update));
+      pm.makePersistent(new MSentryPermChange(lastChangeID + 1, (PermissionsUpdate) update,
+          binary));
     } else if (update instanceof UniquePathsUpdate) {
       long lastChangeID = SentryStore.getLastProcessedChangeIDCore(pm, MSentryPathChange.class);
       String eventHash = ((UniquePathsUpdate) update).getEventHash();
-      pm.makePersistent(new MSentryPathChange(lastChangeID + 1, eventHash, (PathsUpdate) update));
+      pm.makePersistent(new MSentryPathChange(lastChangeID + 1, eventHash, (PathsUpdate) update,
+          binary));
       // Notification id from PATH_UPDATE entry is made persistent in
       // SENTRY_LAST_NOTIFICATION_ID table.
       pm.makePersistent(new MSentryHmsNotification(update.getSeqNum()));
@@ -26,8 +26,10 @@ import static org.apache.sentry.binding.hive.conf.HiveAuthzConf.AuthzConfVars.AU
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Supplier;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import javax.jdo.JDODataStoreException;
 import org.apache.hadoop.conf.Configuration;
@@ -36,10 +38,12 @@ import org.apache.thrift.TException;
 import org.apache.sentry.service.thrift.SentryHMSClient;
 import org.apache.sentry.service.thrift.HiveConnectionFactory;
 import org.apache.sentry.service.thrift.HiveNotificationFetcher;
+import org.apache.sentry.service.thrift.NotificationPrefetcher;
 import org.apache.sentry.service.thrift.SentryServiceUtil;
 import org.apache.sentry.service.thrift.SentryStateBank;
 import org.apache.sentry.service.thrift.SentryServiceState;
 import org.apache.sentry.service.thrift.HMSFollowerState;
+import org.apache.sentry.service.thrift.ServiceConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -63,6 +67,15 @@ public class HMSFollower implements Runnable, AutoCloseable, PubSub.Subscriber {
   private final HiveNotificationFetcher notificationFetcher;
   private final boolean hdfsSyncEnabled;
   private final AtomicBoolean fullUpdateHMS = new AtomicBoolean(false);
+  // Maximum number of notifications and time of a NotificationBatch
+  private final int batchSize;
+  private final long batchMaxMs;
+  // Maximum number of notifications requested at a time, and of pages requested ahead
+  private final int fetchPageSize;
+  private final int prefetchPages;
+  // Number of threads processing notifications, created on first use if more than 1
+  private final int laneCount;
+  private NotificationLanes lanes;
 
   private final LeaderStatusMonitor leaderMonitor;
 
@@ -110,6 +123,17 @@ public class HMSFollower implements Runnable, AutoCloseable, PubSub.Subscriber {
     client = new SentryHMSClient(authzConf, hiveConnectionFactory);
     hdfsSyncEnabled = SentryServiceUtil.isHDFSSyncEnabledNoCache(authzConf); // no cache to test different settings for hdfs sync
     notificationFetcher = new HiveNotificationFetcher(sentryStore, hiveConnectionFactory);
+    batchSize = conf.getInt(ServiceConstants.ServerConfig.SENTRY_HMSFOLLOWER_BATCH_SIZE,
+        ServiceConstants.ServerConfig.SENTRY_HMSFOLLOWER_BATCH_SIZE_DEFAULT);
+    batchMaxMs = conf.getLong(ServiceConstants.ServerConfig.SENTRY_HMSFOLLOWER_BATCH_MAX_MS,
+        ServiceConstants.ServerConfig.SENTRY_HMSFOLLOWER_BATCH_MAX_MS_DEFAULT);
+    fetchPageSize = conf.getInt(ServiceConstants.ServerConfig.SENTRY_HMSFOLLOWER_FETCH_PAGE_SIZE,
+        ServiceConstants.ServerConfig.SENTRY_HMSFOLLOWER_FETCH_PAGE_SIZE_DEFAULT);
+    prefetchPages = conf.getInt(
+        ServiceConstants.ServerConfig.SENTRY_HMSFOLLOWER_FETCH_PREFETCH_PAGES,
+        ServiceConstants.ServerConfig.SENTRY_HMSFOLLOWER_FETCH_PREFETCH_PAGES_DEFAULT);
+    laneCount = conf.getInt(ServiceConstants.ServerConfig.SENTRY_HMSFOLLOWER_PROCESSING_LANES,
+        ServiceConstants.ServerConfig.SENTRY_HMSFOLLOWER_PROCESSING_LANES_DEFAULT);
 
     // subscribe to full update notification
     if (conf.getBoolean(ServerConfig.SENTRY_SERVICE_FULL_UPDATE_PUBSUB, false)) {
@@ -152,6 +176,11 @@ public class HMSFollower implements Runnable, AutoCloseable, PubSub.Subscriber {
     }
 
     notificationFetcher.close();
+
+    if (lanes != null) {
+      lanes.close();
+      lanes = null;
+    }
   }
 
   @Override
@@ -224,6 +253,11 @@ public class HMSFollower implements Runnable, AutoCloseable, PubSub.Subscriber {
         notificationId = 0L;
       }
 
+      if (fetchPageSize > 0) {
+        processNotificationPages(notificationId);
+        return;
+      }
+
       Collection<NotificationEvent> notifications =
           notificationFetcher.fetchNotifications(notificationId);
 
@@ -236,12 +270,7 @@ public class HMSFollower implements Runnable, AutoCloseable, PubSub.Subscriber {
         return;
       }
 
-      if (!readyToServe) {
-        // Allow users and/or applications who look into the Sentry console output to see
-        // when Sentry is ready to serve.
-        System.out.println("Sentry HMS support is ready");
-        readyToServe = true;
-      }
+      setReadyToServe();
 
       // Continue with processing new notifications if no snapshots are done.
       processNotifications(notifications);
@@ -256,6 +285,43 @@ public class HMSFollower implements Runnable, AutoCloseable, PubSub.Subscriber {
     }
   }
 
+  private void setReadyToServe() {
+    if (!readyToServe) {
+      // Allow users and/or applications who look into the Sentry console output to see
+      // when Sentry is ready to serve.
+      System.out.println("Sentry HMS support is ready");
+      readyToServe = true;
+    }
+  }
+
+  /**
+   * Processes the new notifications page by page, while a {@link NotificationPrefetcher}
+   * fetches the next pages. Like {@link #syncupWithHms(long)}, takes a full snapshot instead
+   * if the first page shows an out-of-sync.
+   *
+   * @param notificationId ID of the last notification processed
+   * @throws Exception if fetching or processing the notifications fails
+   */
+  private void processNotificationPages(long notificationId) throws Exception {
+    boolean outOfSync;
+    try (NotificationPrefetcher prefetcher = new NotificationPrefetcher(notificationFetcher,
+        notificationId, fetchPageSize, prefetchPages)) {
+      prefetcher.start();
+      List<NotificationEvent> notifications = prefetcher.nextPage();
+      outOfSync = hdfsSyncEnabled && areNotificationsOutOfSync(notifications, notificationId);
+      if (!outOfSync) {
+        setReadyToServe();
+        while (processNotificationList(notifications)) {
+          notifications = prefetcher.nextPage();
+        }
+      }
+    }
+    if (outOfSync) {
+      // Out-of-sync, taking a HMS full snapshot.
+      createFullSnapshot();
+    }
+  }
+
   /**
    * Checks if a new full HMS snapshot request is needed by checking if:
    * <ul>
@@ -381,6 +447,10 @@ public class HMSFollower implements Runnable, AutoCloseable, PubSub.Subscriber {
       SentryStateBank
           .enableState(SentryServiceState.COMPONENT, SentryServiceState.FULL_UPDATE_RUNNING);
 
+      if (hdfsSyncEnabled && sentryStore.isFullPathsImageChunked()) {
+        return streamFullSnapshot();
+      }
+
       PathsImage snapshotInfo = client.getFullSnapshot();
       if (snapshotInfo.getPathImage().isEmpty()) {
         LOGGER.debug("Received empty path image from HMS while taking a full snapshot");
@@ -422,6 +492,44 @@ public class HMSFollower implements Runnable, AutoCloseable, PubSub.Subscriber {
     }
   }
 
+  /**
+   * Streams a full snapshot from HMS into the store, which persists it in chunks, so that
+   * it is never kept in memory as a whole.
+   *
+   * @return ID of last notification processed.
+   * @throws Exception if the snapshot could not be persisted
+   */
+  private long streamFullSnapshot() throws Exception {
+    // Check we're the leader before persisting the new snapshot
+    if (!isLeader()) {
+      LOGGER.info("Not persisting full snapshot since not a leader");
+      return SentryStore.EMPTY_NOTIFICATION_ID;
+    }
+    long notificationId;
+    try {
+      // The leadership may be lost while fetching, check it again before each chunk and
+      // before the snapshot is made current
+      notificationId = client.persistFullSnapshot(sentryStore, new Supplier<Boolean>() {
+        @Override
+        public Boolean get() {
+          return isLeader();
+        }
+      });
+    } catch (Exception failure) {
+      LOGGER.error("Received exception while persisting HMS path full snapshot ");
+      throw failure;
+    }
+    if (notificationId == SentryStore.EMPTY_NOTIFICATION_ID) {
+      LOGGER.debug("Received empty path image from HMS while taking a full snapshot");
+      return notificationId;
+    }
+    // Wake up any HMS waiters that could have been put on hold before getting the
+    // eventIDBefore value.
+    wakeUpWaitingClientsForSync(notificationId);
+    LOGGER.info("Sentry HMS support is ready");
+    return notificationId;
+  }
+
   /**
    * Process the collection of notifications and wake up any waiting clients.
    * Also, persists the notification ID regardless of processing result.
@@ -430,50 +538,242 @@ public class HMSFollower implements Runnable, AutoCloseable, PubSub.Subscriber {
    * @throws Exception if the complete notification list is not processed because of JDO Exception
    */
   public void processNotifications(Collection<NotificationEvent> events) throws Exception {
-    boolean isNotificationProcessed;
+    processNotificationList(events);
+  }
+
+  /**
+   * Same as {@link #processNotifications(Collection)}.
+   *
+   * @return true, if the list is not empty and the next notifications can be processed
+   */
+  private boolean processNotificationList(Collection<NotificationEvent> events)
+      throws Exception {
     if (events.isEmpty()) {
-      return;
+      return false;
     }
 
+    if (laneCount > 1) {
+      return processNotificationLanes(events);
+    }
+    if (batchSize > 1) {
+      return processNotificationBatches(events);
+    }
     for (NotificationEvent event : events) {
-      isNotificationProcessed = false;
-      try {
+      if (!processNotification(event)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Process the notifications persisting the path changes of consecutive ones in
+   * {@link NotificationBatch}es, and wake up any waiting clients after each batch.
+   * Notifications which cannot be part of a batch are processed one by one.
+   *
+   * @param events list of event to be processed
+   * @return true, if the next notifications can be processed
+   * @throws Exception if the complete notification list is not processed because of JDO Exception
+   */
+  private boolean processNotificationBatches(Collection<NotificationEvent> events)
+      throws Exception {
+    NotificationBatch batch = new NotificationBatch();
+    for (NotificationEvent event : events) {
+      // Only the leader should process the notifications
+      if (!isLeader()) {
+        LOGGER.debug("Not processing notifications since not a leader");
+        return false;
+      }
+      boolean addedToBatch = false;
+      if (notificationProcessor.isBatchable(event)) {
+        try {
+          notificationProcessor.processNotificationEvent(event, batch);
+          addedToBatch = true;
+        } catch (Exception e) {
+          LOGGER.debug("Processing the notification with ID:{} in a batch failed, processing "
+              + "it on its own", event.getEventId(), e);
+        }
+      }
+      if (addedToBatch) {
+        batch.addEvent(event);
+        if (batch.size() < batchSize && batch.getAgeMs() < batchMaxMs) {
+          continue;
+        }
+      }
+      if (!persistNotificationBatch(batch)) {
+        return false;
+      }
+      batch = new NotificationBatch();
+      if (!addedToBatch && !processNotification(event)) {
+        return false;
+      }
+    }
+    return persistNotificationBatch(batch);
+  }
+
+  /**
+   * Process the notifications like {@link #processNotificationBatches(Collection)}, but
+   * the ones which can be part of a batch are processed in parallel by
+   * {@link NotificationLanes}. Their batches are still persisted in the order of the
+   * notifications, and a notification which cannot be part of a batch is processed once
+   * all the previous ones are persisted.
+   *
+   * @param events list of event to be processed
+   * @return true, if the next notifications can be processed
+   * @throws Exception if the complete notification list is not processed because of JDO Exception
+   */
+  private boolean processNotificationLanes(Collection<NotificationEvent> events)
+      throws Exception {
+    if (lanes == null) {
+      lanes = new NotificationLanes(laneCount, sentryStore, getAuthServerName(), authzConf);
+    }
+    // Let the lanes process the notifications of the next batch while one is persisted
+    int maxPending = Math.max(batchSize, laneCount) * 2;
+    NotificationBatch batch = new NotificationBatch();
+    try {
+      for (NotificationEvent event : events) {
         // Only the leader should process the notifications
         if (!isLeader()) {
           LOGGER.debug("Not processing notifications since not a leader");
-          return;
+          return false;
         }
-        isNotificationProcessed = notificationProcessor.processNotificationEvent(event);
-      } catch (Exception e) {
-        if (e.getCause() instanceof JDODataStoreException) {
-          LOGGER.info("Received JDO Storage Exception, Could be because of processing "
-              + "duplicate notification");
-          if (event.getEventId() <= sentryStore.getLastProcessedNotificationID()) {
-            // Rest of the notifications need not be processed.
-            LOGGER.error("Received event with Id: {} which is smaller then the ID "
-                + "persisted in store", event.getEventId());
-            break;
+        if (notificationProcessor.isBatchable(event)) {
+          lanes.submit(event);
+          if (!persistProcessedNotifications(batch, maxPending)) {
+            return false;
           }
+        } else if (!persistProcessedNotifications(batch, 0)
+            || !persistNotificationBatch(batch)) {
+          return false;
         } else {
-          LOGGER.error("Processing the notification with ID:{} failed with exception {}",
-              event.getEventId(), e);
+          batch.clear();
+          if (!processNotification(event)) {
+            return false;
+          }
         }
       }
-      if (!isNotificationProcessed) {
-        try {
-          // Update the notification ID in the persistent store even when the notification is
-          // not processed as the content in in the notification is not valid.
-          // Continue processing the next notification.
-          LOGGER.debug("Explicitly Persisting Notification ID = {} ", event.getEventId());
-          sentryStore.persistLastProcessedNotificationID(event.getEventId());
-        } catch (Exception failure) {
-          LOGGER.error("Received exception while persisting the notification ID = {}", event.getEventId());
-          throw failure;
+      return persistProcessedNotifications(batch, 0) && persistNotificationBatch(batch);
+    } finally {
+      lanes.clear();
+    }
+  }
+
+  /**
+   * Add the notifications processed by the lanes to the batch, in order, until at most
+   * the given number of notifications are pending. The batch is persisted and cleared once
+   * full. A notification the lane failed to process is processed on its own.
+   *
+   * @param batch batch of notifications
+   * @param maxPending maximum number of notifications left in the lanes
+   * @return true, if the next notifications can be processed
+   * @throws Exception if the notifications are not processed because of JDO Exception
+   */
+  private boolean persistProcessedNotifications(NotificationBatch batch, int maxPending)
+      throws Exception {
+    while (lanes.pending() > maxPending) {
+      NotificationEvent event = lanes.peek();
+      try {
+        batch.addAll(lanes.take());
+      } catch (ExecutionException e) {
+        LOGGER.debug("Processing the notification with ID:{} in a lane failed, processing "
+            + "it on its own", event.getEventId(), e.getCause());
+        if (!persistNotificationBatch(batch)) {
+          return false;
+        }
+        batch.clear();
+        if (!processNotification(event)) {
+          return false;
+        }
+        continue;
+      }
+      if (batch.size() >= batchSize || batch.getAgeMs() >= batchMaxMs) {
+        if (!persistNotificationBatch(batch)) {
+          return false;
         }
+        batch.clear();
       }
-      // Wake up any HMS waiters that are waiting for this ID.
-      wakeUpWaitingClientsForSync(event.getEventId());
     }
+    return true;
+  }
+
+  /**
+   * Persist the batch of notifications and wake up any waiting clients. If that fails,
+   * process the notifications of the batch one by one instead.
+   *
+   * @param batch batch of notifications, may be empty
+   * @return true, if the next notifications can be processed
+   * @throws Exception if the notifications are not processed because of JDO Exception
+   */
+  private boolean persistNotificationBatch(NotificationBatch batch) throws Exception {
+    if (batch.isEmpty()) {
+      return true;
+    }
+    try {
+      LOGGER.debug("Persisting the batch of {} notifications with IDs {} to {}",
+          batch.size(), batch.getFirstEventId(), batch.getLastEventId());
+      sentryStore.persistNotificationBatch(batch);
+    } catch (Exception e) {
+      LOGGER.warn("Persisting the batch of notifications with IDs {} to {} failed, processing "
+          + "them one by one", batch.getFirstEventId(), batch.getLastEventId(), e);
+      for (NotificationEvent event : batch.getEvents()) {
+        if (!processNotification(event)) {
+          return false;
+        }
+      }
+      return true;
+    }
+    // Wake up any HMS waiters that are waiting for the IDs of the batch.
+    wakeUpWaitingClientsForSync(batch.getLastEventId());
+    return true;
+  }
+
+  /**
+   * Process a notification on its own and wake up any waiting clients.
+   * Also, persists the notification ID regardless of processing result.
+   *
+   * @param event event to be processed
+   * @return true, if the next notifications can be processed
+   * @throws Exception if the notification ID cannot be persisted
+   */
+  private boolean processNotification(NotificationEvent event) throws Exception {
+    boolean isNotificationProcessed = false;
+    try {
+      // Only the leader should process the notifications
+      if (!isLeader()) {
+        LOGGER.debug("Not processing notifications since not a leader");
+        return false;
+      }
+      isNotificationProcessed = notificationProcessor.processNotificationEvent(event);
+    } catch (Exception e) {
+      if (e.getCause() instanceof JDODataStoreException) {
+        LOGGER.info("Received JDO Storage Exception, Could be because of processing "
+            + "duplicate notification");
+        if (event.getEventId() <= sentryStore.getLastProcessedNotificationID()) {
+          // Rest of the notifications need not be processed.
+          LOGGER.error("Received event with Id: {} which is smaller then the ID "
+              + "persisted in store", event.getEventId());
+          return false;
+        }
+      } else {
+        LOGGER.error("Processing the notification with ID:{} failed with exception {}",
+            event.getEventId(), e);
+      }
+    }
+    if (!isNotificationProcessed) {
+      try {
+        // Update the notification ID in the persistent store even when the notification is
+        // not processed as the content in in the notification is not valid.
+        // Continue processing the next notification.
+        LOGGER.debug("Explicitly Persisting Notification ID = {} ", event.getEventId());
+        sentryStore.persistLastProcessedNotificationID(event.getEventId());
+      } catch (Exception failure) {
+        LOGGER.error("Received exception while persisting the notification ID = {}", event.getEventId());
+        throw failure;
+      }
+    }
+    // Wake up any HMS waiters that are waiting for this ID.
+    wakeUpWaitingClientsForSync(event.getEventId());
+    return true;
   }
 
   /**
@@ -0,0 +1,114 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.provider.db.service.persistent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.hadoop.hive.metastore.api.NotificationEvent;
+import org.apache.sentry.hdfs.UniquePathsUpdate;
+
+/**
+ * Consecutive HMS notifications that only change paths, collected by {@link HMSFollower}
+ * so that {@link SentryStore#persistNotificationBatch(NotificationBatch)} persists their
+ * path changes, delta updates and the id of the last one in a single transaction.
+ * Notifications that are not processed still count for the last notification id.
+ * Not thread-safe.
+ */
+final class NotificationBatch {
+
+  private final List<NotificationEvent> events = new ArrayList<>();
+  private final List<UniquePathsUpdate> updates = new ArrayList<>();
+  private final List<TransactionBlock<Object>> transactionBlocks = new ArrayList<>();
+  private long startTimeMs;
+
+  /**
+   * Adds the path change of a notification of the batch.
+   */
+  void add(UniquePathsUpdate update, TransactionBlock<Object> transactionBlock) {
+    updates.add(update);
+    transactionBlocks.add(transactionBlock);
+  }
+
+  /**
+   * Adds a notification to the batch, once its path changes are added.
+   */
+  void addEvent(NotificationEvent event) {
+    if (events.isEmpty()) {
+      startTimeMs = System.currentTimeMillis();
+    }
+    events.add(event);
+  }
+
+  /**
+   * Adds the notifications of another batch, prepared separately, after the ones of this
+   * batch.
+   */
+  void addAll(NotificationBatch batch) {
+    updates.addAll(batch.updates);
+    transactionBlocks.addAll(batch.transactionBlocks);
+    for (NotificationEvent event : batch.events) {
+      addEvent(event);
+    }
+  }
+
+  /**
+   * Removes all the notifications, once persisted.
+   */
+  void clear() {
+    events.clear();
+    updates.clear();
+    transactionBlocks.clear();
+  }
+
+  List<NotificationEvent> getEvents() {
+    return Collections.unmodifiableList(events);
+  }
+
+  List<UniquePathsUpdate> getUpdates() {
+    return Collections.unmodifiableList(updates);
+  }
+
+  List<TransactionBlock<Object>> getTransactionBlocks() {
+    return Collections.unmodifiableList(transactionBlocks);
+  }
+
+  boolean isEmpty() {
+    return events.isEmpty();
+  }
+
+  int size() {
+    return events.size();
+  }
+
+  long getFirstEventId() {
+    return events.get(0).getEventId();
+  }
+
+  long getLastEventId() {
+    return events.get(events.size() - 1).getEventId();
+  }
+
+  /**
+   * @return the time since the first notification was added
+   */
+  long getAgeMs() {
+    return System.currentTimeMillis() - startTimeMs;
+  }
+}
@@ -0,0 +1,139 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.provider.db.service.persistent;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hive.metastore.api.NotificationEvent;
+
+/**
+ * Threads processing HMS notifications in parallel for {@link HMSFollower}. Each lane is a
+ * thread with its own {@link NotificationProcessor}, which processes the notifications
+ * submitted to it, in order, into a {@link NotificationBatch} of their own. Nothing is
+ * persisted: the caller takes the batches in the order of the notifications to persist
+ * them, so the last processed notification id never gets ahead of a notification still
+ * processed.
+ * Only notifications that are {@link NotificationProcessor#isBatchable(NotificationEvent)}
+ * may be submitted. Notifications are assigned to the lanes in turn. Not thread-safe.
+ */
+final class NotificationLanes implements AutoCloseable {
+  private static final String THREAD_NAME = "sentry-hms-notification-lane-%d";
+
+  private final NotificationProcessor[] processors;
+  private final ExecutorService[] executors;
+  private int nextLane = 0;
+  // The notifications submitted and not taken yet, in order
+  private final Deque<NotificationEvent> pendingEvents = new ArrayDeque<>();
+  private final Deque<Future<NotificationBatch>> pendingBatches = new ArrayDeque<>();
+
+  NotificationLanes(int lanes, SentryStore sentryStore, String authServerName,
+      Configuration conf) {
+    processors = new NotificationProcessor[lanes];
+    executors = new ExecutorService[lanes];
+    ThreadFactory threadFactory = new ThreadFactoryBuilder()
+        .setNameFormat(THREAD_NAME)
+        .setDaemon(true)
+        .build();
+    for (int i = 0; i < lanes; i++) {
+      processors[i] = new NotificationProcessor(sentryStore, authServerName, conf);
+      executors[i] = Executors.newSingleThreadExecutor(threadFactory);
+    }
+  }
+
+  int size() {
+    return executors.length;
+  }
+
+  /**
+   * Submits a notification to the next lane.
+   *
+   * @param event the notification to process
+   */
+  void submit(final NotificationEvent event) {
+    final NotificationProcessor processor = processors[nextLane];
+    Future<NotificationBatch> future = executors[nextLane].submit(
+        new Callable<NotificationBatch>() {
+          @Override
+          public NotificationBatch call() throws Exception {
+            NotificationBatch batch = new NotificationBatch();
+            processor.processNotificationEvent(event, batch);
+            batch.addEvent(event);
+            return batch;
+          }
+        });
+    nextLane = (nextLane + 1) % executors.length;
+    pendingEvents.add(event);
+    pendingBatches.add(future);
+  }
+
+  /**
+   * @return the number of notifications submitted and not taken yet
+   */
+  int pending() {
+    return pendingEvents.size();
+  }
+
+  /**
+   * @return the oldest notification not taken yet
+   */
+  NotificationEvent peek() {
+    return pendingEvents.peek();
+  }
+
+  /**
+   * Waits for the oldest notification not taken yet to be processed.
+   *
+   * @return the batch of the notification alone
+   * @throws ExecutionException with the error processing the notification
+   */
+  NotificationBatch take() throws InterruptedException, ExecutionException {
+    pendingEvents.remove();
+    return pendingBatches.remove().get();
+  }
+
+  /**
+   * Drops the notifications not taken yet.
+   */
+  void clear() {
+    for (Future<NotificationBatch> future : pendingBatches) {
+      future.cancel(false);
+    }
+    pendingEvents.clear();
+    pendingBatches.clear();
+  }
+
+  /**
+   * Stops the threads, dropping the notifications not processed yet.
+   */
+  @Override
+  public void close() {
+    clear();
+    for (ExecutorService executor : executors) {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -81,6 +81,8 @@ final class NotificationProcessor {
   private boolean syncStoreOnCreate = false;
   private boolean syncStoreOnDrop = false;
   private final boolean hdfsSyncEnabled;
+  // The batch the path changes are added to while processing an event of it, if any
+  private NotificationBatch batch;
 
   /**
    * Configuring notification processor.
@@ -182,6 +184,59 @@ final class NotificationProcessor {
     syncStoreOnDrop = value;
   }
 
+  /**
+   * Checks if the event only changes paths, so that its path change can be persisted
+   * along with the ones of other events in a {@link NotificationBatch}.
+   *
+   * @param event to be processed
+   * @return true, if the event can be processed as part of a batch.
+   */
+  boolean isBatchable(NotificationEvent event) {
+    if (!hdfsSyncEnabled) {
+      return false;
+    }
+    EventType eventType;
+    try {
+      eventType = EventType.valueOf(event.getEventType());
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+    switch (eventType) {
+      case CREATE_DATABASE:
+      case CREATE_TABLE:
+        return !syncStoreOnCreate;
+      case DROP_DATABASE:
+      case DROP_TABLE:
+        return !syncStoreOnDrop;
+      case ADD_PARTITION:
+      case DROP_PARTITION:
+      case ALTER_PARTITION:
+        return true;
+      default:
+        // Alter table may rename privileges
+        return false;
+    }
+  }
+
+  /**
+   * Processes the event, adding its path change to the batch instead of persisting it.
+   *
+   * @param event to be processed, which must be {@link #isBatchable(NotificationEvent)}
+   * @param batch the batch of the event
+   * @return true, if the path change is added to the batch. false, if the event is not
+   *         processed.
+   * @throws Exception if there is an error processing the event.
+   */
+  boolean processNotificationEvent(NotificationEvent event, NotificationBatch batch)
+      throws Exception {
+    this.batch = batch;
+    try {
+      return processNotificationEvent(event);
+    } finally {
+      this.batch = null;
+    }
+  }
+
   /**
    * Processes the event and persist to sentry store.
    *
@@ -567,7 +622,7 @@ final class NotificationProcessor {
         paths.add(pathTree);
       }
     }
-    sentryStore.addAuthzPathsMapping(authzObj, paths, update);
+    addAuthzPathsMapping(authzObj, paths, update);
   }
 
   /**
@@ -603,7 +658,7 @@ final class NotificationProcessor {
         paths.add(pathTree);
       }
     }
-    sentryStore.deleteAuthzPathsMapping(authzObj, paths, update);
+    deleteAuthzPathsMapping(authzObj, paths, update);
   }
 
   /**
@@ -626,7 +681,11 @@ final class NotificationProcessor {
     UniquePathsUpdate update = new UniquePathsUpdate(event, false);
     update.newPathChange(authzObj).addToDelPaths(
         Lists.newArrayList(PathsUpdate.ALL_PATHS));
-    sentryStore.deleteAllAuthzPathsMapping(authzObj, update);
+    if (batch == null) {
+      sentryStore.deleteAllAuthzPathsMapping(authzObj, update);
+    } else {
+      sentryStore.deleteAllAuthzPathsMapping(authzObj, update, batch);
+    }
   }
 
   /**
@@ -666,12 +725,21 @@ final class NotificationProcessor {
         if (oldLocation.equals(newLocation)) {
           //Only name has changed
           // - Alter table rename for an external table
-          sentryStore.renameAuthzObj(oldAuthzObj, newAuthzObj, update);
+          if (batch == null) {
+            sentryStore.renameAuthzObj(oldAuthzObj, newAuthzObj, update);
+          } else {
+            sentryStore.renameAuthzObj(oldAuthzObj, newAuthzObj, update, batch);
+          }
         } else {
           // Both name and location has changed
           // - Alter table rename for managed table
-          sentryStore.renameAuthzPathsMapping(oldAuthzObj, newAuthzObj, oldPathTree,
-              newPathTree, update);
+          if (batch == null) {
+            sentryStore.renameAuthzPathsMapping(oldAuthzObj, newAuthzObj, oldPathTree,
+                newPathTree, update);
+          } else {
+            sentryStore.renameAuthzPathsMapping(oldAuthzObj, newAuthzObj, oldPathTree,
+                newPathTree, update, batch);
+          }
         }
       } else {
         updateAuthzPathsMapping(oldAuthzObj, oldPathTree, newAuthzObj, newPathTree, event);
@@ -682,8 +750,12 @@ final class NotificationProcessor {
         UniquePathsUpdate update = new UniquePathsUpdate(event, false);
         update.newPathChange(oldAuthzObj).addToDelPaths(splitPath(oldPathTree));
         update.newPathChange(oldAuthzObj).addToAddPaths(splitPath(newPathTree));
-        sentryStore.updateAuthzPathsMapping(oldAuthzObj, oldPathTree,
-            newPathTree, update);
+        if (batch == null) {
+          sentryStore.updateAuthzPathsMapping(oldAuthzObj, oldPathTree, newPathTree, update);
+        } else {
+          sentryStore.updateAuthzPathsMapping(oldAuthzObj, oldPathTree, newPathTree, update,
+              batch);
+        }
       } else {
         updateAuthzPathsMapping(oldAuthzObj, oldPathTree, newAuthzObj, newPathTree,event);
       }
@@ -700,19 +772,33 @@ final class NotificationProcessor {
     if (oldPathTree != null) {
       UniquePathsUpdate update = new UniquePathsUpdate(event, false);
       update.newPathChange(oldAuthzObj).addToDelPaths(splitPath(oldPathTree));
-      sentryStore.deleteAuthzPathsMapping(oldAuthzObj,
-          Collections.singleton(oldPathTree),
-          update);
+      deleteAuthzPathsMapping(oldAuthzObj, Collections.singleton(oldPathTree), update);
     } else if (newPathTree != null) {
       UniquePathsUpdate update = new UniquePathsUpdate(event, false);
       update.newPathChange(newAuthzObj).addToAddPaths(splitPath(newPathTree));
-      sentryStore.addAuthzPathsMapping(newAuthzObj,
-          Collections.singleton(newPathTree),
-          update);
+      addAuthzPathsMapping(newAuthzObj, Collections.singleton(newPathTree), update);
     }
 
   }
 
+  private void addAuthzPathsMapping(String authzObj, Collection<String> paths,
+      UniquePathsUpdate update) throws Exception {
+    if (batch == null) {
+      sentryStore.addAuthzPathsMapping(authzObj, paths, update);
+    } else {
+      sentryStore.addAuthzPathsMapping(authzObj, paths, update, batch);
+    }
+  }
+
+  private void deleteAuthzPathsMapping(String authzObj, Collection<String> paths,
+      UniquePathsUpdate update) throws Exception {
+    if (batch == null) {
+      sentryStore.deleteAuthzPathsMapping(authzObj, paths, update);
+    } else {
+      sentryStore.deleteAuthzPathsMapping(authzObj, paths, update, batch);
+    }
+  }
+
   /**
    * Get path tree from a given path. It return null if encounters
    * SentryMalformedPathException which indicates a malformed path.
@@ -0,0 +1,284 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.sentry.provider.db.service.persistent;
+
+import static org.apache.sentry.provider.db.service.persistent.SentryStore.isNULL;
+import static org.apache.sentry.provider.db.service.persistent.SentryStore.safeTrimLower;
+import static org.apache.sentry.provider.db.service.persistent.SentryStore.toNULLCol;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.concurrent.Immutable;
+
+import org.apache.sentry.core.model.db.AccessConstants;
+import org.apache.sentry.provider.db.service.model.MSentryGroup;
+import org.apache.sentry.provider.db.service.model.MSentryPrivilege;
+import org.apache.sentry.provider.db.service.model.MSentryRole;
+import org.apache.sentry.provider.db.service.model.MSentryUser;
+import org.apache.sentry.provider.db.service.thrift.TSentryAuthorizable;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSetMultimap;
+
+/**
+ * An immutable in-memory copy of the Sentry roles: the groups and users each role is
+ * granted to and the privileges of each role.
+ * <p>
+ * {@link SentryStore} answers the privilege queries of the policy providers from its
+ * current image instead of querying the database. A change never modifies an image,
+ * it produces a new one with the changed roles replaced, so readers don't lock and
+ * always see a consistent state. Every new image gets a higher version.
+ * <p>
+ * The lookups give the same answers as the corresponding JDO queries of
+ * {@link SentryStore}: group and user names are compared as they are stored, server,
+ * database, table and column names are normalized to lower case.
+ */
+@Immutable
+public final class RolePrivilegeImage {
+
+  private final long version;
+  // Latest MSentryPolicyChange reflected by the image
+  private final long policyChangeId;
+  private final ImmutableMap<String, Role> roles;
+  private final ImmutableSetMultimap<String, String> groupRoles;
+  private final ImmutableSetMultimap<String, String> userRoles;
+
+  RolePrivilegeImage(long version, long policyChangeId, Map<String, Role> roles) {
+    this.version = version;
+    this.policyChangeId = policyChangeId;
+    this.roles = ImmutableMap.copyOf(roles);
+    ImmutableSetMultimap.Builder<String, String> groupRoles = ImmutableSetMultimap.builder();
+    ImmutableSetMultimap.Builder<String, String> userRoles = ImmutableSetMultimap.builder();
+    for (Role role : roles.values()) {
+      for (String group : role.groups) {
+        groupRoles.put(group, role.name);
+      }
+      for (String user : role.users) {
+        userRoles.put(user, role.name);
+      }
+    }
+    this.groupRoles = groupRoles.build();
+    this.userRoles = userRoles.build();
+  }
+
+  /**
+   * @return a new image where the given roles are replaced, or removed when they are
+   *         not in {@code updatedRoles}
+   */
+  RolePrivilegeImage withRoles(long newVersion, Collection<String> roleNames,
+      Map<String, Role> updatedRoles, long newPolicyChangeId) {
+    Map<String, Role> newRoles = new HashMap<>(roles);
+    for (String roleName : roleNames) {
+      Role role = updatedRoles.get(roleName);
+      if (role == null) {
+        newRoles.remove(roleName);
+      } else {
+        newRoles.put(roleName, role);
+      }
+    }
+    return new RolePrivilegeImage(newVersion, Math.max(policyChangeId, newPolicyChangeId), newRoles);
+  }
+
+  public long getVersion() {
+    return version;
+  }
+
+  long getPolicyChangeId() {
+    return policyChangeId;
+  }
+
+  public int getRoleCount() {
+    return roles.size();
+  }
+
+  /**
+   * @return the names of the roles granted to any of the given groups
+   */
+  Set<String> getRoleNamesForGroups(Set<String> groups) {
+    return getRoleNames(groupRoles, groups);
+  }
+
+  /**
+   * @return the names of the roles granted to any of the given users
+   */
+  Set<String> getRoleNamesForUsers(Set<String> users) {
+    return getRoleNames(userRoles, users);
+  }
+
+  private static Set<String> getRoleNames(ImmutableSetMultimap<String, String> roleMapping,
+      Set<String> names) {
+    if (names == null || names.isEmpty()) {
+      return ImmutableSet.of();
+    }
+    Set<String> roleNames = new HashSet<>();
+    for (String name : names) {
+      if (name != null) {
+        roleNames.addAll(roleMapping.get(name));
+      }
+    }
+    return roleNames;
+  }
+
+  /**
+   * Same as {@link SentryStore#listSentryPrivilegesForProvider} for roles already
+   * resolved.
+   *
+   * @param roleNames lower case role names
+   * @param authHierarchy restricts the privileges to the ones relevant to this
+   *        authorizable, may be null
+   * @return the privileges of the given roles, in the policy provider format
+   */
+  Set<String> listPrivilegesForProvider(Set<String> roleNames,
+      TSentryAuthorizable authHierarchy) {
+    Set<String> result = new HashSet<>();
+    for (String roleName : roleNames) {
+      Role role = roles.get(roleName);
+      if (role == null) {
+        continue;
+      }
+      for (Privilege privilege : role.privileges) {
+        if (privilege.matches(authHierarchy)) {
+          result.add(privilege.providerString);
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * @return true if any of the given roles has a privilege on the given server
+   */
+  boolean hasAnyServerPrivileges(Set<String> roleNames, String serverName) {
+    String server = toNULLCol(safeTrimLower(serverName));
+    for (String roleName : roleNames) {
+      Role role = roles.get(roleName);
+      if (role == null) {
+        continue;
+      }
+      for (Privilege privilege : role.privileges) {
+        if (privilege.serverName.equals(server)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * A role with its groups, users and privileges.
+   */
+  @Immutable
+  static final class Role {
+    private final String name;
+    private final ImmutableSet<String> groups;
+    private final ImmutableSet<String> users;
+    private final ImmutableList<Privilege> privileges;
+
+    /**
+     * Copy the given role, which must be attached to an active transaction.
+     */
+    Role(MSentryRole mRole) {
+      this.name = mRole.getRoleName();
+      ImmutableSet.Builder<String> groupNames = ImmutableSet.builder();
+      for (MSentryGroup group : mRole.getGroups()) {
+        groupNames.add(group.getGroupName());
+      }
+      ImmutableSet.Builder<String> userNames = ImmutableSet.builder();
+      for (MSentryUser user : mRole.getUsers()) {
+        userNames.add(user.getUserName());
+      }
+      ImmutableList.Builder<Privilege> rolePrivileges = ImmutableList.builder();
+      for (MSentryPrivilege privilege : mRole.getPrivileges()) {
+        rolePrivileges.add(new Privilege(privilege));
+      }
+      this.groups = groupNames.build();
+      this.users = userNames.build();
+      this.privileges = rolePrivileges.build();
+    }
+  }
+
+  /**
+   * The fields of a privilege which the queries of the policy providers look at.
+   * Unset fields hold {@link SentryStore#NULL_COL}, like in the database.
+   */
+  @Immutable
+  static final class Privilege {
+    private final String serverName;
+    private final String dbName;
+    private final String tableName;
+    private final String columnName;
+    private final String uri;
+    private final String providerString;
+
+    private Privilege(MSentryPrivilege privilege) {
+      this.serverName = privilege.getServerName();
+      this.dbName = privilege.getDbName();
+      this.tableName = privilege.getTableName();
+      this.columnName = privilege.getColumnName();
+      this.uri = privilege.getURI();
+      this.providerString = SentryStore.toAuthorizable(privilege);
+    }
+
+    /**
+     * Mirrors the filter of {@code SentryStore.getMSentryPrivileges(Set, TSentryAuthorizable)}.
+     */
+    private boolean matches(TSentryAuthorizable authHierarchy) {
+      if (authHierarchy == null || authHierarchy.getServer() == null) {
+        return true;
+      }
+      if (!serverName.equals(normalize(authHierarchy.getServer()))) {
+        return false;
+      }
+      if (authHierarchy.getDb() != null) {
+        if (!isNULL(uri) || !isNullOrEqual(dbName, authHierarchy.getDb())) {
+          return false;
+        }
+        String table = authHierarchy.getTable();
+        if (table != null && !AccessConstants.ALL.equalsIgnoreCase(table)) {
+          if (!AccessConstants.SOME.equalsIgnoreCase(table)
+              && !isNullOrEqual(tableName, table)) {
+            return false;
+          }
+          String column = authHierarchy.getColumn();
+          if (column != null && !AccessConstants.ALL.equalsIgnoreCase(column)
+              && !AccessConstants.SOME.equalsIgnoreCase(column)
+              && !isNullOrEqual(columnName, column)) {
+            return false;
+          }
+        }
+      }
+      // A URI request looks at the server privileges and all the URI privileges of the
+      // server, the provider decides which URIs imply the requested one
+      return authHierarchy.getUri() == null || isNULL(dbName);
+    }
+
+    private static boolean isNullOrEqual(String field, String requested) {
+      return isNULL(field) || field.equals(normalize(requested));
+    }
+
+    private static String normalize(String value) {
+      return toNULLCol(safeTrimLower(value));
+    }
+  }
+}
@@ -18,19 +18,25 @@
 
 package org.apache.sentry.provider.db.service.persistent;
 
-import static org.apache.sentry.core.common.utils.SentryConstants.AUTHORIZABLE_JOINER;
-import static org.apache.sentry.core.common.utils.SentryConstants.KV_JOINER;
-
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 import javax.jdo.FetchGroup;
@@ -50,6 +56,7 @@ import org.apache.sentry.core.common.exception.SentryNoSuchObjectException;
 import org.apache.sentry.core.common.exception.SentrySiteConfigurationException;
 import org.apache.sentry.core.common.exception.SentryUserException;
 import org.apache.sentry.core.common.utils.PathUtils;
+import org.apache.sentry.core.common.utils.PrivilegeStrings;
 import org.apache.sentry.core.common.utils.SentryConstants;
 import org.apache.sentry.core.model.db.AccessConstants;
 import org.apache.sentry.core.model.db.DBModelAuthorizable.AuthorizableType;
@@ -63,6 +70,7 @@ import org.apache.sentry.provider.db.service.model.MSentryGroup;
 import org.apache.sentry.provider.db.service.model.MSentryHmsNotification;
 import org.apache.sentry.provider.db.service.model.MSentryPathChange;
 import org.apache.sentry.provider.db.service.model.MSentryPermChange;
+import org.apache.sentry.provider.db.service.model.MSentryPolicyChange;
 import org.apache.sentry.provider.db.service.model.MSentryPrivilege;
 import org.apache.sentry.provider.db.service.model.MSentryUser;
 import org.apache.sentry.provider.db.service.model.MSentryVersion;
@@ -89,11 +97,14 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Function;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
+import com.google.common.base.Supplier;
+import com.google.common.base.Throwables;
 import com.google.common.collect.Collections2;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import static org.apache.sentry.hdfs.Updateable.Update;
 import static org.apache.sentry.provider.db.service.persistent.QueryParamBuilder.newQueryParamBuilder;
@@ -158,6 +169,14 @@ public class SentryStore {
 
   private static final String EMPTY_GRANTOR_PRINCIPAL = "--";
 
+  // Authorizable types of the privilege strings returned to the policy providers
+  private static final String SERVER_TYPE = AuthorizableType.Server.name().toLowerCase();
+  private static final String DB_TYPE = AuthorizableType.Db.name().toLowerCase();
+  private static final String TABLE_TYPE = AuthorizableType.Table.name().toLowerCase();
+  private static final String COLUMN_TYPE = AuthorizableType.Column.name().toLowerCase();
+  private static final String URI_TYPE = AuthorizableType.URI.name().toLowerCase();
+  private static final String ACTION_TYPE = SentryConstants.PRIVILEGE_NAME.toLowerCase();
+
 
   private static final Set<String> ALL_ACTIONS = Sets.newHashSet(AccessConstants.ALL,
       AccessConstants.SELECT, AccessConstants.INSERT, AccessConstants.ALTER,
@@ -173,6 +192,8 @@ public class SentryStore {
   // Datanucleus property controlling whether query results are loaded at commit time
   // to make query usable post-commit
   private static final String LOAD_RESULTS_AT_COMMIT = "datanucleus.query.loadResultsAtCommit";
+  // Number of authorizable objects deleted per transaction when purging HMS snapshots
+  private static final int PATHS_SNAPSHOT_DELETE_CHUNK_SIZE = 10000;
 
   private final PersistenceManagerFactory pmf;
   private Configuration conf;
@@ -181,6 +202,12 @@ public class SentryStore {
   // When it is true, execute DeltaTransactionBlock to persist delta changes.
   // When it is false, do not execute DeltaTransactionBlock
   private boolean persistUpdateDeltas;
+  // Whether the delta changes are persisted in binary rather than JSON format
+  private final boolean binaryDeltaChanges;
+  // Maximum number of authorizable objects per transaction persisting a full paths
+  // snapshot, and number of threads doing it. 0 persists a snapshot in a single transaction.
+  private final int pathsSnapshotChunkSize;
+  private final int pathsSnapshotThreads;
 
   /**
    * counterWait is used to synchronize notifications between Thrift and HMSFollower.
@@ -193,6 +220,21 @@ public class SentryStore {
    */
   private final CounterWait counterWait;
 
+  /**
+   * In-memory copy of the roles and privileges answering the queries of the policy
+   * providers, see {@link RolePrivilegeImage}. It is null when the image is disabled or
+   * when it could not be kept up to date, the queries then go to the database until the
+   * image is reloaded.
+   */
+  private volatile RolePrivilegeImage policyImage;
+  private final boolean policyImageEnabled;
+  // Serializes the updates of the image, so that it is never replaced by an older state
+  private final Object policyImageLock = new Object();
+  private long policyImageVersion;
+  private long policyImageLoadTimeMs;
+  private final long policyImageFullReloadIntervalMs;
+  private final ScheduledExecutorService policyImageRefresher;
+
   public static Properties getDataNucleusProperties(Configuration conf)
           throws SentrySiteConfigurationException, IOException {
     Properties prop = new Properties();
@@ -279,6 +321,20 @@ public class SentryStore {
     long notificationTimeout = conf.getInt(ServerConfig.SENTRY_NOTIFICATION_SYNC_TIMEOUT_MS,
             ServerConfig.SENTRY_NOTIFICATION_SYNC_TIMEOUT_DEFAULT);
     counterWait = new CounterWait(notificationTimeout, TimeUnit.MILLISECONDS);
+
+    binaryDeltaChanges = conf.getBoolean(ServerConfig.SENTRY_STORE_BINARY_DELTA_CHANGES,
+        ServerConfig.SENTRY_STORE_BINARY_DELTA_CHANGES_DEFAULT);
+    pathsSnapshotChunkSize = conf.getInt(ServerConfig.SENTRY_STORE_PATHS_SNAPSHOT_CHUNK_SIZE,
+        ServerConfig.SENTRY_STORE_PATHS_SNAPSHOT_CHUNK_SIZE_DEFAULT);
+    pathsSnapshotThreads = conf.getInt(ServerConfig.SENTRY_STORE_PATHS_SNAPSHOT_THREADS,
+        ServerConfig.SENTRY_STORE_PATHS_SNAPSHOT_THREADS_DEFAULT);
+    policyImageEnabled = conf.getBoolean(ServerConfig.SENTRY_STORE_POLICY_IMAGE_ENABLED,
+        ServerConfig.SENTRY_STORE_POLICY_IMAGE_ENABLED_DEFAULT);
+    policyImageFullReloadIntervalMs = conf.getLong(
+        ServerConfig.SENTRY_STORE_POLICY_IMAGE_FULL_RELOAD_INTERVAL_MS,
+        ServerConfig.SENTRY_STORE_POLICY_IMAGE_FULL_RELOAD_INTERVAL_MS_DEFAULT);
+    policyImageRefresher = policyImageEnabled ? startPolicyImageRefresher(conf) : null;
+    reloadPolicyImage();
   }
 
   public void setPersistUpdateDeltas(boolean persistUpdateDeltas) {
@@ -311,11 +367,261 @@ public class SentryStore {
   }
 
   public synchronized void stop() {
+    if (policyImageRefresher != null) {
+      policyImageRefresher.shutdownNow();
+    }
     if (pmf != null) {
       pmf.close();
     }
   }
 
+  private ScheduledExecutorService startPolicyImageRefresher(Configuration conf) {
+    long refreshIntervalMs = conf.getLong(
+        ServerConfig.SENTRY_STORE_POLICY_IMAGE_REFRESH_INTERVAL_MS,
+        ServerConfig.SENTRY_STORE_POLICY_IMAGE_REFRESH_INTERVAL_MS_DEFAULT);
+    if (refreshIntervalMs <= 0) {
+      return null;
+    }
+    ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder()
+            .setNameFormat("sentry-policy-image-refresher")
+            .setDaemon(true)
+            .build());
+    refresher.scheduleWithFixedDelay(new Runnable() {
+      @Override
+      public void run() {
+        refreshPolicyImage();
+      }
+    }, refreshIntervalMs, refreshIntervalMs, TimeUnit.MILLISECONDS);
+    return refresher;
+  }
+
+  /**
+   * @return the in-memory image of the roles and privileges, or null if the queries
+   *         of the policy providers are answered from the database
+   */
+  @VisibleForTesting
+  RolePrivilegeImage getPolicyImage() {
+    return policyImage;
+  }
+
+  /**
+   * @return version of the in-memory image of the roles and privileges, -1 when the
+   *         image is not used
+   */
+  public Gauge<Long> getPolicyImageVersionGauge() {
+    return new Gauge<Long>() {
+      @Override
+      public Long getValue() {
+        RolePrivilegeImage image = policyImage;
+        return image == null ? COUNT_VALUE_UNKNOWN : image.getVersion();
+      }
+    };
+  }
+
+  /**
+   * Replace the in-memory image with a copy of all the roles and privileges of the
+   * database. If the copy fails, the queries go to the database until the next reload.
+   */
+  @VisibleForTesting
+  void reloadPolicyImage() {
+    if (!policyImageEnabled) {
+      return;
+    }
+    synchronized (policyImageLock) {
+      final long version = ++policyImageVersion;
+      try {
+        policyImage = tm.executeTransaction(
+            new TransactionBlock<RolePrivilegeImage>() {
+              public RolePrivilegeImage execute(PersistenceManager pm) throws Exception {
+                pm.setDetachAllOnCommit(false); // No need to detach objects
+                // Any change logged after this ID is not part of the image
+                long policyChangeId = getLastProcessedChangeIDCore(pm, MSentryPolicyChange.class);
+                Map<String, RolePrivilegeImage.Role> roles = new HashMap<>();
+                for (MSentryRole mRole : getAllRoles(pm)) {
+                  roles.put(mRole.getRoleName(), new RolePrivilegeImage.Role(mRole));
+                }
+                return new RolePrivilegeImage(version, policyChangeId, roles);
+              }
+            });
+        policyImageLoadTimeMs = System.currentTimeMillis();
+        LOGGER.info("Loaded the image of {} roles, version {}", policyImage.getRoleCount(),
+            version);
+      } catch (Exception e) {
+        LOGGER.error("Could not load the image of the roles and privileges, "
+            + "using the database until the next reload", e);
+        policyImage = null;
+      }
+    }
+  }
+
+  /**
+   * Bring the in-memory image up to date with the changes made by other Sentry servers.
+   * The roles named in the {@link MSentryPolicyChange} log since the image was built are
+   * reloaded, the whole image is when the log tells that any role may have changed, when
+   * it was purged past the image, or when the full reload interval expired.
+   */
+  @VisibleForTesting
+  void refreshPolicyImage() {
+    if (!policyImageEnabled) {
+      return;
+    }
+    synchronized (policyImageLock) {
+      RolePrivilegeImage image = policyImage;
+      if (image == null
+          || System.currentTimeMillis() - policyImageLoadTimeMs >= policyImageFullReloadIntervalMs) {
+        reloadPolicyImage();
+        return;
+      }
+      try {
+        List<MSentryPolicyChange> policyChanges =
+            getMSentryPolicyChanges(image.getPolicyChangeId());
+        if (policyChanges == null) {
+          reloadPolicyImage();
+          return;
+        }
+        if (policyChanges.isEmpty()) {
+          return;
+        }
+        Set<String> roleNames = getChangedRoleNames(policyChanges);
+        if (roleNames == null) {
+          reloadPolicyImage();
+          return;
+        }
+        long lastChangeId = policyChanges.get(policyChanges.size() - 1).getChangeID();
+        policyImage = loadPolicyImageRoles(image, roleNames, lastChangeId);
+      } catch (Exception e) {
+        LOGGER.error("Could not refresh the image of the roles and privileges, "
+            + "using the database until the next reload", e);
+        policyImage = null;
+      }
+    }
+  }
+
+  /**
+   * Update the in-memory image once a change of the given roles is committed.
+   *
+   * @param roleNames normalized names of the roles which changed
+   */
+  private void updatePolicyImage(Collection<String> roleNames) {
+    if (!policyImageEnabled || roleNames.isEmpty()) {
+      return;
+    }
+    synchronized (policyImageLock) {
+      RolePrivilegeImage image = policyImage;
+      if (image == null) {
+        reloadPolicyImage();
+        return;
+      }
+      try {
+        policyImage = loadPolicyImageRoles(image, roleNames, image.getPolicyChangeId());
+      } catch (Exception e) {
+        LOGGER.error("Could not update the image of the roles and privileges, "
+            + "using the database until the next reload", e);
+        policyImage = null;
+      }
+    }
+  }
+
+  private void updatePolicyImage(String roleName) {
+    updatePolicyImage(Collections.singleton(trimAndLower(roleName)));
+  }
+
+  /**
+   * @return a copy of the given image where the given roles are reloaded from the database
+   */
+  private RolePrivilegeImage loadPolicyImageRoles(RolePrivilegeImage image,
+      final Collection<String> roleNames, long policyChangeId) throws Exception {
+    Map<String, RolePrivilegeImage.Role> roles = tm.executeTransaction(
+        new TransactionBlock<Map<String, RolePrivilegeImage.Role>>() {
+          public Map<String, RolePrivilegeImage.Role> execute(PersistenceManager pm)
+              throws Exception {
+            pm.setDetachAllOnCommit(false); // No need to detach objects
+            Map<String, RolePrivilegeImage.Role> result = new HashMap<>();
+            for (String roleName : roleNames) {
+              MSentryRole mRole = getRole(pm, roleName);
+              if (mRole != null) {
+                result.put(roleName, new RolePrivilegeImage.Role(mRole));
+              }
+            }
+            return result;
+          }
+        });
+    return image.withRoles(++policyImageVersion, roleNames, roles, policyChangeId);
+  }
+
+  /**
+   * @return the changes of the roles and privileges logged after the given change, or
+   *         null if the log was purged or cleared past it
+   */
+  private List<MSentryPolicyChange> getMSentryPolicyChanges(final long lastChangeId)
+      throws Exception {
+    return tm.executeTransaction(
+        new TransactionBlock<List<MSentryPolicyChange>>() {
+          public List<MSentryPolicyChange> execute(PersistenceManager pm) throws Exception {
+            long lastLoggedId = getLastProcessedChangeIDCore(pm, MSentryPolicyChange.class);
+            if (lastLoggedId < lastChangeId) {
+              return null;
+            }
+            if (lastLoggedId == lastChangeId) {
+              return Collections.emptyList();
+            }
+            Query query = pm.newQuery(MSentryPolicyChange.class);
+            query.setFilter("this.changeID > t");
+            query.declareParameters("long t");
+            query.setOrdering("this.changeID ascending");
+            @SuppressWarnings("unchecked")
+            List<MSentryPolicyChange> changes =
+                new ArrayList<>((List<MSentryPolicyChange>) query.execute(lastChangeId));
+            if (changes.isEmpty() || changes.get(0).getChangeID() != lastChangeId + 1) {
+              return null;
+            }
+            return changes;
+          }
+        });
+  }
+
+  /**
+   * @return the normalized names of the roles changed by the given changes, or null if
+   *         any role may have changed
+   */
+  private static Set<String> getChangedRoleNames(List<MSentryPolicyChange> policyChanges) {
+    Set<String> roleNames = new HashSet<>();
+    for (MSentryPolicyChange policyChange : policyChanges) {
+      if (policyChange.getRoleName() == null) {
+        return null;
+      }
+      roleNames.add(policyChange.getRoleName());
+    }
+    return roleNames;
+  }
+
+  /**
+   * Log a change of the given roles in the transaction changing them, for the other
+   * Sentry servers to update their image of the roles, see {@link MSentryPolicyChange}.
+   * Nothing is logged when the policy image is disabled.
+   *
+   * @param roleNames normalized names of the changed roles, null if any role may have
+   *        changed
+   */
+  private void logPolicyChange(PersistenceManager pm, Collection<String> roleNames) {
+    if (!policyImageEnabled) {
+      return;
+    }
+    long changeId = getLastProcessedChangeIDCore(pm, MSentryPolicyChange.class);
+    if (roleNames == null) {
+      pm.makePersistent(new MSentryPolicyChange(changeId + 1, null));
+      return;
+    }
+    for (String roleName : roleNames) {
+      pm.makePersistent(new MSentryPolicyChange(++changeId, roleName));
+    }
+  }
+
+  private void logPolicyChange(PersistenceManager pm, String roleName) {
+    logPolicyChange(pm, Collections.singleton(roleName));
+  }
+
   /**
    * Get a single role with the given name inside a transaction
    * @param pm Persistence Manager instance
@@ -369,9 +675,11 @@ public class SentryStore {
               throw new SentryAlreadyExistsException("Role: " + trimmedRoleName);
             }
             pm.makePersistent(new MSentryRole(trimmedRoleName));
+            logPolicyChange(pm, trimmedRoleName);
             return null;
             }
         });
+    updatePolicyImage(roleName);
   }
 
   /**
@@ -551,6 +859,16 @@ public class SentryStore {
     return getCount(MSentryPrivilege.class);
   }
 
+  /**
+   * Lets the test code know how many authorizable objects of all the HMS snapshots
+   * are in the db, so that we know if the stale snapshots are in fact being purged.
+   * @return The number of rows in the db authzObj table.
+   */
+  @VisibleForTesting
+  long countMAuthzPathsMappings() {
+    return getCount(MAuthzPathsMapping.class);
+  }
+
   @VisibleForTesting
   void clearAllTables() {
     try {
@@ -563,6 +881,7 @@ public class SentryStore {
               pm.newQuery(MSentryPrivilege.class).deletePersistentAll();
               pm.newQuery(MSentryPermChange.class).deletePersistentAll();
               pm.newQuery(MSentryPathChange.class).deletePersistentAll();
+              pm.newQuery(MSentryPolicyChange.class).deletePersistentAll();
               pm.newQuery(MAuthzPathsMapping.class).deletePersistentAll();
               pm.newQuery(MPath.class).deletePersistentAll();
               pm.newQuery(MSentryHmsNotification.class).deletePersistentAll();
@@ -574,6 +893,7 @@ public class SentryStore {
       // the method only for test, log the error and ignore the exception
       LOGGER.error(e.getMessage(), e);
     }
+    reloadPolicyImage();
   }
 
   /**
@@ -670,6 +990,8 @@ public class SentryStore {
           LOGGER.info("MSentryPermChange table has been purged.");
           purgeDeltaChangeTableCore(MSentryPathChange.class, pm, changesToKeep);
           LOGGER.info("MSentryPathUpdate table has been purged.");
+          purgeDeltaChangeTableCore(MSentryPolicyChange.class, pm, changesToKeep);
+          LOGGER.info("MSentryPolicyChange table has been purged.");
           return null;
         }
       });
@@ -727,9 +1049,11 @@ public class SentryStore {
             // update the privilege to be the one actually updated.
             convertToTSentryPrivilege(mPrivilege, privilege);
           }
+          logPolicyChange(pm, trimmedRoleName);
           return null;
         }
       });
+    updatePolicyImage(roleName);
   }
 
   /**
@@ -778,9 +1102,11 @@ public class SentryStore {
           // update the privilege to be the one actually updated.
           convertToTSentryPrivilege(mPrivilege, privilege);
         }
+        logPolicyChange(pm, trimmedRoleName);
         return null;
       }
     });
+    updatePolicyImage(roleName);
   }
 
   /**
@@ -886,9 +1212,11 @@ public class SentryStore {
           grantOptionCheck(pm, grantorPrincipal, tPrivilege);
 
           alterSentryRoleRevokePrivilegeCore(pm, trimmedRoleName, tPrivilege);
+          logPolicyChange(pm, trimAndLower(roleName));
           return null;
         }
       });
+    updatePolicyImage(roleName);
   }
 
   /**
@@ -930,9 +1258,11 @@ public class SentryStore {
         grantOptionCheck(pm, grantorPrincipal, tPrivilege);
 
         alterSentryRoleRevokePrivilegeCore(pm, trimmedRoleName, tPrivilege);
+        logPolicyChange(pm, trimAndLower(roleName));
         return null;
       }
     });
+    updatePolicyImage(roleName);
   }
 
   /**
@@ -1242,9 +1572,11 @@ public class SentryStore {
           public Object execute(PersistenceManager pm) throws Exception {
             pm.setDetachAllOnCommit(false); // No need to detach objects
             dropSentryRoleCore(pm, roleName);
+            logPolicyChange(pm, trimAndLower(roleName));
             return null;
           }
         });
+    updatePolicyImage(roleName);
   }
 
   /**
@@ -1261,9 +1593,11 @@ public class SentryStore {
       public Object execute(PersistenceManager pm) throws Exception {
         pm.setDetachAllOnCommit(false); // No need to detach objects
         dropSentryRoleCore(pm, roleName);
+        logPolicyChange(pm, trimAndLower(roleName));
         return null;
       }
     });
+    updatePolicyImage(roleName);
   }
 
   private void dropSentryRoleCore(PersistenceManager pm, String roleName)
@@ -1316,9 +1650,11 @@ public class SentryStore {
           public Object execute(PersistenceManager pm) throws Exception {
             pm.setDetachAllOnCommit(false); // No need to detach objects
             alterSentryRoleAddGroupsCore(pm, roleName, groupNames);
+            logPolicyChange(pm, trimAndLower(roleName));
             return null;
           }
         });
+    updatePolicyImage(roleName);
   }
 
   /**
@@ -1339,9 +1675,11 @@ public class SentryStore {
       public Object execute(PersistenceManager pm) throws Exception {
         pm.setDetachAllOnCommit(false); // No need to detach objects
         alterSentryRoleAddGroupsCore(pm, roleName, groupNames);
+        logPolicyChange(pm, trimAndLower(roleName));
         return null;
       }
     });
+    updatePolicyImage(roleName);
   }
 
   private void alterSentryRoleAddGroupsCore(PersistenceManager pm, String roleName,
@@ -1378,9 +1716,11 @@ public class SentryStore {
           public Object execute(PersistenceManager pm) throws Exception {
             pm.setDetachAllOnCommit(false); // No need to detach objects
             alterSentryRoleAddUsersCore(pm, roleName, userNames);
+            logPolicyChange(pm, trimAndLower(roleName));
             return null;
           }
         });
+    updatePolicyImage(roleName);
   }
 
   private void alterSentryRoleAddUsersCore(PersistenceManager pm, String roleName,
@@ -1431,9 +1771,11 @@ public class SentryStore {
               }
               pm.makePersistentAll(users);
             }
+            logPolicyChange(pm, trimmedRoleName);
             return null;
           }
         });
+    updatePolicyImage(roleName);
   }
 
   /**
@@ -1467,9 +1809,11 @@ public class SentryStore {
               }
             }
             pm.makePersistentAll(groups);
+            logPolicyChange(pm, trimmedRoleName);
             return null;
           }
         });
+    updatePolicyImage(roleName);
   }
 
   /**
@@ -1507,9 +1851,11 @@ public class SentryStore {
           }
         }
         pm.makePersistentAll(groups);
+        logPolicyChange(pm, trimmedRoleName);
         return null;
       }
     });
+    updatePolicyImage(roleName);
   }
 
   @VisibleForTesting
@@ -1635,13 +1981,9 @@ public class SentryStore {
               }
             }
             if (authHierarchy.getUri() != null) {
-              paramBuilder.addNull(DB_NAME)
-                      .newChild()
-                        .addNull(URI)
-                        .newChild()
-                          .addNotNull(URI)
-                          .addCustomParam("\"" + authHierarchy.getUri() +
-                                  "\".startsWith(:URI)", URI, authHierarchy.getUri());
+              // All the URI privileges of the server: the provider checks whether they
+              // imply the requested URI, which may need qualifying or substitutions
+              paramBuilder.addNull(DB_NAME);
             }
           }
 
@@ -1863,6 +2205,10 @@ public class SentryStore {
     if ((groups == null) || groups.isEmpty()) {
       return ImmutableSet.of();
     }
+    RolePrivilegeImage image = policyImage;
+    if (image != null) {
+      return image.getRoleNamesForGroups(groups);
+    }
 
     return tm.executeTransaction(
         new TransactionBlock<Set<String>>() {
@@ -1881,6 +2227,10 @@ public class SentryStore {
     if ((users == null) || users.isEmpty()) {
       return ImmutableSet.of();
     }
+    RolePrivilegeImage image = policyImage;
+    if (image != null) {
+      return image.getRoleNamesForUsers(users);
+    }
 
     return tm.executeTransaction(
           new TransactionBlock<Set<String>>() {
@@ -1949,6 +2299,11 @@ public class SentryStore {
 
   public Set<String> listSentryPrivilegesForProvider(Set<String> groups, Set<String> users,
       TSentryActiveRoleSet roleSet, TSentryAuthorizable authHierarchy) throws Exception {
+    RolePrivilegeImage image = policyImage;
+    if (image != null) {
+      return image.listPrivilegesForProvider(getRolesToQuery(image, groups, users, roleSet),
+          authHierarchy);
+    }
     Set<String> result = Sets.newHashSet();
     Set<String> rolesToQuery = getRolesToQuery(groups, users, roleSet);
     List<MSentryPrivilege> mSentryPrivileges = getMSentryPrivileges(rolesToQuery, authHierarchy);
@@ -1961,12 +2316,30 @@ public class SentryStore {
 
   public boolean hasAnyServerPrivileges(Set<String> groups, Set<String> users,
       TSentryActiveRoleSet roleSet, String server) throws Exception {
+    RolePrivilegeImage image = policyImage;
+    if (image != null) {
+      return image.hasAnyServerPrivileges(getRolesToQuery(image, groups, users, roleSet),
+          server);
+    }
     Set<String> rolesToQuery = getRolesToQuery(groups, users, roleSet);
     return hasAnyServerPrivileges(rolesToQuery, server);
   }
 
+  private static Set<String> getRolesToQuery(RolePrivilegeImage image, Set<String> groups,
+      Set<String> users, TSentryActiveRoleSet roleSet) {
+    Set<String> roleNames = Sets.newHashSet();
+    roleNames.addAll(toTrimedLower(image.getRoleNamesForGroups(groups)));
+    roleNames.addAll(toTrimedLower(image.getRoleNamesForUsers(users)));
+    return roleSet.isAll() ? roleNames : Sets.intersection(toTrimedLower(roleSet.getRoles()),
+        roleNames);
+  }
+
   private Set<String> getRolesToQuery(final Set<String> groups, final Set<String> users,
       final TSentryActiveRoleSet roleSet) throws Exception {
+      RolePrivilegeImage image = policyImage;
+      if (image != null) {
+        return getRolesToQuery(image, groups, users, roleSet);
+      }
       return tm.executeTransaction(
         new TransactionBlock<Set<String>>() {
           public Set<String> execute(PersistenceManager pm) throws Exception {
@@ -1984,33 +2357,26 @@ public class SentryStore {
 
   @VisibleForTesting
   static String toAuthorizable(MSentryPrivilege privilege) {
-    List<String> authorizable = new ArrayList<>(4);
-    authorizable.add(KV_JOINER.join(AuthorizableType.Server.name().toLowerCase(),
-        privilege.getServerName()));
+    PrivilegeStrings.Builder authorizable = new PrivilegeStrings.Builder();
+    authorizable.add(SERVER_TYPE, privilege.getServerName());
     if (isNULL(privilege.getURI())) {
       if (!isNULL(privilege.getDbName())) {
-        authorizable.add(KV_JOINER.join(AuthorizableType.Db.name().toLowerCase(),
-            privilege.getDbName()));
+        authorizable.add(DB_TYPE, privilege.getDbName());
         if (!isNULL(privilege.getTableName())) {
-          authorizable.add(KV_JOINER.join(AuthorizableType.Table.name().toLowerCase(),
-              privilege.getTableName()));
+          authorizable.add(TABLE_TYPE, privilege.getTableName());
           if (!isNULL(privilege.getColumnName())) {
-            authorizable.add(KV_JOINER.join(AuthorizableType.Column.name().toLowerCase(),
-                privilege.getColumnName()));
+            authorizable.add(COLUMN_TYPE, privilege.getColumnName());
           }
         }
       }
     } else {
-      authorizable.add(KV_JOINER.join(AuthorizableType.URI.name().toLowerCase(),
-          privilege.getURI()));
+      authorizable.add(URI_TYPE, privilege.getURI());
     }
     if (!isNULL(privilege.getAction())
         && !privilege.getAction().equalsIgnoreCase(AccessConstants.ALL)) {
-      authorizable
-      .add(KV_JOINER.join(SentryConstants.PRIVILEGE_NAME.toLowerCase(),
-          privilege.getAction()));
+      authorizable.add(ACTION_TYPE, privilege.getAction());
     }
-    return AUTHORIZABLE_JOINER.join(authorizable);
+    return authorizable.toString();
   }
 
   @VisibleForTesting
@@ -2209,10 +2575,12 @@ public class SentryStore {
    * @throws Exception
    */
   public void dropPrivilege(final TSentryAuthorizable tAuthorizable) throws Exception {
+    final Set<String> roleNames = new HashSet<>();
     tm.executeTransactionWithRetry(
         new TransactionBlock<Object>() {
           public Object execute(PersistenceManager pm) throws Exception {
             pm.setDetachAllOnCommit(false); // No need to detach objects
+            roleNames.clear();
 
             // Drop the give privilege for all possible actions from all roles.
             TSentryPrivilege tPrivilege = toSentryPrivilege(tAuthorizable);
@@ -2221,18 +2589,20 @@ public class SentryStore {
               if (isMultiActionsSupported(tPrivilege)) {
                 for (String privilegeAction : ALL_ACTIONS) {
                   tPrivilege.setAction(privilegeAction);
-                  dropPrivilegeForAllRoles(pm, new TSentryPrivilege(tPrivilege));
+                  roleNames.addAll(dropPrivilegeForAllRoles(pm, new TSentryPrivilege(tPrivilege)));
                 }
               } else {
-                dropPrivilegeForAllRoles(pm, new TSentryPrivilege(tPrivilege));
+                roleNames.addAll(dropPrivilegeForAllRoles(pm, new TSentryPrivilege(tPrivilege)));
               }
             } catch (JDODataStoreException e) {
               throw new SentryInvalidInputException("Failed to get privileges: "
                   + e.getMessage());
             }
+            logPolicyChange(pm, roleNames);
             return null;
           }
         });
+    updatePolicyImage(roleNames);
   }
 
   /**
@@ -2245,9 +2615,11 @@ public class SentryStore {
    */
   public synchronized void dropPrivilege(final TSentryAuthorizable tAuthorizable,
       final Update update) throws Exception {
+    final Set<String> roleNames = new HashSet<>();
     execute(update, new TransactionBlock<Object>() {
       public Object execute(PersistenceManager pm) throws Exception {
         pm.setDetachAllOnCommit(false); // No need to detach objects
+        roleNames.clear();
 
         // Drop the give privilege for all possible actions from all roles.
         TSentryPrivilege tPrivilege = toSentryPrivilege(tAuthorizable);
@@ -2256,18 +2628,20 @@ public class SentryStore {
           if (isMultiActionsSupported(tPrivilege)) {
             for (String privilegeAction : ALL_ACTIONS) {
               tPrivilege.setAction(privilegeAction);
-              dropPrivilegeForAllRoles(pm, new TSentryPrivilege(tPrivilege));
+              roleNames.addAll(dropPrivilegeForAllRoles(pm, new TSentryPrivilege(tPrivilege)));
             }
           } else {
-            dropPrivilegeForAllRoles(pm, new TSentryPrivilege(tPrivilege));
+            roleNames.addAll(dropPrivilegeForAllRoles(pm, new TSentryPrivilege(tPrivilege)));
           }
         } catch (JDODataStoreException e) {
           throw new SentryInvalidInputException("Failed to get privileges: "
           + e.getMessage());
         }
+        logPolicyChange(pm, roleNames);
         return null;
       }
     });
+    updatePolicyImage(roleNames);
   }
 
   /**
@@ -2280,10 +2654,12 @@ public class SentryStore {
    */
   public void renamePrivilege(final TSentryAuthorizable oldTAuthorizable,
       final TSentryAuthorizable newTAuthorizable) throws Exception {
+    final Set<String> roleNames = new HashSet<>();
     tm.executeTransactionWithRetry(
         new TransactionBlock<Object>() {
           public Object execute(PersistenceManager pm) throws Exception {
             pm.setDetachAllOnCommit(false); // No need to detach objects
+            roleNames.clear();
 
             // Drop the give privilege for all possible actions from all roles.
             TSentryPrivilege tPrivilege = toSentryPrivilege(oldTAuthorizable);
@@ -2295,18 +2671,20 @@ public class SentryStore {
                 for (String privilegeAction : ALL_ACTIONS) {
                   tPrivilege.setAction(privilegeAction);
                   newPrivilege.setAction(privilegeAction);
-                  renamePrivilegeForAllRoles(pm, tPrivilege, newPrivilege);
+                  roleNames.addAll(renamePrivilegeForAllRoles(pm, tPrivilege, newPrivilege));
                 }
               } else {
-                renamePrivilegeForAllRoles(pm, tPrivilege, newPrivilege);
+                roleNames.addAll(renamePrivilegeForAllRoles(pm, tPrivilege, newPrivilege));
               }
             } catch (JDODataStoreException e) {
               throw new SentryInvalidInputException("Failed to get privileges: "
                   + e.getMessage());
             }
+            logPolicyChange(pm, roleNames);
             return null;
           }
         });
+    updatePolicyImage(roleNames);
   }
 
   /**
@@ -2324,9 +2702,11 @@ public class SentryStore {
       final TSentryAuthorizable newTAuthorizable, final Update update)
         throws Exception {
 
+    final Set<String> roleNames = new HashSet<>();
     execute(update, new TransactionBlock<Object>() {
       public Object execute(PersistenceManager pm) throws Exception {
         pm.setDetachAllOnCommit(false); // No need to detach objects
+        roleNames.clear();
 
         // Drop the give privilege for all possible actions from all roles.
         TSentryPrivilege tPrivilege = toSentryPrivilege(oldTAuthorizable);
@@ -2338,18 +2718,20 @@ public class SentryStore {
             for (String privilegeAction : ALL_ACTIONS) {
               tPrivilege.setAction(privilegeAction);
               newPrivilege.setAction(privilegeAction);
-              renamePrivilegeForAllRoles(pm, tPrivilege, newPrivilege);
+              roleNames.addAll(renamePrivilegeForAllRoles(pm, tPrivilege, newPrivilege));
             }
           } else {
-            renamePrivilegeForAllRoles(pm, tPrivilege, newPrivilege);
+            roleNames.addAll(renamePrivilegeForAllRoles(pm, tPrivilege, newPrivilege));
           }
         } catch (JDODataStoreException e) {
           throw new SentryInvalidInputException("Failed to get privileges: "
           + e.getMessage());
         }
+        logPolicyChange(pm, roleNames);
         return null;
       }
     });
+    updatePolicyImage(roleNames);
   }
 
   // Currently INSERT/SELECT/ALL are supported for Table and DB level privileges
@@ -2358,33 +2740,35 @@ public class SentryStore {
 
   }
   // wrapper for dropOrRename
-  private void renamePrivilegeForAllRoles(PersistenceManager pm,
+  private Set<String> renamePrivilegeForAllRoles(PersistenceManager pm,
       TSentryPrivilege tPrivilege,
       TSentryPrivilege newPrivilege) throws SentryNoSuchObjectException,
       SentryInvalidInputException {
-    dropOrRenamePrivilegeForAllRoles(pm, tPrivilege, newPrivilege);
+    return dropOrRenamePrivilegeForAllRoles(pm, tPrivilege, newPrivilege);
   }
 
   /**
    * Drop given privilege from all roles
    * @param tPrivilege
+   * @return names of the roles which had the privilege
    * @throws SentryNoSuchObjectException
    * @throws SentryInvalidInputException
    */
-  private void dropPrivilegeForAllRoles(PersistenceManager pm,
+  private Set<String> dropPrivilegeForAllRoles(PersistenceManager pm,
       TSentryPrivilege tPrivilege)
       throws SentryNoSuchObjectException, SentryInvalidInputException {
-    dropOrRenamePrivilegeForAllRoles(pm, tPrivilege, null);
+    return dropOrRenamePrivilegeForAllRoles(pm, tPrivilege, null);
   }
 
   /**
    * Drop given privilege from all roles Create the new privilege if asked
    * @param tPrivilege
    * @param pm
+   * @return names of the roles which had the privilege
    * @throws SentryNoSuchObjectException
    * @throws SentryInvalidInputException
    */
-  private void dropOrRenamePrivilegeForAllRoles(PersistenceManager pm,
+  private Set<String> dropOrRenamePrivilegeForAllRoles(PersistenceManager pm,
       TSentryPrivilege tPrivilege,
       TSentryPrivilege newTPrivilege) throws SentryNoSuchObjectException,
       SentryInvalidInputException {
@@ -2398,7 +2782,7 @@ public class SentryStore {
       for (MSentryRole role : roleSet) {
         alterSentryRoleRevokePrivilegeCore(pm, role.getRoleName(), tPrivilege);
       }
-      return;
+      return rolesToRoleNames(roleSet);
     }
     // Renaming privilege
     MSentryPrivilege parent = getMSentryPrivilege(tPrivilege, pm);
@@ -2433,6 +2817,7 @@ public class SentryStore {
         alterSentryRoleGrantPrivilegeCore(pm, role.getRoleName(), tPriv);
       }
     }
+    return rolesToRoleNames(roleSet);
   }
 
   private TSentryPrivilege toSentryPrivilege(TSentryAuthorizable tAuthorizable)
@@ -2781,6 +3166,11 @@ public class SentryStore {
    */
   public void persistFullPathsImage(final Map<String, Collection<String>> authzPaths,
       final long notificationID) throws Exception {
+    if (pathsSnapshotChunkSize > 0) {
+      persistFullPathsImageInChunks(authzPaths.entrySet().iterator(), notificationID, true,
+          null);
+      return;
+    }
     tm.executeTransactionWithRetry(
       new TransactionBlock() {
         public Object execute(PersistenceManager pm) throws Exception {
@@ -2803,6 +3193,236 @@ public class SentryStore {
       });
   }
 
+  /**
+   * Persist an up-to-date HMS snapshot read as it is fetched from HMS, in chunks like
+   * {@link #persistFullPathsImageInChunks(Iterator, long, boolean)}. Only the chunks being
+   * persisted are kept in memory. An empty snapshot is not persisted.
+   *
+   * @param authzPaths paths to be be persisted, each authzObj returned once
+   * @param notificationID the latest notificationID associated with the snapshot
+   * @param canCommit checked before each chunk and before the snapshot is made current,
+   *        e.g. to stop when the leadership was lost while the snapshot was being fetched
+   * @return the number of authzObjs persisted, 0 if the snapshot was not made current
+   * @throws Exception
+   */
+  public long persistFullPathsImage(Iterator<Map.Entry<String, Collection<String>>> authzPaths,
+      long notificationID, Supplier<Boolean> canCommit) throws Exception {
+    Preconditions.checkState(isFullPathsImageChunked(),
+        "Streaming a HMS snapshot requires %s > 0",
+        ServerConfig.SENTRY_STORE_PATHS_SNAPSHOT_CHUNK_SIZE);
+    return persistFullPathsImageInChunks(authzPaths, notificationID, false,
+        Preconditions.checkNotNull(canCommit));
+  }
+
+  /**
+   * @return true if full HMS snapshots are persisted in chunks, so that they can be
+   *         streamed to {@link #persistFullPathsImage(Iterator, long, Supplier)}
+   */
+  public boolean isFullPathsImageChunked() {
+    return pathsSnapshotChunkSize > 0;
+  }
+
+  /**
+   * Persist an up-to-date HMS snapshot like {@link #persistFullPathsImage(Map, long)}, but
+   * in transactions of at most pathsSnapshotChunkSize authorizable objects, each retried on
+   * its own, on pathsSnapshotThreads threads. The new snapshot ID and the notification ID
+   * are only persisted once all the paths are, so a failure leaves the current snapshot
+   * as is. The paths left by a previous attempt are deleted first, and the ones of the
+   * previous snapshots by {@link #purgeStaleAuthzPathsSnapshots()}.
+   *
+   * @param authzPaths paths to be be persisted
+   * @param notificationID the latest notificationID associated with the snapshot
+   * @param persistEmpty whether to persist a snapshot without any authzObj
+   * @param canCommit if not null, checked before each chunk and before the new snapshot ID
+   *        is persisted; the snapshot is left incomplete once it returns false
+   * @return the number of authzObjs persisted, 0 if the snapshot was not made current
+   * @throws Exception
+   */
+  private long persistFullPathsImageInChunks(
+      Iterator<Map.Entry<String, Collection<String>>> authzPaths, final long notificationID,
+      boolean persistEmpty, Supplier<Boolean> canCommit) throws Exception {
+    final long nextSnapshotID = tm.executeTransactionWithRetry(
+        new TransactionBlock<Long>() {
+          public Long execute(PersistenceManager pm) throws Exception {
+            return getCurrentAuthzPathsSnapshotID(pm) + 1;
+          }
+        });
+    long deleted = deleteAuthzPathsSnapshots(nextSnapshotID, Long.MAX_VALUE);
+    if (deleted > 0) {
+      LOGGER.info("Deleted {} authzObjs left by a previous attempt to persist HMS snapshot "
+          + "with ID = {}", deleted, nextSnapshotID);
+    }
+
+    LOGGER.info("Attempting to persist new HMS snapshot with ID = {} in chunks of {} authzObjs",
+        nextSnapshotID, pathsSnapshotChunkSize);
+    ExecutorService executor = null;
+    if (pathsSnapshotThreads > 1) {
+      executor = Executors.newFixedThreadPool(pathsSnapshotThreads, new ThreadFactoryBuilder()
+          .setNameFormat("sentry-paths-snapshot-%d")
+          .setDaemon(true)
+          .build());
+    }
+    long count = 0;
+    try {
+      // Chunks queued for the threads, at most two per thread
+      Deque<Future<Object>> futures = new ArrayDeque<>();
+      List<Map.Entry<String, Collection<String>>> chunk =
+          new ArrayList<>(pathsSnapshotChunkSize);
+      while (authzPaths.hasNext()) {
+        chunk.add(authzPaths.next());
+        count++;
+        if (chunk.size() == pathsSnapshotChunkSize) {
+          if (!canCommitPathsSnapshot(canCommit, nextSnapshotID)) {
+            return 0;
+          }
+          persistAuthzPathsChunk(nextSnapshotID, chunk, executor, futures);
+          chunk = new ArrayList<>(pathsSnapshotChunkSize);
+          if (futures.size() > pathsSnapshotThreads * 2) {
+            waitForAuthzPathsChunk(futures.pop());
+          }
+        }
+      }
+      if (!chunk.isEmpty()) {
+        if (!canCommitPathsSnapshot(canCommit, nextSnapshotID)) {
+          return 0;
+        }
+        persistAuthzPathsChunk(nextSnapshotID, chunk, executor, futures);
+      }
+      for (Future<Object> future : futures) {
+        waitForAuthzPathsChunk(future);
+      }
+    } finally {
+      if (executor != null) {
+        executor.shutdownNow();
+      }
+    }
+    if (count == 0 && !persistEmpty) {
+      LOGGER.info("Not persisting empty HMS snapshot with ID = {}", nextSnapshotID);
+      return count;
+    }
+    if (!canCommitPathsSnapshot(canCommit, nextSnapshotID)) {
+      return 0;
+    }
+
+    tm.executeTransactionWithRetry(
+      new TransactionBlock<Object>() {
+        public Object execute(PersistenceManager pm) throws Exception {
+          pm.setDetachAllOnCommit(false); // No need to detach objects
+          deleteNotificationsSince(pm, notificationID + 1);
+          pm.makePersistent(new MSentryHmsNotification(notificationID));
+          pm.makePersistent(new MAuthzPathsSnapshotId(nextSnapshotID));
+          return null;
+        }
+      });
+    LOGGER.info("Committed new HMS snapshot with ID = {} of {} authzObjs", nextSnapshotID,
+        count);
+    return count;
+  }
+
+  /**
+   * Persist a chunk of the authorizable objects of a HMS snapshot in a transaction, on the
+   * executor if not null.
+   */
+  private void persistAuthzPathsChunk(final long snapshotID,
+      final List<Map.Entry<String, Collection<String>>> chunk, ExecutorService executor,
+      Deque<Future<Object>> futures) throws Exception {
+    final TransactionBlock<Object> tb = new TransactionBlock<Object>() {
+      public Object execute(PersistenceManager pm) throws Exception {
+        pm.setDetachAllOnCommit(false); // No need to detach objects
+        for (Map.Entry<String, Collection<String>> authzPath : chunk) {
+          pm.makePersistent(new MAuthzPathsMapping(snapshotID, authzPath.getKey(),
+              authzPath.getValue()));
+        }
+        return null;
+      }
+    };
+    if (executor == null) {
+      tm.executeTransactionWithRetry(tb);
+    } else {
+      futures.add(executor.submit(new Callable<Object>() {
+        @Override
+        public Object call() throws Exception {
+          return tm.executeTransactionWithRetry(tb);
+        }
+      }));
+    }
+  }
+
+  private static boolean canCommitPathsSnapshot(Supplier<Boolean> canCommit, long snapshotID) {
+    if (canCommit == null || canCommit.get()) {
+      return true;
+    }
+    LOGGER.info("Aborting the persistence of HMS snapshot with ID = {}, the current snapshot "
+        + "is left as is", snapshotID);
+    return false;
+  }
+
+  private static void waitForAuthzPathsChunk(Future<Object> future) throws Exception {
+    try {
+      future.get();
+    } catch (ExecutionException e) {
+      Throwables.propagateIfInstanceOf(e.getCause(), Exception.class);
+      throw Throwables.propagate(e.getCause());
+    }
+  }
+
+  /**
+   * Deletes the authorizable objects and paths of the HMS snapshots older than the current
+   * one. They are never read again.
+   */
+  public void purgeStaleAuthzPathsSnapshots() {
+    try {
+      long currentSnapshotID = getCurrentAuthzPathsSnapshotID();
+      long deleted = deleteAuthzPathsSnapshots(EMPTY_PATHS_SNAPSHOT_ID, currentSnapshotID);
+      if (deleted > 0) {
+        LOGGER.info("Purged {} authzObjs of HMS snapshots older than ID = {}", deleted,
+            currentSnapshotID);
+      }
+    } catch (Exception e) {
+      LOGGER.error("HMS snapshot cleaning process encountered an error", e);
+    }
+  }
+
+  /**
+   * Deletes the authorizable objects and paths of the HMS snapshots with an ID in the given
+   * range, in transactions of a bounded number of authorizable objects.
+   *
+   * @param fromSnapshotID the lowest snapshot ID to delete
+   * @param toSnapshotID the snapshot ID to stop at, excluded
+   * @return the number of authorizable objects deleted
+   * @throws Exception
+   */
+  private long deleteAuthzPathsSnapshots(final long fromSnapshotID, final long toSnapshotID)
+      throws Exception {
+    final int chunkSize = pathsSnapshotChunkSize > 0 ? pathsSnapshotChunkSize
+        : PATHS_SNAPSHOT_DELETE_CHUNK_SIZE;
+    long deleted = 0;
+    while (true) {
+      long chunkDeleted = tm.executeTransactionWithRetry(
+          new TransactionBlock<Long>() {
+            public Long execute(PersistenceManager pm) throws Exception {
+              pm.setDetachAllOnCommit(false); // No need to detach objects
+              Query query = pm.newQuery(MAuthzPathsMapping.class);
+              query.setFilter("this.authzSnapshotID >= fromSnapshotID && " +
+                  "this.authzSnapshotID < toSnapshotID");
+              query.declareParameters("long fromSnapshotID, long toSnapshotID");
+              query.setRange(0, chunkSize);
+              List<MAuthzPathsMapping> mappings =
+                  (List<MAuthzPathsMapping>) query.execute(fromSnapshotID, toSnapshotID);
+              for (MAuthzPathsMapping mapping : mappings) {
+                pm.deletePersistentAll(new ArrayList<>(mapping.getPaths()));
+              }
+              pm.deletePersistentAll(mappings);
+              return (long) mappings.size();
+            }
+          });
+      deleted += chunkDeleted;
+      if (chunkDeleted < chunkSize) {
+        return deleted;
+      }
+    }
+  }
+
   /**
    * Get the last authorization path snapshot ID persisted.
    * Always executed in the transaction context.
@@ -2845,13 +3465,23 @@ public class SentryStore {
    */
   public void addAuthzPathsMapping(final String authzObj, final Collection<String> paths,
       final UniquePathsUpdate update) throws Exception {
+    addAuthzPathsMapping(authzObj, paths, update, null);
+  }
+
+  /**
+   * Same as above, but adds the change to the batch of HMS notifications instead of
+   * persisting it when the batch is not null.
+   */
+  void addAuthzPathsMapping(final String authzObj, final Collection<String> paths,
+      final UniquePathsUpdate update,
+      NotificationBatch batch) throws Exception {
     execute(update, new TransactionBlock<Object>() {
       public Object execute(PersistenceManager pm) throws Exception {
         pm.setDetachAllOnCommit(false); // No need to detach objects
         addAuthzPathsMappingCore(pm, authzObj, paths);
         return null;
       }
-    });
+    }, batch);
   }
 
   /**
@@ -2892,13 +3522,23 @@ public class SentryStore {
    */
   public void deleteAuthzPathsMapping(final String authzObj, final Iterable<String> paths,
       final UniquePathsUpdate update) throws Exception {
+    deleteAuthzPathsMapping(authzObj, paths, update, null);
+  }
+
+  /**
+   * Same as above, but adds the change to the batch of HMS notifications instead of
+   * persisting it when the batch is not null.
+   */
+  void deleteAuthzPathsMapping(final String authzObj, final Iterable<String> paths,
+      final UniquePathsUpdate update,
+      NotificationBatch batch) throws Exception {
     execute(update, new TransactionBlock<Object>() {
       public Object execute(PersistenceManager pm) throws Exception {
         pm.setDetachAllOnCommit(false); // No need to detach objects
         deleteAuthzPathsMappingCore(pm, authzObj, paths);
         return null;
       }
-    });
+    }, batch);
   }
 
   /**
@@ -2944,13 +3584,22 @@ public class SentryStore {
    */
   public void deleteAllAuthzPathsMapping(final String authzObj, final UniquePathsUpdate update)
         throws Exception {
+    deleteAllAuthzPathsMapping(authzObj, update, null);
+  }
+
+  /**
+   * Same as above, but adds the change to the batch of HMS notifications instead of
+   * persisting it when the batch is not null.
+   */
+  void deleteAllAuthzPathsMapping(final String authzObj, final UniquePathsUpdate update,
+      NotificationBatch batch) throws Exception {
     execute(update, new TransactionBlock<Object>() {
       public Object execute(PersistenceManager pm) throws Exception {
         pm.setDetachAllOnCommit(false); // No need to detach objects
         deleteAllAuthzPathsMappingCore(pm, authzObj);
         return null;
       }
-    });
+    }, batch);
   }
 
   /**
@@ -2993,13 +3642,23 @@ public class SentryStore {
    */
   public void renameAuthzPathsMapping(final String oldObj, final String newObj,
       final String oldPath, final String newPath, final UniquePathsUpdate update) throws Exception {
+    renameAuthzPathsMapping(oldObj, newObj, oldPath, newPath, update, null);
+  }
+
+  /**
+   * Same as above, but adds the change to the batch of HMS notifications instead of
+   * persisting it when the batch is not null.
+   */
+  void renameAuthzPathsMapping(final String oldObj, final String newObj,
+      final String oldPath, final String newPath, final UniquePathsUpdate update,
+      NotificationBatch batch) throws Exception {
     execute(update, new TransactionBlock<Object>() {
       public Object execute(PersistenceManager pm) throws Exception {
         pm.setDetachAllOnCommit(false); // No need to detach objects
         renameAuthzPathsMappingCore(pm, oldObj, newObj, oldPath, newPath);
         return null;
       }
-    });
+    }, batch);
   }
 
   /**
@@ -3050,13 +3709,23 @@ public class SentryStore {
    */
   public void renameAuthzObj(final String oldObj, final String newObj,
       final UniquePathsUpdate update) throws Exception {
+    renameAuthzObj(oldObj, newObj, update, null);
+  }
+
+  /**
+   * Same as above, but adds the change to the batch of HMS notifications instead of
+   * persisting it when the batch is not null.
+   */
+  void renameAuthzObj(final String oldObj, final String newObj,
+      final UniquePathsUpdate update,
+      NotificationBatch batch) throws Exception {
     execute(update, new TransactionBlock<Object>() {
       public Object execute(PersistenceManager pm) throws Exception {
         pm.setDetachAllOnCommit(false); // No need to detach objects
         renameAuthzObjCore(pm, oldObj, newObj);
         return null;
       }
-    });
+    }, batch);
   }
 
   /**
@@ -3120,10 +3789,11 @@ public class SentryStore {
   }
 
   /**
-   * Tells if there are any records in MAuthzPathsMapping
+   * Tells if there are any records of the current snapshot in MAuthzPathsMapping.
+   * The records of older snapshots or of a snapshot not yet fully persisted are ignored.
    *
-   * @return true if there are no entries in <code>MAuthzPathsMapping</code>
-   * false if there are entries
+   * @return true if there are no entries of the current snapshot in
+   * <code>MAuthzPathsMapping</code>, false if there are entries
    * @throws Exception
    */
   public boolean isAuthzPathsSnapshotEmpty() throws Exception {
@@ -3131,7 +3801,16 @@ public class SentryStore {
         new TransactionBlock<Boolean>() {
           public Boolean execute(PersistenceManager pm) throws Exception {
             pm.setDetachAllOnCommit(false); // No need to detach objects
-            return isTableEmptyCore(pm, MAuthzPathsMapping.class);
+            long currentSnapshotID = getCurrentAuthzPathsSnapshotID(pm);
+            if (currentSnapshotID == EMPTY_PATHS_SNAPSHOT_ID) {
+              return true;
+            }
+            Query query = pm.newQuery(MAuthzPathsMapping.class);
+            query.addExtension(LOAD_RESULTS_AT_COMMIT, "false");
+            query.setFilter("this.authzSnapshotID == currentSnapshotID");
+            query.declareParameters("long currentSnapshotID");
+            query.setRange(0, 1);
+            return ((List<?>) query.execute(currentSnapshotID)).isEmpty();
           }
         });
   }
@@ -3149,13 +3828,23 @@ public class SentryStore {
    */
   public void updateAuthzPathsMapping(final String authzObj, final String oldPath,
         final String newPath, final UniquePathsUpdate update) throws Exception {
+    updateAuthzPathsMapping(authzObj, oldPath, newPath, update, null);
+  }
+
+  /**
+   * Same as above, but adds the change to the batch of HMS notifications instead of
+   * persisting it when the batch is not null.
+   */
+  void updateAuthzPathsMapping(final String authzObj, final String oldPath,
+        final String newPath, final UniquePathsUpdate update,
+      NotificationBatch batch) throws Exception {
     execute(update, new TransactionBlock<Object>() {
       public Object execute(PersistenceManager pm) throws Exception {
         pm.setDetachAllOnCommit(false); // No need to detach objects
         updateAuthzPathsMappingCore(pm, authzObj, oldPath, newPath);
         return null;
       }
-    });
+    }, batch);
   }
 
   /**
@@ -3627,9 +4316,11 @@ public class SentryStore {
             importRoleGroupMapping(pm, roleNames, importedRoleGroupsMap);
             // import the mapping data for [role,user], the roleNames will be updated
             importRoleUserMapping(pm, roleNames, importedRoleUsersMap);
+            logPolicyChange(pm, (Collection<String>) null);
             return null;
           }
         });
+    reloadPolicyImage();
   }
 
   // covert the Map[group->roles] to Map[role->groups]
@@ -4225,13 +4916,53 @@ public class SentryStore {
     List<TransactionBlock<Object>> tbs = new ArrayList(2);
 
     if (persistUpdateDeltas) {
-      tbs.add(new DeltaTransactionBlock(update));
+      tbs.add(new DeltaTransactionBlock(update, binaryDeltaChanges));
     }
 
     tbs.add(transactionBlock);
     tm.executeTransactionBlocksWithRetry(tbs);
   }
 
+  /**
+   * Execute the path change of a HMS notification like {@link #execute(Update, TransactionBlock)},
+   * or add it to the batch of notifications when not null.
+   */
+  private void execute(UniquePathsUpdate update, TransactionBlock<Object> transactionBlock,
+      NotificationBatch batch) throws Exception {
+    if (batch == null) {
+      execute(update, transactionBlock);
+    } else {
+      batch.add(update, transactionBlock);
+    }
+  }
+
+  /**
+   * Persist the path changes of a batch of HMS notifications, their delta updates if
+   * persistUpdateDeltas is true, and the id of the last notification in a single
+   * transaction.
+   *
+   * @param batch the batch of notifications
+   * @throws Exception
+   */
+  void persistNotificationBatch(final NotificationBatch batch) throws Exception {
+    List<TransactionBlock<Object>> tbs = new ArrayList<>(batch.getTransactionBlocks());
+    tbs.add(new TransactionBlock<Object>() {
+      public Object execute(PersistenceManager pm) throws Exception {
+        pm.setDetachAllOnCommit(false); // No need to detach objects
+        if (persistUpdateDeltas) {
+          long changeID = getLastProcessedChangeIDCore(pm, MSentryPathChange.class);
+          for (UniquePathsUpdate update : batch.getUpdates()) {
+            pm.makePersistent(new MSentryPathChange(++changeID, update.getEventHash(), update,
+                binaryDeltaChanges));
+          }
+        }
+        pm.makePersistent(new MSentryHmsNotification(batch.getLastEventId()));
+        return null;
+      }
+    });
+    tm.executeTransactionBlocksWithRetry(tbs);
+  }
+
   /**
    * Checks if a notification was already processed by searching for the hash value
    * on the MSentryPathChange table.
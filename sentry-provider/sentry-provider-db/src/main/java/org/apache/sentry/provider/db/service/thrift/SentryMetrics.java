@@ -36,6 +36,7 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.hadoop.conf.Configuration;
+import org.apache.sentry.provider.common.CachingGroupMappingService;
 import org.apache.sentry.provider.db.service.persistent.SentryStore;
 import org.apache.sentry.service.thrift.SentryService;
 import org.apache.sentry.service.thrift.SentryServiceUtil;
@@ -83,6 +84,7 @@ public final class SentryMetrics {
   private final AtomicBoolean reportingInitialized = new AtomicBoolean();
   private boolean gaugesAdded = false;
   private boolean sentryServiceGaugesAdded = false;
+  private boolean groupCacheGaugesAdded = false;
 
   final Timer createRoleTimer = METRIC_REGISTRY.timer(
       name(SentryPolicyStoreProcessor.class, "create-role"));
@@ -108,6 +110,8 @@ public final class SentryMetrics {
       name(SentryPolicyStoreProcessor.class, "list-privileges-by-role"));
   final Timer listPrivilegesForProviderTimer = METRIC_REGISTRY.timer(
       name(SentryPolicyStoreProcessor.class, "list-privileges-for-provider"));
+  final Timer checkPrivilegesForProviderTimer = METRIC_REGISTRY.timer(
+      name(SentryPolicyStoreProcessor.class, "check-privileges-for-provider"));
   final Timer listPrivilegesByAuthorizableTimer = METRIC_REGISTRY.timer(
       name(SentryPolicyStoreProcessor.class, "list-privileges-by-authorizable"));
 
@@ -166,10 +170,57 @@ public final class SentryMetrics {
           sentryStore.getPermChangeIdGauge());
       addGauge(SentryStore.class, "hms.psth.change.id",
           sentryStore.getPathChangeIdGauge());
+      addGauge(SentryStore.class, "policy.image.version",
+          sentryStore.getPolicyImageVersionGauge());
       gaugesAdded = true;
     }
   }
 
+  /**
+   * Add gauges for the group cache of the server.
+   */
+  synchronized void addGroupCacheGauges(final CachingGroupMappingService groupCache) {
+    if (!groupCacheGaugesAdded) {
+      addGauge(CachingGroupMappingService.class, "hit", new Gauge<Long>() {
+        @Override
+        public Long getValue() {
+          return groupCache.getStats().hitCount();
+        }
+      });
+      addGauge(CachingGroupMappingService.class, "miss", new Gauge<Long>() {
+        @Override
+        public Long getValue() {
+          return groupCache.getStats().missCount();
+        }
+      });
+      addGauge(CachingGroupMappingService.class, "negative_hit", new Gauge<Long>() {
+        @Override
+        public Long getValue() {
+          return groupCache.getNegativeHitCount();
+        }
+      });
+      addGauge(CachingGroupMappingService.class, "refresh", new Gauge<Long>() {
+        @Override
+        public Long getValue() {
+          return groupCache.getRefreshCount();
+        }
+      });
+      addGauge(CachingGroupMappingService.class, "refresh_avg_ms", new Gauge<Double>() {
+        @Override
+        public Double getValue() {
+          return groupCache.getAverageRefreshTimeMs();
+        }
+      });
+      addGauge(CachingGroupMappingService.class, "size", new Gauge<Long>() {
+        @Override
+        public Long getValue() {
+          return groupCache.size();
+        }
+      });
+      groupCacheGaugesAdded = true;
+    }
+  }
+
   /**
    * Add gauges for the SentryService class.
    * @param sentryservice
@@ -18,6 +18,7 @@
 
 package org.apache.sentry.provider.db.service.thrift;
 
+import java.util.BitSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -161,6 +162,16 @@ public interface SentryPolicyServiceClient extends AutoCloseable {
   Set<String> listPrivilegesForProvider(Set<String> groups, Set<String> users,
       ActiveRoleSet roleSet, Authorizable... authorizable) throws SentryUserException;
 
+  /**
+   * Authorize a batch of privileges in a single call.
+   *
+   * @param privileges the requested privileges, only their authorizable hierarchy and
+   *        action are used
+   * @return the indexes of the privileges granted to the groups and users
+   */
+  BitSet checkPrivilegesForProvider(Set<String> groups, Set<String> users,
+      ActiveRoleSet roleSet, List<TSentryPrivilege> privileges) throws SentryUserException;
+
   void grantRoleToGroup(String requestorUserName, String groupName, String roleName)
       throws SentryUserException;
 
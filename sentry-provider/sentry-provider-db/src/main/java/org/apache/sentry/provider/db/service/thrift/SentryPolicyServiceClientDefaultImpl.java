@@ -46,6 +46,7 @@ import org.apache.thrift.protocol.TBinaryProtocol;
 import org.apache.thrift.protocol.TMultiplexedProtocol;
 
 import java.io.IOException;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -746,6 +747,26 @@ public class SentryPolicyServiceClientDefaultImpl implements SentryPolicyService
     }
   }
 
+  @Override
+  public BitSet checkPrivilegesForProvider(Set<String> groups, Set<String> users,
+      ActiveRoleSet roleSet, List<TSentryPrivilege> privileges) throws SentryUserException {
+    TSentryActiveRoleSet thriftRoleSet = new TSentryActiveRoleSet(roleSet.isAll(), roleSet.getRoles());
+    TCheckSentryPrivilegesForProviderRequest request =
+      new TCheckSentryPrivilegesForProviderRequest(ThriftConstants.
+        TSENTRY_SERVICE_VERSION_CURRENT, groups, thriftRoleSet, privileges);
+    if (users != null) {
+      request.setUsers(users);
+    }
+    try {
+      TCheckSentryPrivilegesForProviderResponse response =
+          client.check_sentry_privileges_for_provider(request);
+      Status.throwIfNotOk(response.getStatus());
+      return BitSet.valueOf(response.getDecisions());
+    } catch (TException e) {
+      throw new SentryUserException(THRIFT_EXCEPTION_MESSAGE, e);
+    }
+  }
+
   @Override
   public void grantRoleToGroup(String requestorUserName,
                                             String groupName, String roleName)
@@ -20,20 +20,37 @@ package org.apache.sentry.provider.db.service.thrift;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeoutException;
 import java.util.regex.Pattern;
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.sentry.core.common.exception.SentryUserException;
+import org.apache.sentry.core.common.utils.KeyValue;
 import org.apache.sentry.core.common.exception.SentrySiteConfigurationException;
+import org.apache.sentry.core.common.Model;
 import org.apache.sentry.core.model.db.AccessConstants;
+import org.apache.sentry.core.model.db.AccessURI;
+import org.apache.sentry.core.model.db.Column;
+import org.apache.sentry.core.model.db.DBModelAuthorizable;
+import org.apache.sentry.core.model.db.DBModelAuthorizable.AuthorizableType;
+import org.apache.sentry.core.model.db.Database;
+import org.apache.sentry.core.model.db.HivePrivilegeModel;
+import org.apache.sentry.core.model.db.Server;
+import org.apache.sentry.core.model.db.Table;
+import org.apache.sentry.policy.common.CompiledPrivilege;
+import org.apache.sentry.policy.common.PrivilegeTrie;
+import org.apache.sentry.provider.common.CachingGroupMappingService;
 import org.apache.sentry.provider.common.GroupMappingService;
 import org.apache.sentry.core.common.utils.PolicyFileConstants;
 import org.apache.sentry.core.common.exception.SentryGroupNotFoundException;
@@ -81,6 +98,10 @@ public class SentryPolicyStoreProcessor implements SentryPolicyService.Iface {
 
   static final String SENTRY_POLICY_SERVICE_NAME = "SentryPolicyService";
 
+  // Group caches, keyed by group mapping class and resource
+  private static final ConcurrentMap<String, CachingGroupMappingService> groupCaches =
+      new ConcurrentHashMap<String, CachingGroupMappingService>();
+
   private final String name;
   private final Configuration conf;
   private final SentryStore sentryStore;
@@ -120,13 +141,21 @@ public class SentryPolicyStoreProcessor implements SentryPolicyService.Iface {
     initMetrics();
   }
 
-  private void initMetrics() {
+  private void initMetrics() throws SentryUserException {
     sentryMetrics = SentryMetrics.getInstance();
     sentryMetrics.addSentryStoreGauges(sentryStore);
+    if (conf.getBoolean(ServerConfig.SENTRY_STORE_GROUP_CACHE_ENABLED,
+        ServerConfig.SENTRY_STORE_GROUP_CACHE_ENABLED_DEFAULT)) {
+      sentryMetrics.addGroupCacheGauges(
+          (CachingGroupMappingService) getGroupMappingService(conf));
+    }
     sentryMetrics.initReporting(conf);
   }
 
   public void stop() {
+    for (SentryPolicyStorePlugin plugin : sentryPlugins) {
+      plugin.close();
+    }
     sentryStore.stop();
   }
 
@@ -688,8 +717,7 @@ public class SentryPolicyStoreProcessor implements SentryPolicyService.Iface {
         if(!admin && (request.getGroupName() == null || !groups.contains(request.getGroupName()))) {
           throw new SentryAccessDeniedException("Access denied to " + subject);
         } else {
-          groups.clear();
-          groups.add(request.getGroupName());
+          groups = Sets.newHashSet(request.getGroupName());
         }
       }
       roleSet = sentryStore.getTSentryRolesByGroupName(groups, checkAllGroups);
@@ -879,6 +907,127 @@ public class SentryPolicyStoreProcessor implements SentryPolicyService.Iface {
     return response;
   }
 
+  /**
+   * Authorizes a batch of privileges with a single query for the privileges of the
+   * groups and users, meant for ProviderBackend as well. The requested privileges are
+   * evaluated in memory against an index of the granted privileges, with the same
+   * decisions as list_sentry_privileges_for_provider evaluated by the provider.
+   */
+  @Override
+  public TCheckSentryPrivilegesForProviderResponse check_sentry_privileges_for_provider(
+      TCheckSentryPrivilegesForProviderRequest request) throws TException {
+    final Timer.Context timerContext = sentryMetrics.checkPrivilegesForProviderTimer.time();
+    TCheckSentryPrivilegesForProviderResponse response = new TCheckSentryPrivilegesForProviderResponse();
+    response.setDecisions(new byte[0]);
+    try {
+      validateClientVersion(request.getProtocol_version());
+      Set<String> privilegesForProvider =
+          sentryStore.listSentryPrivilegesForProvider(request.getGroups(), request.getUsers(),
+              request.getRoleSet(), null);
+      response.setDecisions(checkPrivileges(privilegesForProvider, request.getPrivileges())
+          .toByteArray());
+      response.setStatus(Status.OK());
+    } catch (SentryThriftAPIMismatchException e) {
+      LOGGER.error(e.getMessage(), e);
+      response.setStatus(Status.THRIFT_VERSION_MISMATCH(e.getMessage(), e));
+    } catch (Exception e) {
+      String msg = "Unknown error for request: " + request + ", message: " + e.getMessage();
+      LOGGER.error(msg, e);
+      response.setStatus(Status.RuntimeError(msg, e));
+    } finally {
+      timerContext.stop();
+    }
+    return response;
+  }
+
+  @VisibleForTesting
+  static BitSet checkPrivileges(Set<String> grantedPrivileges,
+      List<TSentryPrivilege> requestedPrivileges) {
+    Model model = HivePrivilegeModel.getInstance();
+    List<CompiledPrivilege> compiled = new ArrayList<CompiledPrivilege>(grantedPrivileges.size());
+    for (String privilege : grantedPrivileges) {
+      compiled.add(CompiledPrivilege.compile(privilege, model));
+    }
+    PrivilegeTrie trie = PrivilegeTrie.build(compiled, model);
+
+    BitSet decisions = new BitSet(requestedPrivileges.size());
+    for (int i = 0; i < requestedPrivileges.size(); i++) {
+      TSentryPrivilege privilege = requestedPrivileges.get(i);
+      List<DBModelAuthorizable> authorizables;
+      try {
+        authorizables = toAuthorizables(privilege);
+      } catch (IllegalArgumentException e) {
+        // e.g. an invalid URI, which can't be granted
+        LOGGER.debug("Invalid requested privilege " + privilege + ": " + e.getMessage());
+        continue;
+      }
+      CompiledPrivilege request =
+          CompiledPrivilege.compileRequest(authorizables, privilege.getAction(), model);
+      if (trie.implies(request) || impliesDefaultDb(compiled, authorizables, request, model)) {
+        decisions.set(i);
+      }
+    }
+    return decisions;
+  }
+
+  /**
+   * Applies the 'default' Db rule of list_sentry_privileges_for_provider and of
+   * ResourceAuthorizationProvider to a switch to a database: if none of the granted
+   * privileges is in the scope of the database but one is on the server, the request is
+   * evaluated against select on the 'default' Db.
+   */
+  private static boolean impliesDefaultDb(List<CompiledPrivilege> grantedPrivileges,
+      List<DBModelAuthorizable> authorizables, CompiledPrivilege request, Model model) {
+    if (authorizables.size() != 4
+        || !AccessConstants.SOME.equals(authorizables.get(2).getName())) {
+      return false;
+    }
+    String server = authorizables.get(0).getName();
+    String db = authorizables.get(1).getName();
+    boolean onServer = false;
+    for (CompiledPrivilege privilege : grantedPrivileges) {
+      String grantedServer = null;
+      String grantedDb = null;
+      String grantedUri = null;
+      for (KeyValue part : privilege.getAuthorizable()) {
+        if (AuthorizableType.Server.name().equalsIgnoreCase(part.getKey())) {
+          grantedServer = part.getValue();
+        } else if (AuthorizableType.Db.name().equalsIgnoreCase(part.getKey())) {
+          grantedDb = part.getValue();
+        } else if (AuthorizableType.URI.name().equalsIgnoreCase(part.getKey())) {
+          grantedUri = part.getValue();
+        }
+      }
+      if (!server.equalsIgnoreCase(grantedServer)) {
+        continue;
+      }
+      if (grantedUri == null && (grantedDb == null || db.equalsIgnoreCase(grantedDb))) {
+        // The provider gets this privilege for the database, the rule doesn't apply
+        return false;
+      }
+      onServer = true;
+    }
+    return onServer && CompiledPrivilege.compile("Server=" + server
+        + "->Db=default->Table=*->Column=*->action=select", model).implies(request);
+  }
+
+  private static List<DBModelAuthorizable> toAuthorizables(TSentryPrivilege privilege) {
+    List<DBModelAuthorizable> authorizables = new ArrayList<DBModelAuthorizable>(4);
+    authorizables.add(new Server(privilege.getServerName()));
+    if (!StringUtils.isEmpty(privilege.getURI())) {
+      authorizables.add(new AccessURI(privilege.getURI()));
+    } else if (!StringUtils.isEmpty(privilege.getDbName())) {
+      authorizables.add(new Database(privilege.getDbName()));
+      if (!StringUtils.isEmpty(privilege.getTableName())) {
+        authorizables.add(new Table(privilege.getTableName()));
+        if (!StringUtils.isEmpty(privilege.getColumnName())) {
+          authorizables.add(new Column(privilege.getColumnName()));
+        }
+      }
+    }
+    return authorizables;
+  }
+
   // retrieve the group mapping for the given user name
   private Set<String> getRequestorGroups(String userName)
       throws SentryUserException {
@@ -887,18 +1036,54 @@ public class SentryPolicyStoreProcessor implements SentryPolicyService.Iface {
 
   public static Set<String> getGroupsFromUserName(Configuration conf,
       String userName) throws SentryUserException {
+    return getGroupMappingService(conf).getGroups(userName);
+  }
+
+  /**
+   * @return the group mapping of the server, shared by the callers using the same
+   *         mapping and resource when the group cache is enabled
+   */
+  static GroupMappingService getGroupMappingService(Configuration conf)
+      throws SentryUserException {
+    if (!conf.getBoolean(ServerConfig.SENTRY_STORE_GROUP_CACHE_ENABLED,
+        ServerConfig.SENTRY_STORE_GROUP_CACHE_ENABLED_DEFAULT)) {
+      return newGroupMappingService(conf);
+    }
+    String key = conf.get(ServerConfig.SENTRY_STORE_GROUP_MAPPING,
+        ServerConfig.SENTRY_STORE_GROUP_MAPPING_DEFAULT) + ":"
+        + conf.get(ServerConfig.SENTRY_STORE_GROUP_MAPPING_RESOURCE);
+    CachingGroupMappingService groupCache = groupCaches.get(key);
+    if (groupCache == null) {
+      groupCache = new CachingGroupMappingService(newGroupMappingService(conf),
+          conf.getLong(ServerConfig.SENTRY_STORE_GROUP_CACHE_MAX_SIZE,
+              ServerConfig.SENTRY_STORE_GROUP_CACHE_MAX_SIZE_DEFAULT),
+          conf.getLong(ServerConfig.SENTRY_STORE_GROUP_CACHE_TTL_MS,
+              ServerConfig.SENTRY_STORE_GROUP_CACHE_TTL_MS_DEFAULT),
+          conf.getLong(ServerConfig.SENTRY_STORE_GROUP_CACHE_REFRESH_MS,
+              ServerConfig.SENTRY_STORE_GROUP_CACHE_REFRESH_MS_DEFAULT),
+          conf.getLong(ServerConfig.SENTRY_STORE_GROUP_CACHE_NEGATIVE_TTL_MS,
+              ServerConfig.SENTRY_STORE_GROUP_CACHE_NEGATIVE_TTL_MS_DEFAULT));
+      CachingGroupMappingService existing = groupCaches.putIfAbsent(key, groupCache);
+      if (existing != null) {
+        groupCache = existing;
+      }
+    }
+    return groupCache;
+  }
+
+  private static GroupMappingService newGroupMappingService(Configuration conf)
+      throws SentryUserException {
     String groupMapping = conf.get(ServerConfig.SENTRY_STORE_GROUP_MAPPING,
         ServerConfig.SENTRY_STORE_GROUP_MAPPING_DEFAULT);
     String authResoruce = conf
         .get(ServerConfig.SENTRY_STORE_GROUP_MAPPING_RESOURCE);
 
     // load the group mapping provider class
-    GroupMappingService groupMappingService;
     try {
       Constructor<?> constrctor = Class.forName(groupMapping)
           .getDeclaredConstructor(Configuration.class, String.class);
       constrctor.setAccessible(true);
-      groupMappingService = (GroupMappingService) constrctor
+      return (GroupMappingService) constrctor
           .newInstance(new Object[] { conf, authResoruce });
     } catch (NoSuchMethodException e) {
       throw new SentryUserException("Unable to instantiate group mapping", e);
@@ -915,7 +1100,6 @@ public class SentryPolicyStoreProcessor implements SentryPolicyService.Iface {
     } catch (InvocationTargetException e) {
       throw new SentryUserException("Unable to instantiate group mapping", e);
     }
-    return groupMappingService.getGroups(userName);
   }
 
   @Override
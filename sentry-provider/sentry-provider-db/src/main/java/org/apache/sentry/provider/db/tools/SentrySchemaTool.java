@@ -27,6 +27,7 @@ import java.io.PrintStream;
 import java.net.MalformedURLException;
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
@@ -49,14 +50,21 @@ import org.apache.hive.beeline.BeeLine;
 import org.apache.sentry.Command;
 import org.apache.sentry.core.common.exception.SentryUserException;
 import org.apache.sentry.core.common.exception.SentrySiteConfigurationException;
+import org.apache.sentry.hdfs.PathsUpdate;
+import org.apache.sentry.hdfs.PermissionsUpdate;
+import org.apache.sentry.hdfs.Updateable.Update;
+import org.apache.sentry.provider.db.service.model.DeltaChangeFormat;
 import org.apache.sentry.provider.db.service.persistent.SentryStoreSchemaInfo;
 import org.apache.sentry.provider.db.tools.SentrySchemaHelper.NestedScriptParser;
 import org.apache.sentry.service.thrift.SentryService;
 import org.apache.sentry.service.thrift.ServiceConstants;
+import org.apache.thrift.TException;
 
 public class SentrySchemaTool {
   private static final String SENTRY_SCRIP_DIR = File.separatorChar + "scripts"
       + File.separatorChar + "sentrystore" + File.separatorChar + "upgrade";
+  // Number of delta changes converted per transaction
+  private static final int CONVERT_BATCH_SIZE = 1000;
   private String userName = null;
   private String passWord = null;
   private String connectionURL = null;
@@ -322,6 +330,87 @@ public class SentrySchemaTool {
     }
   }
 
+  /**
+   * Convert the path and permission delta changes stored in JSON format to the binary
+   * format of schema 2.1.0. Sentry servers read both formats, so the conversion can run
+   * while they are up, once none of them is of a previous version.
+   *
+   * @return the number of delta changes converted, or to convert on a dry run
+   * @throws SentryUserException
+   */
+  public long doConvertDeltaChanges() throws SentryUserException {
+    try (Connection conn = getConnectionToMetastore(false)) {
+      String schemaVersion = getMetaStoreSchemaVersion(getConnectionToMetastore(false));
+      if (!sentryStoreSchemaInfo.getSentrySchemaVersion().equalsIgnoreCase(schemaVersion)) {
+        throw new SentryUserException("Cannot convert the delta changes of schema version "
+            + schemaVersion + ", upgrade the schema first");
+      }
+      conn.setAutoCommit(false);
+      long converted = convertDeltaChanges(conn, "SENTRY_PERM_CHANGE", "PERM_CHANGE", false);
+      converted += convertDeltaChanges(conn, "SENTRY_PATH_CHANGE", "PATH_CHANGE", true);
+      System.out.println((dryRun ? "Delta changes to convert: " : "Converted delta changes: ")
+          + converted);
+      return converted;
+    } catch (SQLException e) {
+      throw new SentryUserException("Failed to convert the delta changes", e);
+    }
+  }
+
+  // Convert the JSON delta changes of the table, in batches of increasing change ids
+  private long convertDeltaChanges(Connection conn, String table, String column,
+      boolean paths) throws SQLException, SentryUserException {
+    String dataColumn = column + "_DATA";
+    String select = "select " + quote("CHANGE_ID") + ", " + quote(column) + " from " +
+        quote(table) + " where " + quote(dataColumn) + " is null and " +
+        quote("CHANGE_ID") + " > ? order by " + quote("CHANGE_ID");
+    String update = "update " + quote(table) + " set " + quote(dataColumn) + " = ?, " +
+        quote(column) + " = null where " + quote("CHANGE_ID") + " = ?";
+    long converted = 0;
+    long lastChangeId = 0;
+    try (PreparedStatement selectStmt = conn.prepareStatement(select);
+      PreparedStatement updateStmt = conn.prepareStatement(update)) {
+      selectStmt.setMaxRows(CONVERT_BATCH_SIZE);
+      int batchSize;
+      do {
+        batchSize = 0;
+        selectStmt.setLong(1, lastChangeId);
+        try (ResultSet res = selectStmt.executeQuery()) {
+          while (res.next()) {
+            lastChangeId = res.getLong(1);
+            batchSize++;
+            if (dryRun) {
+              continue;
+            }
+            Update change = paths ? new PathsUpdate() : new PermissionsUpdate();
+            try {
+              change.JSONDeserialize(res.getString(2));
+              updateStmt.setBytes(1, DeltaChangeFormat.encode(change));
+            } catch (TException | IOException e) {
+              throw new SentryUserException("Failed to convert change " + lastChangeId +
+                  " of " + table, e);
+            }
+            updateStmt.setLong(2, lastChangeId);
+            updateStmt.addBatch();
+          }
+        }
+        if (!dryRun && batchSize > 0) {
+          updateStmt.executeBatch();
+        }
+        conn.commit();
+        converted += batchSize;
+        if (verbose && batchSize > 0) {
+          System.out.println(table + ": " + converted + " changes up to " + lastChangeId);
+        }
+      } while (batchSize == CONVERT_BATCH_SIZE);
+    }
+    return converted;
+  }
+
+  private String quote(String identifier) {
+    return SentrySchemaHelper.getDbCommandParser(dbType).needsQuotedIdentifier() ?
+        "\"" + identifier + "\"" : identifier;
+  }
+
   // Flatten the nested upgrade script into a buffer
   public static String buildCommand(NestedScriptParser dbCommandParser,
         String scriptDir, String scriptFile) throws IllegalFormatException, IOException {
@@ -445,11 +534,13 @@ public class SentrySchemaTool {
                 withDescription("Schema initialization to a version").
                 create("initSchemaTo");
     Option infoOpt = new Option("info", "Show config and schema details");
+    Option convertOpt = new Option("convertDeltaChanges",
+        "Convert the delta changes stored in JSON format to binary format");
 
     OptionGroup optGroup = new OptionGroup();
     optGroup.addOption(upgradeOpt).addOption(initOpt).
                 addOption(help).addOption(upgradeFromOpt).
-                addOption(initToOpt).addOption(infoOpt);
+                addOption(initToOpt).addOption(infoOpt).addOption(convertOpt);
     optGroup.setRequired(true);
 
     Option userNameOpt = OptionBuilder.withArgName("user")
@@ -569,6 +660,8 @@ public class SentrySchemaTool {
         } else if (line.hasOption("initSchemaTo")) {
           schemaVer = line.getOptionValue("initSchemaTo");
           schemaTool.doInit(schemaVer);
+        } else if (line.hasOption("convertDeltaChanges")) {
+          schemaTool.doConvertDeltaChanges();
         } else {
           System.err.println("no valid option supplied");
           printAndExit(cmdLineOptions);
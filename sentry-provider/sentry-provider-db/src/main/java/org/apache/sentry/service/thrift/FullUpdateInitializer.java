@@ -18,7 +18,10 @@
 package org.apache.sentry.service.thrift;
 
 import com.codahale.metrics.Counter;
+import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.hive.metastore.api.Database;
@@ -32,17 +35,18 @@ import org.apache.thrift.TException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 import java.util.Map;
 import java.util.HashMap;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -61,7 +65,9 @@ import static com.codahale.metrics.MetricRegistry.name;
  * All table partitions are stored under the table object.
  * <p>
  * Once {@link FullUpdateInitializer}, the {@link FullUpdateInitializer#getFullHMSSnapshot()}
- * method should be called to get the initial update.
+ * method should be called to get the initial update. To persist a snapshot too big to be
+ * kept in memory, {@link FullUpdateInitializer#streamFullHMSSnapshot()} returns the objects
+ * one by one as they are fetched instead.
  * <p>
  * It is important to close the {@link FullUpdateInitializer} object to prevent resource
  * leaks.
@@ -82,17 +88,19 @@ public final class FullUpdateInitializer implements AutoCloseable {
    *
    * The snapshot is obtained using an executor. We follow the map/reduce model.
    * Each executor thread (mapper) obtains and returns a partial snapshot which are then
-   * reduced to a single combined snapshot by getFullHMSSnapshot().
+   * reduced by the snapshot iterator, which returns each object once all its paths are
+   * fetched.
    *
-   * Synchronization between the getFullHMSSnapshot() and executors is done using the
-   * 'results' queue. The queue holds the futures for each scheduled task.
-   * It is initially populated by getFullHMSSnapshot and each task may add new future
-   * results to it. Only getFullHMSSnapshot() removes entries from the results queue.
-   * This guarantees that once the results queue is empty there are no pending jobs.
+   * Only the iterator schedules tasks. Each task returns the tasks fetching the objects
+   * it found (the tables of a database, the partitions of a table), which are kept in the
+   * 'pending' stack until there are less than queueDepth tasks in the 'results' queue.
+   * The stack makes the tables of a database and the partitions of a table fetched before
+   * the next ones, so that few objects are partially fetched at any time, and the queue
+   * depth bounds the fetched data not yet reduced. The snapshot is complete once both
+   * are empty.
    *
    * Since there are no other data sharing, the implementation is safe without
-   * any other synchronization. It is not thread-safe for concurrent calls
-   * to getFullHMSSnapshot().
+   * any other synchronization. It is not thread-safe for concurrent snapshots.
    *
    */
 
@@ -101,7 +109,7 @@ public final class FullUpdateInitializer implements AutoCloseable {
   private final ExecutorService threadPool;
   private final int maxPartitionsPerCall;
   private final int maxTablesPerCall;
-  private final Deque<Future<CallResult>> results = new ConcurrentLinkedDeque<>();
+  private final int queueDepth;
   private final int maxRetries;
   private final int waitDurationMillis;
 
@@ -123,6 +131,18 @@ public final class FullUpdateInitializer implements AutoCloseable {
   private final Counter partitionCount = SentryMetrics.getInstance()
       .getCounter(name(FullUpdateInitializer.class, "total", "partitions"));
 
+  /** Number of database objects fetched */
+  private final Counter databaseDoneCount = SentryMetrics.getInstance()
+      .getCounter(name(FullUpdateInitializer.class, "done", "db"));
+
+  /** Number of table objects fetched */
+  private final Counter tableDoneCount = SentryMetrics.getInstance()
+      .getCounter(name(FullUpdateInitializer.class, "done", "tables"));
+
+  /** Number of partition objects fetched */
+  private final Counter partitionDoneCount = SentryMetrics.getInstance()
+      .getCounter(name(FullUpdateInitializer.class, "done", "partitions"));
+
   /**
    * Extract path (not starting with "/") from the full URI
    * @param uri - resource URI (usually with scheme)
@@ -146,24 +166,37 @@ public final class FullUpdateInitializer implements AutoCloseable {
    */
   private static final class ObjectMapping {
     private final Map<String, Set<String>> objects;
+    // Tasks fetching the objects found along
+    private final List<BaseTask> subTasks;
 
     ObjectMapping(Map<String, Set<String>> objects) {
+      this(objects, Collections.<BaseTask>emptyList());
+    }
+
+    ObjectMapping(Map<String, Set<String>> objects, List<BaseTask> subTasks) {
       this.objects = objects;
+      this.subTasks = subTasks;
     }
 
-    ObjectMapping(String authObject, String path) {
+    ObjectMapping(String authObject, String path, List<BaseTask> subTasks) {
       Set<String> values = Collections.singleton(safeIntern(path));
       objects = ImmutableMap.of(authObject, values);
+      this.subTasks = subTasks;
     }
 
     ObjectMapping(String authObject, Collection<String> paths) {
       Set<String> values = new HashSet<>(paths);
       objects = ImmutableMap.of(authObject, values);
+      subTasks = Collections.emptyList();
     }
 
     Map<String, Set<String>> getObjects() {
       return objects;
     }
+
+    List<BaseTask> getSubTasks() {
+      return subTasks;
+    }
   }
 
   private static final class CallResult {
@@ -257,6 +290,7 @@ public final class FullUpdateInitializer implements AutoCloseable {
     }
 
     private final RetryStrategy retryStrategy;
+    private Future<CallResult> result;
 
     BaseTask() {
       retryStrategy = new RetryStrategy(maxRetries, waitDurationMillis);
@@ -268,6 +302,11 @@ public final class FullUpdateInitializer implements AutoCloseable {
     }
 
     abstract ObjectMapping doTask() throws Exception;
+
+    /**
+     * Called once the result of the task is reduced, to count the objects fetched.
+     */
+    abstract void done();
   }
 
   private class PartitionTask extends BaseTask {
@@ -310,6 +349,11 @@ public final class FullUpdateInitializer implements AutoCloseable {
       }
       return new ObjectMapping(authName, partitionNames);
     }
+
+    @Override
+    void done() {
+      partitionDoneCount.inc(partNames.size());
+    }
   }
 
   private class TableTask extends BaseTask {
@@ -332,6 +376,7 @@ public final class FullUpdateInitializer implements AutoCloseable {
         LOGGER.debug("Fetching tables for db = {}, tables = {}", dbName, tableNames);
 
         Map<String, Set<String>> objectMapping = new HashMap<>(tables.size());
+        List<BaseTask> partTasks = new ArrayList<>();
         for (Table tbl : tables) {
           // Table names are case insensitive
           if (!tbl.getDbName().equalsIgnoreCase(dbName)) {
@@ -350,9 +395,7 @@ public final class FullUpdateInitializer implements AutoCloseable {
           for (int i = 0; i < tblPartNames.size(); i += maxPartitionsPerCall) {
             List<String> partsToFetch = tblPartNames.subList(i,
                     Math.min(i + maxPartitionsPerCall, tblPartNames.size()));
-            Callable<CallResult> partTask = new PartitionTask(dbName,
-                    tableName, authzObject, partsToFetch);
-            results.add(threadPool.submit(partTask));
+            partTasks.add(new PartitionTask(dbName, tableName, authzObject, partsToFetch));
           }
           String tblPath = safeIntern(pathFromURI(tbl.getSd().getLocation()));
           if (tblPath == null) {
@@ -365,7 +408,7 @@ public final class FullUpdateInitializer implements AutoCloseable {
           }
           paths.add(tblPath);
         }
-        return new ObjectMapping(Collections.unmodifiableMap(objectMapping));
+        return new ObjectMapping(Collections.unmodifiableMap(objectMapping), partTasks);
       } catch (Exception e) {
         if (c != null) {
           c.invalidate();
@@ -373,6 +416,11 @@ public final class FullUpdateInitializer implements AutoCloseable {
         throw e;
       }
     }
+
+    @Override
+    void done() {
+      tableDoneCount.inc(tableNames.size());
+    }
   }
 
   private class DbTask extends BaseTask {
@@ -398,15 +446,15 @@ public final class FullUpdateInitializer implements AutoCloseable {
         List<String> allTblStr = client.getClient().getAllTables(dbName);
         // Count total number of tables
         tableCount.inc(allTblStr.size());
+        List<BaseTask> tableTasks = new ArrayList<>();
         for (int i = 0; i < allTblStr.size(); i += maxTablesPerCall) {
           List<String> tablesToFetch = allTblStr.subList(i,
                   Math.min(i + maxTablesPerCall, allTblStr.size()));
-          Callable<CallResult> tableTask = new TableTask(db, tablesToFetch);
-          results.add(threadPool.submit(tableTask));
+          tableTasks.add(new TableTask(db, tablesToFetch));
         }
         String dbPath = safeIntern(pathFromURI(db.getLocationUri()));
-        return (dbPath != null) ? new ObjectMapping(dbName, dbPath) :
-                emptyObjectMapping;
+        return (dbPath != null) ? new ObjectMapping(dbName, dbPath, tableTasks) :
+                new ObjectMapping(Collections.<String, Set<String>>emptyMap(), tableTasks);
       } catch (Exception e) {
         if (c != null) {
           c.invalidate();
@@ -414,6 +462,107 @@ public final class FullUpdateInitializer implements AutoCloseable {
         throw e;
       }
     }
+
+    @Override
+    void done() {
+      databaseDoneCount.inc();
+    }
+  }
+
+  /**
+   * Paths of an object fetched by several tasks, and number of these tasks not reduced yet.
+   */
+  private static final class PartialObject {
+    private final Set<String> paths = new HashSet<>();
+    private int pendingTasks;
+  }
+
+  /**
+   * Schedules the tasks and reduces their results, returning each object once all its
+   * paths are fetched.
+   */
+  private final class SnapshotIterator
+      extends AbstractIterator<Map.Entry<String, Collection<String>>> {
+    private final Deque<BaseTask> pending = new ArrayDeque<>();
+    private final Deque<BaseTask> results = new ArrayDeque<>();
+    private final Map<String, PartialObject> partialObjects = new HashMap<>();
+    private final Deque<Map.Entry<String, Collection<String>>> fetched = new ArrayDeque<>();
+
+    SnapshotIterator(List<String> dbNames) {
+      // Stacked in reverse order so that they are fetched in order
+      for (int i = dbNames.size() - 1; i >= 0; i--) {
+        pending.push(new DbTask(dbNames.get(i)));
+      }
+    }
+
+    @Override
+    protected Map.Entry<String, Collection<String>> computeNext() {
+      try {
+        while (fetched.isEmpty()) {
+          while (results.size() < queueDepth && !pending.isEmpty()) {
+            BaseTask task = pending.pop();
+            task.result = threadPool.submit(task);
+            results.add(task);
+          }
+          if (results.isEmpty()) {
+            return endOfData();
+          }
+          BaseTask task = results.pop();
+          // Wait for the task to complete
+          CallResult callResult = task.result.get();
+          // Fail if we got errors
+          if (!callResult.success()) {
+            throw callResult.getFailure();
+          }
+          reduce(task, callResult.getObjectMapping());
+          task.done();
+        }
+      } catch (Exception e) {
+        throw new UncheckedExecutionException(e);
+      }
+      return fetched.pop();
+    }
+
+    private void reduce(BaseTask task, ObjectMapping objectMapping) {
+      Set<String> objects = new HashSet<>(objectMapping.getObjects().keySet());
+      List<BaseTask> subTasks = objectMapping.getSubTasks();
+      for (int i = subTasks.size() - 1; i >= 0; i--) {
+        BaseTask subTask = subTasks.get(i);
+        if (subTask instanceof PartitionTask) {
+          String authName = ((PartitionTask) subTask).authName;
+          getPartialObject(authName).pendingTasks++;
+          objects.add(authName);
+        }
+        pending.push(subTask);
+      }
+      if (task instanceof PartitionTask) {
+        String authName = ((PartitionTask) task).authName;
+        getPartialObject(authName).pendingTasks--;
+        objects.add(authName);
+      }
+      for (Map.Entry<String, Set<String>> entry : objectMapping.getObjects().entrySet()) {
+        getPartialObject(entry.getKey()).paths.addAll(entry.getValue());
+      }
+      for (String object : objects) {
+        PartialObject partialObject = partialObjects.get(object);
+        if (partialObject.pendingTasks == 0) {
+          partialObjects.remove(object);
+          if (!partialObject.paths.isEmpty()) {
+            fetched.add(Maps.<String, Collection<String>>immutableEntry(object,
+                partialObject.paths));
+          }
+        }
+      }
+    }
+
+    private PartialObject getPartialObject(String object) {
+      PartialObject partialObject = partialObjects.get(object);
+      if (partialObject == null) {
+        partialObject = new PartialObject();
+        partialObjects.put(object, partialObject);
+      }
+      return partialObject;
+    }
   }
 
   FullUpdateInitializer(HiveConnectionFactory clientFactory, Configuration conf) {
@@ -431,6 +580,10 @@ public final class FullUpdateInitializer implements AutoCloseable {
             ServerConfig.SENTRY_HDFS_SYNC_METASTORE_CACHE_RETRY_WAIT_DURAION_IN_MILLIS,
             ServerConfig.SENTRY_HDFS_SYNC_METASTORE_CACHE_RETRY_WAIT_DURAION_IN_MILLIS_DEFAULT);
 
+    queueDepth = Math.max(conf.getInt(
+            ServerConfig.SENTRY_HDFS_SYNC_METASTORE_CACHE_QUEUE_DEPTH,
+            ServerConfig.SENTRY_HDFS_SYNC_METASTORE_CACHE_QUEUE_DEPTH_DEFAULT), 1);
+
     ThreadFactory fullUpdateInitThreadFactory = new ThreadFactoryBuilder()
         .setNameFormat(FULL_UPDATE_INITIALIZER_THREAD_NAME)
         .setDaemon(false)
@@ -450,6 +603,32 @@ public final class FullUpdateInitializer implements AutoCloseable {
    */
   @SuppressWarnings("squid:S00112")
   Map<String, Collection<String>> getFullHMSSnapshot() throws Exception {
+    Iterator<Map.Entry<String, Collection<String>>> objects = streamFullHMSSnapshot();
+
+    // Resulting full snapshot
+    Map<String, Collection<String>> fullSnapshot = new HashMap<>();
+    try {
+      while (objects.hasNext()) {
+        Map.Entry<String, Collection<String>> entry = objects.next();
+        fullSnapshot.put(entry.getKey(), entry.getValue());
+      }
+    } catch (UncheckedExecutionException e) {
+      throw (Exception) e.getCause();
+    }
+    return fullSnapshot;
+  }
+
+  /**
+   * Get Full HMS snapshot, one object at a time. Only the objects being fetched are kept
+   * in memory: there are at most as many fetches done and not returned yet as the
+   * queue depth.
+   * @return Iterator over the HMS objects and their paths. Each object is returned once.
+   *         If an error occurs while iterating, UncheckedExecutionException is thrown
+   *         with the error as cause.
+   * @throws Exception if the list of databases could not be fetched
+   */
+  @SuppressWarnings("squid:S00112")
+  Iterator<Map.Entry<String, Collection<String>>> streamFullHMSSnapshot() throws Exception {
     // Get list of all HMS databases
     List<String> allDbStr;
     HMSClient c = null;
@@ -462,44 +641,7 @@ public final class FullUpdateInitializer implements AutoCloseable {
       }
       throw e;
     }
-
-    // Schedule async task for each database responsible for fetching per-database
-    // objects.
-    for (String dbName : allDbStr) {
-      results.add(threadPool.submit(new DbTask(dbName)));
-    }
-
-    // Resulting full snapshot
-    Map<String, Collection<String>> fullSnapshot = new HashMap<>();
-
-    // As async tasks complete, merge their results into full snapshot.
-    while (!results.isEmpty()) {
-      // This is the only thread that takes elements off the results list - all other threads
-      // only add to it. Once the list is empty it can't become non-empty
-      // This means that if we check that results is non-empty we can safely call pop() and
-      // know that the result of poll() is not null.
-      Future<CallResult> result = results.pop();
-      // Wait for the task to complete
-      CallResult callResult = result.get();
-      // Fail if we got errors
-      if (!callResult.success()) {
-        throw callResult.getFailure();
-      }
-      // Merge values into fullUpdate
-      Map<String, Set<String>> objectMapping =
-              callResult.getObjectMapping().getObjects();
-      for (Map.Entry<String, Set<String>> entry: objectMapping.entrySet()) {
-        String key = entry.getKey();
-        Set<String> val = entry.getValue();
-        Set<String> existingSet = (Set<String>)fullSnapshot.get(key);
-        if (existingSet == null) {
-          fullSnapshot.put(key, val);
-          continue;
-        }
-        existingSet.addAll(val);
-      }
-    }
-    return fullSnapshot;
+    return new SnapshotIterator(allDbStr);
   }
 
   @Override
@@ -46,6 +46,11 @@ public final class HiveNotificationFetcher implements AutoCloseable {
   private long lastIdFiltered = 0;
   private Set<String> cache = new HashSet<>();
 
+  /* Hashes of the notifications with the highest ID of the last page marked as fetched. They
+   * may not be processed yet, so they are kept apart from the cache of processed ones. */
+  private long lastIdFetched = 0;
+  private Set<String> fetched = new HashSet<>();
+
   public HiveNotificationFetcher(SentryStore sentryStore, HiveConnectionFactory hmsConnectionFactory) {
     this.sentryStore = sentryStore;
     this.hmsConnectionFactory = hmsConnectionFactory;
@@ -72,7 +77,8 @@ public final class HiveNotificationFetcher implements AutoCloseable {
    * @return A list of newer notifications unseen by Sentry.
    * @throws Exception If an error occurs on the HMS communication.
    */
-  List<NotificationEvent> fetchNotifications(long lastEventId, int maxEvents) throws Exception {
+  public List<NotificationEvent> fetchNotifications(long lastEventId, int maxEvents)
+      throws Exception {
     NotificationFilter filter = null;
 
     /*
@@ -107,6 +113,40 @@ public final class HiveNotificationFetcher implements AutoCloseable {
     return Collections.emptyList();
   }
 
+  /**
+   * Remembers the notifications with the highest ID of a page already fetched, so the
+   * next page, requested from that ID, does not return them again before they are
+   * processed. The marks must be cleared by {@link #clearFetched()} once the fetched
+   * notifications are no longer processed.
+   *
+   * @param events the notifications of the page, in the HMS order
+   */
+  public void markFetched(List<NotificationEvent> events) {
+    if (events.isEmpty()) {
+      return;
+    }
+
+    long lastId = events.get(events.size() - 1).getEventId();
+    if (lastIdFetched != lastId) {
+      lastIdFetched = lastId;
+      fetched.clear();
+    }
+    for (NotificationEvent event : events) {
+      if (event.getEventId() == lastId) {
+        fetched.add(UniquePathsUpdate.sha1(event));
+      }
+    }
+  }
+
+  /**
+   * Forgets the notifications marked as fetched, so the next fetch returns again those
+   * that were not processed.
+   */
+  public void clearFetched() {
+    lastIdFetched = 0;
+    fetched.clear();
+  }
+
   /**
    * Returns a HMS notification filter for a specific notification ID. HMS notifications may
    * have duplicated IDs, so the filter uses a SHA-1 hash to check for a unique notification.
@@ -132,6 +172,12 @@ public final class HiveNotificationFetcher implements AutoCloseable {
         if (notificationEvent.getEventId() == id) {
           String hash = UniquePathsUpdate.sha1(notificationEvent);
 
+          // Fetched but maybe not processed yet, so not cached as processed
+          if (id == lastIdFetched && fetched.contains(hash)) {
+            LOGGER.debug("Ignoring HMS notification already fetched: ID = {}", id);
+            return false;
+          }
+
           try {
             if (cache.contains(hash) || sentryStore.isNotificationProcessed(hash)) {
               cache.add(hash);
@@ -204,6 +250,7 @@ public final class HiveNotificationFetcher implements AutoCloseable {
       }
 
       cache.clear();
+      clearFetched();
     } finally {
       hmsClient = null;
     }
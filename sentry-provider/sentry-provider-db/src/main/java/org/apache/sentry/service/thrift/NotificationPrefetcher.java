@@ -0,0 +1,197 @@
+/*
+  Licensed to the Apache Software Foundation (ASF) under one
+  or more contributor license agreements.  See the NOTICE file
+  distributed with this work for additional information
+  regarding copyright ownership.  The ASF licenses this file
+  to you under the Apache License, Version 2.0 (the
+  "License"); you may not use this file except in compliance
+  with the License.  You may obtain a copy of the License at
+  <p>
+  http://www.apache.org/licenses/LICENSE-2.0
+  <p>
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+ */
+
+package org.apache.sentry.service.thrift;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Timer;
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import org.apache.hadoop.hive.metastore.api.NotificationEvent;
+import org.apache.sentry.provider.db.service.thrift.SentryMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Fetches the new HMS notifications in pages of a bounded size on a separate thread, a
+ * bounded number of pages ahead of their processing. The thread stops once it fetched an
+ * empty page, or a page that is not full and reaches the HMS notification ID read when
+ * it started, or after an error, which {@link #nextPage()} rethrows.
+ *
+ * <p>A page that is not full does not mean there are no more notifications: the HMS
+ * client filters out the notifications already fetched after the HMS returned the
+ * requested number of them.
+ *
+ * <p>The {@link HiveNotificationFetcher} must not be used by anyone else until the
+ * prefetcher is closed. Once it stops fetching, it clears the notifications it marked as
+ * fetched, so those that were not processed are fetched again by the next prefetcher.
+ */
+public final class NotificationPrefetcher implements AutoCloseable {
+  private static final Logger LOGGER = LoggerFactory.getLogger(NotificationPrefetcher.class);
+  private static final String THREAD_NAME = "sentry-hms-notification-prefetcher";
+
+  private final Timer fetchTimer = SentryMetrics.getInstance()
+      .getTimer(name(NotificationPrefetcher.class, "fetch"));
+  private final Histogram queueDepth = SentryMetrics.getInstance()
+      .getHistogram(name(NotificationPrefetcher.class, "queue.depth"));
+  private final Histogram lag = SentryMetrics.getInstance()
+      .getHistogram(name(NotificationPrefetcher.class, "lag"));
+
+  private final HiveNotificationFetcher fetcher;
+  private final int pageSize;
+  private final BlockingQueue<Page> pages;
+  private final Thread thread;
+  private long lastEventId;
+  // Highest notification ID known on the HMS, read by the processing thread
+  private volatile long hmsEventId;
+  private boolean done = false;
+
+  /**
+   * A page of notifications, the empty one once all are fetched, or the fetch error.
+   */
+  private static final class Page {
+    private final List<NotificationEvent> events;
+    private final Exception error;
+
+    Page(List<NotificationEvent> events, Exception error) {
+      this.events = events;
+      this.error = error;
+    }
+  }
+
+  /**
+   * @param fetcher fetcher of the HMS notifications
+   * @param lastEventId ID of the last notification processed
+   * @param pageSize maximum number of notifications of a page
+   * @param prefetchPages maximum number of pages fetched ahead of their processing
+   */
+  public NotificationPrefetcher(HiveNotificationFetcher fetcher, long lastEventId,
+      int pageSize, int prefetchPages) {
+    Preconditions.checkArgument(pageSize > 0, "Page size must be positive: %s", pageSize);
+    Preconditions.checkArgument(prefetchPages > 0,
+        "Number of prefetched pages must be positive: %s", prefetchPages);
+    this.fetcher = fetcher;
+    this.lastEventId = lastEventId;
+    this.hmsEventId = lastEventId;
+    this.pageSize = pageSize;
+    pages = new ArrayBlockingQueue<>(prefetchPages);
+    thread = new ThreadFactoryBuilder()
+        .setNameFormat(THREAD_NAME)
+        .setDaemon(true)
+        .build()
+        .newThread(new Runnable() {
+          @Override
+          public void run() {
+            fetchPages();
+          }
+        });
+  }
+
+  /**
+   * Starts fetching the pages.
+   */
+  public void start() {
+    thread.start();
+  }
+
+  /**
+   * Waits for the next page of notifications.
+   *
+   * @return the notifications of the page, empty once all the new notifications are returned
+   * @throws Exception the error which stopped fetching the notifications
+   */
+  public List<NotificationEvent> nextPage() throws Exception {
+    if (done) {
+      return Collections.emptyList();
+    }
+
+    Page page = pages.take();
+    queueDepth.update(pages.size());
+    if (page.error != null) {
+      done = true;
+      throw page.error;
+    }
+    if (page.events.isEmpty()) {
+      done = true;
+    } else {
+      // Number of notifications behind the HMS, from the start of this page
+      lag.update(Math.max(hmsEventId - page.events.get(0).getEventId() + 1, 0));
+    }
+    return page.events;
+  }
+
+  private void fetchPages() {
+    try {
+      hmsEventId = Math.max(hmsEventId, fetcher.getCurrentNotificationId());
+      while (true) {
+        List<NotificationEvent> events;
+        final Timer.Context context = fetchTimer.time();
+        try {
+          events = fetcher.fetchNotifications(lastEventId, pageSize);
+        } finally {
+          context.stop();
+        }
+        if (events.isEmpty()) {
+          pages.put(new Page(events, null));
+          return;
+        }
+
+        fetcher.markFetched(events);
+        lastEventId = events.get(events.size() - 1).getEventId();
+        hmsEventId = Math.max(hmsEventId, lastEventId);
+        LOGGER.debug("Prefetched {} HMS notification(s) up to ID = {}", events.size(),
+            lastEventId);
+        pages.put(new Page(events, null));
+        if (events.size() < pageSize && lastEventId >= hmsEventId) {
+          pages.put(new Page(Collections.<NotificationEvent>emptyList(), null));
+          return;
+        }
+      }
+    } catch (InterruptedException e) {
+      LOGGER.debug("Stopped prefetching HMS notifications");
+      Thread.currentThread().interrupt();
+    } catch (Exception e) {
+      try {
+        pages.put(new Page(null, e));
+      } catch (InterruptedException ie) {
+        Thread.currentThread().interrupt();
+      }
+    } finally {
+      fetcher.clearFetched();
+    }
+  }
+
+  /**
+   * Stops fetching the pages, and waits for the current request to the HMS to complete.
+   */
+  @Override
+  public void close() {
+    thread.interrupt();
+    try {
+      thread.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
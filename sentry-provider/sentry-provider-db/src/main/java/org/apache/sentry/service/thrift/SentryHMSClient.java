@@ -22,6 +22,8 @@ import com.codahale.metrics.Counter;
 import com.codahale.metrics.Timer;
 import com.codahale.metrics.Timer.Context;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Supplier;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import org.apache.commons.lang.exception.ExceptionUtils;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.hive.metastore.HiveMetaStoreClient;
@@ -41,6 +43,7 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.Map;
 
 import static com.codahale.metrics.MetricRegistry.name;
@@ -227,6 +230,66 @@ public class SentryHMSClient implements AutoCloseable {
     }
   }
 
+  /**
+   * Streams a HMS full snapshot into the store as it is fetched, without keeping it in
+   * memory. The snapshot is persisted with the ID of the last notification before it was
+   * fetched. Unlike {@link #getFullSnapshot()}, the changes made to HMS while fetching are
+   * not applied to it: they are the next notifications to process.
+   *
+   * @param sentryStore store persisting full snapshots in chunks
+   * @param canCommit checked by the store before each chunk and before the snapshot is made
+   *        current, so that it is not if this server lost the leadership meanwhile
+   * @return the notification ID of the persisted snapshot, or EMPTY_NOTIFICATION_ID if
+   *         there was nothing to persist, fetching it failed or it was aborted
+   * @throws Exception if persisting the snapshot failed
+   */
+  public long persistFullSnapshot(SentryStore sentryStore, Supplier<Boolean> canCommit)
+      throws Exception {
+    if (client == null) {
+      LOGGER.error(NOT_CONNECTED_MSG);
+      return SentryStore.EMPTY_NOTIFICATION_ID;
+    }
+
+    long eventIdBefore;
+    try {
+      eventIdBefore = client.getCurrentNotificationEventId().getEventId();
+    } catch (TException failure) {
+      LOGGER.error("Fetching a new HMS snapshot cannot continue because an error occurred during "
+          + "the HMS communication: ", failure);
+      return SentryStore.EMPTY_NOTIFICATION_ID;
+    }
+
+    LOGGER.info("Request full HMS snapshot, streamed to the store for NotificationID {}",
+        eventIdBefore);
+    long count;
+    try (FullUpdateInitializer updateInitializer =
+             new FullUpdateInitializer(hiveConnectionFactory, conf);
+         Context context = updateTimer.time()) {
+      Iterator<Map.Entry<String, Collection<String>>> pathsUpdate;
+      try {
+        pathsUpdate = updateInitializer.streamFullHMSSnapshot();
+      } catch (Exception failure) {
+        failedSnapshotsCount.inc();
+        LOGGER.error("Snapshot created failed ", failure);
+        return SentryStore.EMPTY_NOTIFICATION_ID;
+      }
+      count = sentryStore.persistFullPathsImage(pathsUpdate, eventIdBefore, canCommit);
+    } catch (UncheckedExecutionException failure) {
+      // Thrown by the snapshot iterator when fetching failed
+      failedSnapshotsCount.inc();
+      LOGGER.error("Snapshot created failed ", failure.getCause());
+      return SentryStore.EMPTY_NOTIFICATION_ID;
+    }
+    if (count == 0) {
+      LOGGER.info("Persisted no paths when getting full snapshot. NotificationID Before Snapshot: {}",
+          eventIdBefore);
+      return SentryStore.EMPTY_NOTIFICATION_ID;
+    }
+    LOGGER.info("Successfully persisted hive full snapshot of {} objects, NotificationID: {}.",
+        count, eventIdBefore);
+    return eventIdBefore;
+  }
+
   /**
    * Retrieve a Hive full snapshot from HMS.
    *
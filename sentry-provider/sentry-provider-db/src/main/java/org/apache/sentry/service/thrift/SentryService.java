@@ -372,6 +372,9 @@ public class SentryService implements Callable, SigUtils.SigListener {
       return;
     }
 
+    final boolean purgePathsSnapshots = conf.getBoolean(
+        ServerConfig.SENTRY_STORE_PATHS_SNAPSHOT_PURGE,
+        ServerConfig.SENTRY_STORE_PATHS_SNAPSHOT_PURGE_DEFAULT);
     try {
       Runnable storeCleaner = new Runnable() {
         @Override
@@ -379,6 +382,9 @@ public class SentryService implements Callable, SigUtils.SigListener {
           if (leaderMonitor.isLeader()) {
             sentryStore.purgeDeltaChangeTables();
             sentryStore.purgeNotificationIdTable();
+            if (purgePathsSnapshots) {
+              sentryStore.purgeStaleAuthzPathsSnapshots();
+            }
           }
         }
       };
@@ -35,8 +35,8 @@ import static org.apache.sentry.binding.hive.conf.HiveAuthzConf.AuthzConfVars.AU
 
 import org.apache.hadoop.hive.conf.HiveConf;
 import org.apache.sentry.core.common.exception.SentryInvalidInputException;
-import org.apache.sentry.core.common.utils.SentryConstants;
 import org.apache.sentry.core.common.utils.KeyValue;
+import org.apache.sentry.core.common.utils.PrivilegeStrings;
 import org.apache.sentry.core.common.utils.PolicyFileConstants;
 import org.apache.sentry.provider.db.service.persistent.SentryStore;
 import org.apache.sentry.provider.db.service.thrift.TSentryAuthorizable;
@@ -44,7 +44,6 @@ import org.apache.sentry.provider.db.service.thrift.TSentryGrantOption;
 import org.apache.sentry.provider.db.service.thrift.TSentryPrivilege;
 import org.apache.sentry.service.thrift.ServiceConstants.PrivilegeScope;
 
-import com.google.common.collect.Lists;
 import org.slf4j.Logger;
 
 public final class SentryServiceUtil {
@@ -55,8 +54,7 @@ public final class SentryServiceUtil {
   // parse the privilege in String and get the TSentryPrivilege as result
   public static TSentryPrivilege convertToTSentryPrivilege(String privilegeStr) {
     TSentryPrivilege tSentryPrivilege = new TSentryPrivilege();
-    for (String authorizable : SentryConstants.AUTHORIZABLE_SPLITTER.split(privilegeStr)) {
-      KeyValue tempKV = new KeyValue(authorizable);
+    for (KeyValue tempKV : PrivilegeStrings.parse(privilegeStr)) {
       String key = tempKV.getKey();
       String value = tempKV.getValue();
 
@@ -92,8 +90,7 @@ public final class SentryServiceUtil {
     if (StringUtils.isEmpty(objectPath)) {
       return objectMap;
     }
-    for (String kvStr : SentryConstants.AUTHORIZABLE_SPLITTER.split(objectPath)) {
-      KeyValue kv = new KeyValue(kvStr);
+    for (KeyValue kv : PrivilegeStrings.parse(objectPath)) {
       String key = kv.getKey();
       String value = kv.getValue();
 
@@ -127,7 +124,7 @@ public final class SentryServiceUtil {
 
   // convert TSentryPrivilege to privilege in string
   public static String convertTSentryPrivilegeToStr(TSentryPrivilege tSentryPrivilege) {
-    List<String> privileges = Lists.newArrayList();
+    PrivilegeStrings.Builder privileges = new PrivilegeStrings.Builder();
     if (tSentryPrivilege != null) {
       String serverName = tSentryPrivilege.getServerName();
       String dbName = tSentryPrivilege.getDbName();
@@ -138,35 +135,28 @@ public final class SentryServiceUtil {
       String grantOption = (tSentryPrivilege.getGrantOption() == TSentryGrantOption.TRUE ? "true"
           : "false");
       if (!StringUtils.isEmpty(serverName)) {
-        privileges.add(SentryConstants.KV_JOINER.join(PolicyFileConstants.PRIVILEGE_SERVER_NAME,
-            serverName));
+        privileges.add(PolicyFileConstants.PRIVILEGE_SERVER_NAME, serverName);
         if (!StringUtils.isEmpty(uri)) {
-          privileges.add(SentryConstants.KV_JOINER.join(PolicyFileConstants.PRIVILEGE_URI_NAME,
-              uri));
+          privileges.add(PolicyFileConstants.PRIVILEGE_URI_NAME, uri);
         } else if (!StringUtils.isEmpty(dbName)) {
-          privileges.add(SentryConstants.KV_JOINER.join(
-              PolicyFileConstants.PRIVILEGE_DATABASE_NAME, dbName));
+          privileges.add(PolicyFileConstants.PRIVILEGE_DATABASE_NAME, dbName);
           if (!StringUtils.isEmpty(tableName)) {
-            privileges.add(SentryConstants.KV_JOINER.join(
-                PolicyFileConstants.PRIVILEGE_TABLE_NAME, tableName));
+            privileges.add(PolicyFileConstants.PRIVILEGE_TABLE_NAME, tableName);
             if (!StringUtils.isEmpty(columnName)) {
-              privileges.add(SentryConstants.KV_JOINER.join(
-                  PolicyFileConstants.PRIVILEGE_COLUMN_NAME, columnName));
+              privileges.add(PolicyFileConstants.PRIVILEGE_COLUMN_NAME, columnName);
             }
           }
         }
         if (!StringUtils.isEmpty(action)) {
-          privileges.add(SentryConstants.KV_JOINER.join(
-              PolicyFileConstants.PRIVILEGE_ACTION_NAME, action));
+          privileges.add(PolicyFileConstants.PRIVILEGE_ACTION_NAME, action);
         }
       }
       // only append the grant option to privilege string if it's true
       if ("true".equals(grantOption)) {
-        privileges.add(SentryConstants.KV_JOINER.join(
-            PolicyFileConstants.PRIVILEGE_GRANT_OPTION_NAME, grantOption));
+        privileges.add(PolicyFileConstants.PRIVILEGE_GRANT_OPTION_NAME, grantOption);
       }
     }
-    return SentryConstants.AUTHORIZABLE_JOINER.join(privileges);
+    return privileges.toString();
   }
 
   /**
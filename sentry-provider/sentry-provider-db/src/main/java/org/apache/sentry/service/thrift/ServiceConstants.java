@@ -118,11 +118,77 @@ public class ServiceConstants {
     public static final String SENTRY_STORE_LOCAL_GROUP_MAPPING = "org.apache.sentry.provider.file.LocalGroupMappingService";
     public static final String SENTRY_STORE_GROUP_MAPPING_DEFAULT = SENTRY_STORE_HADOOP_GROUP_MAPPING;
 
+    /**
+     * When enabled, the server remembers the groups of the users resolved through the
+     * group mapping, see CachingGroupMappingService. Groups are resolved again in the
+     * background after the refresh time and before being returned after the TTL.
+     * Unknown users are remembered for the negative TTL.
+     */
+    public static final String SENTRY_STORE_GROUP_CACHE_ENABLED = "sentry.store.group.cache.enabled";
+    public static final boolean SENTRY_STORE_GROUP_CACHE_ENABLED_DEFAULT = false;
+    public static final String SENTRY_STORE_GROUP_CACHE_MAX_SIZE = "sentry.store.group.cache.max.size";
+    public static final long SENTRY_STORE_GROUP_CACHE_MAX_SIZE_DEFAULT = 10000L;
+    public static final String SENTRY_STORE_GROUP_CACHE_TTL_MS = "sentry.store.group.cache.ttl.ms";
+    public static final long SENTRY_STORE_GROUP_CACHE_TTL_MS_DEFAULT = 600000L; // 10 minutes
+    public static final String SENTRY_STORE_GROUP_CACHE_REFRESH_MS =
+        "sentry.store.group.cache.refresh.ms";
+    public static final long SENTRY_STORE_GROUP_CACHE_REFRESH_MS_DEFAULT = 60000L;
+    public static final String SENTRY_STORE_GROUP_CACHE_NEGATIVE_TTL_MS =
+        "sentry.store.group.cache.negative.ttl.ms";
+    public static final long SENTRY_STORE_GROUP_CACHE_NEGATIVE_TTL_MS_DEFAULT = 30000L;
+
     public static final String SENTRY_STORE_ORPHANED_PRIVILEGE_REMOVAL = "sentry.store.orphaned.privilege.removal";
     public static final String SENTRY_STORE_ORPHANED_PRIVILEGE_REMOVAL_DEFAULT = "false";
     public static final String SENTRY_STORE_CLEAN_PERIOD_SECONDS =
         "sentry.store.clean.period.seconds";
     public static final long SENTRY_STORE_CLEAN_PERIOD_SECONDS_DEFAULT = 43200; // 12 hours.
+
+    /**
+     * When enabled, the store keeps an in-memory image of the roles and privileges and
+     * answers the privilege queries of the policy providers from it. Changes made through
+     * the store update the image right away. Changes made by other Sentry servers are
+     * picked up from the log of changed roles every refresh interval. As a safety net
+     * the whole image is also reloaded every full reload interval. The changed roles are
+     * only logged by the servers with the image enabled: enable it on all the Sentry
+     * servers sharing the database.
+     */
+    public static final String SENTRY_STORE_POLICY_IMAGE_ENABLED =
+        "sentry.store.policy.image.enabled";
+    public static final boolean SENTRY_STORE_POLICY_IMAGE_ENABLED_DEFAULT = false;
+    public static final String SENTRY_STORE_POLICY_IMAGE_REFRESH_INTERVAL_MS =
+        "sentry.store.policy.image.refresh.interval.ms";
+    public static final long SENTRY_STORE_POLICY_IMAGE_REFRESH_INTERVAL_MS_DEFAULT = 30000L;
+    public static final String SENTRY_STORE_POLICY_IMAGE_FULL_RELOAD_INTERVAL_MS =
+        "sentry.store.policy.image.full.reload.interval.ms";
+    public static final long SENTRY_STORE_POLICY_IMAGE_FULL_RELOAD_INTERVAL_MS_DEFAULT =
+        600000L; // 10 minutes
+
+    /**
+     * Whether the path and permission delta changes are persisted in the binary format
+     * of schema 2.1.0 rather than in JSON format. Both formats are read, but Sentry
+     * servers of previous versions only read JSON: only enable it once all the Sentry
+     * servers sharing the database are upgraded.
+     */
+    public static final String SENTRY_STORE_BINARY_DELTA_CHANGES =
+        "sentry.store.binary.delta.changes";
+    public static final boolean SENTRY_STORE_BINARY_DELTA_CHANGES_DEFAULT = false;
+
+    /**
+     * When positive, a full HMS paths snapshot is persisted in transactions of at most that
+     * many authorizable objects, retried on their own, on the given number of threads. The
+     * snapshot only becomes the current one once all of them are committed. 0 persists the
+     * snapshot in a single transaction.
+     */
+    public static final String SENTRY_STORE_PATHS_SNAPSHOT_CHUNK_SIZE =
+        "sentry.store.paths.snapshot.chunk.size";
+    public static final int SENTRY_STORE_PATHS_SNAPSHOT_CHUNK_SIZE_DEFAULT = 0;
+    public static final String SENTRY_STORE_PATHS_SNAPSHOT_THREADS =
+        "sentry.store.paths.snapshot.threads";
+    public static final int SENTRY_STORE_PATHS_SNAPSHOT_THREADS_DEFAULT = 1;
+    // Whether the store cleaner deletes the HMS paths snapshots older than the current one
+    public static final String SENTRY_STORE_PATHS_SNAPSHOT_PURGE =
+        "sentry.store.paths.snapshot.purge";
+    public static final boolean SENTRY_STORE_PATHS_SNAPSHOT_PURGE_DEFAULT = false;
     public static final String SENTRY_HA_ZK_PROPERTY_PREFIX = "sentry.ha.zookeeper.";
     public static final String SENTRY_HA_ZOOKEEPER_SECURITY = SENTRY_HA_ZK_PROPERTY_PREFIX + "security";
     public static final boolean SENTRY_HA_ZOOKEEPER_SECURITY_DEFAULT = false;
@@ -177,6 +243,39 @@ public class ServiceConstants {
     public static final String SENTRY_HMSFOLLOWER_INTERVAL_MILLS = "sentry.hmsfollower.interval.mills";
     public static final long SENTRY_HMSFOLLOWER_INTERVAL_MILLS_DEFAULT = 500;
 
+    /**
+     * Maximum number of consecutive HMS notifications changing only paths that HMSFollower
+     * persists in a single transaction, along with the id of the last one. A batch is also
+     * persisted once it has been collected for the given time. Notifications that fail in a
+     * batch are processed one by one again. 1 processes every notification on its own.
+     */
+    public static final String SENTRY_HMSFOLLOWER_BATCH_SIZE = "sentry.hmsfollower.batch.size";
+    public static final int SENTRY_HMSFOLLOWER_BATCH_SIZE_DEFAULT = 1;
+    public static final String SENTRY_HMSFOLLOWER_BATCH_MAX_MS = "sentry.hmsfollower.batch.max.ms";
+    public static final long SENTRY_HMSFOLLOWER_BATCH_MAX_MS_DEFAULT = 1000;
+
+    /**
+     * Maximum number of HMS notifications HMSFollower requests at a time. Pages are fetched
+     * by a separate thread, up to the given number of pages ahead of their processing.
+     * 0 requests all the new notifications at once.
+     */
+    public static final String SENTRY_HMSFOLLOWER_FETCH_PAGE_SIZE =
+        "sentry.hmsfollower.fetch.page.size";
+    public static final int SENTRY_HMSFOLLOWER_FETCH_PAGE_SIZE_DEFAULT = 0;
+    public static final String SENTRY_HMSFOLLOWER_FETCH_PREFETCH_PAGES =
+        "sentry.hmsfollower.fetch.prefetch.pages";
+    public static final int SENTRY_HMSFOLLOWER_FETCH_PREFETCH_PAGES_DEFAULT = 2;
+
+    /**
+     * Number of threads HMSFollower processes the notifications changing only paths with.
+     * Their changes are still persisted in the order of the notifications, and other
+     * notifications are processed once all the previous ones are persisted. 1 processes
+     * all the notifications on the HMSFollower thread.
+     */
+    public static final String SENTRY_HMSFOLLOWER_PROCESSING_LANES =
+        "sentry.hmsfollower.processing.lanes";
+    public static final int SENTRY_HMSFOLLOWER_PROCESSING_LANES_DEFAULT = 1;
+
     public static final String SENTRY_WEB_ENABLE = "sentry.service.web.enable";
     public static final Boolean SENTRY_WEB_ENABLE_DEFAULT = false;
     public static final String SENTRY_WEB_PORT = "sentry.service.web.port";
@@ -0,0 +1,5 @@
+-- Delta changes in binary format
+ALTER TABLE SENTRY_PERM_CHANGE ADD COLUMN PERM_CHANGE_DATA BLOB;
+ALTER TABLE SENTRY_PERM_CHANGE ALTER COLUMN PERM_CHANGE NULL;
+ALTER TABLE SENTRY_PATH_CHANGE ADD COLUMN PATH_CHANGE_DATA BLOB;
+ALTER TABLE SENTRY_PATH_CHANGE ALTER COLUMN PATH_CHANGE NULL;
@@ -0,0 +1,5 @@
+-- Delta changes in binary format
+ALTER TABLE `SENTRY_PERM_CHANGE` ADD COLUMN `PERM_CHANGE_DATA` LONGBLOB;
+ALTER TABLE `SENTRY_PERM_CHANGE` MODIFY `PERM_CHANGE` VARCHAR(4000) CHARACTER SET utf8 COLLATE utf8_bin NULL;
+ALTER TABLE `SENTRY_PATH_CHANGE` ADD COLUMN `PATH_CHANGE_DATA` LONGBLOB;
+ALTER TABLE `SENTRY_PATH_CHANGE` MODIFY `PATH_CHANGE` longtext CHARACTER SET utf8 COLLATE utf8_bin NULL;
@@ -0,0 +1,5 @@
+-- Delta changes in binary format
+ALTER TABLE "SENTRY_PERM_CHANGE" ADD ("PERM_CHANGE_DATA" BLOB);
+ALTER TABLE "SENTRY_PERM_CHANGE" MODIFY ("PERM_CHANGE" NULL);
+ALTER TABLE "SENTRY_PATH_CHANGE" ADD ("PATH_CHANGE_DATA" BLOB);
+ALTER TABLE "SENTRY_PATH_CHANGE" MODIFY ("PATH_CHANGE" NULL);
@@ -0,0 +1,9 @@
+-- Changes of the roles and privileges
+CREATE TABLE SENTRY_POLICY_CHANGE
+(
+    CHANGE_ID BIGINT NOT NULL,
+    ROLE_NAME VARCHAR(128),
+    CREATE_TIME_MS BIGINT NOT NULL
+);
+
+ALTER TABLE SENTRY_POLICY_CHANGE ADD CONSTRAINT SENTRY_POLICY_CHANGE_PK PRIMARY KEY (CHANGE_ID);
@@ -0,0 +1,8 @@
+-- Changes of the roles and privileges
+CREATE TABLE `SENTRY_POLICY_CHANGE`
+(
+    `CHANGE_ID` BIGINT NOT NULL,
+    `ROLE_NAME` VARCHAR(128) CHARACTER SET utf8 COLLATE utf8_bin,
+    `CREATE_TIME_MS` BIGINT NOT NULL,
+    CONSTRAINT `SENTRY_POLICY_CHANGE_PK` PRIMARY KEY (`CHANGE_ID`)
+) ENGINE=INNODB;
@@ -0,0 +1,8 @@
+-- Changes of the roles and privileges
+CREATE TABLE "SENTRY_POLICY_CHANGE"
+(
+    "CHANGE_ID" bigint NOT NULL,
+    "ROLE_NAME" VARCHAR(128),
+    "CREATE_TIME_MS" bigint NOT NULL,
+    CONSTRAINT "SENTRY_POLICY_CHANGE_PK" PRIMARY KEY ("CHANGE_ID")
+);
@@ -0,0 +1,18 @@
+-- Delta changes in binary format
+ALTER TABLE SENTRY_PERM_CHANGE ADD COLUMN PERM_CHANGE_DATA BLOB;
+ALTER TABLE SENTRY_PERM_CHANGE ALTER COLUMN PERM_CHANGE DROP NOT NULL;
+ALTER TABLE SENTRY_PATH_CHANGE ADD COLUMN PATH_CHANGE_DATA BLOB;
+ALTER TABLE SENTRY_PATH_CHANGE ALTER COLUMN PATH_CHANGE DROP NOT NULL;
+
+-- Changes of the roles and privileges
+CREATE TABLE SENTRY_POLICY_CHANGE
+(
+    CHANGE_ID bigint NOT NULL,
+    ROLE_NAME VARCHAR(128),
+    CREATE_TIME_MS bigint NOT NULL
+);
+
+ALTER TABLE SENTRY_POLICY_CHANGE ADD CONSTRAINT SENTRY_POLICY_CHANGE_PK PRIMARY KEY (CHANGE_ID);
+
+-- Version update
+UPDATE SENTRY_VERSION SET SCHEMA_VERSION='2.1.0', VERSION_COMMENT='Sentry release version 2.1.0' WHERE VER_ID=1;
@@ -0,0 +1,5 @@
+RUN '010-SENTRY-CHANGE-DATA.derby.sql';
+RUN '011-SENTRY-POLICY-CHANGE.derby.sql';
+
+-- Version update
+UPDATE SENTRY_VERSION SET SCHEMA_VERSION='2.1.0', VERSION_COMMENT='Sentry release version 2.1.0' WHERE VER_ID=1;
@@ -209,6 +209,25 @@ struct TListSentryPrivilegesForProviderResponse {
 2: required set<string> privileges
 }
 
+# Authorize a batch of requested privileges in a single call. Only the
+# authorizables and the action of each requested privilege are used, they are
+# checked against the privileges of the component and service of the request.
+struct TCheckSentryPrivilegesForProviderRequest {
+1: required i32 protocol_version = sentry_common_service.TSENTRY_SERVICE_V2,
+2: required string component, # The request is issued to which component
+3: required string serviceName, # The privilege belongs to which service
+4: required set<string> groups,
+5: required TSentryActiveRoleSet roleSet,
+6: required list<TSentryPrivilege> privileges
+}
+
+struct TCheckSentryPrivilegesForProviderResponse {
+1: required TSentryResponseStatus status
+# Bit i (little endian, as in java.util.BitSet.toByteArray()) is set if
+# the i-th requested privilege is granted. Empty in case of an error.
+2: required binary decisions
+}
+
 # Map of role:set<privileges> for the given authorizable
 # Optionally use the set of groups to filter the roles
 struct TSentryPrivilegeMap {
@@ -270,6 +289,8 @@ service SentryGenericPolicyService
 
   TListSentryPrivilegesForProviderResponse list_sentry_privileges_for_provider(1:TListSentryPrivilegesForProviderRequest request)
 
+  TCheckSentryPrivilegesForProviderResponse check_sentry_privileges_for_provider(1:TCheckSentryPrivilegesForProviderRequest request)
+
   TListSentryPrivilegesByAuthResponse list_sentry_privileges_by_authorizable(1:TListSentryPrivilegesByAuthRequest request);
 
   TDropPrivilegesResponse drop_sentry_privilege(1:TDropPrivilegesRequest request);
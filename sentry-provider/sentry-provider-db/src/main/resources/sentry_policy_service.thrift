@@ -234,6 +234,23 @@ struct TListSentryPrivilegesForProviderResponse {
 2: required set<string> privileges
 }
 
+# Authorize a batch of requested privileges in a single call, e.g. all the
+# accesses of a query plan. Only the authorizable hierarchy (server, db, table,
+# column or URI) and the action of each requested privilege are used.
+struct TCheckSentryPrivilegesForProviderRequest {
+1: required i32 protocol_version = sentry_common_service.TSENTRY_SERVICE_V2,
+2: required set<string> groups,
+3: required TSentryActiveRoleSet roleSet,
+4: required list<TSentryPrivilege> privileges,
+5: optional set<string> users
+}
+struct TCheckSentryPrivilegesForProviderResponse {
+1: required sentry_common_service.TSentryResponseStatus status
+# Bit i (little endian, as in java.util.BitSet.toByteArray()) is set if
+# the i-th requested privilege is granted. Empty in case of an error.
+2: required binary decisions
+}
+
 # List role:set<privileges> for the given authorizable
 # Optionally use the set of groups to filter the roles
 struct TSentryPrivilegeMap {
@@ -345,6 +362,9 @@ service SentryPolicyService
   # For use with ProviderBackend.getPrivileges only
   TListSentryPrivilegesForProviderResponse list_sentry_privileges_for_provider(1:TListSentryPrivilegesForProviderRequest request)
 
+  # For use with ProviderBackend only, authorizes a batch of privileges
+  TCheckSentryPrivilegesForProviderResponse check_sentry_privileges_for_provider(1:TCheckSentryPrivilegesForProviderRequest request)
+
   TDropPrivilegesResponse drop_sentry_privilege(1:TDropPrivilegesRequest request);
 
   TRenamePrivilegesResponse rename_sentry_privilege(1:TRenamePrivilegesRequest request);
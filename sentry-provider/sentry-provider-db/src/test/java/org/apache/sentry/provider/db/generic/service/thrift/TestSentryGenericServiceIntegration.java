@@ -22,6 +22,7 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -386,6 +387,47 @@ public class TestSentryGenericServiceIntegration extends SentryGenericServiceInt
       }});
   }
 
+  @Test
+  public void testCheckPrivilegesForProvider() throws Exception {
+    runTestAsSubject(new TestOperation(){
+      @Override
+      public void runTestAsSubject() throws Exception {
+        String adminUser = ADMIN_USER;
+        Set<String> adminGroup = Sets.newHashSet(ADMIN_GROUP);
+        String testRole = "role1";
+        Set<String> testGroup = Sets.newHashSet("group1");
+        setLocalGroupMapping(adminUser, adminGroup);
+        writePolicyFile();
+
+        client.createRole(adminUser, testRole, SOLR);
+        client.grantRoleToGroups(adminUser, testRole, SOLR, testGroup);
+        client.grantPrivilege(adminUser, testRole, SOLR, new TSentryPrivilege(SOLR, "service1",
+            fromAuthorizable(Arrays.asList(new Collection("c1"))), SolrConstants.QUERY));
+        client.grantPrivilege(adminUser, testRole, SOLR, new TSentryPrivilege(SOLR, "service1",
+            fromAuthorizable(Arrays.asList(new Collection("c2"))), SolrConstants.ALL));
+
+        List<TSentryPrivilege> requested = Lists.newArrayList(
+            new TSentryPrivilege(SOLR, "service1",
+                fromAuthorizable(Arrays.asList(new Collection("c1"))), SolrConstants.QUERY),
+            new TSentryPrivilege(SOLR, "service1",
+                fromAuthorizable(Arrays.asList(new Collection("c1"))), SolrConstants.UPDATE),
+            new TSentryPrivilege(SOLR, "service1",
+                fromAuthorizable(Arrays.asList(new Collection("c2"))), SolrConstants.UPDATE),
+            new TSentryPrivilege(SOLR, "service1",
+                fromAuthorizable(Arrays.asList(new Collection("c3"))), SolrConstants.QUERY));
+
+        BitSet expected = new BitSet();
+        expected.set(0);
+        expected.set(2);
+        assertEquals(expected, client.checkPrivilegesForProvider(SOLR, "service1",
+            ActiveRoleSet.ALL, testGroup, requested));
+        assertEquals(new BitSet(), client.checkPrivilegesForProvider(SOLR, "service2",
+            ActiveRoleSet.ALL, testGroup, requested));
+        assertEquals(new BitSet(), client.checkPrivilegesForProvider(SOLR, "service1",
+            ActiveRoleSet.ALL, Sets.newHashSet("group2"), requested));
+      }});
+  }
+
   @Test
   public void testGetPrivilegeByAuthorizable() throws Exception {
     runTestAsSubject(new TestOperation(){
@@ -0,0 +1,111 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.sentry.provider.db.service.model;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.apache.sentry.hdfs.PathsUpdate;
+import org.apache.sentry.hdfs.PermissionsUpdate;
+import org.apache.sentry.hdfs.service.thrift.TPathChanges;
+import org.apache.sentry.hdfs.service.thrift.TPrivilegeChanges;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TestDeltaChangeFormat {
+
+  @Test
+  public void testSmallUpdateIsNotDeflated() throws Exception {
+    PathsUpdate update = newPathsUpdate(1);
+    byte[] data = DeltaChangeFormat.encode(update);
+    assertEquals(DeltaChangeFormat.COMPACT, data[0]);
+
+    PathsUpdate decoded = new PathsUpdate();
+    DeltaChangeFormat.decode(decoded, data);
+    assertEquals(update, decoded);
+  }
+
+  @Test
+  public void testLargeUpdateIsDeflated() throws Exception {
+    PathsUpdate update = newPathsUpdate(100);
+    byte[] data = DeltaChangeFormat.encode(update);
+    assertEquals(DeltaChangeFormat.COMPACT_DEFLATED, data[0]);
+    assertTrue(data.length < update.serialize().length);
+
+    PathsUpdate decoded = new PathsUpdate();
+    DeltaChangeFormat.decode(decoded, data);
+    assertEquals(update, decoded);
+  }
+
+  @Test(expected = IOException.class)
+  public void testUnknownFormat() throws Exception {
+    byte[] data = DeltaChangeFormat.encode(newPathsUpdate(1));
+    data[0] = 0;
+    DeltaChangeFormat.decode(new PathsUpdate(), data);
+  }
+
+  @Test
+  public void testPathChangeFormats() throws Exception {
+    PathsUpdate update = newPathsUpdate(10);
+    MSentryPathChange binary = new MSentryPathChange(1, "h1", update, true);
+    MSentryPathChange json = new MSentryPathChange(1, "h1", update, false);
+    assertTrue(binary.isBinary());
+    assertFalse(json.isBinary());
+    assertFalse(binary.equals(json));
+
+    assertEquals(update, binary.getPathsUpdate());
+    assertEquals(update, json.getPathsUpdate());
+    assertNull(binary.getPathChange());
+    assertEquals(update.JSONSerialize(), json.getPathChange());
+    // Readable by Sentry servers of previous versions unless asked otherwise
+    assertFalse(new MSentryPathChange(1, "h1", update).isBinary());
+  }
+
+  @Test
+  public void testPermChangeFormats() throws Exception {
+    PermissionsUpdate update = new PermissionsUpdate(1, false);
+    TPrivilegeChanges privileges = update.addPrivilegeUpdate("db1.tbl1");
+    privileges.putToAddPrivileges("role1", "select");
+    privileges.putToDelPrivileges("role2", "insert");
+    update.addRoleUpdate("role1").addToAddGroups("group1");
+    MSentryPermChange binary = new MSentryPermChange(1, update, true);
+    MSentryPermChange json = new MSentryPermChange(1, update, false);
+    assertTrue(binary.isBinary());
+    assertFalse(json.isBinary());
+
+    assertEquals(update, binary.getPermissionsUpdate());
+    assertEquals(update, json.getPermissionsUpdate());
+    assertNull(binary.getPermChange());
+    assertEquals(update.JSONSerialize(), json.getPermChange());
+    assertFalse(new MSentryPermChange(1, update).isBinary());
+  }
+
+  private static PathsUpdate newPathsUpdate(int tables) {
+    PathsUpdate update = new PathsUpdate(1, false);
+    for (int i = 0; i < tables; i++) {
+      TPathChanges changes = update.newPathChange("db1.tbl" + i);
+      changes.addToAddPaths(Arrays.asList("user", "hive", "warehouse", "db1.db", "tbl" + i));
+    }
+    return update;
+  }
+}
@@ -21,6 +21,7 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.google.common.base.Supplier;
 import com.google.common.collect.Sets;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -65,6 +66,8 @@ import org.junit.BeforeClass;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
 import javax.security.auth.login.LoginException;
 
@@ -165,6 +168,47 @@ public class TestHMSFollower {
     verify(sentryStore, times(0)).persistLastProcessedNotificationID(Mockito.anyLong());
   }
 
+  @Test
+  public void testStreamAFullSnapshotWhenPersistedInChunks() throws Exception {
+    /*
+     * TEST CASE
+     *
+     * Simulates (by using mocks) that Sentry has not processed any notifications and that
+     * the store persists full snapshots in chunks, so the new full HMS snapshot should be
+     * streamed to the store instead of being fetched as a whole.
+     */
+
+    final long HMS_PROCESSED_EVENT_ID = 1L;
+
+    SentryHMSClient sentryHmsClient = Mockito.mock(SentryHMSClient.class);
+    when(sentryHmsClient.persistFullSnapshot(Mockito.eq(sentryStore),
+        Mockito.<Supplier<Boolean>>any())).thenAnswer(new Answer<Long>() {
+          @Override
+          @SuppressWarnings("unchecked")
+          public Long answer(InvocationOnMock invocation) throws Throwable {
+            // The store is given the leadership check to run before the snapshot is committed
+            Supplier<Boolean> canCommit = (Supplier<Boolean>) invocation.getArguments()[1];
+            Assert.assertTrue(canCommit.get());
+            return HMS_PROCESSED_EVENT_ID;
+          }
+        });
+
+    HMSFollower hmsFollower = new HMSFollower(configuration, sentryStore, null,
+        hmsConnectionMock, hiveInstance);
+    hmsFollower.setSentryHmsClient(sentryHmsClient);
+
+    when(sentryStore.isFullPathsImageChunked()).thenReturn(true);
+    when(sentryStore.getLastProcessedNotificationID())
+        .thenReturn(SentryStore.EMPTY_NOTIFICATION_ID);
+    when(sentryStore.isAuthzPathsMappingEmpty()).thenReturn(true);
+    when(sentryStore.isHmsNotificationEmpty()).thenReturn(true);
+    hmsFollower.run();
+    verify(sentryHmsClient, times(1)).persistFullSnapshot(Mockito.eq(sentryStore),
+        Mockito.<Supplier<Boolean>>any());
+    verify(sentryHmsClient, times(0)).getFullSnapshot();
+    verify(sentryStore, times(0)).persistFullPathsImage(Mockito.anyMap(), Mockito.anyLong());
+  }
+
   @Test
   public void testPersistAFullSnapshotWhenFullSnapshotTrigger() throws Exception {
     /*
@@ -1178,6 +1222,63 @@ public class TestHMSFollower {
     verify(sentryStore, times(3)).persistLastProcessedNotificationID(Mockito.anyLong());
   }
 
+  /**
+   * Tests that HMSFollower requests the new notifications in pages of the configured size,
+   * without processing twice the notifications with the last ID of a page.
+   * @throws Exception
+   */
+  @Test
+  public void testProcessNotificationsInPages() throws Exception {
+    final List<NotificationEvent> hmsEvents = Arrays.asList(
+        new NotificationEvent(1L, 0, "CREATE_DATABASE", ""),
+        new NotificationEvent(2L, 0, "CREATE_TABLE", ""),
+        new NotificationEvent(3L, 0, "ALTER_TABLE", ""),
+        new NotificationEvent(4L, 0, "DROP_TABLE", ""));
+
+    when(hmsClientMock.getCurrentNotificationEventId())
+        .thenReturn(new CurrentNotificationEventId(4L));
+    when(hmsClientMock.getNextNotification(Mockito.anyLong(), Mockito.eq(2),
+        (NotificationFilter) Mockito.any())).thenAnswer(new Answer<NotificationEventResponse>() {
+          @Override
+          public NotificationEventResponse answer(InvocationOnMock invocation) {
+            long lastEventId = (Long) invocation.getArguments()[0];
+            NotificationFilter filter = (NotificationFilter) invocation.getArguments()[2];
+            NotificationEventResponse response = new NotificationEventResponse();
+            response.setEvents(new ArrayList<NotificationEvent>());
+            // Like HiveMetaStoreClient, the filter is applied to the events returned by HMS
+            int returned = 0;
+            for (NotificationEvent event : hmsEvents) {
+              if (event.getEventId() > lastEventId && returned < 2) {
+                returned++;
+                if (filter == null || filter.accept(event)) {
+                  response.addToEvents(event);
+                }
+              }
+            }
+            return response;
+          }
+        });
+
+    Configuration configuration = new Configuration();
+    configuration.setInt(ServiceConstants.ServerConfig.SENTRY_HMSFOLLOWER_FETCH_PAGE_SIZE, 2);
+    HMSFollower hmsFollower = new HMSFollower(configuration, sentryStore, null,
+        hmsConnectionMock, hiveInstance);
+    hmsFollower.setSentryHmsClient(Mockito.mock(SentryHMSClient.class));
+
+    when(sentryStore.getLastProcessedNotificationID()).thenReturn(0L);
+    hmsFollower.run();
+    verify(hmsClientMock, times(1)).getNextNotification(Mockito.eq(0L), Mockito.eq(2),
+        (NotificationFilter) Mockito.isNull());
+    verify(hmsClientMock, times(1)).getNextNotification(Mockito.eq(1L), Mockito.eq(2),
+        (NotificationFilter) Mockito.notNull());
+    verify(hmsClientMock, times(1)).getNextNotification(Mockito.eq(2L), Mockito.eq(2),
+        (NotificationFilter) Mockito.notNull());
+    verify(sentryStore, times(1)).persistLastProcessedNotificationID(1L);
+    verify(sentryStore, times(1)).persistLastProcessedNotificationID(2L);
+    verify(sentryStore, times(1)).persistLastProcessedNotificationID(3L);
+    verify(sentryStore, times(1)).persistLastProcessedNotificationID(4L);
+  }
+
   /**
    * Tests the out-of-sync scenario when HDFS sync is disabled to make sure that
    * HMSFollower starting fetching notifications from beginning after out-of-sync
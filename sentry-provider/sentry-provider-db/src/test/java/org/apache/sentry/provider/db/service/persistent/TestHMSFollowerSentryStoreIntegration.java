@@ -31,7 +31,10 @@ import org.apache.hadoop.security.alias.CredentialProviderFactory;
 import org.apache.hadoop.security.alias.UserProvider;
 import org.apache.hadoop.hive.metastore.messaging.EventMessage;
 import org.apache.hadoop.hive.metastore.messaging.EventMessage.EventType;
+import org.apache.hadoop.hive.metastore.messaging.PartitionFiles;
 import org.apache.sentry.binding.metastore.messaging.json.SentryJSONMessageFactory;
+import org.apache.sentry.hdfs.UniquePathsUpdate;
+import org.apache.sentry.provider.db.service.model.MSentryPathChange;
 
 import org.apache.sentry.provider.db.service.thrift.TSentryPrivilege;
 import org.apache.sentry.service.thrift.HiveSimpleConnectionFactory;
@@ -45,6 +48,9 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 
 /**
@@ -253,4 +259,144 @@ public class TestHMSFollowerSentryStoreIntegration {
     Assert.assertEquals(1, sentryStore.getAllTSentryPrivilegesByRoleName(roleName1)
         .size());
   }
+
+  /**
+   * Test that HMSFollower persists a batch of path notifications, including several
+   * changes to the same table, with one delta per notification and the id of the last
+   * notification of the batch.
+   * @throws Exception
+   */
+  @Test
+  public void testBatchedPathNotifications() throws Exception {
+    String serverName = "server1";
+
+    // create HMSFollower with HDFS sync enabled and batches of up to 10 notifications
+    Configuration configuration = new Configuration();
+    configuration.set(AUTHZ_SERVER_NAME.getVar(), serverName);
+    configuration.set(ServerConfig.PROCESSOR_FACTORIES,
+        "org.apache.sentry.hdfs.SentryHDFSServiceProcessorFactory");
+    configuration.set(ServerConfig.SENTRY_POLICY_STORE_PLUGINS,
+        "org.apache.sentry.hdfs.SentryPlugin");
+    configuration.setInt(ServerConfig.SENTRY_HMSFOLLOWER_BATCH_SIZE, 10);
+    HMSFollower hmsFollower = new HMSFollower(configuration, sentryStore, null,
+        new HiveSimpleConnectionFactory(conf, new HiveConf()), null);
+
+    sentryStore.persistFullPathsImage(new HashMap<String, Collection<String>>(), 0);
+
+    // Create a table, add a partition to it and create another table
+    StorageDescriptor sd = new StorageDescriptor();
+    sd.setLocation("hdfs:///db1.db/table1");
+    List<FieldSchema> partCols = new ArrayList<>();
+    partCols.add(new FieldSchema("ds", "string", ""));
+    Table table1 = new Table(tableName1, dbName1, null, 0, 0, 0, sd, partCols, null, null,
+        null, null);
+    StorageDescriptor partitionSd = new StorageDescriptor();
+    partitionSd.setLocation("hdfs:///db1.db/table1/ds=today");
+    Partition partition = new Partition(Collections.singletonList("today"), dbName1,
+        tableName1, 0, 0, partitionSd, null);
+    StorageDescriptor sd2 = new StorageDescriptor();
+    sd2.setLocation("hdfs:///db1.db/table2");
+    Table table2 = new Table("table2", dbName1, null, 0, 0, 0, sd2, null, null, null,
+        null, null);
+
+    List<NotificationEvent> events = new ArrayList<>();
+    events.add(new NotificationEvent(1, 0, EventType.CREATE_TABLE.toString(),
+        messageFactory.buildCreateTableMessage(table1, Collections.<String>emptyIterator())
+            .toString()));
+    events.add(new NotificationEvent(2, 0, EventType.ADD_PARTITION.toString(),
+        messageFactory.buildAddPartitionMessage(table1,
+            Collections.singletonList(partition).iterator(),
+            Collections.<PartitionFiles>emptyIterator()).toString()));
+    events.add(new NotificationEvent(3, 0, EventType.CREATE_TABLE.toString(),
+        messageFactory.buildCreateTableMessage(table2, Collections.<String>emptyIterator())
+            .toString()));
+
+    hmsFollower.processNotifications(events);
+
+    Assert.assertEquals(Long.valueOf(3), sentryStore.getLastProcessedNotificationID());
+    Assert.assertEquals(Long.valueOf(3), sentryStore.getLastProcessedPathChangeID());
+    Assert.assertEquals(3, sentryStore.getMPaths().size());
+    for (NotificationEvent event : events) {
+      Assert.assertTrue(sentryStore.isNotificationProcessed(
+          UniquePathsUpdate.sha1(event)));
+    }
+  }
+
+  /**
+   * Test that HMSFollower processing the notifications in parallel lanes persists their
+   * changes in order, including a notification processed on its own in between.
+   * @throws Exception
+   */
+  @Test
+  public void testNotificationsProcessedInLanes() throws Exception {
+    String serverName = "server1";
+
+    // create HMSFollower with HDFS sync enabled, 4 lanes and batches of 2 notifications
+    Configuration configuration = new Configuration();
+    configuration.set(AUTHZ_SERVER_NAME.getVar(), serverName);
+    configuration.set(ServerConfig.PROCESSOR_FACTORIES,
+        "org.apache.sentry.hdfs.SentryHDFSServiceProcessorFactory");
+    configuration.set(ServerConfig.SENTRY_POLICY_STORE_PLUGINS,
+        "org.apache.sentry.hdfs.SentryPlugin");
+    configuration.setInt(ServerConfig.SENTRY_HMSFOLLOWER_PROCESSING_LANES, 4);
+    configuration.setInt(ServerConfig.SENTRY_HMSFOLLOWER_BATCH_SIZE, 2);
+    HMSFollower hmsFollower = new HMSFollower(configuration, sentryStore, null,
+        new HiveSimpleConnectionFactory(conf, new HiveConf()), null);
+
+    sentryStore.persistFullPathsImage(new HashMap<String, Collection<String>>(), 0);
+
+    // Create a table, add a partition to it, create and drop another table (which drops
+    // its privileges as well), and create a table in another database
+    StorageDescriptor sd = new StorageDescriptor();
+    sd.setLocation("hdfs:///db1.db/table1");
+    List<FieldSchema> partCols = new ArrayList<>();
+    partCols.add(new FieldSchema("ds", "string", ""));
+    Table table1 = new Table(tableName1, dbName1, null, 0, 0, 0, sd, partCols, null, null,
+        null, null);
+    StorageDescriptor partitionSd = new StorageDescriptor();
+    partitionSd.setLocation("hdfs:///db1.db/table1/ds=today");
+    Partition partition = new Partition(Collections.singletonList("today"), dbName1,
+        tableName1, 0, 0, partitionSd, null);
+    StorageDescriptor sd2 = new StorageDescriptor();
+    sd2.setLocation("hdfs:///db1.db/table2");
+    Table table2 = new Table("table2", dbName1, null, 0, 0, 0, sd2, null, null, null,
+        null, null);
+    StorageDescriptor sd3 = new StorageDescriptor();
+    sd3.setLocation("hdfs:///db2.db/table3");
+    Table table3 = new Table("table3", "db2", null, 0, 0, 0, sd3, null, null, null,
+        null, null);
+
+    List<NotificationEvent> events = new ArrayList<>();
+    events.add(new NotificationEvent(1, 0, EventType.CREATE_TABLE.toString(),
+        messageFactory.buildCreateTableMessage(table1, Collections.<String>emptyIterator())
+            .toString()));
+    events.add(new NotificationEvent(2, 0, EventType.ADD_PARTITION.toString(),
+        messageFactory.buildAddPartitionMessage(table1,
+            Collections.singletonList(partition).iterator(),
+            Collections.<PartitionFiles>emptyIterator()).toString()));
+    events.add(new NotificationEvent(3, 0, EventType.CREATE_TABLE.toString(),
+        messageFactory.buildCreateTableMessage(table2, Collections.<String>emptyIterator())
+            .toString()));
+    events.add(new NotificationEvent(4, 0, EventType.DROP_TABLE.toString(),
+        messageFactory.buildDropTableMessage(table2).toString()));
+    events.add(new NotificationEvent(5, 0, EventType.CREATE_TABLE.toString(),
+        messageFactory.buildCreateTableMessage(table3, Collections.<String>emptyIterator())
+            .toString()));
+
+    try {
+      hmsFollower.processNotifications(events);
+    } finally {
+      hmsFollower.close();
+    }
+
+    Assert.assertEquals(Long.valueOf(5), sentryStore.getLastProcessedNotificationID());
+    Assert.assertEquals(Long.valueOf(5), sentryStore.getLastProcessedPathChangeID());
+    Assert.assertEquals(3, sentryStore.getMPaths().size());
+    List<MSentryPathChange> changes = sentryStore.getMSentryPathChanges(1);
+    Assert.assertEquals(5, changes.size());
+    for (int i = 0; i < events.size(); i++) {
+      Assert.assertEquals(UniquePathsUpdate.sha1(events.get(i)),
+          changes.get(i).getNotificationHash());
+    }
+  }
 }
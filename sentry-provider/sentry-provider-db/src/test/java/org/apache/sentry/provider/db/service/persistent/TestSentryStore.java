@@ -34,6 +34,7 @@ import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
 import com.google.common.collect.Lists;
@@ -77,6 +78,8 @@ import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
@@ -3609,6 +3612,125 @@ public class TestSentryStore extends org.junit.Assert {
     conf.set(ServiceConstants.ServerConfig.SENTRY_POLICY_STORE_PLUGINS, "org.apache.sentry.hdfs.SentryPlugin");
   }
 
+  /**
+   * Verifies a snapshot of HMS Paths persisted in chunks on several threads is retrieved
+   * as a whole, and that the stale snapshots are purged.
+   */
+  @Test
+  public void testPersistFullPathsImageInChunks() throws Exception {
+    conf.setInt(ServiceConstants.ServerConfig.SENTRY_STORE_PATHS_SNAPSHOT_CHUNK_SIZE, 2);
+    conf.setInt(ServiceConstants.ServerConfig.SENTRY_STORE_PATHS_SNAPSHOT_THREADS, 2);
+    SentryStore localSentryStore = new SentryStore(conf);
+    conf.setInt(ServiceConstants.ServerConfig.SENTRY_STORE_PATHS_SNAPSHOT_CHUNK_SIZE,
+        ServiceConstants.ServerConfig.SENTRY_STORE_PATHS_SNAPSHOT_CHUNK_SIZE_DEFAULT);
+    conf.setInt(ServiceConstants.ServerConfig.SENTRY_STORE_PATHS_SNAPSHOT_THREADS,
+        ServiceConstants.ServerConfig.SENTRY_STORE_PATHS_SNAPSHOT_THREADS_DEFAULT);
+
+    String[] prefixes = {"/user/hive/warehouse"};
+    Map<String, Collection<String>> authzPaths = new HashMap<>();
+    for (int i = 0; i < 5; i++) {
+      authzPaths.put("db1.table" + i, Sets.newHashSet("/user/hive/warehouse/db1.db/table" + i));
+    }
+    assertTrue(localSentryStore.isAuthzPathsSnapshotEmpty());
+    localSentryStore.persistFullPathsImage(authzPaths, 11);
+    assertFalse(localSentryStore.isAuthzPathsSnapshotEmpty());
+
+    authzPaths.put("db1.table5", Sets.newHashSet("/user/hive/warehouse/db1.db/table5"));
+    localSentryStore.persistFullPathsImage(authzPaths, 12);
+    assertEquals(11, localSentryStore.countMAuthzPathsMappings());
+
+    PathsUpdate pathsUpdate = localSentryStore.retrieveFullPathsImageUpdate(prefixes);
+    assertEquals(2, pathsUpdate.getImgNum());
+    assertEquals(12, localSentryStore.getLastProcessedNotificationID().longValue());
+    TPathsDump pathDump = pathsUpdate.toThrift().getPathsDump();
+    Map<Integer, TPathEntry> nodeMap = pathDump.getNodeMap();
+    Map<String, Collection<String>> pathImage = new HashMap<>();
+    buildPathsImageMap(nodeMap, nodeMap.get(pathDump.getRootId()), "", pathImage, true);
+    assertEquals(6, pathImage.size());
+    assertEquals(6, localSentryStore.getMPaths().size());
+
+    localSentryStore.purgeStaleAuthzPathsSnapshots();
+    assertEquals(6, localSentryStore.countMAuthzPathsMappings());
+    assertEquals(6, localSentryStore.getMPaths().size());
+    assertEquals(2, localSentryStore.retrieveFullPathsImageUpdate(prefixes).getImgNum());
+  }
+
+  /**
+   * Verifies a snapshot of HMS Paths streamed to the store is persisted in chunks, unless
+   * it is empty.
+   */
+  @Test
+  public void testPersistStreamedFullPathsImage() throws Exception {
+    conf.setInt(ServiceConstants.ServerConfig.SENTRY_STORE_PATHS_SNAPSHOT_CHUNK_SIZE, 2);
+    SentryStore localSentryStore = new SentryStore(conf);
+    conf.setInt(ServiceConstants.ServerConfig.SENTRY_STORE_PATHS_SNAPSHOT_CHUNK_SIZE,
+        ServiceConstants.ServerConfig.SENTRY_STORE_PATHS_SNAPSHOT_CHUNK_SIZE_DEFAULT);
+    assertTrue(localSentryStore.isFullPathsImageChunked());
+    assertFalse(sentryStore.isFullPathsImageChunked());
+
+    assertEquals(0, localSentryStore.persistFullPathsImage(
+        Collections.<Map.Entry<String, Collection<String>>>emptyIterator(), 10,
+        Suppliers.ofInstance(true)));
+    assertEquals(SentryStore.EMPTY_PATHS_SNAPSHOT_ID,
+        localSentryStore.getLastPathsSnapshotIdGauge().getValue().longValue());
+
+    Map<String, Collection<String>> authzPaths = new HashMap<>();
+    for (int i = 0; i < 3; i++) {
+      authzPaths.put("db1.table" + i, Sets.newHashSet("/user/hive/warehouse/db1.db/table" + i));
+    }
+    assertEquals(3, localSentryStore.persistFullPathsImage(authzPaths.entrySet().iterator(), 11,
+        Suppliers.ofInstance(true)));
+    assertEquals(11, localSentryStore.getLastProcessedNotificationID().longValue());
+    assertFalse(localSentryStore.isAuthzPathsSnapshotEmpty());
+    assertEquals(3, localSentryStore.getMPaths().size());
+  }
+
+  /**
+   * Verifies a snapshot of HMS Paths streamed to the store is not made current when it
+   * is aborted, e.g. because the leadership was lost, after its full chunks were persisted,
+   * and that its last partial chunk is not persisted.
+   */
+  @Test
+  public void testAbortStreamedFullPathsImage() throws Exception {
+    conf.setInt(ServiceConstants.ServerConfig.SENTRY_STORE_PATHS_SNAPSHOT_CHUNK_SIZE, 2);
+    SentryStore localSentryStore = new SentryStore(conf);
+    conf.setInt(ServiceConstants.ServerConfig.SENTRY_STORE_PATHS_SNAPSHOT_CHUNK_SIZE,
+        ServiceConstants.ServerConfig.SENTRY_STORE_PATHS_SNAPSHOT_CHUNK_SIZE_DEFAULT);
+
+    Map<String, Collection<String>> authzPaths = new HashMap<>();
+    for (int i = 0; i < 3; i++) {
+      authzPaths.put("db1.table" + i, Sets.newHashSet("/user/hive/warehouse/db1.db/table" + i));
+    }
+    assertEquals(3, localSentryStore.persistFullPathsImage(authzPaths.entrySet().iterator(), 11,
+        Suppliers.ofInstance(true)));
+    long snapshotID = localSentryStore.getLastPathsSnapshotIdGauge().getValue();
+
+    // Allow the two full chunks only
+    final AtomicInteger checks = new AtomicInteger();
+    Supplier<Boolean> canCommit = new Supplier<Boolean>() {
+      @Override
+      public Boolean get() {
+        return checks.incrementAndGet() <= 2;
+      }
+    };
+    authzPaths.put("db1.table3", Sets.newHashSet("/user/hive/warehouse/db1.db/table3"));
+    authzPaths.put("db1.table4", Sets.newHashSet("/user/hive/warehouse/db1.db/table4"));
+    assertEquals(0, localSentryStore.persistFullPathsImage(authzPaths.entrySet().iterator(), 12,
+        canCommit));
+    assertEquals(3, checks.get());
+    assertEquals(3 + 4, localSentryStore.countMAuthzPathsMappings());
+    assertEquals(11, localSentryStore.getLastProcessedNotificationID().longValue());
+    assertEquals(snapshotID, localSentryStore.getLastPathsSnapshotIdGauge().getValue().longValue());
+    TPathsDump pathDump = localSentryStore.retrieveFullPathsImageUpdate(new String[] {"/user"})
+        .toThrift().getPathsDump();
+    Map<Integer, TPathEntry> nodeMap = pathDump.getNodeMap();
+    Map<String, Collection<String>> pathImage = new HashMap<>();
+    buildPathsImageMap(nodeMap, nodeMap.get(pathDump.getRootId()), "", pathImage, true);
+    assertEquals(3, pathImage.size());
+    assertFalse(pathImage.containsKey("db1.table3"));
+    assertFalse(pathImage.containsKey("db1.table4"));
+  }
+
   /**
    * Test retrieveFullPathsImageUpdate() when no image is present.
    * @throws Exception
@@ -0,0 +1,367 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.sentry.provider.db.service.persistent;
+
+import java.io.File;
+import java.util.Map;
+import java.util.Set;
+
+import javax.jdo.PersistenceManager;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.security.alias.CredentialProvider;
+import org.apache.hadoop.security.alias.CredentialProviderFactory;
+import org.apache.hadoop.security.alias.UserProvider;
+import org.apache.sentry.core.model.db.AccessConstants;
+import org.apache.sentry.hdfs.PermissionsUpdate;
+import org.apache.sentry.hdfs.Updateable;
+import org.apache.sentry.provider.db.service.model.MSentryPolicyChange;
+import org.apache.sentry.provider.db.service.thrift.TSentryActiveRoleSet;
+import org.apache.sentry.provider.db.service.thrift.TSentryAuthorizable;
+import org.apache.sentry.provider.db.service.thrift.TSentryGroup;
+import org.apache.sentry.provider.db.service.thrift.TSentryPrivilege;
+import org.apache.sentry.provider.file.PolicyFile;
+import org.apache.sentry.service.thrift.ServiceConstants.ServerConfig;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.io.Files;
+
+/**
+ * Checks that a {@link SentryStore} answering from its {@link RolePrivilegeImage} gives
+ * the same answers as one querying the database, which also plays the part of another
+ * Sentry server writing to the same database.
+ */
+public class TestSentryStorePolicyImage extends org.junit.Assert {
+
+  private static final String GRANTOR = "g1";
+  private static final String[] ADMIN_GROUPS = { "adminGroup1" };
+  private static final TSentryActiveRoleSet ALL_ROLES =
+      new TSentryActiveRoleSet(true, Sets.<String>newHashSet());
+
+  private static File dataDir;
+  private static File policyFilePath;
+  private static SentryStore imageStore;
+  // Another Sentry server with the image enabled, only logs its changes
+  private static SentryStore remoteStore;
+  private static SentryStore dbStore;
+  private static char[] passwd = new char[] { '1', '2', '3'};
+
+  @BeforeClass
+  public static void setup() throws Exception {
+    Configuration conf = new Configuration(false);
+    final String ourUrl = UserProvider.SCHEME_NAME + ":///";
+    conf.set(CredentialProviderFactory.CREDENTIAL_PROVIDER_PATH, ourUrl);
+    CredentialProvider provider = CredentialProviderFactory.getProviders(conf).get(0);
+    if(provider.getCredentialEntry(ServerConfig.SENTRY_STORE_JDBC_PASS) == null) {
+      provider.createCredentialEntry(ServerConfig.SENTRY_STORE_JDBC_PASS, passwd);
+      provider.flush();
+    }
+
+    dataDir = new File(Files.createTempDir(), "sentry_policy_db");
+    conf.set(ServerConfig.SENTRY_VERIFY_SCHEM_VERSION, "false");
+    conf.set(ServerConfig.SENTRY_STORE_JDBC_URL,
+        "jdbc:derby:;databaseName=" + dataDir.getPath() + ";create=true");
+    conf.set(ServerConfig.SENTRY_STORE_JDBC_PASS, "dummy");
+    conf.setStrings(ServerConfig.ADMIN_GROUPS, ADMIN_GROUPS);
+    conf.set(ServerConfig.SENTRY_STORE_GROUP_MAPPING,
+        ServerConfig.SENTRY_STORE_LOCAL_GROUP_MAPPING);
+    policyFilePath = new File(dataDir, "local_policy_file.ini");
+    conf.set(ServerConfig.SENTRY_STORE_GROUP_MAPPING_RESOURCE,
+        policyFilePath.getPath());
+    conf.setInt(ServerConfig.SENTRY_STORE_TRANSACTION_RETRY, 1);
+
+    dbStore = new SentryStore(conf);
+    dbStore.setPersistUpdateDeltas(true);
+
+    // No refresher thread, the tests refresh the image explicitly
+    Configuration imageConf = new Configuration(conf);
+    imageConf.setBoolean(ServerConfig.SENTRY_STORE_POLICY_IMAGE_ENABLED, true);
+    imageConf.setLong(ServerConfig.SENTRY_STORE_POLICY_IMAGE_REFRESH_INTERVAL_MS, 0L);
+    imageStore = new SentryStore(imageConf);
+    imageStore.setPersistUpdateDeltas(true);
+    remoteStore = new SentryStore(imageConf);
+    remoteStore.setPersistUpdateDeltas(true);
+  }
+
+  @Before
+  public void before() throws Exception {
+    PolicyFile policyFile = new PolicyFile();
+    policyFile.addGroupsToUser(GRANTOR, ADMIN_GROUPS);
+    policyFile.write(policyFilePath);
+  }
+
+  @After
+  public void after() {
+    imageStore.clearAllTables();
+  }
+
+  @AfterClass
+  public static void teardown() {
+    if (dataDir != null) {
+      FileUtils.deleteQuietly(dataDir);
+    }
+    imageStore.stop();
+    remoteStore.stop();
+    dbStore.stop();
+  }
+
+  @Test
+  public void testLocalChanges() throws Exception {
+    assertNotNull(imageStore.getPolicyImage());
+    assertNull(dbStore.getPolicyImage());
+    long version = imageStore.getPolicyImage().getVersion();
+
+    imageStore.createSentryRole("Role1");
+    imageStore.createSentryRole("role2");
+    imageStore.alterSentryRoleAddGroups(GRANTOR, "role1", Sets.newHashSet(
+        new TSentryGroup("group1")));
+    imageStore.alterSentryRoleAddUsers("role2", Sets.newHashSet("user1"));
+    imageStore.alterSentryRoleGrantPrivileges(GRANTOR, "role1", Sets.newHashSet(
+        privilege("Table", "server1", "db1", "tbl1", null, AccessConstants.SELECT),
+        privilege("Column", "server1", "db1", "tbl2", "col1", AccessConstants.INSERT),
+        privilege("Database", "server1", "db2", null, null, AccessConstants.ALL),
+        uriPrivilege("server1", "hdfs:///tmp/file/part-0")));
+    imageStore.alterSentryRoleGrantPrivileges(GRANTOR, "role2", Sets.newHashSet(
+        privilege("Server", "server1", null, null, null, AccessConstants.ALL),
+        uriPrivilege("server1", "hdfs:///data")));
+
+    assertTrue(imageStore.getPolicyImage().getVersion() > version);
+    assertEquals(2, imageStore.getPolicyImage().getRoleCount());
+    assertSameAsDatabase();
+    assertEquals(ImmutableSet.of("role1"),
+        imageStore.getRoleNamesForGroups(Sets.newHashSet("group1")));
+
+    imageStore.alterSentryRoleRevokePrivileges(GRANTOR, "role1", Sets.newHashSet(
+        privilege("Table", "server1", "db1", "tbl1", null, AccessConstants.SELECT)));
+    imageStore.alterSentryRoleDeleteUsers("role2", Sets.newHashSet("user1"));
+    assertSameAsDatabase();
+
+    imageStore.dropSentryRole("role1");
+    assertEquals(1, imageStore.getPolicyImage().getRoleCount());
+    assertSameAsDatabase();
+  }
+
+  /**
+   * A URI request gets all the URI privileges of the server, the provider decides which
+   * ones imply the requested URI, e.g. unqualified ones or ones with substitutions.
+   */
+  @Test
+  public void testUriPrivilegesForProvider() throws Exception {
+    imageStore.createSentryRole("role1");
+    imageStore.alterSentryRoleAddGroups(GRANTOR, "role1", Sets.newHashSet(
+        new TSentryGroup("group1")));
+    imageStore.alterSentryRoleGrantPrivileges(GRANTOR, "role1", Sets.newHashSet(
+        uriPrivilege("server1", "/data"),
+        uriPrivilege("server1", "file://${user.home}/data"),
+        uriPrivilege("server2", "hdfs://nn:8020/data")));
+
+    for (SentryStore store : new SentryStore[] { dbStore, imageStore }) {
+      assertEquals(2, listPrivileges(store,
+          uriAuthorizable("server1", "hdfs://nn:8020/data/x")).size());
+    }
+    assertSameAsDatabase();
+  }
+
+  @Test
+  public void testDropPrivilegeForAllRoles() throws Exception {
+    TSentryPrivilege tablePrivilege =
+        privilege("Table", "server1", "db1", "tbl1", null, AccessConstants.SELECT);
+    for (String roleName : new String[] { "role1", "role2" }) {
+      imageStore.createSentryRole(roleName);
+      imageStore.alterSentryRoleAddUsers(roleName, Sets.newHashSet("user1"));
+      imageStore.alterSentryRoleGrantPrivileges(GRANTOR, roleName,
+          Sets.newHashSet(tablePrivilege));
+    }
+    assertEquals(1, listPrivileges(imageStore, null).size());
+
+    TSentryAuthorizable table = authorizable("server1", "db1", "tbl1", null);
+    imageStore.dropPrivilege(table);
+    assertTrue(listPrivileges(imageStore, null).isEmpty());
+    assertSameAsDatabase();
+  }
+
+  @Test
+  public void testRemoteChanges() throws Exception {
+    imageStore.createSentryRole("role1");
+    imageStore.alterSentryRoleAddUsers("role1", Sets.newHashSet("user1"));
+
+    // Another server grants a privilege along with its permission delta
+    TSentryPrivilege privilege =
+        privilege("Table", "server1", "db1", "tbl1", null, AccessConstants.SELECT);
+    PermissionsUpdate update = new PermissionsUpdate(0, false);
+    update.addPrivilegeUpdate("db1.tbl1").putToAddPrivileges("role1",
+        privilege.getAction().toUpperCase());
+    Map<TSentryPrivilege, Updateable.Update> updates = Maps.newHashMap();
+    updates.put(privilege, update);
+    remoteStore.alterSentryRoleGrantPrivileges(GRANTOR, "role1", Sets.newHashSet(privilege),
+        updates);
+
+    assertTrue(listPrivileges(imageStore, null).isEmpty());
+    imageStore.refreshPolicyImage();
+    assertEquals(ImmutableSet.of("server=server1->db=db1->table=tbl1->action=select"),
+        listPrivileges(imageStore, null));
+
+    // Changes without permission deltas are logged as well
+    remoteStore.setPersistUpdateDeltas(false);
+    try {
+      remoteStore.createSentryRole("role2");
+      remoteStore.alterSentryRoleAddUsers("role2", Sets.newHashSet("user1"));
+      remoteStore.alterSentryRoleGrantPrivileges(GRANTOR, "role1", Sets.newHashSet(
+          privilege("Server", "server1", null, null, null, AccessConstants.ALL)));
+      remoteStore.alterSentryRoleGrantPrivileges(GRANTOR, "role2", Sets.newHashSet(
+          uriPrivilege("server1", "hdfs:///data")));
+    } finally {
+      remoteStore.setPersistUpdateDeltas(true);
+    }
+    long version = imageStore.getPolicyImage().getVersion();
+    imageStore.refreshPolicyImage();
+    assertEquals(version + 1, imageStore.getPolicyImage().getVersion());
+    assertEquals(2, imageStore.getPolicyImage().getRoleCount());
+    assertSameAsDatabase();
+
+    remoteStore.alterSentryRoleDeleteUsers("role2", Sets.newHashSet("user1"));
+    remoteStore.alterSentryRoleRevokePrivileges(GRANTOR, "role1", Sets.newHashSet(
+        privilege("Server", "server1", null, null, null, AccessConstants.ALL)));
+    remoteStore.dropSentryRole("role1");
+    imageStore.refreshPolicyImage();
+    assertEquals(1, imageStore.getPolicyImage().getRoleCount());
+    assertSameAsDatabase();
+
+    // Nothing changed since the last refresh
+    version = imageStore.getPolicyImage().getVersion();
+    imageStore.refreshPolicyImage();
+    assertEquals(version, imageStore.getPolicyImage().getVersion());
+  }
+
+  @Test
+  public void testNoChangesLoggedWithoutImage() throws Exception {
+    dbStore.createSentryRole("role1");
+    dbStore.alterSentryRoleAddUsers("role1", Sets.newHashSet("user1"));
+    long lastChangeId = dbStore.getTransactionManager().executeTransaction(
+        new TransactionBlock<Long>() {
+          @Override
+          public Long execute(PersistenceManager pm) throws Exception {
+            return SentryStore.getLastProcessedChangeIDCore(pm, MSentryPolicyChange.class);
+          }
+        });
+    assertEquals(0L, lastChangeId);
+  }
+
+  @Test
+  public void testRemoteChangesPurged() throws Exception {
+    imageStore.createSentryRole("role1");
+    imageStore.alterSentryRoleAddUsers("role1", Sets.newHashSet("user1"));
+    imageStore.refreshPolicyImage();
+
+    // The log is purged past the image before it is refreshed, the image is reloaded
+    remoteStore.alterSentryRoleGrantPrivileges(GRANTOR, "role1", Sets.newHashSet(
+        privilege("Database", "server1", "db1", null, null, AccessConstants.ALL)));
+    remoteStore.alterSentryRoleGrantPrivileges(GRANTOR, "role1", Sets.newHashSet(
+        privilege("Database", "server1", "db2", null, null, AccessConstants.ALL)));
+    remoteStore.getTransactionManager().executeTransaction(new TransactionBlock<Object>() {
+      @Override
+      public Object execute(PersistenceManager pm) throws Exception {
+        remoteStore.purgeDeltaChangeTableCore(MSentryPolicyChange.class, pm, 1);
+        return null;
+      }
+    });
+    imageStore.refreshPolicyImage();
+    assertEquals(2, listPrivileges(imageStore, null).size());
+    assertSameAsDatabase();
+  }
+
+  private static void assertSameAsDatabase() throws Exception {
+    TSentryAuthorizable[] hierarchies = {
+        null,
+        authorizable("server1", null, null, null),
+        authorizable("server1", "db1", null, null),
+        authorizable("server1", "db2", null, null),
+        authorizable("server1", "db1", "tbl1", null),
+        authorizable("server1", "db1", "tbl2", "col1"),
+        authorizable("server1", "db1", AccessConstants.ALL, null),
+        authorizable("server1", "db1", "tbl2", AccessConstants.SOME),
+        uriAuthorizable("server1", "hdfs:///data/file"),
+        uriAuthorizable("server1", "hdfs:///data"),
+        uriAuthorizable("server1", "hdfs:///tmp/file"),
+        uriAuthorizable("server2", "hdfs:///data/file"),
+        authorizable("server2", "db1", null, null) };
+    for (TSentryAuthorizable hierarchy : hierarchies) {
+      assertEquals(String.valueOf(hierarchy), listPrivileges(dbStore, hierarchy),
+          listPrivileges(imageStore, hierarchy));
+    }
+    for (String server : new String[] { "server1", "Server1", "server2" }) {
+      assertEquals(server,
+          dbStore.hasAnyServerPrivileges(Sets.newHashSet("group1"),
+              Sets.newHashSet("user1"), ALL_ROLES, server),
+          imageStore.hasAnyServerPrivileges(Sets.newHashSet("group1"),
+              Sets.newHashSet("user1"), ALL_ROLES, server));
+    }
+    TSentryActiveRoleSet role1 = new TSentryActiveRoleSet(false, Sets.newHashSet("ROLE1"));
+    assertEquals(dbStore.listSentryPrivilegesForProvider(Sets.newHashSet("group1"),
+            Sets.newHashSet("user1"), role1, null),
+        imageStore.listSentryPrivilegesForProvider(Sets.newHashSet("group1"),
+            Sets.newHashSet("user1"), role1, null));
+    assertEquals(dbStore.getRoleNamesForGroups(Sets.newHashSet("group1")),
+        imageStore.getRoleNamesForGroups(Sets.newHashSet("group1")));
+  }
+
+  private static Set<String> listPrivileges(SentryStore store, TSentryAuthorizable hierarchy)
+      throws Exception {
+    return store.listSentryPrivilegesForProvider(Sets.newHashSet("group1"),
+        Sets.newHashSet("user1"), ALL_ROLES, hierarchy);
+  }
+
+  private static TSentryPrivilege privilege(String scope, String server, String db,
+      String table, String column, String action) {
+    TSentryPrivilege privilege = new TSentryPrivilege(scope, server, action);
+    privilege.setDbName(db);
+    privilege.setTableName(table);
+    privilege.setColumnName(column);
+    return privilege;
+  }
+
+  private static TSentryPrivilege uriPrivilege(String server, String uri) {
+    TSentryPrivilege privilege = new TSentryPrivilege("URI", server, AccessConstants.ALL);
+    privilege.setURI(uri);
+    return privilege;
+  }
+
+  private static TSentryAuthorizable authorizable(String server, String db, String table,
+      String column) {
+    TSentryAuthorizable authorizable = new TSentryAuthorizable(server);
+    authorizable.setDb(db);
+    authorizable.setTable(table);
+    authorizable.setColumn(column);
+    return authorizable;
+  }
+
+  private static TSentryAuthorizable uriAuthorizable(String server, String uri) {
+    TSentryAuthorizable authorizable = new TSentryAuthorizable(server);
+    authorizable.setUri(uri);
+    return authorizable;
+  }
+}
@@ -20,15 +20,21 @@ package org.apache.sentry.provider.db.service.thrift;
 import static org.junit.Assert.assertEquals;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.apache.sentry.core.common.ActiveRoleSet;
 import org.apache.sentry.core.common.Authorizable;
+import org.apache.sentry.core.common.Model;
 import org.apache.sentry.core.model.db.AccessConstants;
+import org.apache.sentry.core.model.db.Column;
 import org.apache.sentry.core.model.db.Database;
+import org.apache.sentry.core.model.db.HivePrivilegeModel;
 import org.apache.sentry.core.model.db.Server;
 import org.apache.sentry.core.model.db.Table;
+import org.apache.sentry.policy.common.CompiledPrivilege;
 import org.apache.sentry.service.thrift.SentryServiceIntegrationBase;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -125,6 +131,133 @@ public class TestSentryServerWithoutKerberos extends SentryServiceIntegrationBas
     assertEquals("Privilege not correctly assigned to roles !!", new HashSet<String>(), listPrivilegesForProvider);
   }
 
+  @Test
+  public void testCheckPrivilegesForProvider() throws Exception {
+    String requestorUserName = ADMIN_USER;
+    Set<String> requestorUserGroupNames = Sets.newHashSet(ADMIN_GROUP);
+    setLocalGroupMapping(requestorUserName, requestorUserGroupNames);
+    writePolicyFile();
+
+    String roleName = "check_r1";
+    String group = "check_g1";
+    client.dropRoleIfExists(requestorUserName, roleName);
+    client.createRole(requestorUserName, roleName);
+    client.grantRoleToGroup(requestorUserName, group, roleName);
+    client.grantTablePrivilege(requestorUserName, roleName, "server", "db1", "table1", "ALL");
+    client.grantTablePrivilege(requestorUserName, roleName, "server", "db1", "table2", "SELECT");
+    client.grantDatabasePrivilege(requestorUserName, roleName, "server", "db2", "INSERT");
+
+    List<TSentryPrivilege> requested = Lists.newArrayList(
+        tablePrivilege("db1", "table1", "insert"),
+        tablePrivilege("db1", "table2", "select"),
+        tablePrivilege("db1", "table2", "insert"),
+        tablePrivilege("db2", "table3", "insert"),
+        tablePrivilege("db3", "table1", "select"));
+    TSentryPrivilege uriPrivilege = new TSentryPrivilege("URI", "server", "");
+    uriPrivilege.setURI("not a uri");
+    requested.add(uriPrivilege);
+
+    BitSet expected = new BitSet();
+    expected.set(0);
+    expected.set(1);
+    expected.set(3);
+    assertEquals(expected, client.checkPrivilegesForProvider(Sets.newHashSet(group), null,
+        ActiveRoleSet.ALL, requested));
+    assertEquals(new BitSet(), client.checkPrivilegesForProvider(Sets.newHashSet("check_g2"),
+        null, ActiveRoleSet.ALL, requested));
+    assertEquals(new BitSet(), client.checkPrivilegesForProvider(Sets.newHashSet(group), null,
+        new ActiveRoleSet(Sets.newHashSet("other_role")), requested));
+    client.dropRole(requestorUserName, roleName);
+  }
+
+  /**
+   * Verifies check_sentry_privileges_for_provider decides like the provider evaluating
+   * the privileges listed by list_sentry_privileges_for_provider, including the
+   * 'default' Db rule for switching databases.
+   */
+  @Test
+  public void testCheckPrivilegesForProviderMatchesList() throws Exception {
+    String requestorUserName = ADMIN_USER;
+    Set<String> requestorUserGroupNames = Sets.newHashSet(ADMIN_GROUP);
+    setLocalGroupMapping(requestorUserName, requestorUserGroupNames);
+    writePolicyFile();
+
+    String roleName = "check_r2";
+    String group = "check_g3";
+    client.dropRoleIfExists(requestorUserName, roleName);
+    client.createRole(requestorUserName, roleName);
+    client.grantRoleToGroup(requestorUserName, group, roleName);
+    client.grantTablePrivilege(requestorUserName, roleName, "server", "db1", "table1", "ALL");
+    client.grantURIPrivilege(requestorUserName, roleName, "server", "hdfs:///tmp/check");
+
+    List<TSentryPrivilege> requested = new ArrayList<TSentryPrivilege>();
+    for (String db : new String[] { "db1", "default", "db2" }) {
+      for (String action : new String[] { "select", "insert" }) {
+        requested.add(tablePrivilege(db, AccessConstants.SOME, AccessConstants.SOME, action));
+        requested.add(tablePrivilege(db, "table1", null, action));
+      }
+    }
+    for (String checkedGroup : new String[] { group, "check_g4" }) {
+      BitSet expected = new BitSet();
+      for (int i = 0; i < requested.size(); i++) {
+        if (listAndCheck(Sets.newHashSet(checkedGroup), requested.get(i))) {
+          expected.set(i);
+        }
+      }
+      assertEquals(checkedGroup, expected, client.checkPrivilegesForProvider(
+          Sets.newHashSet(checkedGroup), null, ActiveRoleSet.ALL, requested));
+    }
+    // Everything on db1 and select on the 'default' Db without any privilege in it
+    BitSet expected = new BitSet();
+    expected.set(0, 5);
+    assertEquals(expected, client.checkPrivilegesForProvider(Sets.newHashSet(group), null,
+        ActiveRoleSet.ALL, requested));
+    client.dropRole(requestorUserName, roleName);
+  }
+
+  /**
+   * Decides like ResourceAuthorizationProvider on the privileges listed for the request.
+   */
+  private boolean listAndCheck(Set<String> groups, TSentryPrivilege privilege)
+      throws Exception {
+    List<Authorizable> authorizables = Lists.<Authorizable>newArrayList(
+        new Server(privilege.getServerName()), new Database(privilege.getDbName()),
+        new Table(privilege.getTableName()));
+    if (privilege.getColumnName() != null) {
+      authorizables.add(new Column(privilege.getColumnName()));
+    }
+    Set<String> listed = client.listPrivilegesForProvider(groups, null, ActiveRoleSet.ALL,
+        authorizables.toArray(new Authorizable[0]));
+    Model model = HivePrivilegeModel.getInstance();
+    if (authorizables.size() == 4 && AccessConstants.SOME.equals(privilege.getTableName())
+        && listed.equals(Sets.newHashSet("server=+"))) {
+      listed = Sets.newHashSet("Server=" + privilege.getServerName()
+          + "->Db=default->Table=*->Column=*->action=select");
+    }
+    CompiledPrivilege request =
+        CompiledPrivilege.compileRequest(authorizables, privilege.getAction(), model);
+    for (String granted : listed) {
+      if (CompiledPrivilege.compile(granted, model).implies(request)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static TSentryPrivilege tablePrivilege(String db, String table, String column,
+      String action) {
+    TSentryPrivilege privilege = tablePrivilege(db, table, action);
+    privilege.setColumnName(column);
+    return privilege;
+  }
+
+  private static TSentryPrivilege tablePrivilege(String db, String table, String action) {
+    TSentryPrivilege privilege = new TSentryPrivilege("TABLE", "server", action);
+    privilege.setDbName(db);
+    privilege.setTableName(table);
+    return privilege;
+  }
+
 
 
   /**
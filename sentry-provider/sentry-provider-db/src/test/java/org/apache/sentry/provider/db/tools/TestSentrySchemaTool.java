@@ -19,9 +19,17 @@
 package org.apache.sentry.provider.db.tools;
 
 import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
 
 import org.apache.hadoop.conf.Configuration;
 import org.apache.sentry.core.common.exception.SentryUserException;
+import org.apache.sentry.hdfs.PathsUpdate;
+import org.apache.sentry.hdfs.PermissionsUpdate;
+import org.apache.sentry.provider.db.service.model.DeltaChangeFormat;
 import org.apache.sentry.provider.db.service.persistent.SentryStoreSchemaInfo;
 import org.apache.sentry.service.thrift.ServiceConstants.ServerConfig;
 import org.junit.Before;
@@ -29,6 +37,11 @@ import org.junit.Test;
 
 import com.google.common.io.Files;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
 public class TestSentrySchemaTool {
   private Configuration sentryConf;
   private SentrySchemaTool schemaTool;
@@ -91,4 +104,58 @@ public class TestSentrySchemaTool {
     schemaTool.verifySchemaVersion();
   }
 
+  @Test
+  public void testConvertDeltaChanges() throws Exception {
+    schemaTool.doInit("2.0.0");
+    PathsUpdate pathsUpdate = new PathsUpdate(1, false);
+    pathsUpdate.newPathChange("db1.tbl1").addToAddPaths(
+        Arrays.asList("db1", "tbl1"));
+    PermissionsUpdate permsUpdate = new PermissionsUpdate(1, false);
+    permsUpdate.addPrivilegeUpdate("db1.tbl1").putToAddPrivileges("role1", "select");
+    try (Connection conn = getConnection(); Statement stmt = conn.createStatement()) {
+      stmt.executeUpdate("insert into SENTRY_PATH_CHANGE values (1, 'h1', 0, '" +
+          pathsUpdate.JSONSerialize() + "')");
+      stmt.executeUpdate("insert into SENTRY_PERM_CHANGE values (1, 0, '" +
+          permsUpdate.JSONSerialize() + "')");
+    }
+    schemaTool.doUpgrade();
+
+    schemaTool.setDryRun(true);
+    assertEquals(2, schemaTool.doConvertDeltaChanges());
+    schemaTool.setDryRun(false);
+    assertEquals(2, schemaTool.doConvertDeltaChanges());
+    assertEquals(0, schemaTool.doConvertDeltaChanges());
+
+    try (Connection conn = getConnection(); Statement stmt = conn.createStatement()) {
+      try (ResultSet res = stmt.executeQuery(
+          "select PATH_CHANGE, PATH_CHANGE_DATA from SENTRY_PATH_CHANGE")) {
+        assertTrue(res.next());
+        assertNull(res.getString(1));
+        PathsUpdate converted = new PathsUpdate();
+        DeltaChangeFormat.decode(converted, res.getBytes(2));
+        assertEquals(pathsUpdate, converted);
+        assertFalse(res.next());
+      }
+      try (ResultSet res = stmt.executeQuery(
+          "select PERM_CHANGE, PERM_CHANGE_DATA from SENTRY_PERM_CHANGE")) {
+        assertTrue(res.next());
+        assertNull(res.getString(1));
+        PermissionsUpdate converted = new PermissionsUpdate();
+        DeltaChangeFormat.decode(converted, res.getBytes(2));
+        assertEquals(permsUpdate, converted);
+        assertFalse(res.next());
+      }
+    }
+  }
+
+  @Test(expected = SentryUserException.class)
+  public void testConvertDeltaChangesBeforeUpgrade() throws Exception {
+    schemaTool.doInit("2.0.0");
+    schemaTool.doConvertDeltaChanges();
+  }
+
+  private Connection getConnection() throws Exception {
+    return DriverManager.getConnection(sentryConf.get(ServerConfig.SENTRY_STORE_JDBC_URL),
+        ServerConfig.SENTRY_STORE_JDBC_USER_DEFAULT, "dummy");
+  }
 }
@@ -17,6 +17,7 @@
  */
 package org.apache.sentry.service.thrift;
 
+import com.codahale.metrics.Counter;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import org.apache.hadoop.conf.Configuration;
@@ -26,6 +27,7 @@ import org.apache.hadoop.hive.metastore.api.MetaException;
 import org.apache.hadoop.hive.metastore.api.Partition;
 import org.apache.hadoop.hive.metastore.api.StorageDescriptor;
 import org.apache.hadoop.hive.metastore.api.Table;
+import org.apache.sentry.provider.db.service.thrift.SentryMetrics;
 import org.apache.thrift.TException;
 import org.junit.Assert;
 import org.junit.Test;
@@ -34,11 +36,15 @@ import org.mockito.Mockito;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import static com.codahale.metrics.MetricRegistry.name;
+
 public class TestFullUpdateInitializer {
 
   private static Configuration conf = new Configuration();
@@ -258,6 +264,46 @@ public class TestFullUpdateInitializer {
             "db3/tab31/part311", "db3/tab31/part312"), update.get("db3.tab31"));
   }
 
+  @Test
+  // Test that a snapshot streamed with few fetches in flight returns each object once,
+  // with all its paths
+  public void testStreaming() throws Exception {
+    HiveTable tab11 = new HiveTable("tab11").add("part111").add("part112").add("part113");
+    HiveTable tab12 = new HiveTable("tab12");
+    HiveTable tab21 = new HiveTable("tab21").add("part211");
+    HiveDb db1 = new HiveDb("db1", Lists.newArrayList(tab11, tab12));
+    HiveDb db2 = new HiveDb("db2", Lists.newArrayList(tab21));
+    HiveSnapshot snap = new HiveSnapshot().add(db1).add(db2);
+    MockClient c = new MockClient(snap);
+
+    Configuration streamingConf = new Configuration(conf);
+    streamingConf.setInt(org.apache.sentry.hdfs.ServiceConstants.ServerConfig
+        .SENTRY_HDFS_SYNC_METASTORE_CACHE_QUEUE_DEPTH, 2);
+    Counter partitionsDone = SentryMetrics.getInstance()
+        .getCounter(name(FullUpdateInitializer.class, "done", "partitions"));
+    long partitionsDoneBefore = partitionsDone.getCount();
+
+    Map<String, Collection<String>> update = new HashMap<>();
+    try(FullUpdateInitializer cacheInitializer =
+                new FullUpdateInitializer(new MockHMSClientFactory(c), streamingConf)) {
+      Iterator<Map.Entry<String, Collection<String>>> objects =
+          cacheInitializer.streamFullHMSSnapshot();
+      while (objects.hasNext()) {
+        Map.Entry<String, Collection<String>> object = objects.next();
+        Assert.assertNull(update.put(object.getKey(), object.getValue()));
+      }
+    }
+    Assert.assertEquals(5, update.size());
+    Assert.assertEquals(Sets.newHashSet("db1"), update.get("db1"));
+    Assert.assertEquals(Sets.newHashSet("db2"), update.get("db2"));
+    Assert.assertEquals(Sets.newHashSet("db1/tab11", "db1/tab11/part111",
+        "db1/tab11/part112", "db1/tab11/part113"), update.get("db1.tab11"));
+    Assert.assertEquals(Sets.newHashSet("db1/tab12"), update.get("db1.tab12"));
+    Assert.assertEquals(Sets.newHashSet("db2/tab21", "db2/tab21/part211"),
+        update.get("db2.tab21"));
+    Assert.assertEquals(4, partitionsDone.getCount() - partitionsDoneBefore);
+  }
+
   @Test
   // Test that invalid paths are handled correctly
   public void testInvalidPaths() throws Exception {
@@ -0,0 +1,220 @@
+/*
+  Licensed to the Apache Software Foundation (ASF) under one
+  or more contributor license agreements.  See the NOTICE file
+  distributed with this work for additional information
+  regarding copyright ownership.  The ASF licenses this file
+  to you under the Apache License, Version 2.0 (the
+  "License"); you may not use this file except in compliance
+  with the License.  You may obtain a copy of the License at
+  <p>
+  http://www.apache.org/licenses/LICENSE-2.0
+  <p>
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+ */
+
+package org.apache.sentry.service.thrift;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.hadoop.hive.metastore.HiveMetaStoreClient;
+import org.apache.hadoop.hive.metastore.IMetaStoreClient.NotificationFilter;
+import org.apache.hadoop.hive.metastore.api.CurrentNotificationEventId;
+import org.apache.hadoop.hive.metastore.api.NotificationEvent;
+import org.apache.hadoop.hive.metastore.api.NotificationEventResponse;
+import org.apache.sentry.hdfs.UniquePathsUpdate;
+import org.apache.sentry.provider.db.service.persistent.SentryStore;
+import org.apache.thrift.TException;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+public class TestNotificationPrefetcher {
+  @Test
+  public void testFetchNotificationsInPages() throws Exception {
+    SentryStore store = Mockito.mock(SentryStore.class);
+    HiveConnectionFactory hmsConnection = Mockito.mock(HiveConnectionFactory.class);
+    HiveMetaStoreClient hmsClient = Mockito.mock(HiveMetaStoreClient.class);
+
+    Mockito.when(hmsConnection.connect()).thenReturn(new HMSClient(hmsClient));
+    Mockito.when(hmsClient.getCurrentNotificationEventId())
+        .thenReturn(new CurrentNotificationEventId(5L));
+
+    final List<NotificationEvent> hmsEvents = Arrays.asList(
+        new NotificationEvent(1L, 0, "CREATE_DATABASE", "db1"),
+        new NotificationEvent(2L, 0, "CREATE_TABLE", "db1.t1"),
+        new NotificationEvent(3L, 0, "CREATE_TABLE", "db1.t2"),
+        new NotificationEvent(4L, 0, "DROP_TABLE", "db1.t1"),
+        new NotificationEvent(5L, 0, "DROP_TABLE", "db1.t2")
+    );
+
+    // Like HiveMetaStoreClient, the HMS returns at most maxEvents notifications with a
+    // higher ID than requested, then the filter, if any, is applied to them
+    Mockito.when(hmsClient.getNextNotification(Mockito.anyLong(), Mockito.eq(2),
+        (NotificationFilter) Mockito.any())).thenAnswer(new Answer<NotificationEventResponse>() {
+          @Override
+          public NotificationEventResponse answer(InvocationOnMock invocation) throws Throwable {
+            long lastEventId = (Long) invocation.getArguments()[0];
+            int maxEvents = (Integer) invocation.getArguments()[1];
+            NotificationFilter filter = (NotificationFilter) invocation.getArguments()[2];
+            NotificationEventResponse response = new NotificationEventResponse();
+            response.setEvents(new ArrayList<NotificationEvent>());
+            int returned = 0;
+            for (NotificationEvent event : hmsEvents) {
+              if (event.getEventId() > lastEventId && returned < maxEvents) {
+                returned++;
+                if (filter == null || filter.accept(event)) {
+                  response.addToEvents(event);
+                }
+              }
+            }
+            return response;
+          }
+        });
+
+    try (HiveNotificationFetcher fetcher = new HiveNotificationFetcher(store, hmsConnection);
+        NotificationPrefetcher prefetcher = new NotificationPrefetcher(fetcher, 0, 2, 1)) {
+      prefetcher.start();
+
+      // The next pages, requested from the last ID of a page - 1, don't return again the
+      // notification with that ID, so they are not full until the last one
+      assertEquals(hmsEvents.subList(0, 2), prefetcher.nextPage());
+      assertEquals(hmsEvents.subList(2, 3), prefetcher.nextPage());
+      assertEquals(hmsEvents.subList(3, 4), prefetcher.nextPage());
+      assertEquals(hmsEvents.subList(4, 5), prefetcher.nextPage());
+      assertTrue(prefetcher.nextPage().isEmpty());
+      assertTrue(prefetcher.nextPage().isEmpty());
+
+      Mockito.verify(hmsClient).getNextNotification(Mockito.eq(0L), Mockito.eq(2),
+          (NotificationFilter) Mockito.isNull());
+      for (long id = 1; id <= 3; id++) {
+        Mockito.verify(hmsClient).getNextNotification(Mockito.eq(id), Mockito.eq(2),
+            (NotificationFilter) Mockito.notNull());
+      }
+      Mockito.verify(hmsClient, Mockito.never()).getNextNotification(Mockito.eq(4L),
+          Mockito.anyInt(), (NotificationFilter) Mockito.any());
+    }
+  }
+
+  @Test
+  public void testFetchUntilEmptyPage() throws Exception {
+    SentryStore store = Mockito.mock(SentryStore.class);
+    HiveConnectionFactory hmsConnection = Mockito.mock(HiveConnectionFactory.class);
+    HiveMetaStoreClient hmsClient = Mockito.mock(HiveMetaStoreClient.class);
+
+    Mockito.when(hmsConnection.connect()).thenReturn(new HMSClient(hmsClient));
+    // The current ID is ahead of the last notification, the short page doesn't stop fetching
+    Mockito.when(hmsClient.getCurrentNotificationEventId())
+        .thenReturn(new CurrentNotificationEventId(10L));
+    NotificationEventResponse page = new NotificationEventResponse();
+    page.addToEvents(new NotificationEvent(1L, 0, "CREATE_DATABASE", "db1"));
+    NotificationEventResponse empty = new NotificationEventResponse();
+    empty.setEvents(new ArrayList<NotificationEvent>());
+    Mockito.when(hmsClient.getNextNotification(Mockito.anyLong(), Mockito.eq(2),
+        (NotificationFilter) Mockito.any())).thenReturn(page, empty);
+
+    try (HiveNotificationFetcher fetcher = new HiveNotificationFetcher(store, hmsConnection);
+        NotificationPrefetcher prefetcher = new NotificationPrefetcher(fetcher, 0, 2, 1)) {
+      prefetcher.start();
+      assertEquals(page.getEvents(), prefetcher.nextPage());
+      assertTrue(prefetcher.nextPage().isEmpty());
+      Mockito.verify(hmsClient, Mockito.times(2)).getNextNotification(Mockito.anyLong(),
+          Mockito.eq(2), (NotificationFilter) Mockito.any());
+    }
+  }
+
+  @Test
+  public void testUnprocessedDuplicatesAreFetchedAgainAfterAFailure() throws Exception {
+    SentryStore store = Mockito.mock(SentryStore.class);
+    HiveConnectionFactory hmsConnection = Mockito.mock(HiveConnectionFactory.class);
+    HiveMetaStoreClient hmsClient = Mockito.mock(HiveMetaStoreClient.class);
+
+    Mockito.when(hmsConnection.connect()).thenReturn(new HMSClient(hmsClient));
+    Mockito.when(hmsClient.getCurrentNotificationEventId())
+        .thenReturn(new CurrentNotificationEventId(2L));
+
+    // Two notifications share the ID 2
+    final List<NotificationEvent> hmsEvents = new ArrayList<>(Arrays.asList(
+        new NotificationEvent(1L, 0, "CREATE_DATABASE", "db1"),
+        new NotificationEvent(2L, 0, "CREATE_TABLE", "db1.t1"),
+        new NotificationEvent(2L, 0, "CREATE_TABLE", "db1.t2")
+    ));
+
+    Mockito.when(hmsClient.getNextNotification(Mockito.anyLong(), Mockito.eq(3),
+        (NotificationFilter) Mockito.any())).thenAnswer(new Answer<NotificationEventResponse>() {
+          @Override
+          public NotificationEventResponse answer(InvocationOnMock invocation) throws Throwable {
+            long lastEventId = (Long) invocation.getArguments()[0];
+            int maxEvents = (Integer) invocation.getArguments()[1];
+            NotificationFilter filter = (NotificationFilter) invocation.getArguments()[2];
+            NotificationEventResponse response = new NotificationEventResponse();
+            response.setEvents(new ArrayList<NotificationEvent>());
+            int returned = 0;
+            for (NotificationEvent event : hmsEvents) {
+              if (event.getEventId() > lastEventId && returned < maxEvents) {
+                returned++;
+                if (filter == null || filter.accept(event)) {
+                  response.addToEvents(event);
+                }
+              }
+            }
+            return response;
+          }
+        });
+
+    try (HiveNotificationFetcher fetcher = new HiveNotificationFetcher(store, hmsConnection)) {
+      try (NotificationPrefetcher prefetcher = new NotificationPrefetcher(fetcher, 0, 3, 1)) {
+        prefetcher.start();
+        assertEquals(hmsEvents.subList(0, 3), prefetcher.nextPage());
+        assertTrue(prefetcher.nextPage().isEmpty());
+      }
+
+      // The run failed after persisting the first notification with ID 2, the next run
+      // starts from that ID and still gets the second one
+      Mockito.when(store.isNotificationProcessed(UniquePathsUpdate.sha1(hmsEvents.get(1))))
+          .thenReturn(true);
+      hmsEvents.add(new NotificationEvent(3L, 0, "DROP_TABLE", "db1.t1"));
+      Mockito.when(hmsClient.getCurrentNotificationEventId())
+          .thenReturn(new CurrentNotificationEventId(3L));
+      try (NotificationPrefetcher prefetcher = new NotificationPrefetcher(fetcher, 2, 3, 1)) {
+        prefetcher.start();
+        assertEquals(hmsEvents.subList(2, 4), prefetcher.nextPage());
+        assertTrue(prefetcher.nextPage().isEmpty());
+      }
+    }
+  }
+
+  @Test
+  public void testFetchErrorIsThrownByNextPage() throws Exception {
+    SentryStore store = Mockito.mock(SentryStore.class);
+    HiveConnectionFactory hmsConnection = Mockito.mock(HiveConnectionFactory.class);
+    HiveMetaStoreClient hmsClient = Mockito.mock(HiveMetaStoreClient.class);
+
+    Mockito.when(hmsConnection.connect()).thenReturn(new HMSClient(hmsClient));
+    TException error = new TException("HMS is down");
+    Mockito.when(hmsClient.getNextNotification(Mockito.anyLong(), Mockito.anyInt(),
+        (NotificationFilter) Mockito.any())).thenThrow(error);
+
+    try (HiveNotificationFetcher fetcher = new HiveNotificationFetcher(store, hmsConnection);
+        NotificationPrefetcher prefetcher = new NotificationPrefetcher(fetcher, 0, 10, 2)) {
+      prefetcher.start();
+      try {
+        prefetcher.nextPage();
+        fail("The fetch error should be thrown");
+      } catch (TException e) {
+        assertSame(error, e);
+      }
+      assertTrue(prefetcher.nextPage().isEmpty());
+    }
+  }
+}
@@ -126,6 +126,14 @@ public class SimpleFileProviderBackend extends CacheProvider implements Provider
     return getPrivileges(groups, roleSet, authorizableHierarchy);
   }
 
+  /**
+   * The policy file is only parsed once, when the backend is initialized.
+   */
+  @Override
+  public long getPolicyVersion() {
+    return 0L;
+  }
+
   @Override
   public void close() {
     // SENTRY-847 will use HiveAuthBinding again, so groupRolePrivilegeTable shouldn't clear itself